@@ -16,6 +16,9 @@ public class ContentServiceConfig {
     private ContentTypes contentTypes = new ContentTypes();
     private Analytics analytics = new Analytics();
     private Notifications notifications = new Notifications();
+    private Scheduling scheduling = new Scheduling();
+    private Bulk bulk = new Bulk();
+    private Counters counters = new Counters();
 
     // Getters and Setters
     public Moderation getModeration() {
@@ -66,6 +69,30 @@ public class ContentServiceConfig {
         this.notifications = notifications;
     }
 
+    public Scheduling getScheduling() {
+        return scheduling;
+    }
+
+    public void setScheduling(Scheduling scheduling) {
+        this.scheduling = scheduling;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(Bulk bulk) {
+        this.bulk = bulk;
+    }
+
+    public Counters getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Counters counters) {
+        this.counters = counters;
+    }
+
     /**
      * Content moderation configuration
      */
@@ -419,4 +446,121 @@ public class ContentServiceConfig {
             this.mentionNotifications = mentionNotifications;
         }
     }
+
+    /**
+     * Post lifecycle scheduler configuration (featured expiry, scheduled publishing)
+     */
+    public static class Scheduling {
+        private boolean enabled = true;
+        private int horizonMinutes = 15;
+        private int batchSize = 500;
+        private long lingerMs = 50;
+        private int maxTracked = 100000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getHorizonMinutes() {
+            return horizonMinutes;
+        }
+
+        public void setHorizonMinutes(int horizonMinutes) {
+            this.horizonMinutes = horizonMinutes;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getLingerMs() {
+            return lingerMs;
+        }
+
+        public void setLingerMs(long lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public int getMaxTracked() {
+            return maxTracked;
+        }
+
+        public void setMaxTracked(int maxTracked) {
+            this.maxTracked = maxTracked;
+        }
+    }
+
+    /**
+     * Bulk import/export configuration
+     */
+    public static class Bulk {
+        private int fetchSize = 1000;
+        private int commitSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getCommitSize() {
+            return commitSize;
+        }
+
+        public void setCommitSize(int commitSize) {
+            this.commitSize = commitSize;
+        }
+    }
+
+    /**
+     * Engagement counter event consumer configuration
+     */
+    public static class Counters {
+        private String exchange = "social.events";
+        private String queue = "content.post-counters";
+        private String routingKey = "social.post-counters";
+        private int dedupeRetentionDays = 7;
+
+        public String getExchange() {
+            return exchange;
+        }
+
+        public void setExchange(String exchange) {
+            this.exchange = exchange;
+        }
+
+        public String getQueue() {
+            return queue;
+        }
+
+        public void setQueue(String queue) {
+            this.queue = queue;
+        }
+
+        public String getRoutingKey() {
+            return routingKey;
+        }
+
+        public void setRoutingKey(String routingKey) {
+            this.routingKey = routingKey;
+        }
+
+        public int getDedupeRetentionDays() {
+            return dedupeRetentionDays;
+        }
+
+        public void setDedupeRetentionDays(int dedupeRetentionDays) {
+            this.dedupeRetentionDays = dedupeRetentionDays;
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.raved.content.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ configuration for Content Service
+ */
+@Configuration
+public class RabbitConfig {
+
+    @Bean
+    public TopicExchange socialEventsExchange(ContentServiceConfig config) {
+        return new TopicExchange(config.getCounters().getExchange(), true, false);
+    }
+
+    /**
+     * Durable queue for post counter events; rejected messages go to a dead-letter queue
+     */
+    @Bean
+    public Queue postCountersQueue(ContentServiceConfig config) {
+        String queue = config.getCounters().getQueue();
+        return QueueBuilder.durable(queue)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(queue + ".dlq")
+                .build();
+    }
+
+    @Bean
+    public Queue postCountersDeadLetterQueue(ContentServiceConfig config) {
+        return QueueBuilder.durable(config.getCounters().getQueue() + ".dlq").build();
+    }
+
+    @Bean
+    public Binding postCountersBinding(Queue postCountersQueue, TopicExchange socialEventsExchange,
+                                       ContentServiceConfig config) {
+        return BindingBuilder.bind(postCountersQueue).to(socialEventsExchange)
+                .with(config.getCounters().getRoutingKey());
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
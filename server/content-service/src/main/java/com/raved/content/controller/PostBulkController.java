@@ -0,0 +1,46 @@
+package com.raved.content.controller;
+
+import com.raved.content.dto.response.BulkImportResponse;
+import com.raved.content.service.PostBulkService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for bulk post export/import (JSONL, one post per line)
+ */
+@RestController
+@RequestMapping("/api/posts/bulk")
+@CrossOrigin(origins = "*")
+public class PostBulkController {
+
+    @Autowired
+    private PostBulkService postBulkService;
+
+    /**
+     * Stream posts with their tags and mentions; pass the last exported id as afterId to resume
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(required = false) Long afterId) {
+        StreamingResponseBody body = out -> postBulkService.exportPosts(afterId, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.jsonl\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Import posts from a JSONL request body
+     */
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE })
+    public ResponseEntity<BulkImportResponse> importPosts(HttpServletRequest request) throws IOException {
+        BulkImportResponse response = postBulkService.importPosts(request.getInputStream());
+        return ResponseEntity.ok(response);
+    }
+}
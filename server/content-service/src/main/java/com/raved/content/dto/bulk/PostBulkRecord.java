@@ -0,0 +1,262 @@
+package com.raved.content.dto.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One JSONL line of a bulk post export/import: the post row with its tags and mentions inlined
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostBulkRecord {
+
+    private Long id;
+    private Long userId;
+    private String content;
+    private String postType;
+    private String visibility;
+    private Long facultyId;
+
+    private Integer likesCount;
+    private Integer commentsCount;
+    private Integer sharesCount;
+    private Integer viewsCount;
+
+    private Boolean isFlagged;
+    private String moderationStatus;
+    private String flaggedReason;
+    private Boolean isDeleted;
+    private Boolean isFeatured;
+    private LocalDateTime featuredUntil;
+    private Boolean isPublished;
+    private LocalDateTime scheduledAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private List<String> tags = new ArrayList<>();
+    private List<Mention> mentions = new ArrayList<>();
+
+    /**
+     * Inlined post_mentions row
+     */
+    public static class Mention {
+        private Long userId;
+        private Integer startPosition;
+        private Integer endPosition;
+
+        public Mention() {}
+
+        public Mention(Long userId, Integer startPosition, Integer endPosition) {
+            this.userId = userId;
+            this.startPosition = startPosition;
+            this.endPosition = endPosition;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public Integer getStartPosition() {
+            return startPosition;
+        }
+
+        public void setStartPosition(Integer startPosition) {
+            this.startPosition = startPosition;
+        }
+
+        public Integer getEndPosition() {
+            return endPosition;
+        }
+
+        public void setEndPosition(Integer endPosition) {
+            this.endPosition = endPosition;
+        }
+    }
+
+    // Constructors
+    public PostBulkRecord() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getPostType() {
+        return postType;
+    }
+
+    public void setPostType(String postType) {
+        this.postType = postType;
+    }
+
+    public String getVisibility() {
+        return visibility;
+    }
+
+    public void setVisibility(String visibility) {
+        this.visibility = visibility;
+    }
+
+    public Long getFacultyId() {
+        return facultyId;
+    }
+
+    public void setFacultyId(Long facultyId) {
+        this.facultyId = facultyId;
+    }
+
+    public Integer getLikesCount() {
+        return likesCount;
+    }
+
+    public void setLikesCount(Integer likesCount) {
+        this.likesCount = likesCount;
+    }
+
+    public Integer getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(Integer commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+
+    public Integer getSharesCount() {
+        return sharesCount;
+    }
+
+    public void setSharesCount(Integer sharesCount) {
+        this.sharesCount = sharesCount;
+    }
+
+    public Integer getViewsCount() {
+        return viewsCount;
+    }
+
+    public void setViewsCount(Integer viewsCount) {
+        this.viewsCount = viewsCount;
+    }
+
+    public Boolean getIsFlagged() {
+        return isFlagged;
+    }
+
+    public void setIsFlagged(Boolean isFlagged) {
+        this.isFlagged = isFlagged;
+    }
+
+    public String getModerationStatus() {
+        return moderationStatus;
+    }
+
+    public void setModerationStatus(String moderationStatus) {
+        this.moderationStatus = moderationStatus;
+    }
+
+    public String getFlaggedReason() {
+        return flaggedReason;
+    }
+
+    public void setFlaggedReason(String flaggedReason) {
+        this.flaggedReason = flaggedReason;
+    }
+
+    public Boolean getIsDeleted() {
+        return isDeleted;
+    }
+
+    public void setIsDeleted(Boolean isDeleted) {
+        this.isDeleted = isDeleted;
+    }
+
+    public Boolean getIsFeatured() {
+        return isFeatured;
+    }
+
+    public void setIsFeatured(Boolean isFeatured) {
+        this.isFeatured = isFeatured;
+    }
+
+    public LocalDateTime getFeaturedUntil() {
+        return featuredUntil;
+    }
+
+    public void setFeaturedUntil(LocalDateTime featuredUntil) {
+        this.featuredUntil = featuredUntil;
+    }
+
+    public Boolean getIsPublished() {
+        return isPublished;
+    }
+
+    public void setIsPublished(Boolean isPublished) {
+        this.isPublished = isPublished;
+    }
+
+    public LocalDateTime getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public void setScheduledAt(LocalDateTime scheduledAt) {
+        this.scheduledAt = scheduledAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<Mention> getMentions() {
+        return mentions;
+    }
+
+    public void setMentions(List<Mention> mentions) {
+        this.mentions = mentions;
+    }
+}
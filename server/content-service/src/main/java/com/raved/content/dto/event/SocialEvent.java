@@ -0,0 +1,68 @@
+package com.raved.content.dto.event;
+
+import java.util.Map;
+
+/**
+ * Event published by another service's outbox; id is unique per source and used for deduplication
+ */
+public class SocialEvent {
+
+    private Long id;
+    private String type;
+    private String aggregateType;
+    private Long aggregateId;
+    private Map<String, Object> payload;
+
+    // Constructors
+    public SocialEvent() {
+    }
+
+    public SocialEvent(Long id, String type, String aggregateType, Long aggregateId, Map<String, Object> payload) {
+        this.id = id;
+        this.type = type;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(Long aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,38 @@
+package com.raved.content.dto.event;
+
+import java.util.List;
+
+/**
+ * A batch of events received as a single broker message
+ */
+public class SocialEventBatch {
+
+    private String source;
+    private List<SocialEvent> events;
+
+    // Constructors
+    public SocialEventBatch() {
+    }
+
+    public SocialEventBatch(String source, List<SocialEvent> events) {
+        this.source = source;
+        this.events = events;
+    }
+
+    // Getters and Setters
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public List<SocialEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<SocialEvent> events) {
+        this.events = events;
+    }
+}
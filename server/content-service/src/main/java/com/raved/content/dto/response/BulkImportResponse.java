@@ -0,0 +1,66 @@
+package com.raved.content.dto.response;
+
+/**
+ * Response DTO summarising a bulk post import
+ */
+public class BulkImportResponse {
+
+    private long postsImported;
+    private long tagsImported;
+    private long mentionsImported;
+    private long recordsRejected;
+    private int batchesCommitted;
+    private long durationMs;
+
+    // Constructors
+    public BulkImportResponse() {}
+
+    // Getters and Setters
+    public long getPostsImported() {
+        return postsImported;
+    }
+
+    public void setPostsImported(long postsImported) {
+        this.postsImported = postsImported;
+    }
+
+    public long getTagsImported() {
+        return tagsImported;
+    }
+
+    public void setTagsImported(long tagsImported) {
+        this.tagsImported = tagsImported;
+    }
+
+    public long getMentionsImported() {
+        return mentionsImported;
+    }
+
+    public void setMentionsImported(long mentionsImported) {
+        this.mentionsImported = mentionsImported;
+    }
+
+    public long getRecordsRejected() {
+        return recordsRejected;
+    }
+
+    public void setRecordsRejected(long recordsRejected) {
+        this.recordsRejected = recordsRejected;
+    }
+
+    public int getBatchesCommitted() {
+        return batchesCommitted;
+    }
+
+    public void setBatchesCommitted(int batchesCommitted) {
+        this.batchesCommitted = batchesCommitted;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
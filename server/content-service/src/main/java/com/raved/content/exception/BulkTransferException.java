@@ -0,0 +1,15 @@
+package com.raved.content.exception;
+
+/**
+ * Exception thrown when a bulk post import or export cannot be completed
+ */
+public class BulkTransferException extends RuntimeException {
+
+    public BulkTransferException(String message) {
+        super(message);
+    }
+
+    public BulkTransferException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
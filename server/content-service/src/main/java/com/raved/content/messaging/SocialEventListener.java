@@ -0,0 +1,31 @@
+package com.raved.content.messaging;
+
+import com.raved.content.dto.event.SocialEventBatch;
+import com.raved.content.service.PostCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes engagement events published by social-service's outbox relay.
+ *
+ * A failed batch is retried by the listener container and then dead-lettered; already applied
+ * events inside a redelivered batch are skipped by PostCounterService.
+ */
+@Component
+public class SocialEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialEventListener.class);
+
+    @Autowired
+    private PostCounterService postCounterService;
+
+    @RabbitListener(queues = "${content.counters.queue:content.post-counters}")
+    public void onEvents(SocialEventBatch batch) {
+        int updated = postCounterService.applyEvents(batch.getSource(), batch.getEvents());
+        log.debug("Applied {} events from {} to {} posts",
+                batch.getEvents() != null ? batch.getEvents().size() : 0, batch.getSource(), updated);
+    }
+}
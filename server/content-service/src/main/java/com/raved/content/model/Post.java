@@ -18,6 +18,7 @@ import java.util.List;
         @Index(name = "idx_posts_faculty_id", columnList = "faculty_id"),
         @Index(name = "idx_posts_created_at", columnList = "created_at"),
         @Index(name = "idx_posts_featured", columnList = "is_featured, featured_until"),
+        @Index(name = "idx_posts_scheduled", columnList = "is_published, scheduled_at"),
         @Index(name = "idx_posts_visibility", columnList = "visibility"),
         @Index(name = "idx_posts_feed_algorithm", columnList = "faculty_id, created_at, visibility"),
         @Index(name = "idx_posts_trending", columnList = "likes_count, comments_count, created_at")
@@ -81,6 +82,13 @@ public class Post {
     @Column(name = "featured_until")
     private LocalDateTime featuredUntil;
 
+    // Scheduled Publishing
+    @Column(name = "is_published", nullable = false)
+    private Boolean isPublished = true;
+
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -253,6 +261,22 @@ public class Post {
         this.featuredUntil = featuredUntil;
     }
 
+    public Boolean getIsPublished() {
+        return isPublished;
+    }
+
+    public void setIsPublished(Boolean isPublished) {
+        this.isPublished = isPublished;
+    }
+
+    public LocalDateTime getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public void setScheduledAt(LocalDateTime scheduledAt) {
+        this.scheduledAt = scheduledAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -333,6 +357,10 @@ public class Post {
         this.viewsCount++;
     }
 
+    public boolean isScheduled() {
+        return !Boolean.TRUE.equals(isPublished) && scheduledAt != null;
+    }
+
     @Override
     public String toString() {
         return "Post{" +
@@ -343,6 +371,7 @@ public class Post {
                 ", likesCount=" + likesCount +
                 ", commentsCount=" + commentsCount +
                 ", isFeatured=" + isFeatured +
+                ", isPublished=" + isPublished +
                 ", createdAt=" + createdAt +
                 '}';
     }
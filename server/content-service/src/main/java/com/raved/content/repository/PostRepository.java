@@ -1,10 +1,64 @@
 package com.raved.content.repository;
 
+import com.raved.content.model.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * PostRepository for TheRavedApp
  */
-public interface PostRepository {
-    // Implementation
+@Repository
+public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /**
+     * Lightweight (id, deadline) projection used by the lifecycle scheduler
+     */
+    interface ScheduleEntry {
+        Long getId();
+
+        LocalDateTime getDueAt();
+    }
+
+    /**
+     * Find featured posts whose feature expires before the horizon (served by idx_posts_featured)
+     */
+    @Query("SELECT p.id AS id, p.featuredUntil AS dueAt FROM Post p " +
+            "WHERE p.isFeatured = true AND p.featuredUntil IS NOT NULL AND p.featuredUntil <= :horizon " +
+            "ORDER BY p.featuredUntil")
+    List<ScheduleEntry> findFeatureExpiriesBefore(@Param("horizon") LocalDateTime horizon, Pageable pageable);
+
+    /**
+     * Find unpublished posts scheduled before the horizon (served by idx_posts_scheduled)
+     */
+    @Query("SELECT p.id AS id, p.scheduledAt AS dueAt FROM Post p " +
+            "WHERE p.isPublished = false AND p.scheduledAt IS NOT NULL AND p.scheduledAt <= :horizon " +
+            "ORDER BY p.scheduledAt")
+    List<ScheduleEntry> findPublicationsBefore(@Param("horizon") LocalDateTime horizon, Pageable pageable);
+
+    /**
+     * Clear the featured flag for a batch of posts whose feature window has elapsed
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Post p SET p.isFeatured = false, p.featuredUntil = null, p.updatedAt = :now " +
+            "WHERE p.id IN :ids AND p.isFeatured = true AND p.featuredUntil <= :now")
+    int expireFeatured(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Publish a batch of scheduled posts whose publish time has been reached
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Post p SET p.isPublished = true, p.updatedAt = :now " +
+            "WHERE p.id IN :ids AND p.isPublished = false AND p.scheduledAt <= :now")
+    int publishScheduled(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
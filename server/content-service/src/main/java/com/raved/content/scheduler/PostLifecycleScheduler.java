@@ -0,0 +1,197 @@
+package com.raved.content.scheduler;
+
+import com.raved.content.config.ContentServiceConfig;
+import com.raved.content.repository.PostRepository;
+import com.raved.content.scheduler.ScheduledPostAction.Kind;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires featured-expiry and scheduled-publish deadlines for posts.
+ *
+ * Only deadlines inside a short horizon are held in memory; they are loaded from
+ * idx_posts_featured / idx_posts_scheduled at startup and on every refresh, so a restart
+ * recovers simply by re-reading the index. Due actions are drained together and applied
+ * as one UPDATE per kind.
+ */
+@Component
+public class PostLifecycleScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PostLifecycleScheduler.class);
+
+    private final DelayQueue<ScheduledPostAction> queue = new DelayQueue<>();
+    private final Map<Kind, Map<Long, Long>> tracked = new EnumMap<>(Kind.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ContentServiceConfig config;
+
+    private volatile Thread dispatcher;
+    private volatile boolean running;
+
+    public PostLifecycleScheduler() {
+        for (Kind kind : Kind.values()) {
+            tracked.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Recover pending deadlines from the database and start the dispatcher
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.getScheduling().isEnabled()) {
+            return;
+        }
+        refreshHorizon();
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "post-lifecycle-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Post lifecycle scheduler started with {} pending deadlines", queue.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Load deadlines that fall inside the horizon (including overdue ones) from the index
+     */
+    @Scheduled(fixedDelayString = "${content.scheduling.refresh-interval-ms:60000}",
+            initialDelayString = "${content.scheduling.refresh-interval-ms:60000}")
+    public void refreshHorizon() {
+        ContentServiceConfig.Scheduling settings = config.getScheduling();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        LocalDateTime horizon = LocalDateTime.now().plusMinutes(settings.getHorizonMinutes());
+        PageRequest limit = PageRequest.of(0, settings.getMaxTracked());
+
+        for (PostRepository.ScheduleEntry entry : postRepository.findFeatureExpiriesBefore(horizon, limit)) {
+            track(Kind.FEATURE_EXPIRY, entry.getId(), entry.getDueAt());
+        }
+        for (PostRepository.ScheduleEntry entry : postRepository.findPublicationsBefore(horizon, limit)) {
+            track(Kind.PUBLISH, entry.getId(), entry.getDueAt());
+        }
+    }
+
+    /**
+     * Register (or move) a featured-expiry deadline; deadlines beyond the horizon are picked up by refresh
+     */
+    public void scheduleFeatureExpiry(Long postId, LocalDateTime featuredUntil) {
+        scheduleIfWithinHorizon(Kind.FEATURE_EXPIRY, postId, featuredUntil);
+    }
+
+    /**
+     * Register (or move) a scheduled-publish deadline; deadlines beyond the horizon are picked up by refresh
+     */
+    public void schedulePublication(Long postId, LocalDateTime scheduledAt) {
+        scheduleIfWithinHorizon(Kind.PUBLISH, postId, scheduledAt);
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void scheduleIfWithinHorizon(Kind kind, Long postId, LocalDateTime dueAt) {
+        if (postId == null || dueAt == null) {
+            return;
+        }
+        if (dueAt.isAfter(LocalDateTime.now().plusMinutes(config.getScheduling().getHorizonMinutes()))) {
+            tracked.get(kind).remove(postId);
+            return;
+        }
+        track(kind, postId, dueAt);
+    }
+
+    private void track(Kind kind, Long postId, LocalDateTime dueAt) {
+        long dueAtMillis = toEpochMillis(dueAt);
+        Long previous = tracked.get(kind).put(postId, dueAtMillis);
+        if (previous == null || previous != dueAtMillis) {
+            queue.offer(new ScheduledPostAction(kind, postId, dueAtMillis));
+        }
+    }
+
+    private void dispatchLoop() {
+        ContentServiceConfig.Scheduling settings = config.getScheduling();
+        List<ScheduledPostAction> batch = new ArrayList<>(settings.getBatchSize());
+        while (running) {
+            try {
+                batch.add(queue.take());
+                // Linger briefly so deadlines that land close together share one UPDATE
+                ScheduledPostAction next;
+                while (batch.size() < settings.getBatchSize()
+                        && (next = queue.poll(settings.getLingerMs(), TimeUnit.MILLISECONDS)) != null) {
+                    batch.add(next);
+                }
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {} post lifecycle actions, re-reading them on next refresh", batch.size(), e);
+                for (ScheduledPostAction action : batch) {
+                    tracked.get(action.getKind()).remove(action.getPostId(), action.getDueAtMillis());
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<ScheduledPostAction> batch) {
+        List<Long> expiries = new ArrayList<>();
+        List<Long> publications = new ArrayList<>();
+        for (ScheduledPostAction action : batch) {
+            // Skip entries that were cancelled or superseded by a newer deadline
+            Long current = tracked.get(action.getKind()).get(action.getPostId());
+            if (current == null || current != action.getDueAtMillis()) {
+                continue;
+            }
+            (action.getKind() == Kind.FEATURE_EXPIRY ? expiries : publications).add(action.getPostId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!expiries.isEmpty()) {
+            int updated = postRepository.expireFeatured(expiries, now);
+            log.debug("Expired featured flag on {}/{} posts", updated, expiries.size());
+        }
+        if (!publications.isEmpty()) {
+            int updated = postRepository.publishScheduled(publications, now);
+            log.debug("Published {}/{} scheduled posts", updated, publications.size());
+        }
+
+        for (ScheduledPostAction action : batch) {
+            tracked.get(action.getKind()).remove(action.getPostId(), action.getDueAtMillis());
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,33 @@
+package com.raved.content.scheduler;
+
+import com.raved.content.config.ContentServiceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes deduplication records older than any redelivery could be
+ */
+@Component
+public class ProcessedEventPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessedEventPurger.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentServiceConfig config;
+
+    @Scheduled(cron = "${content.counters.purge-cron:0 30 4 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(config.getCounters().getDedupeRetentionDays());
+        int removed = jdbcTemplate.update("DELETE FROM processed_events WHERE processed_at < ?", cutoff);
+        log.info("Purged {} processed event records older than {}", removed, cutoff);
+    }
+}
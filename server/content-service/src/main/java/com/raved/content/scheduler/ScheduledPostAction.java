@@ -0,0 +1,58 @@
+package com.raved.content.scheduler;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single timed state change on a post, ordered by its deadline in the delay queue.
+ */
+public class ScheduledPostAction implements Delayed {
+
+    public enum Kind {
+        FEATURE_EXPIRY, PUBLISH
+    }
+
+    private final Kind kind;
+    private final long postId;
+    private final long dueAtMillis;
+
+    public ScheduledPostAction(Kind kind, long postId, long dueAtMillis) {
+        this.kind = kind;
+        this.postId = postId;
+        this.dueAtMillis = dueAtMillis;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public long getDueAtMillis() {
+        return dueAtMillis;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof ScheduledPostAction action) {
+            return Long.compare(dueAtMillis, action.dueAtMillis);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledPostAction{" +
+                "kind=" + kind +
+                ", postId=" + postId +
+                ", dueAtMillis=" + dueAtMillis +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.raved.content.service;
+
+import com.raved.content.dto.response.BulkImportResponse;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for streaming bulk export/import of posts, tags and mentions as JSONL
+ */
+public interface PostBulkService {
+
+    /**
+     * Stream every post with id greater than afterId (and its tags/mentions) as JSONL
+     */
+    long exportPosts(Long afterId, OutputStream out);
+
+    /**
+     * Import JSONL post records, committing every configured number of records
+     */
+    BulkImportResponse importPosts(InputStream in);
+}
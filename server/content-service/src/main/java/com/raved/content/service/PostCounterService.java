@@ -0,0 +1,17 @@
+package com.raved.content.service;
+
+import com.raved.content.dto.event.SocialEvent;
+
+import java.util.List;
+
+/**
+ * Service interface for applying engagement counter events to posts
+ */
+public interface PostCounterService {
+
+    /**
+     * Apply like/comment count events not seen before from the given source, never letting a
+     * count drop below zero; returns posts updated
+     */
+    int applyEvents(String source, List<SocialEvent> events);
+}
@@ -0,0 +1,314 @@
+package com.raved.content.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.raved.content.config.ContentServiceConfig;
+import com.raved.content.dto.bulk.PostBulkRecord;
+import com.raved.content.dto.response.BulkImportResponse;
+import com.raved.content.exception.BulkTransferException;
+import com.raved.content.scheduler.PostLifecycleScheduler;
+import com.raved.content.service.PostBulkService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Implementation of PostBulkService.
+ *
+ * Export walks three cursors (posts, post_tags, post_mentions) ordered by post id and
+ * merge-joins them, so only the current post is ever held in memory. Import reads one
+ * record at a time and flushes batched inserts every commit-size records.
+ */
+@Service
+public class PostBulkServiceImpl implements PostBulkService {
+
+    private static final String POST_EXPORT_SQL =
+            "SELECT id, user_id, content, post_type, visibility, faculty_id, likes_count, comments_count, " +
+            "shares_count, views_count, is_flagged, moderation_status, flagged_reason, is_deleted, is_featured, " +
+            "featured_until, is_published, scheduled_at, created_at, updated_at " +
+            "FROM posts WHERE id > ? ORDER BY id";
+
+    private static final String TAG_EXPORT_SQL =
+            "SELECT post_id, tag_name FROM post_tags WHERE post_id > ? ORDER BY post_id, id";
+
+    private static final String MENTION_EXPORT_SQL =
+            "SELECT post_id, mentioned_user_id, start_position, end_position " +
+            "FROM post_mentions WHERE post_id > ? ORDER BY post_id, start_position";
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('posts', 'id')) FROM generate_series(1, ?)";
+
+    private static final String POST_INSERT_SQL =
+            "INSERT INTO posts (id, user_id, content, post_type, visibility, faculty_id, likes_count, comments_count, " +
+            "shares_count, views_count, is_flagged, moderation_status, flagged_reason, is_deleted, is_featured, " +
+            "featured_until, is_published, scheduled_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String TAG_INSERT_SQL =
+            "INSERT INTO post_tags (post_id, tag_name, created_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (post_id, tag_name) DO NOTHING";
+
+    private static final String MENTION_INSERT_SQL =
+            "INSERT INTO post_mentions (post_id, mentioned_user_id, start_position, end_position, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContentServiceConfig config;
+
+    @Autowired
+    private PostLifecycleScheduler postLifecycleScheduler;
+
+    @Override
+    public long exportPosts(Long afterId, OutputStream out) {
+        long startAfter = afterId != null ? afterId : 0L;
+        // Postgres only honours the fetch size (server-side cursor) inside a transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Long exported = transaction.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Long>) connection -> streamPosts(connection, startAfter, out)));
+        return exported != null ? exported : 0L;
+    }
+
+    private long streamPosts(Connection connection, long afterId, OutputStream out) throws SQLException {
+        int fetchSize = config.getBulk().getFetchSize();
+        try (PreparedStatement postQuery = openCursor(connection, POST_EXPORT_SQL, afterId, fetchSize);
+             PreparedStatement tagQuery = openCursor(connection, TAG_EXPORT_SQL, afterId, fetchSize);
+             PreparedStatement mentionQuery = openCursor(connection, MENTION_EXPORT_SQL, afterId, fetchSize);
+             ResultSet posts = postQuery.executeQuery();
+             ResultSet tags = tagQuery.executeQuery();
+             ResultSet mentions = mentionQuery.executeQuery()) {
+
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(generator);
+
+            ChildCursor tagCursor = new ChildCursor(tags);
+            ChildCursor mentionCursor = new ChildCursor(mentions);
+            long count = 0;
+            while (posts.next()) {
+                PostBulkRecord record = readPost(posts);
+                long postId = record.getId();
+                while (tagCursor.isAt(postId)) {
+                    record.getTags().add(tags.getString("tag_name"));
+                    tagCursor.next();
+                }
+                while (mentionCursor.isAt(postId)) {
+                    record.getMentions().add(new PostBulkRecord.Mention(
+                            mentions.getLong("mentioned_user_id"),
+                            mentions.getInt("start_position"),
+                            mentions.getInt("end_position")));
+                    mentionCursor.next();
+                }
+                writer.write(record);
+                if (++count % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+            generator.writeRaw('\n');
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new BulkTransferException("Post export interrupted: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BulkImportResponse importPosts(InputStream in) {
+        long started = System.currentTimeMillis();
+        int commitSize = config.getBulk().getCommitSize();
+        BulkImportResponse response = new BulkImportResponse();
+        List<PostBulkRecord> batch = new ArrayList<>(commitSize);
+
+        try (MappingIterator<PostBulkRecord> records = objectMapper.readerFor(PostBulkRecord.class).readValues(in)) {
+            while (records.hasNextValue()) {
+                PostBulkRecord record = records.nextValue();
+                if (record.getUserId() == null || record.getContent() == null || record.getContent().isBlank()) {
+                    response.setRecordsRejected(response.getRecordsRejected() + 1);
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() >= commitSize) {
+                    commitBatch(batch, response);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                commitBatch(batch, response);
+            }
+        } catch (IOException e) {
+            throw new BulkTransferException("Import aborted after " + response.getPostsImported()
+                    + " committed posts: " + e.getMessage(), e);
+        }
+
+        response.setDurationMs(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private void commitBatch(List<PostBulkRecord> batch, BulkImportResponse response) {
+        List<Long> postIds = new ArrayList<>(batch.size());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            // One round trip reserves ids for the whole batch so children can reference them
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, batch.size());
+            postIds.addAll(ids);
+            LocalDateTime now = LocalDateTime.now();
+
+            List<Object[]> postRows = new ArrayList<>(batch.size());
+            List<Object[]> tagRows = new ArrayList<>();
+            List<Object[]> mentionRows = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                PostBulkRecord record = batch.get(i);
+                Long postId = ids.get(i);
+                LocalDateTime createdAt = record.getCreatedAt() != null ? record.getCreatedAt() : now;
+                postRows.add(new Object[] {
+                        postId,
+                        record.getUserId(),
+                        record.getContent(),
+                        valueOr(record.getPostType(), "OUTFIT"),
+                        valueOr(record.getVisibility(), "PUBLIC"),
+                        record.getFacultyId(),
+                        valueOr(record.getLikesCount(), 0),
+                        valueOr(record.getCommentsCount(), 0),
+                        valueOr(record.getSharesCount(), 0),
+                        valueOr(record.getViewsCount(), 0),
+                        valueOr(record.getIsFlagged(), false),
+                        valueOr(record.getModerationStatus(), "APPROVED"),
+                        record.getFlaggedReason(),
+                        valueOr(record.getIsDeleted(), false),
+                        valueOr(record.getIsFeatured(), false),
+                        record.getFeaturedUntil(),
+                        valueOr(record.getIsPublished(), true),
+                        record.getScheduledAt(),
+                        createdAt,
+                        valueOr(record.getUpdatedAt(), createdAt)
+                });
+                if (record.getTags() != null) {
+                    for (String tag : new LinkedHashSet<>(record.getTags())) {
+                        tagRows.add(new Object[] { postId, tag, createdAt });
+                    }
+                }
+                if (record.getMentions() != null) {
+                    for (PostBulkRecord.Mention mention : record.getMentions()) {
+                        mentionRows.add(new Object[] { postId, mention.getUserId(),
+                                mention.getStartPosition(), mention.getEndPosition(), createdAt });
+                    }
+                }
+            }
+
+            jdbcTemplate.batchUpdate(POST_INSERT_SQL, postRows);
+            if (!tagRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(TAG_INSERT_SQL, tagRows);
+            }
+            if (!mentionRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(MENTION_INSERT_SQL, mentionRows);
+            }
+
+            response.setPostsImported(response.getPostsImported() + postRows.size());
+            response.setTagsImported(response.getTagsImported() + tagRows.size());
+            response.setMentionsImported(response.getMentionsImported() + mentionRows.size());
+        });
+        response.setBatchesCommitted(response.getBatchesCommitted() + 1);
+
+        // Deadlines of committed posts get exact timers instead of waiting for the next refresh
+        for (int i = 0; i < batch.size(); i++) {
+            PostBulkRecord record = batch.get(i);
+            if (Boolean.TRUE.equals(record.getIsFeatured())) {
+                postLifecycleScheduler.scheduleFeatureExpiry(postIds.get(i), record.getFeaturedUntil());
+            }
+            if (Boolean.FALSE.equals(record.getIsPublished())) {
+                postLifecycleScheduler.schedulePublication(postIds.get(i), record.getScheduledAt());
+            }
+        }
+    }
+
+    private static PreparedStatement openCursor(Connection connection, String sql, long afterId, int fetchSize)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        statement.setLong(1, afterId);
+        return statement;
+    }
+
+    private static PostBulkRecord readPost(ResultSet rs) throws SQLException {
+        PostBulkRecord record = new PostBulkRecord();
+        record.setId(rs.getLong("id"));
+        record.setUserId(rs.getLong("user_id"));
+        record.setContent(rs.getString("content"));
+        record.setPostType(rs.getString("post_type"));
+        record.setVisibility(rs.getString("visibility"));
+        record.setFacultyId(rs.getObject("faculty_id", Long.class));
+        record.setLikesCount(rs.getInt("likes_count"));
+        record.setCommentsCount(rs.getInt("comments_count"));
+        record.setSharesCount(rs.getInt("shares_count"));
+        record.setViewsCount(rs.getInt("views_count"));
+        record.setIsFlagged(rs.getBoolean("is_flagged"));
+        record.setModerationStatus(rs.getString("moderation_status"));
+        record.setFlaggedReason(rs.getString("flagged_reason"));
+        record.setIsDeleted(rs.getBoolean("is_deleted"));
+        record.setIsFeatured(rs.getBoolean("is_featured"));
+        record.setFeaturedUntil(rs.getObject("featured_until", LocalDateTime.class));
+        record.setIsPublished(rs.getBoolean("is_published"));
+        record.setScheduledAt(rs.getObject("scheduled_at", LocalDateTime.class));
+        record.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        record.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        return record;
+    }
+
+    private static <T> T valueOr(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Forward-only view over a child table cursor ordered by post_id
+     */
+    private static final class ChildCursor {
+        private final ResultSet rows;
+        private boolean hasRow;
+
+        ChildCursor(ResultSet rows) throws SQLException {
+            this.rows = rows;
+            this.hasRow = rows.next();
+        }
+
+        /**
+         * Skip orphaned rows before postId; true while the current row belongs to postId
+         */
+        boolean isAt(long postId) throws SQLException {
+            while (hasRow && rows.getLong("post_id") < postId) {
+                hasRow = rows.next();
+            }
+            return hasRow && rows.getLong("post_id") == postId;
+        }
+
+        void next() throws SQLException {
+            hasRow = rows.next();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.raved.content.service.impl;
+
+import com.raved.content.dto.event.SocialEvent;
+import com.raved.content.service.PostCounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Implementation of PostCounterService.
+ *
+ * Event ids are claimed in processed_events in the same transaction as the counter updates, so
+ * a redelivered batch applies only the events that were not committed before. Deltas are summed
+ * per post, so a batch costs one batched UPDATE per post rather than one per like, and rows are
+ * updated in id order so concurrent consumers lock posts in the same order and cannot deadlock.
+ */
+@Service
+public class PostCounterServiceImpl implements PostCounterService {
+
+    public static final String POST_LIKES_CHANGED = "PostLikesChanged";
+    public static final String POST_COMMENTS_CHANGED = "PostCommentsChanged";
+
+    private static final String CLAIM_EVENTS_SQL =
+            "INSERT INTO processed_events (source, event_id) SELECT ?, unnest(?::bigint[]) " +
+            "ON CONFLICT DO NOTHING RETURNING event_id";
+
+    private static final String APPLY_DELTAS_SQL =
+            "UPDATE posts SET likes_count = GREATEST(likes_count + ?, 0), " +
+            "comments_count = GREATEST(comments_count + ?, 0) WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int applyEvents(String source, List<SocialEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        Set<Long> fresh = claim(source, events);
+
+        // postId -> {likes delta, comments delta}
+        Map<Long, long[]> deltas = new TreeMap<>();
+        for (SocialEvent event : events) {
+            if (!fresh.remove(event.getId()) || event.getAggregateId() == null) {
+                continue;
+            }
+            int slot;
+            if (POST_LIKES_CHANGED.equals(event.getType())) {
+                slot = 0;
+            } else if (POST_COMMENTS_CHANGED.equals(event.getType())) {
+                slot = 1;
+            } else {
+                continue;
+            }
+            deltas.computeIfAbsent(event.getAggregateId(), id -> new long[2])[slot] += delta(event);
+        }
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                batch.add(new Object[] { delta[0], delta[1], postId });
+            }
+        });
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int rows : jdbcTemplate.batchUpdate(APPLY_DELTAS_SQL, batch)) {
+            if (rows > 0) {
+                updated += rows;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Record the batch's event ids and return those not processed before
+     */
+    private Set<Long> claim(String source, List<SocialEvent> events) {
+        Long[] ids = events.stream().map(SocialEvent::getId).filter(id -> id != null).distinct().toArray(Long[]::new);
+        List<Long> claimed = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_EVENTS_SQL);
+            ps.setString(1, source);
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+        return new HashSet<>(claimed);
+    }
+
+    private static long delta(SocialEvent event) {
+        Object value = event.getPayload() != null ? event.getPayload().get("delta") : null;
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,9 @@
+-- Add featured-expiry and scheduled-publishing columns to posts
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS is_featured BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS featured_until TIMESTAMP;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS is_published BOOLEAN NOT NULL DEFAULT TRUE;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS scheduled_at TIMESTAMP;
+
+-- Create indexes (the lifecycle scheduler reads upcoming deadlines from these)
+CREATE INDEX IF NOT EXISTS idx_posts_featured ON posts(is_featured, featured_until);
+CREATE INDEX IF NOT EXISTS idx_posts_scheduled ON posts(is_published, scheduled_at);
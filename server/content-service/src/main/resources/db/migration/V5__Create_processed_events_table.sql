@@ -0,0 +1,9 @@
+-- Ids of events already applied, so redelivered broker messages are ignored
+CREATE TABLE IF NOT EXISTS processed_events (
+    source VARCHAR(50) NOT NULL,
+    event_id BIGINT NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (source, event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events(processed_at);
@@ -0,0 +1,23 @@
+package com.raved.realtime.archive;
+
+/**
+ * Name and type of one column in a columnar archive file
+ */
+public class ArchiveColumn {
+
+    private final String name;
+    private final ColumnType type;
+
+    public ArchiveColumn(String name, ColumnType type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+}
@@ -0,0 +1,11 @@
+package com.raved.realtime.archive;
+
+/**
+ * Value types supported by the columnar archive format
+ */
+public enum ColumnType {
+    LONG,      // zigzag-varint delta from the previous non-null value in the row group
+    TIMESTAMP, // LocalDateTime as microseconds, encoded like LONG
+    BOOLEAN,   // one byte per non-null value
+    STRING     // varint byte length followed by UTF-8 bytes
+}
@@ -0,0 +1,236 @@
+package com.raved.realtime.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads files written by ColumnarArchiveWriter.
+ *
+ * Only the footer is read on open. Callers pick row groups by their min/max statistics and
+ * decompress just the columns they project; reads are positional, so one reader can be shared
+ * by concurrent queries.
+ */
+public class ColumnarArchiveReader implements Closeable {
+
+    private static final int TRAILER_LENGTH = 8 + ColumnarArchiveWriter.MAGIC.length;
+
+    private final FileChannel channel;
+    private final List<ArchiveColumn> columns;
+    private final List<RowGroup> rowGroups;
+
+    private ColumnarArchiveReader(FileChannel channel, List<ArchiveColumn> columns, List<RowGroup> rowGroups) {
+        this.channel = channel;
+        this.columns = columns;
+        this.rowGroups = rowGroups;
+    }
+
+    public static ColumnarArchiveReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer trailer = readFully(channel, size - TRAILER_LENGTH, TRAILER_LENGTH);
+            long footerOffset = trailer.getLong();
+            byte[] magic = new byte[ColumnarArchiveWriter.MAGIC.length];
+            trailer.get(magic);
+            if (!Arrays.equals(magic, ColumnarArchiveWriter.MAGIC)) {
+                throw new IOException("Not a columnar archive: " + path);
+            }
+            ByteBuffer footerBuffer = readFully(channel, footerOffset, (int) (size - TRAILER_LENGTH - footerOffset));
+            DataInputStream footer = new DataInputStream(new ByteArrayInputStream(footerBuffer.array()));
+
+            int columnCount = footer.readInt();
+            List<ArchiveColumn> columns = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                String name = footer.readUTF();
+                columns.add(new ArchiveColumn(name, ColumnType.values()[footer.readByte()]));
+            }
+            int groupCount = footer.readInt();
+            List<RowGroup> groups = new ArrayList<>(groupCount);
+            for (int g = 0; g < groupCount; g++) {
+                long offset = footer.readLong();
+                int rows = footer.readInt();
+                int[] lengths = new int[columnCount];
+                long[] mins = new long[columnCount];
+                long[] maxs = new long[columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    lengths[c] = footer.readInt();
+                    mins[c] = footer.readLong();
+                    maxs[c] = footer.readLong();
+                }
+                groups.add(new RowGroup(g, offset, rows, lengths, mins, maxs));
+            }
+            return new ColumnarArchiveReader(channel, Collections.unmodifiableList(columns),
+                    Collections.unmodifiableList(groups));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<ArchiveColumn> getColumns() {
+        return columns;
+    }
+
+    public List<RowGroup> getRowGroups() {
+        return rowGroups;
+    }
+
+    /**
+     * Position of a column by name, or -1 if this file predates it
+     */
+    public int columnIndex(String name) {
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).getName().equals(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decode the projected columns of one row group; result[i][row] is the value of columns[i]
+     */
+    public Object[][] read(RowGroup group, int... projection) throws IOException {
+        Object[][] result = new Object[projection.length][];
+        for (int i = 0; i < projection.length; i++) {
+            int c = projection[i];
+            long position = group.offset;
+            for (int k = 0; k < c; k++) {
+                position += group.lengths[k];
+            }
+            ByteBuffer block = readFully(channel, position, group.lengths[c]);
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(block.array()), 8192)) {
+                result[i] = decodeColumn(in, columns.get(c).getType(), group.rows);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static Object[] decodeColumn(InputStream in, ColumnType type, int rows) throws IOException {
+        byte[] nulls = in.readNBytes((rows + 7) / 8);
+        Object[] values = new Object[rows];
+        long previous = 0;
+        for (int r = 0; r < rows; r++) {
+            if ((nulls[r >> 3] & (1 << (r & 7))) != 0) {
+                continue;
+            }
+            switch (type) {
+                case LONG -> {
+                    previous += unzigzag(readVarLong(in));
+                    values[r] = previous;
+                }
+                case TIMESTAMP -> {
+                    previous += unzigzag(readVarLong(in));
+                    values[r] = fromMicros(previous);
+                }
+                case BOOLEAN -> values[r] = readByte(in) != 0;
+                case STRING -> {
+                    int length = (int) readVarLong(in);
+                    values[r] = new String(in.readNBytes(length), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return values;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Archive truncated at " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Column block truncated");
+        }
+        return b;
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Location and statistics of one row group
+     */
+    public static final class RowGroup {
+        private final int index;
+        private final long offset;
+        private final int rows;
+        private final int[] lengths;
+        private final long[] mins;
+        private final long[] maxs;
+
+        RowGroup(int index, long offset, int rows, int[] lengths, long[] mins, long[] maxs) {
+            this.index = index;
+            this.offset = offset;
+            this.rows = rows;
+            this.lengths = lengths;
+            this.mins = mins;
+            this.maxs = maxs;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getRowCount() {
+            return rows;
+        }
+
+        /**
+         * Smallest non-null value of a LONG or TIMESTAMP column (as micros), Long.MAX_VALUE if all null
+         */
+        public long min(int column) {
+            return mins[column];
+        }
+
+        public long max(int column) {
+            return maxs[column];
+        }
+    }
+}
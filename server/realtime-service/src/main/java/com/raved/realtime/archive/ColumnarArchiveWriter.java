@@ -0,0 +1,224 @@
+package com.raved.realtime.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes rows to a compressed columnar file.
+ *
+ * Rows are buffered into row groups; each group stores every column as its own gzip block, so
+ * similar values sit next to each other (sorted ids become small deltas, repeated strings
+ * compress well) and a reader can decompress only the columns and groups it needs. The footer
+ * records each group's offset, block lengths and min/max of its numeric columns. The file is
+ * written under a temporary name and moved into place on close, so a crash never leaves a
+ * truncated archive behind.
+ *
+ * Layout: magic, row groups, footer, footer offset (8 bytes), magic.
+ */
+public class ColumnarArchiveWriter implements Closeable {
+
+    static final byte[] MAGIC = "RVARCH01".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path target;
+    private final Path temp;
+    private final List<ArchiveColumn> columns;
+    private final int rowGroupSize;
+    private final OutputStream out;
+    private final Object[][] group;
+    private final List<GroupMeta> groups = new ArrayList<>();
+    private int buffered;
+    private long offset;
+    private long rowCount;
+    private boolean closed;
+
+    public ColumnarArchiveWriter(Path target, List<ArchiveColumn> columns, int rowGroupSize) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.columns = columns;
+        this.rowGroupSize = Math.max(1, rowGroupSize);
+        this.group = new Object[this.rowGroupSize][];
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        this.out = Files.newOutputStream(temp);
+        write(MAGIC);
+    }
+
+    /**
+     * Append one row; values must match the column types (Long, LocalDateTime, Boolean, String) or be null
+     */
+    public void append(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.length);
+        }
+        group[buffered++] = values;
+        rowCount++;
+        if (buffered == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Finish the file and move it into place
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (buffered > 0) {
+                flushGroup();
+            }
+            long footerOffset = offset;
+            ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+            DataOutputStream footer = new DataOutputStream(footerBytes);
+            footer.writeInt(columns.size());
+            for (ArchiveColumn column : columns) {
+                footer.writeUTF(column.getName());
+                footer.writeByte(column.getType().ordinal());
+            }
+            footer.writeInt(groups.size());
+            for (GroupMeta meta : groups) {
+                footer.writeLong(meta.offset);
+                footer.writeInt(meta.rows);
+                for (int c = 0; c < columns.size(); c++) {
+                    footer.writeInt(meta.lengths[c]);
+                    footer.writeLong(meta.mins[c]);
+                    footer.writeLong(meta.maxs[c]);
+                }
+            }
+            footer.writeLong(footerOffset);
+            footer.write(MAGIC);
+            write(footerBytes.toByteArray());
+            out.flush();
+        } finally {
+            out.close();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Remove the partial file after a failure
+     */
+    public void abort() {
+        closed = true;
+        try {
+            out.close();
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // Best effort; a stale .tmp file is overwritten by the next attempt
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        GroupMeta meta = new GroupMeta(offset, buffered, columns.size());
+        for (int c = 0; c < columns.size(); c++) {
+            byte[] block = encodeColumn(c, meta);
+            meta.lengths[c] = block.length;
+            write(block);
+        }
+        groups.add(meta);
+        for (int i = 0; i < buffered; i++) {
+            group[i] = null;
+        }
+        buffered = 0;
+    }
+
+    private byte[] encodeColumn(int c, GroupMeta meta) throws IOException {
+        ColumnType type = columns.get(c).getType();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(buffered * 8);
+        byte[] nulls = new byte[(buffered + 7) / 8];
+        for (int r = 0; r < buffered; r++) {
+            if (group[r][c] == null) {
+                nulls[r >> 3] |= (byte) (1 << (r & 7));
+            }
+        }
+        raw.write(nulls);
+
+        long previous = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int r = 0; r < buffered; r++) {
+            Object value = group[r][c];
+            if (value == null) {
+                continue;
+            }
+            switch (type) {
+                case LONG, TIMESTAMP -> {
+                    long v = type == ColumnType.LONG ? ((Number) value).longValue() : toMicros((LocalDateTime) value);
+                    writeVarLong(raw, zigzag(v - previous));
+                    previous = v;
+                    min = Math.min(min, v);
+                    max = Math.max(max, v);
+                }
+                case BOOLEAN -> raw.write((Boolean) value ? 1 : 0);
+                case STRING -> {
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    writeVarLong(raw, bytes.length);
+                    raw.write(bytes);
+                }
+            }
+        }
+        meta.mins[c] = min;
+        meta.maxs[c] = max;
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192)) {
+            raw.writeTo(gzip);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        offset += bytes.length;
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static final class GroupMeta {
+        private final long offset;
+        private final int rows;
+        private final int[] lengths;
+        private final long[] mins;
+        private final long[] maxs;
+
+        GroupMeta(long offset, int rows, int columnCount) {
+            this.offset = offset;
+            this.rows = rows;
+            this.lengths = new int[columnCount];
+            this.mins = new long[columnCount];
+            this.maxs = new long[columnCount];
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.raved.realtime.archive;
+
+import java.util.List;
+
+/**
+ * Column layouts of the archived messages and message_reactions months.
+ *
+ * Message rows are sorted by (chat_room_id, id DESC) so one room's history is contiguous and
+ * row-group statistics on the first two columns locate it; reaction rows by message_id.
+ */
+public final class MessageArchiveSchema {
+
+    public static final List<ArchiveColumn> MESSAGES = List.of(
+            new ArchiveColumn("chat_room_id", ColumnType.LONG),
+            new ArchiveColumn("id", ColumnType.LONG),
+            new ArchiveColumn("sender_user_id", ColumnType.LONG),
+            new ArchiveColumn("content", ColumnType.STRING),
+            new ArchiveColumn("message_type", ColumnType.STRING),
+            new ArchiveColumn("reply_to_message_id", ColumnType.LONG),
+            new ArchiveColumn("media_url", ColumnType.STRING),
+            new ArchiveColumn("media_type", ColumnType.STRING),
+            new ArchiveColumn("media_size", ColumnType.LONG),
+            new ArchiveColumn("is_edited", ColumnType.BOOLEAN),
+            new ArchiveColumn("is_deleted", ColumnType.BOOLEAN),
+            new ArchiveColumn("edited_at", ColumnType.TIMESTAMP),
+            new ArchiveColumn("deleted_at", ColumnType.TIMESTAMP),
+            new ArchiveColumn("created_at", ColumnType.TIMESTAMP),
+            new ArchiveColumn("updated_at", ColumnType.TIMESTAMP),
+            new ArchiveColumn("room_seq", ColumnType.LONG),
+            new ArchiveColumn("reaction_summary", ColumnType.STRING));
+
+    public static final List<ArchiveColumn> REACTIONS = List.of(
+            new ArchiveColumn("message_id", ColumnType.LONG),
+            new ArchiveColumn("id", ColumnType.LONG),
+            new ArchiveColumn("user_id", ColumnType.LONG),
+            new ArchiveColumn("emoji", ColumnType.STRING),
+            new ArchiveColumn("created_at", ColumnType.TIMESTAMP));
+
+    private MessageArchiveSchema() {
+    }
+
+    /**
+     * Comma-separated column names, in file order, for the SELECT that feeds the writer
+     */
+    public static String selectList(List<ArchiveColumn> columns) {
+        StringBuilder sql = new StringBuilder();
+        for (ArchiveColumn column : columns) {
+            if (sql.length() > 0) {
+                sql.append(", ");
+            }
+            sql.append(column.getName());
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package com.raved.realtime.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.dto.response.MessageResponse;
+import com.raved.realtime.persistence.ReactionAggregator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read side of the archive tier.
+ *
+ * Archived months are scanned newest first. Within a file, row-group statistics on
+ * (chat_room_id, id) skip every group that cannot hold the room, and only the room, id and
+ * deleted-flag columns are decompressed to find matching rows before the rest are read.
+ * Readers are opened once and kept for the life of the process.
+ */
+@Component
+public class MessageArchiveStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageArchiveStore.class);
+
+    private static final String ARCHIVES_SQL =
+            "SELECT messages_file FROM message_archives WHERE min_message_id < ? ORDER BY min_message_id DESC";
+
+    private static final String RANGE_SQL =
+            "SELECT min(min_message_id), max(max_message_id) FROM message_archives";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ColumnarArchiveReader> readers = new ConcurrentHashMap<>();
+
+    public MessageArchiveStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Up to limit visible messages of a room with id below beforeId, newest first
+     */
+    public List<MessageResponse> findRoomPage(long roomId, long beforeId, int limit) {
+        List<MessageResponse> page = new ArrayList<>(limit);
+        for (String file : jdbcTemplate.queryForList(ARCHIVES_SQL, String.class, beforeId)) {
+            try {
+                collect(reader(file), roomId, beforeId, limit, page);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read message archive " + file, e);
+            }
+            if (page.size() >= limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Ids [lower, upper) spanned by archived months, or null if nothing has been archived
+     */
+    public long[] archivedIdRange() {
+        return jdbcTemplate.queryForObject(RANGE_SQL, (rs, row) -> {
+            long lower = rs.getLong(1);
+            return rs.wasNull() ? null : new long[] { lower, rs.getLong(2) };
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        for (ColumnarArchiveReader reader : readers.values()) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.debug("Failed to close archive reader: {}", e.getMessage());
+            }
+        }
+        readers.clear();
+    }
+
+    private ColumnarArchiveReader reader(String file) {
+        return readers.computeIfAbsent(file, path -> {
+            try {
+                return ColumnarArchiveReader.open(Paths.get(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open message archive " + path, e);
+            }
+        });
+    }
+
+    private void collect(ColumnarArchiveReader reader, long roomId, long beforeId, int limit,
+                                List<MessageResponse> page) throws IOException {
+        int roomColumn = reader.columnIndex("chat_room_id");
+        int idColumn = reader.columnIndex("id");
+        int deletedColumn = reader.columnIndex("is_deleted");
+        int[] projection = new int[MessageArchiveSchema.MESSAGES.size()];
+        for (int i = 0; i < projection.length; i++) {
+            projection[i] = reader.columnIndex(MessageArchiveSchema.MESSAGES.get(i).getName());
+        }
+
+        // Rows are sorted by (chat_room_id, id DESC), so groups come out newest first for the room
+        for (ColumnarArchiveReader.RowGroup group : reader.getRowGroups()) {
+            if (group.max(roomColumn) < roomId || group.min(idColumn) >= beforeId) {
+                continue;
+            }
+            if (group.min(roomColumn) > roomId) {
+                break;
+            }
+            Object[][] keys = reader.read(group, roomColumn, idColumn, deletedColumn);
+            List<Integer> matches = new ArrayList<>();
+            for (int r = 0; r < group.getRowCount() && page.size() + matches.size() < limit; r++) {
+                if ((Long) keys[0][r] == roomId && (Long) keys[1][r] < beforeId
+                        && !Boolean.TRUE.equals(keys[2][r])) {
+                    matches.add(r);
+                }
+            }
+            if (matches.isEmpty()) {
+                continue;
+            }
+            Object[][] columns = readProjection(reader, group, projection);
+            for (int r : matches) {
+                page.add(toResponse(columns, r));
+            }
+            if (page.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Columns missing from an older file read as all-null
+     */
+    private static Object[][] readProjection(ColumnarArchiveReader reader, ColumnarArchiveReader.RowGroup group,
+                                             int[] projection) throws IOException {
+        int[] present = Arrays.stream(projection).filter(c -> c >= 0).toArray();
+        Object[][] read = reader.read(group, present);
+        Object[][] columns = new Object[projection.length][];
+        for (int i = 0, p = 0; i < projection.length; i++) {
+            columns[i] = projection[i] >= 0 ? read[p++] : new Object[group.getRowCount()];
+        }
+        return columns;
+    }
+
+    // Indexes follow MessageArchiveSchema.MESSAGES
+    private MessageResponse toResponse(Object[][] columns, int r) {
+        MessageResponse response = new MessageResponse();
+        response.setChatRoomId((Long) columns[0][r]);
+        response.setId((Long) columns[1][r]);
+        response.setSequence((Long) columns[15][r]);
+        response.setSenderUserId((Long) columns[2][r]);
+        response.setContent((String) columns[3][r]);
+        response.setMessageType((String) columns[4][r]);
+        response.setReplyToMessageId((Long) columns[5][r]);
+        response.setMediaUrl((String) columns[6][r]);
+        response.setMediaType((String) columns[7][r]);
+        response.setMediaSize((Long) columns[8][r]);
+        response.setIsEdited((Boolean) columns[9][r]);
+        response.setIsDeleted((Boolean) columns[10][r]);
+        response.setEditedAt((LocalDateTime) columns[11][r]);
+        response.setCreatedAt((LocalDateTime) columns[13][r]);
+        response.setReactions(ReactionAggregator.parseSummary(objectMapper, (String) columns[16][r]));
+        return response;
+    }
+}
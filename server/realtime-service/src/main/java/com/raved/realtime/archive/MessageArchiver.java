@@ -0,0 +1,215 @@
+package com.raved.realtime.archive;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.scheduler.MessagePartitionManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves months past the hot window out of Postgres into compressed columnar files.
+ *
+ * Each month is handled in one transaction: both partitions are locked against writes, streamed
+ * into archive files, recorded in message_archives, then detached and dropped. If anything fails
+ * the transaction rolls back and the partial files are removed, so a month is always in exactly
+ * one tier. One node archives at a time, guarded by a Redis lock.
+ *
+ * A month can take minutes to export, so the cron trigger only hands the run to a dedicated
+ * thread and the shared scheduler moves straight on to its other jobs.
+ */
+@Component
+public class MessageArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageArchiver.class);
+
+    private static final String LOCK_KEY = "realtime:archive-lock";
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'messages' AND c.relname ~ '^messages_[0-9]{4}_[0-9]{2}$' ORDER BY c.relname";
+
+    private static final String INSERT_CATALOG_SQL =
+            "INSERT INTO message_archives (month, min_message_id, max_message_id, messages_file, reactions_file, " +
+            "message_count, reaction_count) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RealtimeServiceConfig.Archive settings;
+    private final String lockOwner = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "message-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MessageArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           StringRedisTemplate redisTemplate, RealtimeServiceConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(config.getArchive().getFetchSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.settings = config.getArchive();
+    }
+
+    @Scheduled(cron = "${realtime.archive.cron:0 30 4 * * *}")
+    public void scheduleArchive() {
+        // A run still going from last time simply continues; months are picked up in order
+        if (!settings.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                archiveExpiredMonths();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void archiveExpiredMonths() {
+        Duration lockTtl = Duration.ofMillis(settings.getLockTtlMs());
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockOwner, lockTtl))) {
+                return;
+            }
+            YearMonth oldestHot = YearMonth.now(ZoneOffset.UTC).minusMonths(settings.getHotMonths() - 1L);
+            for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+                YearMonth month = YearMonth.parse(partition.substring("messages_".length()),
+                        MessagePartitionManager.PARTITION_SUFFIX);
+                if (!month.isBefore(oldestHot)) {
+                    break;
+                }
+                archiveMonth(month);
+                redisTemplate.expire(LOCK_KEY, lockTtl);
+            }
+        } catch (DataAccessException | IOException | UncheckedIOException e) {
+            log.warn("Message archival aborted, resuming next run: {}", e.getMessage());
+        } finally {
+            releaseLock();
+        }
+    }
+
+    private void archiveMonth(YearMonth month) throws IOException {
+        String suffix = month.format(MessagePartitionManager.PARTITION_SUFFIX);
+        String messagesTable = "messages_" + suffix;
+        String reactionsTable = "message_reactions_" + suffix;
+        Path directory = Paths.get(settings.getDirectory());
+        Path messagesFile = directory.resolve(messagesTable + ".rva");
+        Path reactionsFile = directory.resolve(reactionsTable + ".rva");
+        long minId = MessagePartitionManager.lowerBound(month);
+        long maxId = MessagePartitionManager.lowerBound(month.plusMonths(1));
+
+        ColumnarArchiveWriter messages = new ColumnarArchiveWriter(messagesFile, MessageArchiveSchema.MESSAGES,
+                settings.getRowGroupSize());
+        ColumnarArchiveWriter reactions = new ColumnarArchiveWriter(reactionsFile, MessageArchiveSchema.REACTIONS,
+                settings.getRowGroupSize());
+        boolean committed = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // SHARE blocks inserts and updates into the month while readers carry on
+                jdbcTemplate.execute("LOCK TABLE " + messagesTable + ", " + reactionsTable + " IN SHARE MODE");
+                copy(messagesTable, MessageArchiveSchema.MESSAGES, "chat_room_id, id DESC", messages);
+                copy(reactionsTable, MessageArchiveSchema.REACTIONS, "message_id, id", reactions);
+                close(messages);
+                close(reactions);
+                jdbcTemplate.update(INSERT_CATALOG_SQL, Date.valueOf(month.atDay(1)), minId, maxId,
+                        messagesFile.toString(), reactionsFile.toString(), messages.getRowCount(),
+                        reactions.getRowCount());
+                jdbcTemplate.execute("ALTER TABLE message_reactions DETACH PARTITION " + reactionsTable);
+                jdbcTemplate.execute("DROP TABLE " + reactionsTable);
+                jdbcTemplate.execute("ALTER TABLE messages DETACH PARTITION " + messagesTable);
+                jdbcTemplate.execute("DROP TABLE " + messagesTable);
+            });
+            committed = true;
+            log.info("Archived {}: {} messages, {} reactions", month, messages.getRowCount(), reactions.getRowCount());
+        } finally {
+            if (!committed) {
+                messages.abort();
+                reactions.abort();
+                Files.deleteIfExists(messagesFile);
+                Files.deleteIfExists(reactionsFile);
+            }
+        }
+    }
+
+    private void copy(String table, List<ArchiveColumn> columns, String orderBy, ColumnarArchiveWriter writer) {
+        String sql = "SELECT " + MessageArchiveSchema.selectList(columns) + " FROM " + table + " ORDER BY " + orderBy;
+        streamingTemplate.query(sql, rs -> {
+            Object[] row = new Object[columns.size()];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = readValue(rs, c + 1, columns.get(c).getType());
+            }
+            try {
+                writer.append(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Object readValue(ResultSet rs, int index, ColumnType type) throws SQLException {
+        Object value = switch (type) {
+            case LONG -> rs.getLong(index);
+            case BOOLEAN -> rs.getBoolean(index);
+            case STRING -> rs.getString(index);
+            case TIMESTAMP -> {
+                Timestamp timestamp = rs.getTimestamp(index);
+                yield timestamp != null ? timestamp.toLocalDateTime() : null;
+            }
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void close(ColumnarArchiveWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            if (lockOwner.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Archive lock left to expire: {}", e.getMessage());
+        }
+    }
+}
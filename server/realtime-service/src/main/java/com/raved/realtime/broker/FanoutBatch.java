@@ -0,0 +1,37 @@
+package com.raved.realtime.broker;
+
+import java.util.List;
+
+/**
+ * Room frames coalesced for one destination node within a batch window
+ */
+public class FanoutBatch {
+
+    private String sourceNode;
+    private List<FanoutMessage> messages;
+
+    // Constructors
+    public FanoutBatch() {}
+
+    public FanoutBatch(String sourceNode, List<FanoutMessage> messages) {
+        this.sourceNode = sourceNode;
+        this.messages = messages;
+    }
+
+    // Getters and Setters
+    public String getSourceNode() {
+        return sourceNode;
+    }
+
+    public void setSourceNode(String sourceNode) {
+        this.sourceNode = sourceNode;
+    }
+
+    public List<FanoutMessage> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<FanoutMessage> messages) {
+        this.messages = messages;
+    }
+}
@@ -0,0 +1,59 @@
+package com.raved.realtime.broker;
+
+/**
+ * One serialized room frame carried in a FanoutBatch
+ */
+public class FanoutMessage {
+
+    private long roomId;
+    private String frame;
+    private long publishedAtMicros;
+    private boolean ephemeral; // Delivered best-effort and never cached, see EphemeralEventRelay
+
+    // Constructors
+    public FanoutMessage() {}
+
+    public FanoutMessage(long roomId, String frame, long publishedAtMicros) {
+        this.roomId = roomId;
+        this.frame = frame;
+        this.publishedAtMicros = publishedAtMicros;
+    }
+
+    public FanoutMessage(long roomId, String frame, long publishedAtMicros, boolean ephemeral) {
+        this(roomId, frame, publishedAtMicros);
+        this.ephemeral = ephemeral;
+    }
+
+    // Getters and Setters
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getFrame() {
+        return frame;
+    }
+
+    public void setFrame(String frame) {
+        this.frame = frame;
+    }
+
+    public long getPublishedAtMicros() {
+        return publishedAtMicros;
+    }
+
+    public void setPublishedAtMicros(long publishedAtMicros) {
+        this.publishedAtMicros = publishedAtMicros;
+    }
+
+    public boolean isEphemeral() {
+        return ephemeral;
+    }
+
+    public void setEphemeral(boolean ephemeral) {
+        this.ephemeral = ephemeral;
+    }
+}
@@ -0,0 +1,194 @@
+package com.raved.realtime.broker;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identity and liveness of the realtime-service nodes.
+ *
+ * Each node has a random id for its lifetime and heartbeats into a Redis sorted set scored by
+ * the time of its last beat. The set of live nodes is refreshed on every beat and held in memory,
+ * so the publish path checks liveness without a Redis round trip.
+ *
+ * The heartbeat runs on its own thread, so a slow scheduled job cannot make this node look dead.
+ * A node silent for the TTL stops receiving remote traffic, but it is only forgotten, and pruned
+ * from the room index, once it has been silent for the much longer prune interval; a node that
+ * merely missed a beat or two resumes with its room subscriptions intact.
+ *
+ * A node without a configured Snowflake worker id leases one here: a per-slot Redis key taken
+ * with SET NX, holding the node id and expiring after the prune interval, and renewed by every
+ * beat. Slots held by other nodes are skipped, so two running nodes never share a worker id.
+ */
+@Component
+public class NodeRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeRegistry.class);
+
+    static final String NODES_KEY = "realtime:nodes";
+    private static final String WORKER_SEQUENCE_KEY = "realtime:snowflake:worker-seq";
+    private static final String WORKER_LEASE_KEY = "realtime:snowflake:worker:";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final RealtimeServiceConfig config;
+    private final RedisScript<Long> workerLeaseRenewScript;
+    private final RedisScript<Long> workerLeaseReleaseScript;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "node-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Set<String> liveNodes = Collections.emptySet();
+    // Nodes heard from within the prune interval; a superset of liveNodes
+    private volatile Set<String> knownNodes = Collections.emptySet();
+    private volatile String workerLeaseKey;
+
+    public NodeRegistry(StringRedisTemplate redisTemplate, RealtimeServiceConfig config,
+                        RedisScript<Long> workerLeaseRenewScript, RedisScript<Long> workerLeaseReleaseScript) {
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+        this.workerLeaseRenewScript = workerLeaseRenewScript;
+        this.workerLeaseReleaseScript = workerLeaseReleaseScript;
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, 0, config.getBroker().getNodeHeartbeatMs(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether a node has beaten within the TTL and should be sent remote traffic
+     */
+    public boolean isLive(String node) {
+        return liveNodes.contains(node);
+    }
+
+    /**
+     * Whether a node has been silent past the prune interval, so its room index entries can go
+     */
+    public boolean isGone(String node) {
+        return isReady() && !knownNodes.contains(node);
+    }
+
+    /**
+     * Whether the liveness view has been loaded; it always includes this node once it has
+     */
+    public boolean isReady() {
+        return liveNodes.contains(nodeId);
+    }
+
+    /**
+     * Lease a Snowflake worker id no other running node holds, for as long as this node beats
+     */
+    public synchronized int leaseWorkerId(int maxWorkerId) {
+        if (workerLeaseKey != null) {
+            return Integer.parseInt(workerLeaseKey.substring(WORKER_LEASE_KEY.length()));
+        }
+        // The shared counter only spreads starting points; the SET NX decides ownership
+        Long hint = redisTemplate.opsForValue().increment(WORKER_SEQUENCE_KEY);
+        int slots = maxWorkerId + 1;
+        int start = (int) Math.floorMod(hint != null ? hint : 0L, (long) slots);
+        Duration ttl = Duration.ofMillis(leaseTtlMs());
+        for (int i = 0; i < slots; i++) {
+            int workerId = (start + i) % slots;
+            String key = WORKER_LEASE_KEY + workerId;
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, nodeId, ttl))) {
+                workerLeaseKey = key;
+                log.info("Leased Snowflake worker id {}", workerId);
+                return workerId;
+            }
+        }
+        throw new IllegalStateException("All " + slots + " Snowflake worker ids are leased by running nodes");
+    }
+
+    void heartbeat() {
+        long now = System.currentTimeMillis();
+        long liveCutoff = now - config.getBroker().getNodeTtlMs();
+        long pruneCutoff = now - leaseTtlMs();
+        try {
+            redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+            redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, Double.NEGATIVE_INFINITY, pruneCutoff);
+            Set<String> live = new HashSet<>();
+            Set<String> known = new HashSet<>();
+            Set<ZSetOperations.TypedTuple<String>> nodes = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(NODES_KEY, pruneCutoff, Double.POSITIVE_INFINITY);
+            if (nodes != null) {
+                for (ZSetOperations.TypedTuple<String> node : nodes) {
+                    known.add(node.getValue());
+                    if (node.getScore() != null && node.getScore() >= liveCutoff) {
+                        live.add(node.getValue());
+                    }
+                }
+            }
+            knownNodes = known;
+            liveNodes = live;
+            renewWorkerLease();
+        } catch (DataAccessException e) {
+            // Keep the last known view; remote delivery degrades rather than stopping
+            log.warn("Node heartbeat failed: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Never let one bad beat cancel the schedule
+            log.error("Node heartbeat failed", e);
+        }
+    }
+
+    /**
+     * Leave the cluster immediately instead of waiting for the TTL, freeing the worker id
+     */
+    public void deregister() {
+        try {
+            redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+            String key = workerLeaseKey;
+            if (key != null) {
+                redisTemplate.execute(workerLeaseReleaseScript, List.of(key), nodeId);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Node {} left to expire: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void renewWorkerLease() {
+        String key = workerLeaseKey;
+        if (key == null) {
+            return;
+        }
+        Long renewed = redisTemplate.execute(workerLeaseRenewScript, List.of(key), nodeId,
+                String.valueOf(leaseTtlMs()));
+        if (renewed == null || renewed == 0) {
+            // Only possible after a stall longer than the lease; ids from here may collide
+            log.error("Snowflake worker lease {} is held by another node", key);
+        }
+    }
+
+    private long leaseTtlMs() {
+        return Math.max(config.getBroker().getNodePruneMs(), config.getBroker().getNodeTtlMs());
+    }
+}
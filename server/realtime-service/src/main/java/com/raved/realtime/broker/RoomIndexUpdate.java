@@ -0,0 +1,45 @@
+package com.raved.realtime.broker;
+
+/**
+ * Broadcast to every node when a node gains its first or loses its last session in a room
+ */
+public class RoomIndexUpdate {
+
+    private String nodeId;
+    private long roomId;
+    private boolean subscribed;
+
+    // Constructors
+    public RoomIndexUpdate() {}
+
+    public RoomIndexUpdate(String nodeId, long roomId, boolean subscribed) {
+        this.nodeId = nodeId;
+        this.roomId = roomId;
+        this.subscribed = subscribed;
+    }
+
+    // Getters and Setters
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(long roomId) {
+        this.roomId = roomId;
+    }
+
+    public boolean isSubscribed() {
+        return subscribed;
+    }
+
+    public void setSubscribed(boolean subscribed) {
+        this.subscribed = subscribed;
+    }
+}
@@ -0,0 +1,228 @@
+package com.raved.realtime.broker;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.util.ShardedLongMap;
+import com.raved.realtime.websocket.RoomSubscriptionEvent;
+import com.raved.realtime.websocket.WebSocketSessionManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Which nodes have sessions subscribed to which rooms.
+ *
+ * The source of truth is one Redis set of node ids per room, changed only when a node's first
+ * session joins a room or its last one leaves. Every change is also broadcast on a fanout
+ * exchange so each node keeps an in-memory copy current; entries are loaded lazily, reloaded
+ * periodically to heal missed updates, and filtered by node liveness so a crashed node stops
+ * receiving traffic once its heartbeat expires. A node is only removed from the Redis sets once
+ * NodeRegistry considers it gone, so one that missed a few beats keeps its rooms.
+ */
+@Component
+public class RoomNodeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomNodeIndex.class);
+
+    private static final String ROOM_NODES_KEY = "realtime:room-nodes:";
+    private static final String[] NO_NODES = new String[0];
+
+    private final StringRedisTemplate redisTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final FanoutExchange indexExchange;
+    private final NodeRegistry nodeRegistry;
+    private final WebSocketSessionManager sessionManager;
+    private final RealtimeServiceConfig.Broker settings;
+    private final ShardedLongMap<Entry> cache;
+    // Applies this node's own subscription changes in order, off the WebSocket threads
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "room-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RoomNodeIndex(StringRedisTemplate redisTemplate, RabbitTemplate rabbitTemplate,
+                         FanoutExchange realtimeIndexExchange, NodeRegistry nodeRegistry,
+                         WebSocketSessionManager sessionManager, RealtimeServiceConfig config) {
+        this.redisTemplate = redisTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.indexExchange = realtimeIndexExchange;
+        this.nodeRegistry = nodeRegistry;
+        this.sessionManager = sessionManager;
+        this.settings = config.getBroker();
+        this.cache = new ShardedLongMap<>(config.getWebsocket().getRegistryShards(),
+                config.getWebsocket().getExpectedSessions() / 4);
+    }
+
+    /**
+     * Live nodes other than this one with subscribers in the room
+     */
+    public List<String> getRemoteNodes(long roomId) {
+        Entry entry = cache.get(roomId);
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt > settings.getIndexRefreshMs()) {
+            entry = load(roomId);
+        }
+        String self = nodeRegistry.getNodeId();
+        List<String> nodes = new ArrayList<>(entry.nodes.length);
+        for (String node : entry.nodes) {
+            if (!node.equals(self) && nodeRegistry.isLive(node)) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    @EventListener
+    public void onRoomSubscription(RoomSubscriptionEvent event) {
+        updater.execute(() -> publish(event.getRoomId(), event.isSubscribed()));
+    }
+
+    @RabbitListener(queues = "#{realtimeIndexQueue.name}")
+    public void onIndexUpdate(RoomIndexUpdate update) {
+        if (nodeRegistry.getNodeId().equals(update.getNodeId())) {
+            return;
+        }
+        // Only rooms this node has already loaded are patched; others load on first use
+        cache.compute(update.getRoomId(), (roomId, current) -> {
+            if (current == null) {
+                return null;
+            }
+            String[] nodes = update.isSubscribed() ? with(current.nodes, update.getNodeId())
+                    : without(current.nodes, update.getNodeId());
+            return new Entry(nodes, current.loadedAt);
+        });
+    }
+
+    /**
+     * Re-assert this node's memberships so a Redis restart or a dropped update heals itself
+     */
+    @Scheduled(initialDelayString = "${realtime.broker.index-refresh-ms:30000}",
+            fixedDelayString = "${realtime.broker.index-refresh-ms:30000}")
+    public void refreshLocalRooms() {
+        List<Long> rooms = new ArrayList<>();
+        sessionManager.forEachSubscribedRoom(rooms::add);
+        if (rooms.isEmpty()) {
+            return;
+        }
+        String self = nodeRegistry.getNodeId();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (Long roomId : rooms) {
+                    redis.sAdd(ROOM_NODES_KEY + roomId, self);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to refresh room index for {} rooms: {}", rooms.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+        List<Long> rooms = new ArrayList<>();
+        sessionManager.forEachSubscribedRoom(rooms::add);
+        for (Long roomId : rooms) {
+            publish(roomId, false);
+        }
+        nodeRegistry.deregister();
+    }
+
+    private void publish(long roomId, boolean subscribed) {
+        String self = nodeRegistry.getNodeId();
+        try {
+            if (subscribed) {
+                redisTemplate.opsForSet().add(ROOM_NODES_KEY + roomId, self);
+            } else {
+                redisTemplate.opsForSet().remove(ROOM_NODES_KEY + roomId, self);
+            }
+            rabbitTemplate.convertAndSend(indexExchange.getName(), "", new RoomIndexUpdate(self, roomId, subscribed));
+        } catch (DataAccessException | AmqpException e) {
+            // The periodic refresh and entry reloads repair the index
+            log.warn("Failed to publish room {} subscription change: {}", roomId, e.getMessage());
+        }
+    }
+
+    private Entry load(long roomId) {
+        String key = ROOM_NODES_KEY + roomId;
+        String[] nodes;
+        try {
+            Set<String> members = redisTemplate.opsForSet().members(key);
+            List<String> dead = new ArrayList<>();
+            List<String> known = new ArrayList<>();
+            if (members != null) {
+                for (String node : members) {
+                    // Until this node's first heartbeat lands its liveness view is empty; prune nothing
+                    if (nodeRegistry.isGone(node)) {
+                        dead.add(node);
+                    } else {
+                        known.add(node);
+                    }
+                }
+            }
+            if (!dead.isEmpty()) {
+                redisTemplate.opsForSet().remove(key, dead.toArray());
+            }
+            nodes = known.isEmpty() ? NO_NODES : known.toArray(NO_NODES);
+        } catch (DataAccessException e) {
+            log.warn("Failed to load nodes for room {}: {}", roomId, e.getMessage());
+            Entry stale = cache.get(roomId);
+            return stale != null ? stale : new Entry(NO_NODES, 0);
+        }
+        Entry entry = new Entry(nodes, System.currentTimeMillis());
+        cache.compute(roomId, (id, current) -> entry);
+        return entry;
+    }
+
+    private static String[] with(String[] nodes, String node) {
+        for (String existing : nodes) {
+            if (existing.equals(node)) {
+                return nodes;
+            }
+        }
+        String[] updated = Arrays.copyOf(nodes, nodes.length + 1);
+        updated[nodes.length] = node;
+        return updated;
+    }
+
+    private static String[] without(String[] nodes, String node) {
+        List<String> updated = new ArrayList<>(nodes.length);
+        for (String existing : nodes) {
+            if (!existing.equals(node)) {
+                updated.add(existing);
+            }
+        }
+        return updated.size() == nodes.length ? nodes : updated.toArray(NO_NODES);
+    }
+
+    /**
+     * Immutable cached node list for one room
+     */
+    private static final class Entry {
+        private final String[] nodes;
+        private final long loadedAt;
+
+        Entry(String[] nodes, long loadedAt) {
+            this.nodes = nodes;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package com.raved.realtime.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.dto.response.MessagePageResponse;
+import com.raved.realtime.dto.response.MessageResponse;
+import com.raved.realtime.util.ShardedLongMap;
+import com.raved.realtime.websocket.RoomSubscriptionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Newest messages of each room, so opening a chat costs no database query.
+ *
+ * Redis holds a list of the last N messages per room, shared by every node. Each node also keeps
+ * an in-memory ring for the rooms it has subscribers in: those rooms' frames already reach the
+ * node through the fan-out broker, so the ring is kept current from them without extra traffic.
+ * A ring is loaded from Redis only once the node has been in the room index long enough for
+ * every publisher to see it; updates arriving while it loads are replayed on top.
+ *
+ * The node that commits a send, edit, delete or reaction summary updates Redis through a
+ * background pipeline, so the group-commit writer never waits on a Redis round trip. If an
+ * update has to be dropped the room's Redis copy is discarded rather than left silently
+ * incomplete.
+ */
+@Component
+public class RoomMessageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomMessageCache.class);
+
+    private static final String LIST_KEY = "realtime:recent:";
+    private static final String STATE_KEY = "realtime:recent-state:";
+    private static final String STATE_FULL = "full";
+    private static final String STATE_BASE = "base";
+    private static final int MAX_PIPELINE = 256;
+    private static final TypeReference<LinkedHashMap<String, Long>> REACTIONS_TYPE = new TypeReference<>() {};
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisScript<Long> pushScript;
+    private final RedisScript<Long> replaceScript;
+    private final RedisScript<Long> fillScript;
+    private final RealtimeServiceConfig.RecentMessages settings;
+    private final ShardedLongMap<Ring> rings;
+    private final BlockingQueue<RedisUpdate> updates;
+    private final Set<Long> invalidated = ConcurrentHashMap.newKeySet();
+    private final Thread replicator;
+    private volatile boolean running = true;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter dropped;
+
+    public RoomMessageCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                            RedisScript<Long> recentMessagePushScript, RedisScript<Long> recentMessageReplaceScript,
+                            RedisScript<Long> recentMessageFillScript, RealtimeServiceConfig config,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.pushScript = recentMessagePushScript;
+        this.replaceScript = recentMessageReplaceScript;
+        this.fillScript = recentMessageFillScript;
+        this.settings = config.getRecentMessages();
+        this.rings = new ShardedLongMap<>(config.getWebsocket().getRegistryShards(), 1024);
+        this.updates = new LinkedBlockingQueue<>(settings.getMaxPending());
+
+        this.localHits = meterRegistry.counter("realtime.recent.requests", "result", "local");
+        this.redisHits = meterRegistry.counter("realtime.recent.requests", "result", "redis");
+        this.misses = meterRegistry.counter("realtime.recent.requests", "result", "miss");
+        this.dropped = meterRegistry.counter("realtime.recent.dropped");
+        Gauge.builder("realtime.recent.rooms", rings, ShardedLongMap::size).register(meterRegistry);
+
+        this.replicator = new Thread(this::runReplicator, "recent-cache-writer");
+        this.replicator.setDaemon(true);
+        this.replicator.start();
+    }
+
+    /**
+     * First page of a room's history, or null when the cache cannot answer it exactly
+     */
+    public MessagePageResponse firstPage(long roomId, int limit) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        Ring ring = rings.get(roomId);
+        if (ring != null && ring.loaded) {
+            MessagePageResponse page = ring.page(limit);
+            if (page != null) {
+                localHits.increment();
+                return page;
+            }
+            misses.increment();
+            return null;
+        }
+
+        Ring stored = readRedis(roomId);
+        if (stored == null) {
+            misses.increment();
+            return null;
+        }
+        if (ring != null && System.currentTimeMillis() - ring.trackedSince >= settings.getSettleMs()) {
+            rings.compute(roomId, (id, current) -> current != null && !current.loaded ? current.install(stored) : current);
+        }
+        MessagePageResponse page = stored.page(limit);
+        if (page == null) {
+            misses.increment();
+            return null;
+        }
+        redisHits.increment();
+        return page;
+    }
+
+    /**
+     * Seed the cache after a miss with the room's newest messages, newest first
+     */
+    public void fill(long roomId, List<MessageResponse> newest, boolean wholeHistory) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        int count = Math.min(newest.size(), settings.getCapacity());
+        String[] args = new String[3 + count];
+        args[0] = Integer.toString(settings.getCapacity());
+        args[1] = Long.toString(settings.getTtlSeconds());
+        args[2] = wholeHistory && count == newest.size() ? STATE_FULL : STATE_BASE;
+        try {
+            for (int i = 0; i < count; i++) {
+                args[3 + i] = objectMapper.writeValueAsString(newest.get(i));
+            }
+            redisTemplate.execute(fillScript, List.of(LIST_KEY + roomId, STATE_KEY + roomId), (Object[]) args);
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.debug("Failed to fill recent messages of room {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    /**
+     * A message was committed on this node
+     */
+    public void onMessageStored(MessageResponse message) {
+        applyLocal(message.getChatRoomId(), Op.upsert(message));
+        replicate(message.getChatRoomId(), message.getId(), message, false);
+    }
+
+    /**
+     * A message's content changed on this node
+     */
+    public void onMessageEdited(MessageResponse message) {
+        applyLocal(message.getChatRoomId(), Op.upsert(message));
+        replicate(message.getChatRoomId(), message.getId(), message, true);
+    }
+
+    /**
+     * A message was deleted on this node
+     */
+    public void onMessageDeleted(long roomId, long messageId) {
+        applyLocal(roomId, Op.delete(messageId));
+        replicate(roomId, messageId, null, true);
+    }
+
+    /**
+     * New reaction summaries of a room's messages were written on this node; an empty map means
+     * no reactions are left
+     */
+    public void onReactionsChanged(long roomId, Map<Long, Map<String, Long>> summaries) {
+        summaries.forEach((messageId, reactions) -> applyLocal(roomId, Op.reactions(messageId, reactions)));
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Ring ring = rings.get(roomId);
+        if (ring == null || !ring.loaded) {
+            // No local copy to patch the Redis entries from; let the next read refill the room
+            if (!updates.offer(RedisUpdate.discard(roomId))) {
+                dropped.increment();
+                invalidated.add(roomId);
+            }
+            return;
+        }
+        // A loaded ring mirrors the Redis list, so messages it does not hold are not cached there either
+        for (Long messageId : summaries.keySet()) {
+            MessageResponse updated = ring.find(messageId);
+            if (updated != null) {
+                replicate(roomId, messageId, updated, true);
+            }
+        }
+    }
+
+    /**
+     * Whether frames of this room should be fed to onRoomFrame
+     */
+    public boolean isTracking(long roomId) {
+        return rings.get(roomId) != null;
+    }
+
+    /**
+     * A room frame published by another node; message changes are applied to the local ring
+     */
+    public void onRoomFrame(long roomId, String payload) {
+        try {
+            JsonNode frame = objectMapper.readTree(payload);
+            switch (frame.path("type").asText()) {
+                case "message", "message_edited" -> applyLocal(roomId,
+                        Op.upsert(objectMapper.treeToValue(frame.get("message"), MessageResponse.class)));
+                case "message_deleted" -> applyLocal(roomId, Op.delete(frame.path("messageId").asLong()));
+                case "reactions" -> {
+                    for (JsonNode entry : frame.path("messages")) {
+                        applyLocal(roomId, Op.reactions(entry.path("messageId").asLong(),
+                                objectMapper.convertValue(entry.get("reactions"), REACTIONS_TYPE)));
+                    }
+                }
+                default -> {
+                    // Not a message change
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Unreadable update: drop the ring so the next read reloads from Redis
+            rings.compute(roomId, (id, current) -> current != null ? Ring.tracking() : null);
+        }
+    }
+
+    @EventListener
+    public void onRoomSubscription(RoomSubscriptionEvent event) {
+        // Rings live exactly as long as this node receives the room's frames
+        rings.compute(event.getRoomId(), (id, current) -> event.isSubscribed() ? Ring.tracking() : null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        replicator.interrupt();
+        try {
+            replicator.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyLocal(long roomId, Op op) {
+        int capacity = settings.getCapacity();
+        // Updates older than the settle window are already in Redis when a ring loads
+        long pendingCutoff = op.at - settings.getSettleMs();
+        rings.compute(roomId, (id, current) -> current != null ? current.apply(op, capacity, pendingCutoff) : null);
+    }
+
+    private void replicate(long roomId, long messageId, MessageResponse message, boolean replace) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            String json = message != null ? objectMapper.writeValueAsString(message) : "";
+            if (!updates.offer(new RedisUpdate(roomId, messageId, json, replace))) {
+                dropped.increment();
+                invalidated.add(roomId);
+            }
+        } catch (JsonProcessingException e) {
+            invalidated.add(roomId);
+        }
+    }
+
+    private Ring readRedis(long roomId) {
+        try {
+            List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.lRange(LIST_KEY + roomId, 0, settings.getCapacity() - 1);
+                redis.get(STATE_KEY + roomId);
+                return null;
+            });
+            Object state = replies.get(1);
+            if (state == null) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            List<String> entries = (List<String>) replies.get(0);
+            MessageResponse[] messages = new MessageResponse[entries.size()];
+            for (int i = 0; i < messages.length; i++) {
+                messages[i] = objectMapper.readValue(entries.get(i), MessageResponse.class);
+            }
+            // Pushes from different nodes can land slightly out of order
+            Arrays.sort(messages, (a, b) -> Long.compare(b.getId(), a.getId()));
+            return new Ring(messages, true, STATE_FULL.equals(state), 0, List.of());
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.debug("Failed to read recent messages of room {}: {}", roomId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void runReplicator() {
+        List<RedisUpdate> batch = new ArrayList<>(MAX_PIPELINE);
+        while (running) {
+            try {
+                RedisUpdate first = updates.take();
+                batch.add(first);
+                updates.drainTo(batch, MAX_PIPELINE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (DataAccessException e) {
+                log.warn("Failed to update recent messages of {} rooms: {}", batch.size(), e.getMessage());
+                batch.forEach(update -> invalidated.add(update.roomId));
+            } finally {
+                batch.clear();
+            }
+            invalidate();
+        }
+    }
+
+    private void write(List<RedisUpdate> batch) {
+        String capacity = Integer.toString(settings.getCapacity());
+        String ttl = Long.toString(settings.getTtlSeconds());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (RedisUpdate update : batch) {
+                String listKey = LIST_KEY + update.roomId;
+                if (update.json == null) {
+                    redis.del(listKey, STATE_KEY + update.roomId);
+                } else if (update.replace) {
+                    redis.eval(replaceScript.getScriptAsString(), ReturnType.INTEGER, 1,
+                            listKey, "\"id\":" + update.messageId + ",", update.json);
+                } else {
+                    redis.eval(pushScript.getScriptAsString(), ReturnType.INTEGER, 2,
+                            listKey, STATE_KEY + update.roomId, update.json, capacity, ttl);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Forget the Redis copy of rooms that missed an update; the next read refills it from the database
+     */
+    private void invalidate() {
+        if (invalidated.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        for (Long roomId : invalidated) {
+            invalidated.remove(roomId);
+            keys.add(LIST_KEY + roomId);
+            keys.add(STATE_KEY + roomId);
+        }
+        try {
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            log.warn("Failed to invalidate {} recent-message lists: {}", keys.size() / 2, e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable snapshot of a room's newest messages, newest first. Until loaded, a ring only
+     * records the updates it receives so they can be replayed over the Redis copy.
+     */
+    private static final class Ring {
+        private final MessageResponse[] messages;
+        private final boolean loaded;
+        private final boolean full;
+        private final long trackedSince;
+        private final List<Op> pending;
+
+        Ring(MessageResponse[] messages, boolean loaded, boolean full, long trackedSince, List<Op> pending) {
+            this.messages = messages;
+            this.loaded = loaded;
+            this.full = full;
+            this.trackedSince = trackedSince;
+            this.pending = pending;
+        }
+
+        static Ring tracking() {
+            return new Ring(new MessageResponse[0], false, false, System.currentTimeMillis(), List.of());
+        }
+
+        Ring install(Ring stored) {
+            Ring ring = new Ring(stored.messages, true, stored.full, trackedSince, List.of());
+            for (Op op : pending) {
+                ring = ring.apply(op, Integer.MAX_VALUE, 0);
+            }
+            return ring;
+        }
+
+        Ring apply(Op op, int capacity, long pendingCutoff) {
+            if (!loaded) {
+                List<Op> next = new ArrayList<>(pending.size() + 1);
+                for (Op previous : pending) {
+                    if (previous.at >= pendingCutoff) {
+                        next.add(previous);
+                    }
+                }
+                next.add(op);
+                return new Ring(messages, false, false, trackedSince, next);
+            }
+            long id = op.message != null ? op.message.getId() : op.messageId;
+            int position = 0;
+            while (position < messages.length && messages[position].getId() > id) {
+                position++;
+            }
+            boolean present = position < messages.length && messages[position].getId() == id;
+            if (op.reactionUpdate) {
+                if (!present) {
+                    return this;
+                }
+                MessageResponse updated = new MessageResponse(messages[position]);
+                updated.setReactions(op.reactions);
+                MessageResponse[] next = messages.clone();
+                next[position] = updated;
+                return new Ring(next, true, full, trackedSince, pending);
+            }
+            if (op.message == null) {
+                if (!present) {
+                    return this;
+                }
+                MessageResponse[] next = new MessageResponse[messages.length - 1];
+                System.arraycopy(messages, 0, next, 0, position);
+                System.arraycopy(messages, position + 1, next, position, next.length - position);
+                return new Ring(next, true, full, trackedSince, pending);
+            }
+            if (present) {
+                MessageResponse[] next = messages.clone();
+                next[position] = op.message;
+                return new Ring(next, true, full, trackedSince, pending);
+            }
+            if (position >= capacity) {
+                return this;
+            }
+            int length = Math.min(messages.length + 1, capacity);
+            MessageResponse[] next = new MessageResponse[length];
+            System.arraycopy(messages, 0, next, 0, position);
+            next[position] = op.message;
+            System.arraycopy(messages, position, next, position + 1, length - position - 1);
+            // Trimming the oldest message means the ring no longer reaches the start of the room
+            return new Ring(next, true, full && length == messages.length + 1, trackedSince, pending);
+        }
+
+        MessageResponse find(long id) {
+            for (MessageResponse message : messages) {
+                if (message.getId() == id) {
+                    return message;
+                }
+                if (message.getId() < id) {
+                    break;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * A page is exact if the ring holds more than the page, or the whole room
+         */
+        MessagePageResponse page(int limit) {
+            if (messages.length <= limit && !full) {
+                return null;
+            }
+            int size = Math.min(limit, messages.length);
+            List<MessageResponse> page = new ArrayList<>(Arrays.asList(messages).subList(0, size));
+            Long nextCursor = messages.length > size ? messages[size - 1].getId() : null;
+            return new MessagePageResponse(page, nextCursor);
+        }
+    }
+
+    private static final class Op {
+        private final MessageResponse message;
+        private final long messageId;
+        private final boolean reactionUpdate;
+        private final Map<String, Long> reactions;
+        private final long at = System.currentTimeMillis();
+
+        private Op(MessageResponse message, long messageId, boolean reactionUpdate, Map<String, Long> reactions) {
+            this.message = message;
+            this.messageId = messageId;
+            this.reactionUpdate = reactionUpdate;
+            this.reactions = reactions;
+        }
+
+        static Op upsert(MessageResponse message) {
+            return new Op(message, message.getId(), false, null);
+        }
+
+        static Op delete(long messageId) {
+            return new Op(null, messageId, false, null);
+        }
+
+        /**
+         * Replace the reaction summary of a cached message; messages not in the ring are left alone
+         */
+        static Op reactions(long messageId, Map<String, Long> reactions) {
+            return new Op(null, messageId, true, reactions == null || reactions.isEmpty() ? null : reactions);
+        }
+    }
+
+    private static final class RedisUpdate {
+        private final long roomId;
+        private final long messageId;
+        private final String json;
+        private final boolean replace;
+
+        RedisUpdate(long roomId, long messageId, String json, boolean replace) {
+            this.roomId = roomId;
+            this.messageId = messageId;
+            this.json = json;
+            this.replace = replace;
+        }
+
+        /**
+         * Drop the room's Redis copy, in order with the updates queued before it
+         */
+        static RedisUpdate discard(long roomId) {
+            return new RedisUpdate(roomId, 0, null, false);
+        }
+    }
+}
@@ -1,8 +1,75 @@
 package com.raved.realtime.config;
 
+import com.raved.realtime.broker.NodeRegistry;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
 /**
- * RabbitMQConfig for TheRavedApp
+ * RabbitMQ configuration for Realtime Service.
+ *
+ * Every node owns exclusive, auto-deleted queues named after its node id: one bound to the
+ * direct fan-out exchange under its id for room messages, one bound to the index exchange for
+ * room subscription changes and one bound to the presence exchange. A node that dies takes its
+ * queues with it.
  */
+@Configuration
 public class RabbitMQConfig {
-    // Implementation
+
+    @Bean
+    public DirectExchange realtimeFanoutExchange(RealtimeServiceConfig config) {
+        return new DirectExchange(config.getBroker().getFanoutExchange(), true, false);
+    }
+
+    @Bean
+    public FanoutExchange realtimeIndexExchange(RealtimeServiceConfig config) {
+        return new FanoutExchange(config.getBroker().getIndexExchange(), true, false);
+    }
+
+    @Bean
+    public FanoutExchange realtimePresenceExchange(RealtimeServiceConfig config) {
+        return new FanoutExchange(config.getPresence().getExchange(), true, false);
+    }
+
+    @Bean
+    public Queue realtimeNodeQueue(NodeRegistry nodeRegistry) {
+        return new Queue("realtime.node." + nodeRegistry.getNodeId(), false, true, true);
+    }
+
+    @Bean
+    public Queue realtimeIndexQueue(NodeRegistry nodeRegistry) {
+        return new Queue("realtime.index." + nodeRegistry.getNodeId(), false, true, true);
+    }
+
+    @Bean
+    public Queue realtimePresenceQueue(NodeRegistry nodeRegistry) {
+        return new Queue("realtime.presence." + nodeRegistry.getNodeId(), false, true, true);
+    }
+
+    @Bean
+    public Binding realtimeNodeBinding(Queue realtimeNodeQueue, DirectExchange realtimeFanoutExchange,
+                                       NodeRegistry nodeRegistry) {
+        return BindingBuilder.bind(realtimeNodeQueue).to(realtimeFanoutExchange).with(nodeRegistry.getNodeId());
+    }
+
+    @Bean
+    public Binding realtimeIndexBinding(Queue realtimeIndexQueue, FanoutExchange realtimeIndexExchange) {
+        return BindingBuilder.bind(realtimeIndexQueue).to(realtimeIndexExchange);
+    }
+
+    @Bean
+    public Binding realtimePresenceBinding(Queue realtimePresenceQueue, FanoutExchange realtimePresenceExchange) {
+        return BindingBuilder.bind(realtimePresenceQueue).to(realtimePresenceExchange);
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
 }
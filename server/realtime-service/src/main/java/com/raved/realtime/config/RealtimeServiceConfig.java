@@ -0,0 +1,904 @@
+package com.raved.realtime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration properties for Realtime Service
+ */
+@Configuration
+@ConfigurationProperties(prefix = "realtime")
+public class RealtimeServiceConfig {
+
+    private WebSocket websocket = new WebSocket();
+    private Broker broker = new Broker();
+    private Messages messages = new Messages();
+    private Archive archive = new Archive();
+    private RecentMessages recentMessages = new RecentMessages();
+    private Presence presence = new Presence();
+    private Reads reads = new Reads();
+    private Ephemeral ephemeral = new Ephemeral();
+    private Reactions reactions = new Reactions();
+    private Threads threads = new Threads();
+    private Search search = new Search();
+    private LargeRooms largeRooms = new LargeRooms();
+
+    // Getters and Setters
+    public WebSocket getWebsocket() {
+        return websocket;
+    }
+
+    public void setWebsocket(WebSocket websocket) {
+        this.websocket = websocket;
+    }
+
+    public Broker getBroker() {
+        return broker;
+    }
+
+    public void setBroker(Broker broker) {
+        this.broker = broker;
+    }
+
+    public Messages getMessages() {
+        return messages;
+    }
+
+    public void setMessages(Messages messages) {
+        this.messages = messages;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    public void setArchive(Archive archive) {
+        this.archive = archive;
+    }
+
+    public RecentMessages getRecentMessages() {
+        return recentMessages;
+    }
+
+    public void setRecentMessages(RecentMessages recentMessages) {
+        this.recentMessages = recentMessages;
+    }
+
+    public Presence getPresence() {
+        return presence;
+    }
+
+    public void setPresence(Presence presence) {
+        this.presence = presence;
+    }
+
+    public Reads getReads() {
+        return reads;
+    }
+
+    public void setReads(Reads reads) {
+        this.reads = reads;
+    }
+
+    public Ephemeral getEphemeral() {
+        return ephemeral;
+    }
+
+    public void setEphemeral(Ephemeral ephemeral) {
+        this.ephemeral = ephemeral;
+    }
+
+    public Reactions getReactions() {
+        return reactions;
+    }
+
+    public void setReactions(Reactions reactions) {
+        this.reactions = reactions;
+    }
+
+    public Threads getThreads() {
+        return threads;
+    }
+
+    public void setThreads(Threads threads) {
+        this.threads = threads;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public void setSearch(Search search) {
+        this.search = search;
+    }
+
+    public LargeRooms getLargeRooms() {
+        return largeRooms;
+    }
+
+    public void setLargeRooms(LargeRooms largeRooms) {
+        this.largeRooms = largeRooms;
+    }
+
+    /**
+     * WebSocket session registry, outbound queue and heartbeat configuration
+     */
+    public static class WebSocket {
+        private String endpoint = "/ws/chat";
+        private String allowedOrigins = "*";
+        private int registryShards = 64;
+        private int expectedSessions = 100000;
+        private int outboundQueueCapacity = 256;
+        private int maxMessagesPerDrain = 64;
+        private int writerThreads = 0; // 0 = two per core
+        private long sendTimeLimitMs = 1000;
+        private long heartbeatIntervalMs = 25000;
+        private long idleTimeoutMs = 75000;
+        private long timerTickMs = 100;
+        private int timerWheelSize = 1024;
+        private int maxTextMessageSize = 65536;
+        private Compression compression = new Compression();
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String getAllowedOrigins() {
+            return allowedOrigins;
+        }
+
+        public void setAllowedOrigins(String allowedOrigins) {
+            this.allowedOrigins = allowedOrigins;
+        }
+
+        public int getRegistryShards() {
+            return registryShards;
+        }
+
+        public void setRegistryShards(int registryShards) {
+            this.registryShards = registryShards;
+        }
+
+        public int getExpectedSessions() {
+            return expectedSessions;
+        }
+
+        public void setExpectedSessions(int expectedSessions) {
+            this.expectedSessions = expectedSessions;
+        }
+
+        public int getOutboundQueueCapacity() {
+            return outboundQueueCapacity;
+        }
+
+        public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+            this.outboundQueueCapacity = outboundQueueCapacity;
+        }
+
+        public int getMaxMessagesPerDrain() {
+            return maxMessagesPerDrain;
+        }
+
+        public void setMaxMessagesPerDrain(int maxMessagesPerDrain) {
+            this.maxMessagesPerDrain = maxMessagesPerDrain;
+        }
+
+        public int getWriterThreads() {
+            return writerThreads;
+        }
+
+        public void setWriterThreads(int writerThreads) {
+            this.writerThreads = writerThreads;
+        }
+
+        public long getSendTimeLimitMs() {
+            return sendTimeLimitMs;
+        }
+
+        public void setSendTimeLimitMs(long sendTimeLimitMs) {
+            this.sendTimeLimitMs = sendTimeLimitMs;
+        }
+
+        public long getHeartbeatIntervalMs() {
+            return heartbeatIntervalMs;
+        }
+
+        public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+            this.heartbeatIntervalMs = heartbeatIntervalMs;
+        }
+
+        public long getIdleTimeoutMs() {
+            return idleTimeoutMs;
+        }
+
+        public void setIdleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+        }
+
+        public long getTimerTickMs() {
+            return timerTickMs;
+        }
+
+        public void setTimerTickMs(long timerTickMs) {
+            this.timerTickMs = timerTickMs;
+        }
+
+        public int getTimerWheelSize() {
+            return timerWheelSize;
+        }
+
+        public void setTimerWheelSize(int timerWheelSize) {
+            this.timerWheelSize = timerWheelSize;
+        }
+
+        public int getMaxTextMessageSize() {
+            return maxTextMessageSize;
+        }
+
+        public void setMaxTextMessageSize(int maxTextMessageSize) {
+            this.maxTextMessageSize = maxTextMessageSize;
+        }
+
+        public Compression getCompression() {
+            return compression;
+        }
+
+        public void setCompression(Compression compression) {
+            this.compression = compression;
+        }
+    }
+
+    /**
+     * Outbound frame compression
+     */
+    public static class Compression {
+        private boolean permessageDeflate = false; // per-connection contexts: one compression per recipient
+        private boolean sharedDeflate = true;
+        private int minRoomSize = 100;
+        private int minFrameBytes = 1024;
+        private int level = 6;
+
+        public boolean isPermessageDeflate() {
+            return permessageDeflate;
+        }
+
+        public void setPermessageDeflate(boolean permessageDeflate) {
+            this.permessageDeflate = permessageDeflate;
+        }
+
+        public boolean isSharedDeflate() {
+            return sharedDeflate;
+        }
+
+        public void setSharedDeflate(boolean sharedDeflate) {
+            this.sharedDeflate = sharedDeflate;
+        }
+
+        public int getMinRoomSize() {
+            return minRoomSize;
+        }
+
+        public void setMinRoomSize(int minRoomSize) {
+            this.minRoomSize = minRoomSize;
+        }
+
+        public int getMinFrameBytes() {
+            return minFrameBytes;
+        }
+
+        public void setMinFrameBytes(int minFrameBytes) {
+            this.minFrameBytes = minFrameBytes;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+    }
+
+    /**
+     * Cross-node fan-out: exchanges, batching window and node liveness
+     */
+    public static class Broker {
+        private String fanoutExchange = "realtime.fanout";
+        private String indexExchange = "realtime.index";
+        private long batchWindowMicros = 1000;
+        private int maxBatchSize = 256;
+        private int maxPending = 100000;
+        private long nodeHeartbeatMs = 5000;
+        private long nodeTtlMs = 15000;
+        private long nodePruneMs = 60000;
+        private long indexRefreshMs = 30000;
+
+        public String getFanoutExchange() {
+            return fanoutExchange;
+        }
+
+        public void setFanoutExchange(String fanoutExchange) {
+            this.fanoutExchange = fanoutExchange;
+        }
+
+        public String getIndexExchange() {
+            return indexExchange;
+        }
+
+        public void setIndexExchange(String indexExchange) {
+            this.indexExchange = indexExchange;
+        }
+
+        public long getBatchWindowMicros() {
+            return batchWindowMicros;
+        }
+
+        public void setBatchWindowMicros(long batchWindowMicros) {
+            this.batchWindowMicros = batchWindowMicros;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        public long getNodeHeartbeatMs() {
+            return nodeHeartbeatMs;
+        }
+
+        public void setNodeHeartbeatMs(long nodeHeartbeatMs) {
+            this.nodeHeartbeatMs = nodeHeartbeatMs;
+        }
+
+        public long getNodeTtlMs() {
+            return nodeTtlMs;
+        }
+
+        public void setNodeTtlMs(long nodeTtlMs) {
+            this.nodeTtlMs = nodeTtlMs;
+        }
+
+        public long getNodePruneMs() {
+            return nodePruneMs;
+        }
+
+        public void setNodePruneMs(long nodePruneMs) {
+            this.nodePruneMs = nodePruneMs;
+        }
+
+        public long getIndexRefreshMs() {
+            return indexRefreshMs;
+        }
+
+        public void setIndexRefreshMs(long indexRefreshMs) {
+            this.indexRefreshMs = indexRefreshMs;
+        }
+    }
+
+    /**
+     * Message persistence: id generation and the group-commit writer
+     */
+    public static class Messages {
+        private int workerId = -1; // -1 = lease one from Redis
+        private long flushIntervalMs = 5;
+        private int maxBatchSize = 1000;
+        private int maxPending = 50000;
+        private int writerThreads = 2;
+        private int fanoutThreads = 0; // 0 = one per core
+
+        public int getWorkerId() {
+            return workerId;
+        }
+
+        public void setWorkerId(int workerId) {
+            this.workerId = workerId;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        public int getWriterThreads() {
+            return writerThreads;
+        }
+
+        public void setWriterThreads(int writerThreads) {
+            this.writerThreads = writerThreads;
+        }
+
+        public int getFanoutThreads() {
+            return fanoutThreads;
+        }
+
+        public void setFanoutThreads(int fanoutThreads) {
+            this.fanoutThreads = fanoutThreads;
+        }
+    }
+
+    /**
+     * Monthly message partitions and the compressed archive tier
+     */
+    public static class Archive {
+        private int partitionsAhead = 2;
+        private boolean enabled = true;
+        private int hotMonths = 6;
+        private String directory = "data/message-archive";
+        private int rowGroupSize = 4096;
+        private int fetchSize = 5000;
+        private long lockTtlMs = 3600000;
+
+        public int getPartitionsAhead() {
+            return partitionsAhead;
+        }
+
+        public void setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getHotMonths() {
+            return hotMonths;
+        }
+
+        public void setHotMonths(int hotMonths) {
+            this.hotMonths = hotMonths;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getRowGroupSize() {
+            return rowGroupSize;
+        }
+
+        public void setRowGroupSize(int rowGroupSize) {
+            this.rowGroupSize = rowGroupSize;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public long getLockTtlMs() {
+            return lockTtlMs;
+        }
+
+        public void setLockTtlMs(long lockTtlMs) {
+            this.lockTtlMs = lockTtlMs;
+        }
+    }
+
+    /**
+     * Per-room cache of the newest messages, in memory and in Redis
+     */
+    public static class RecentMessages {
+        private boolean enabled = true;
+        private int capacity = 100;
+        private long ttlSeconds = 86400;
+        private long settleMs = 2000;
+        private int maxPending = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public long getSettleMs() {
+            return settleMs;
+        }
+
+        public void setSettleMs(long settleMs) {
+            this.settleMs = settleMs;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+    }
+
+    /**
+     * User presence: per-node sampling, the Redis aggregate and change notifications
+     */
+    public static class Presence {
+        private String exchange = "realtime.presence";
+        private long flushIntervalMs = 5000;
+        private long idleMs = 300000;
+        private long retentionSeconds = 604800;
+        private int maxUsersPerRequest = 500;
+
+        public String getExchange() {
+            return exchange;
+        }
+
+        public void setExchange(String exchange) {
+            this.exchange = exchange;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public long getIdleMs() {
+            return idleMs;
+        }
+
+        public void setIdleMs(long idleMs) {
+            this.idleMs = idleMs;
+        }
+
+        public long getRetentionSeconds() {
+            return retentionSeconds;
+        }
+
+        public void setRetentionSeconds(long retentionSeconds) {
+            this.retentionSeconds = retentionSeconds;
+        }
+
+        public int getMaxUsersPerRequest() {
+            return maxUsersPerRequest;
+        }
+
+        public void setMaxUsersPerRequest(int maxUsersPerRequest) {
+            this.maxUsersPerRequest = maxUsersPerRequest;
+        }
+    }
+
+    /**
+     * Read positions: debounced last-read writes and read receipts
+     */
+    public static class Reads {
+        private long flushIntervalMs = 2000;
+        private int maxBatchSize = 5000;
+        private boolean receipts = true;
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public boolean isReceipts() {
+            return receipts;
+        }
+
+        public void setReceipts(boolean receipts) {
+            this.receipts = receipts;
+        }
+    }
+
+    /**
+     * Ephemeral room events (typing, reaction previews): throttling and backpressure limits
+     */
+    public static class Ephemeral {
+        private List<String> events = List.of("typing", "typing_stop", "reaction_preview");
+        private long throttleMs = 2000;
+        private int maxDataBytes = 256;
+        private int maxQueued = 32;
+        private int maxFanoutPending = 10000;
+        private long sweepIntervalMs = 60000;
+
+        public List<String> getEvents() {
+            return events;
+        }
+
+        public void setEvents(List<String> events) {
+            this.events = events;
+        }
+
+        public long getThrottleMs() {
+            return throttleMs;
+        }
+
+        public void setThrottleMs(long throttleMs) {
+            this.throttleMs = throttleMs;
+        }
+
+        public int getMaxDataBytes() {
+            return maxDataBytes;
+        }
+
+        public void setMaxDataBytes(int maxDataBytes) {
+            this.maxDataBytes = maxDataBytes;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public int getMaxFanoutPending() {
+            return maxFanoutPending;
+        }
+
+        public void setMaxFanoutPending(int maxFanoutPending) {
+            this.maxFanoutPending = maxFanoutPending;
+        }
+
+        public long getSweepIntervalMs() {
+            return sweepIntervalMs;
+        }
+
+        public void setSweepIntervalMs(long sweepIntervalMs) {
+            this.sweepIntervalMs = sweepIntervalMs;
+        }
+    }
+
+    /**
+     * Reaction summaries: batched writes of per-message emoji counts
+     */
+    public static class Reactions {
+        private long flushIntervalMs = 1000;
+        private int maxBatchSize = 1000;
+        private long repairIntervalMs = 600000;
+        private long repairLookbackMs = 86400000;
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getRepairIntervalMs() {
+            return repairIntervalMs;
+        }
+
+        public void setRepairIntervalMs(long repairIntervalMs) {
+            this.repairIntervalMs = repairIntervalMs;
+        }
+
+        public long getRepairLookbackMs() {
+            return repairLookbackMs;
+        }
+
+        public void setRepairLookbackMs(long repairLookbackMs) {
+            this.repairLookbackMs = repairLookbackMs;
+        }
+    }
+
+    /**
+     * Request execution model: platform or virtual threads, and pinning diagnostics
+     */
+    public static class Threads {
+        private boolean virtual = false;
+        private long pinnedThresholdMs = 20;
+        private int pinnedStackDepth = 8;
+        private long pinnedLogIntervalMs = 60000;
+
+        public boolean isVirtual() {
+            return virtual;
+        }
+
+        public void setVirtual(boolean virtual) {
+            this.virtual = virtual;
+        }
+
+        public long getPinnedThresholdMs() {
+            return pinnedThresholdMs;
+        }
+
+        public void setPinnedThresholdMs(long pinnedThresholdMs) {
+            this.pinnedThresholdMs = pinnedThresholdMs;
+        }
+
+        public int getPinnedStackDepth() {
+            return pinnedStackDepth;
+        }
+
+        public void setPinnedStackDepth(int pinnedStackDepth) {
+            this.pinnedStackDepth = pinnedStackDepth;
+        }
+
+        public long getPinnedLogIntervalMs() {
+            return pinnedLogIntervalMs;
+        }
+
+        public void setPinnedLogIntervalMs(long pinnedLogIntervalMs) {
+            this.pinnedLogIntervalMs = pinnedLogIntervalMs;
+        }
+    }
+
+    /**
+     * Message search: background indexing batches and query limits
+     */
+    public static class Search {
+        private long indexIntervalMs = 1000;
+        private int batchSize = 1000;
+        private int maxBatchesPerRun = 10;
+        private int maxResults = 50;
+
+        public long getIndexIntervalMs() {
+            return indexIntervalMs;
+        }
+
+        public void setIndexIntervalMs(long indexIntervalMs) {
+            this.indexIntervalMs = indexIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerRun() {
+            return maxBatchesPerRun;
+        }
+
+        public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+            this.maxBatchesPerRun = maxBatchesPerRun;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+
+    /**
+     * Large-room mode: in-memory membership, slow mode and send rate caps for faculty-wide rooms
+     */
+    public static class LargeRooms {
+        private int minMaxMembers = 1000;
+        private boolean facultyRooms = true;
+        private long slowModeMs = 5000;
+        private int maxMessagesPerSecond = 20;
+        private long refreshIntervalMs = 60000;
+        private int maxMemberPageSize = 200;
+
+        public int getMinMaxMembers() {
+            return minMaxMembers;
+        }
+
+        public void setMinMaxMembers(int minMaxMembers) {
+            this.minMaxMembers = minMaxMembers;
+        }
+
+        public boolean isFacultyRooms() {
+            return facultyRooms;
+        }
+
+        public void setFacultyRooms(boolean facultyRooms) {
+            this.facultyRooms = facultyRooms;
+        }
+
+        public long getSlowModeMs() {
+            return slowModeMs;
+        }
+
+        public void setSlowModeMs(long slowModeMs) {
+            this.slowModeMs = slowModeMs;
+        }
+
+        public int getMaxMessagesPerSecond() {
+            return maxMessagesPerSecond;
+        }
+
+        public void setMaxMessagesPerSecond(int maxMessagesPerSecond) {
+            this.maxMessagesPerSecond = maxMessagesPerSecond;
+        }
+
+        public long getRefreshIntervalMs() {
+            return refreshIntervalMs;
+        }
+
+        public void setRefreshIntervalMs(long refreshIntervalMs) {
+            this.refreshIntervalMs = refreshIntervalMs;
+        }
+
+        public int getMaxMemberPageSize() {
+            return maxMemberPageSize;
+        }
+
+        public void setMaxMemberPageSize(int maxMemberPageSize) {
+            this.maxMemberPageSize = maxMemberPageSize;
+        }
+    }
+}
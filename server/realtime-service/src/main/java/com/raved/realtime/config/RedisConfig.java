@@ -1,8 +1,151 @@
 package com.raved.realtime.config;
 
+import com.raved.realtime.broker.NodeRegistry;
+import com.raved.realtime.util.SnowflakeIdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
 /**
- * RedisConfig for TheRavedApp
+ * Redis configuration for Realtime Service
  */
+@Configuration
 public class RedisConfig {
-    // Implementation
+
+    /**
+     * Message id generator; without a configured worker id each node leases a free one through
+     * NodeRegistry, so ids stay unique across up to 1024 concurrently running nodes
+     */
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(NodeRegistry nodeRegistry, RealtimeServiceConfig config) {
+        int workerId = config.getMessages().getWorkerId();
+        if (workerId < 0) {
+            workerId = nodeRegistry.leaseWorkerId(SnowflakeIdGenerator.MAX_WORKER_ID);
+        }
+        return new SnowflakeIdGenerator(workerId);
+    }
+
+    /**
+     * Extends a node's worker id lease, retaking the slot if it expired and is still free.
+     *
+     * KEYS: lease; ARGV: node id, TTL milliseconds. Returns 0 if another node holds the slot.
+     */
+    @Bean
+    public RedisScript<Long> workerLeaseRenewScript() {
+        return new DefaultRedisScript<>(
+                "if redis.call('GET', KEYS[1]) == ARGV[1] then\n" +
+                "  return redis.call('PEXPIRE', KEYS[1], ARGV[2])\n" +
+                "end\n" +
+                "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then\n" +
+                "  return 1\n" +
+                "end\n" +
+                "return 0",
+                Long.class);
+    }
+
+    /**
+     * Frees a node's worker id lease if it still holds it.
+     *
+     * KEYS: lease; ARGV: node id.
+     */
+    @Bean
+    public RedisScript<Long> workerLeaseReleaseScript() {
+        return new DefaultRedisScript<>(
+                "if redis.call('GET', KEYS[1]) == ARGV[1] then\n" +
+                "  return redis.call('DEL', KEYS[1])\n" +
+                "end\n" +
+                "return 0",
+                Long.class);
+    }
+
+    /**
+     * Adds a message to the head of a room's recent-message list and trims it to capacity.
+     *
+     * KEYS: list, state; ARGV: message JSON, capacity, TTL seconds. A list without a state key is
+     * partial (only messages pushed since it expired) until the next fill merges the database
+     * page into it. Trimming means older history exists, so a "full" list becomes "base".
+     */
+    @Bean
+    public RedisScript<Long> recentMessagePushScript() {
+        return new DefaultRedisScript<>(
+                "redis.call('LPUSH', KEYS[1], ARGV[1])\n" +
+                "if redis.call('LLEN', KEYS[1]) > tonumber(ARGV[2]) then\n" +
+                "  redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1)\n" +
+                "  if redis.call('GET', KEYS[2]) == 'full' then\n" +
+                "    redis.call('SET', KEYS[2], 'base')\n" +
+                "  end\n" +
+                "end\n" +
+                "redis.call('EXPIRE', KEYS[1], ARGV[3])\n" +
+                "if redis.call('EXISTS', KEYS[2]) == 1 then\n" +
+                "  redis.call('EXPIRE', KEYS[2], ARGV[3])\n" +
+                "end\n" +
+                "return 1",
+                Long.class);
+    }
+
+    /**
+     * Replaces (edit) or removes (delete) one message in a room's recent-message list.
+     *
+     * KEYS: list; ARGV: the entry's "id":N, marker, replacement JSON or '' to remove. Entries are
+     * serialized MessageResponse objects, whose only "id" key is the message id; messages that
+     * have already been trimmed out are left alone.
+     */
+    @Bean
+    public RedisScript<Long> recentMessageReplaceScript() {
+        return new DefaultRedisScript<>(
+                "for i, entry in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do\n" +
+                "  if string.find(entry, ARGV[1], 1, true) then\n" +
+                "    if ARGV[2] == '' then\n" +
+                "      redis.call('LREM', KEYS[1], 1, entry)\n" +
+                "    else\n" +
+                "      redis.call('LSET', KEYS[1], i - 1, ARGV[2])\n" +
+                "    end\n" +
+                "    return 1\n" +
+                "  end\n" +
+                "end\n" +
+                "return 0",
+                Long.class);
+    }
+
+    /**
+     * Seeds a room's recent-message list from a database page, keeping anything pushed meanwhile.
+     *
+     * KEYS: list, state; ARGV: capacity, TTL seconds, state ("full" if the page is the room's whole
+     * history, else "base"), then the page as JSON, newest first. Ids exceed Lua's exact number
+     * range, so they are compared as digit strings. A no-op if another node filled it first.
+     */
+    @Bean
+    public RedisScript<Long> recentMessageFillScript() {
+        return new DefaultRedisScript<>(
+                "if redis.call('EXISTS', KEYS[2]) == 1 then\n" +
+                "  return 0\n" +
+                "end\n" +
+                "local function id(entry) return string.match(entry, '\"id\":(%d+)') end\n" +
+                "local function newer(a, b)\n" +
+                "  local x, y = id(a), id(b)\n" +
+                "  if #x ~= #y then return #x > #y end\n" +
+                "  return x > y\n" +
+                "end\n" +
+                "local merged, seen = {}, {}\n" +
+                "for _, entry in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do\n" +
+                "  if not seen[id(entry)] then seen[id(entry)] = true; table.insert(merged, entry) end\n" +
+                "end\n" +
+                "for i = 4, #ARGV do\n" +
+                "  if not seen[id(ARGV[i])] then seen[id(ARGV[i])] = true; table.insert(merged, ARGV[i]) end\n" +
+                "end\n" +
+                "table.sort(merged, newer)\n" +
+                "local capacity = tonumber(ARGV[1])\n" +
+                "local state = ARGV[3]\n" +
+                "if #merged > capacity then state = 'base' end\n" +
+                "local count = math.min(#merged, capacity)\n" +
+                "redis.call('DEL', KEYS[1])\n" +
+                "if count > 0 then\n" +
+                "  redis.call('RPUSH', KEYS[1], unpack(merged, 1, count))\n" +
+                "  redis.call('EXPIRE', KEYS[1], ARGV[2])\n" +
+                "end\n" +
+                "redis.call('SET', KEYS[2], state, 'EX', ARGV[2])\n" +
+                "return count",
+                Long.class);
+    }
 }
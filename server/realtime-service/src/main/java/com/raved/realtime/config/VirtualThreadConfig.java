@@ -0,0 +1,49 @@
+package com.raved.realtime.config;
+
+import com.raved.realtime.threads.PinnedThreadMonitor;
+import com.raved.realtime.threads.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Virtual-thread execution mode, enabled with realtime.threads.virtual=true on Java 21.
+ *
+ * Tomcat runs every request and every inbound WebSocket frame on its executor, so handing it a
+ * virtual-thread-per-task executor moves REST controllers, ChatWebSocketHandler and the JPA and
+ * JDBC calls they make off the bounded container pool: a handler blocked on the database parks
+ * its virtual thread instead of holding one of server.tomcat.threads.max. The same executor backs
+ * Spring MVC async requests. The service's own bounded pools (WebSocket writers, the message
+ * writer, schedulers) keep their platform threads, since they bound work on purpose.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "realtime.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        log.info("Handling requests and WebSocket frames on virtual threads");
+        return new TaskExecutorAdapter(VirtualThreads.newExecutor("request-"));
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            AsyncTaskExecutor applicationTaskExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(applicationTaskExecutor);
+    }
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        return new PinnedThreadMonitor(config, meterRegistry);
+    }
+}
@@ -1,8 +1,48 @@
 package com.raved.realtime.config;
 
+import com.raved.realtime.websocket.ChatWebSocketHandler;
+import com.raved.realtime.websocket.CompressionAwareHandshakeHandler;
+import com.raved.realtime.websocket.UserHandshakeInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
 /**
- * WebSocketConfig for TheRavedApp
+ * WebSocket configuration for Realtime Service
  */
-public class WebSocketConfig {
-    // Implementation
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private ChatWebSocketHandler chatWebSocketHandler;
+
+    @Autowired
+    private RealtimeServiceConfig config;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        RealtimeServiceConfig.WebSocket settings = config.getWebsocket();
+        registry.addHandler(chatWebSocketHandler, settings.getEndpoint())
+                .setHandshakeHandler(new CompressionAwareHandshakeHandler(settings.getCompression()))
+                .addInterceptors(new UserHandshakeInterceptor())
+                .setAllowedOriginPatterns(settings.getAllowedOrigins());
+    }
+
+    /**
+     * Container limits; idle detection is done by the session manager's heartbeats, not the container
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        RealtimeServiceConfig.WebSocket settings = config.getWebsocket();
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(settings.getMaxTextMessageSize());
+        container.setMaxSessionIdleTimeout(0L);
+        container.setAsyncSendTimeout(settings.getSendTimeLimitMs());
+        return container;
+    }
 }
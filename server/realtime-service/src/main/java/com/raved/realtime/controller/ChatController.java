@@ -1,8 +1,152 @@
 package com.raved.realtime.controller;
 
+import com.raved.realtime.dto.request.EditMessageRequest;
+import com.raved.realtime.dto.request.MarkReadRequest;
+import com.raved.realtime.dto.request.MessageReactionRequest;
+import com.raved.realtime.dto.request.MessageSearchRequest;
+import com.raved.realtime.dto.request.SendMessageRequest;
+import com.raved.realtime.dto.response.ChatRoomMemberPageResponse;
+import com.raved.realtime.dto.response.MessagePageResponse;
+import com.raved.realtime.dto.response.MessageResponse;
+import com.raved.realtime.dto.response.UnreadCountsResponse;
+import com.raved.realtime.service.ChatService;
+import com.raved.realtime.service.MessageService;
+import com.raved.realtime.service.SearchService;
+import com.raved.realtime.service.UnreadService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
- * ChatController for TheRavedApp
+ * REST Controller for chat rooms and messages
  */
+@RestController
+@RequestMapping("/api/chat")
+@CrossOrigin(origins = "*")
 public class ChatController {
-    // Implementation
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UnreadService unreadService;
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Send a message; responds once the message has been committed
+     */
+    @PostMapping("/messages")
+    public CompletableFuture<ResponseEntity<MessageResponse>> sendMessage(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody SendMessageRequest request) {
+        return messageService.sendMessage(userId, request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * Edit one of the caller's messages
+     */
+    @PutMapping("/messages/{messageId}")
+    public ResponseEntity<MessageResponse> editMessage(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long messageId,
+            @Valid @RequestBody EditMessageRequest request) {
+        return ResponseEntity.ok(messageService.editMessage(userId, messageId, request));
+    }
+
+    /**
+     * Delete one of the caller's messages
+     */
+    @DeleteMapping("/messages/{messageId}")
+    public ResponseEntity<Void> deleteMessage(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long messageId) {
+        messageService.deleteMessage(userId, messageId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * React to a message; counts reach the room as a "reactions" frame on the next flush
+     */
+    @PostMapping("/reactions")
+    public ResponseEntity<Void> addReaction(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody MessageReactionRequest request) {
+        messageService.addReaction(userId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Withdraw a reaction
+     */
+    @DeleteMapping("/reactions")
+    public ResponseEntity<Void> removeReaction(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody MessageReactionRequest request) {
+        messageService.removeReaction(userId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Room history, newest first; pass nextCursor back as "before" for older messages
+     */
+    @GetMapping("/rooms/{roomId}/messages")
+    public ResponseEntity<MessagePageResponse> getRoomMessages(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(messageService.getRoomMessages(userId, roomId, before, limit));
+    }
+
+    /**
+     * Full-text search over the caller's rooms, newest match first; pass nextCursor back as "before"
+     */
+    @GetMapping("/search")
+    public ResponseEntity<MessagePageResponse> searchMessages(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid MessageSearchRequest request) {
+        return ResponseEntity.ok(searchService.searchMessages(userId, request));
+    }
+
+    /**
+     * Room members in user id order, a page at a time; pass nextCursor back as "after" for the next page
+     */
+    @GetMapping("/rooms/{roomId}/members")
+    public ResponseEntity<ChatRoomMemberPageResponse> getRoomMembers(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(chatService.getRoomMembers(userId, roomId, after, limit));
+    }
+
+    /**
+     * Mark a room read up to a message sequence; the position is written on the next flush
+     */
+    @PostMapping("/rooms/{roomId}/read")
+    public ResponseEntity<Void> markRead(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable Long roomId,
+            @Valid @RequestBody MarkReadRequest request) {
+        unreadService.markRead(userId, roomId, request.getSequence());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Unread counts of all the caller's rooms
+     */
+    @GetMapping("/unread")
+    public ResponseEntity<UnreadCountsResponse> getUnreadCounts(@RequestHeader("X-User-Id") Long userId) {
+        return ResponseEntity.ok(unreadService.getUnreadCounts(userId));
+    }
 }
@@ -0,0 +1,39 @@
+package com.raved.realtime.controller;
+
+import com.raved.realtime.dto.request.PresenceQueryRequest;
+import com.raved.realtime.dto.response.PresenceResponse;
+import com.raved.realtime.service.PresenceService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for user presence
+ */
+@RestController
+@RequestMapping("/api/presence")
+@CrossOrigin(origins = "*")
+public class PresenceController {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    /**
+     * Presence of a single user
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<PresenceResponse> getPresence(@PathVariable Long userId) {
+        return ResponseEntity.ok(presenceService.getPresence(userId));
+    }
+
+    /**
+     * Presence of up to 500 users (e.g. a contact list) in one call
+     */
+    @PostMapping("/query")
+    public ResponseEntity<List<PresenceResponse>> queryPresence(@Valid @RequestBody PresenceQueryRequest request) {
+        return ResponseEntity.ok(presenceService.getPresence(request.getUserIds()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.raved.realtime.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for editing a message's content
+ */
+public class EditMessageRequest {
+
+    @NotBlank(message = "Message content is required")
+    @Size(max = 4000, message = "Message content must not exceed 4000 characters")
+    private String content;
+
+    // Constructors
+    public EditMessageRequest() {
+    }
+
+    public EditMessageRequest(String content) {
+        this.content = content;
+    }
+
+    // Getters and Setters
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
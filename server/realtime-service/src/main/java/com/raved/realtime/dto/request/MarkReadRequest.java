@@ -0,0 +1,31 @@
+package com.raved.realtime.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Request DTO for marking a room read up to a message sequence
+ */
+public class MarkReadRequest {
+
+    @NotNull(message = "Sequence is required")
+    @PositiveOrZero(message = "Sequence must not be negative")
+    private Long sequence;
+
+    // Constructors
+    public MarkReadRequest() {
+    }
+
+    public MarkReadRequest(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    // Getters and Setters
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+}
@@ -2,6 +2,7 @@ package com.raved.realtime.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 /**
  * Request DTO for adding/removing message reactions
@@ -12,6 +13,7 @@ public class MessageReactionRequest {
     private Long messageId;
 
     @NotBlank(message = "Reaction type is required")
+    @Size(max = 10, message = "Reaction type must not exceed 10 characters")
     private String reactionType; // "like", "love", "laugh", "angry", "sad", "wow"
 
     // Constructors
@@ -0,0 +1,32 @@
+package com.raved.realtime.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for looking up the presence of many users at once
+ */
+public class PresenceQueryRequest {
+
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 500, message = "At most 500 users can be queried at once")
+    private List<Long> userIds;
+
+    // Constructors
+    public PresenceQueryRequest() {
+    }
+
+    public PresenceQueryRequest(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+}
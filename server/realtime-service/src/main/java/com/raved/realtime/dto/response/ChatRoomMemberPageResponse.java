@@ -0,0 +1,52 @@
+package com.raved.realtime.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paged list of room members, in user id order
+ */
+public class ChatRoomMemberPageResponse {
+
+    private List<ChatRoomMemberResponse> members;
+    private Long nextCursor; // Pass back as "after" to fetch the next page; null on the last page
+    private Long memberCount;
+
+    // Constructors
+    public ChatRoomMemberPageResponse() {
+    }
+
+    public ChatRoomMemberPageResponse(List<ChatRoomMemberResponse> members, Long nextCursor, Long memberCount) {
+        this.members = members;
+        this.nextCursor = nextCursor;
+        this.memberCount = memberCount;
+    }
+
+    // Getters and Setters
+    public List<ChatRoomMemberResponse> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<ChatRoomMemberResponse> members) {
+        this.members = members;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(Long memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.raved.realtime.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paged list of room messages, newest first
+ */
+public class MessagePageResponse {
+
+    private List<MessageResponse> messages;
+    private Long nextCursor; // Pass back as "before" to fetch older messages; null on the last page
+
+    // Constructors
+    public MessagePageResponse() {
+    }
+
+    public MessagePageResponse(List<MessageResponse> messages, Long nextCursor) {
+        this.messages = messages;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<MessageResponse> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<MessageResponse> messages) {
+        this.messages = messages;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -1,8 +1,169 @@
 package com.raved.realtime.dto.response;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 /**
- * MessageResponse for TheRavedApp
+ * Response DTO for Message entity; also the payload of "message" WebSocket frames
  */
 public class MessageResponse {
-    // Implementation
+
+    private Long id;
+    private Long chatRoomId;
+    private Long sequence; // Position within the room; unread count = room sequence - last read
+    private Long senderUserId;
+    private String content;
+    private String messageType;
+    private Long replyToMessageId;
+    private String mediaUrl;
+    private String mediaType;
+    private Long mediaSize;
+    private Boolean isEdited;
+    private Boolean isDeleted;
+    private LocalDateTime createdAt;
+    private LocalDateTime editedAt;
+    private Map<String, Long> reactions; // Emoji to count; null when the message has none
+
+    // Constructors
+    public MessageResponse() {
+    }
+
+    public MessageResponse(MessageResponse other) {
+        this.id = other.id;
+        this.chatRoomId = other.chatRoomId;
+        this.sequence = other.sequence;
+        this.senderUserId = other.senderUserId;
+        this.content = other.content;
+        this.messageType = other.messageType;
+        this.replyToMessageId = other.replyToMessageId;
+        this.mediaUrl = other.mediaUrl;
+        this.mediaType = other.mediaType;
+        this.mediaSize = other.mediaSize;
+        this.isEdited = other.isEdited;
+        this.isDeleted = other.isDeleted;
+        this.createdAt = other.createdAt;
+        this.editedAt = other.editedAt;
+        this.reactions = other.reactions;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getChatRoomId() {
+        return chatRoomId;
+    }
+
+    public void setChatRoomId(Long chatRoomId) {
+        this.chatRoomId = chatRoomId;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getSenderUserId() {
+        return senderUserId;
+    }
+
+    public void setSenderUserId(Long senderUserId) {
+        this.senderUserId = senderUserId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    public Long getReplyToMessageId() {
+        return replyToMessageId;
+    }
+
+    public void setReplyToMessageId(Long replyToMessageId) {
+        this.replyToMessageId = replyToMessageId;
+    }
+
+    public String getMediaUrl() {
+        return mediaUrl;
+    }
+
+    public void setMediaUrl(String mediaUrl) {
+        this.mediaUrl = mediaUrl;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public void setMediaType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public Long getMediaSize() {
+        return mediaSize;
+    }
+
+    public void setMediaSize(Long mediaSize) {
+        this.mediaSize = mediaSize;
+    }
+
+    public Boolean getIsEdited() {
+        return isEdited;
+    }
+
+    public void setIsEdited(Boolean isEdited) {
+        this.isEdited = isEdited;
+    }
+
+    public Boolean getIsDeleted() {
+        return isDeleted;
+    }
+
+    public void setIsDeleted(Boolean isDeleted) {
+        this.isDeleted = isDeleted;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getEditedAt() {
+        return editedAt;
+    }
+
+    public void setEditedAt(LocalDateTime editedAt) {
+        this.editedAt = editedAt;
+    }
+
+    public Map<String, Long> getReactions() {
+        return reactions;
+    }
+
+    public void setReactions(Map<String, Long> reactions) {
+        this.reactions = reactions;
+    }
 }
@@ -0,0 +1,48 @@
+package com.raved.realtime.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a user's presence; also an entry of "presence" WebSocket frames
+ */
+public class PresenceResponse {
+
+    private Long userId;
+    private String status; // "ONLINE", "AWAY" or "OFFLINE"
+    private LocalDateTime lastSeenAt;
+
+    // Constructors
+    public PresenceResponse() {
+    }
+
+    public PresenceResponse(Long userId, String status, LocalDateTime lastSeenAt) {
+        this.userId = userId;
+        this.status = status;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+}
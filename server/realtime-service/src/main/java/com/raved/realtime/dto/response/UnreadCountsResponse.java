@@ -0,0 +1,38 @@
+package com.raved.realtime.dto.response;
+
+import java.util.Map;
+
+/**
+ * Response DTO for a user's unread counts across all of their rooms
+ */
+public class UnreadCountsResponse {
+
+    private Long totalUnread; // Excludes muted rooms
+    private Map<Long, Long> rooms; // Room id to unread messages, for every active membership
+
+    // Constructors
+    public UnreadCountsResponse() {
+    }
+
+    public UnreadCountsResponse(Long totalUnread, Map<Long, Long> rooms) {
+        this.totalUnread = totalUnread;
+        this.rooms = rooms;
+    }
+
+    // Getters and Setters
+    public Long getTotalUnread() {
+        return totalUnread;
+    }
+
+    public void setTotalUnread(Long totalUnread) {
+        this.totalUnread = totalUnread;
+    }
+
+    public Map<Long, Long> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(Map<Long, Long> rooms) {
+        this.rooms = rooms;
+    }
+}
@@ -1,8 +1,17 @@
 package com.raved.realtime.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 /**
  * ChatRoomNotFoundException for TheRavedApp
+ *
+ * Also used when the caller is not a member, so private rooms are not disclosed.
  */
+@ResponseStatus(HttpStatus.NOT_FOUND)
 public class ChatRoomNotFoundException extends RuntimeException {
-    // Implementation
+
+    public ChatRoomNotFoundException(Long chatRoomId) {
+        super("Chat room not found: " + chatRoomId);
+    }
 }
@@ -1,8 +1,21 @@
 package com.raved.realtime.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 /**
  * MessageDeliveryException for TheRavedApp
+ *
+ * Thrown when a message could not be durably stored; the sender should retry.
  */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
 public class MessageDeliveryException extends RuntimeException {
-    // Implementation
+
+    public MessageDeliveryException(String message) {
+        super(message);
+    }
+
+    public MessageDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,17 @@
+package com.raved.realtime.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * MessageNotFoundException for TheRavedApp
+ *
+ * Also used when the caller did not send the message, or it has been archived and is read-only.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class MessageNotFoundException extends RuntimeException {
+
+    public MessageNotFoundException(Long messageId) {
+        super("Message not found: " + messageId);
+    }
+}
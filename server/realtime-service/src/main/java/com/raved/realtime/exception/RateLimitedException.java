@@ -0,0 +1,25 @@
+package com.raved.realtime.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * RateLimitedException for TheRavedApp
+ *
+ * Thrown when a large room's slow mode or send cap rejects a message; it may be retried after
+ * retryAfterMs.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitedException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public RateLimitedException(Long chatRoomId, long retryAfterMs) {
+        super("Slow mode in chat room " + chatRoomId + ", retry in " + retryAfterMs + " ms");
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
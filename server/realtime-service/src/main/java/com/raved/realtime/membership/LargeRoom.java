@@ -0,0 +1,153 @@
+package com.raved.realtime.membership;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.util.RoaringLongBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory state of one room running in large-room mode: its active members and moderators as
+ * bitmaps, and the slow-mode and rate-cap bookkeeping for sends.
+ *
+ * The bitmaps are replaced wholesale on each reload and only ever grow in between, when a
+ * membership the bitmap did not know about is confirmed by the database.
+ */
+final class LargeRoom {
+
+    private final RealtimeServiceConfig.LargeRooms settings;
+    private final StampedLock lock = new StampedLock();
+    private RoaringLongBitmap members; // null until first loaded
+    private RoaringLongBitmap moderators;
+
+    // Guarded by sendLock
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final Map<Long, Long> lastSent = new HashMap<>();
+    private double tokens;
+    private long refilledAt;
+
+    volatile long lastUsed;
+    // Held by the thread loading the bitmaps for the first time
+    final ReentrantLock loadLock = new ReentrantLock();
+
+    LargeRoom(RealtimeServiceConfig.LargeRooms settings) {
+        this.settings = settings;
+        this.tokens = settings.getMaxMessagesPerSecond();
+        this.refilledAt = System.currentTimeMillis();
+        this.lastUsed = refilledAt;
+    }
+
+    boolean isLoaded() {
+        long stamp = lock.readLock();
+        try {
+            return members != null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    void replaceMembers(RoaringLongBitmap members, RoaringLongBitmap moderators) {
+        long stamp = lock.writeLock();
+        try {
+            this.members = members;
+            this.moderators = moderators;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    boolean isMember(long userId) {
+        long stamp = lock.readLock();
+        try {
+            return members != null && members.contains(userId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    void addMember(long userId) {
+        long stamp = lock.writeLock();
+        try {
+            if (members != null) {
+                members.add(userId);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    long memberCount() {
+        long stamp = lock.readLock();
+        try {
+            return members != null ? members.getCardinality() : 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    long sizeInBytes() {
+        long stamp = lock.readLock();
+        try {
+            return members != null ? members.getSizeInBytes() + moderators.getSizeInBytes() : 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Take a send slot for a member; returns 0 if they may send now, otherwise the milliseconds
+     * until they may. Moderators are exempt from both slow mode and the room cap.
+     */
+    long acquireSend(long userId, long now) {
+        if (isModerator(userId)) {
+            return 0;
+        }
+        sendLock.lock();
+        try {
+            long slowModeMs = settings.getSlowModeMs();
+            Long previous = lastSent.get(userId);
+            if (slowModeMs > 0 && previous != null && now - previous < slowModeMs) {
+                return slowModeMs - (now - previous);
+            }
+            int perSecond = settings.getMaxMessagesPerSecond();
+            if (perSecond > 0) {
+                tokens = Math.min(perSecond, tokens + (now - refilledAt) * perSecond / 1000.0);
+                refilledAt = now;
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) * 1000 / perSecond);
+                }
+                tokens -= 1;
+            }
+            if (slowModeMs > 0) {
+                lastSent.put(userId, now);
+            }
+            return 0;
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Forget send times that can no longer hold anyone back
+     */
+    void sweep(long now) {
+        long cutoff = now - settings.getSlowModeMs();
+        sendLock.lock();
+        try {
+            lastSent.values().removeIf(sentAt -> sentAt <= cutoff);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private boolean isModerator(long userId) {
+        long stamp = lock.readLock();
+        try {
+            return moderators != null && moderators.contains(userId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.raved.realtime.membership;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.model.ChatRoom;
+import com.raved.realtime.model.ChatRoomMember;
+import com.raved.realtime.repository.ChatRoomMemberRepository;
+import com.raved.realtime.util.RoaringLongBitmap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Room membership checks, with large-room mode for faculty-wide rooms.
+ *
+ * A room is large when it is a faculty-wide room or its max_members is at or above the configured
+ * threshold. The first check against a large room loads its active members into a bitmap, and
+ * from then on a member's check never reaches the database. A user the bitmap does not know is
+ * checked against chat_room_members, so someone who joined since the last load gets in at once
+ * and is added; someone who left keeps passing until the bitmaps are reloaded, once per refresh
+ * interval. Rooms nobody touched for an interval are forgotten. Regular rooms are checked against
+ * the database as before.
+ *
+ * Large rooms also get slow mode and a room-wide send cap, both enforced in this node's memory.
+ */
+@Component
+public class RoomMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomMembership.class);
+
+    private static final String ROOM_SQL =
+            "SELECT room_type, faculty_id, max_members FROM chat_rooms WHERE id = ?";
+
+    // Served by uk_chat_room_member in user id order, which keeps bitmap inserts appends
+    private static final String MEMBERS_SQL =
+            "SELECT user_id, member_role FROM chat_room_members WHERE chat_room_id = ? AND is_active = TRUE " +
+            "ORDER BY user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private final RealtimeServiceConfig.LargeRooms settings;
+    private final Map<Long, LargeRoom> largeRooms = new ConcurrentHashMap<>();
+    // Rooms known not to be large; forgotten on every refresh so a resized room changes mode
+    private final Set<Long> regularRooms = ConcurrentHashMap.newKeySet();
+
+    private final Counter bitmapHits;
+    private final Counter bitmapLoads;
+    private final Counter sendsLimited;
+
+    public RoomMembership(JdbcTemplate jdbcTemplate, ChatRoomMemberRepository chatRoomMemberRepository,
+                          RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatRoomMemberRepository = chatRoomMemberRepository;
+        this.settings = config.getLargeRooms();
+        this.bitmapHits = meterRegistry.counter("realtime.rooms.large.membership.hits");
+        this.bitmapLoads = meterRegistry.counter("realtime.rooms.large.membership.loads");
+        this.sendsLimited = meterRegistry.counter("realtime.rooms.large.sends.limited");
+        Gauge.builder("realtime.rooms.large", largeRooms, Map::size).register(meterRegistry);
+        Gauge.builder("realtime.rooms.large.membership.bytes", largeRooms,
+                rooms -> rooms.values().stream().mapToLong(LargeRoom::sizeInBytes).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a user is an active member of a room
+     */
+    public boolean isMember(long roomId, long userId) {
+        LargeRoom room = loadedLargeRoom(roomId);
+        if (room != null && room.isMember(userId)) {
+            bitmapHits.increment();
+            return true;
+        }
+        boolean member = chatRoomMemberRepository.existsByChatRoomIdAndUserIdAndIsActiveTrue(roomId, userId);
+        if (member && room != null) {
+            room.addMember(userId);
+        }
+        return member;
+    }
+
+    /**
+     * Whether a room runs in large-room mode
+     */
+    public boolean isLargeRoom(long roomId) {
+        return largeRoom(roomId) != null;
+    }
+
+    /**
+     * Number of active members; served from memory for large rooms
+     */
+    public long memberCount(long roomId) {
+        LargeRoom room = loadedLargeRoom(roomId);
+        return room != null ? room.memberCount() : chatRoomMemberRepository.countByChatRoomIdAndIsActiveTrue(roomId);
+    }
+
+    /**
+     * Apply slow mode and the room send cap before a member's message is stored; returns 0 if it
+     * may be sent, otherwise the milliseconds until it may. Regular rooms are never limited.
+     */
+    public long acquireSend(long roomId, long userId) {
+        LargeRoom room = loadedLargeRoom(roomId);
+        if (room == null) {
+            return 0;
+        }
+        long retryAfterMs = room.acquireSend(userId, System.currentTimeMillis());
+        if (retryAfterMs > 0) {
+            sendsLimited.increment();
+        }
+        return retryAfterMs;
+    }
+
+    /**
+     * Reload the member bitmaps of rooms still in use, forget the rest and re-read room modes
+     */
+    @Scheduled(fixedDelayString = "${realtime.large-rooms.refresh-interval-ms:60000}")
+    public void refresh() {
+        regularRooms.clear();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, LargeRoom> entry : largeRooms.entrySet()) {
+            long roomId = entry.getKey();
+            LargeRoom room = entry.getValue();
+            try {
+                if (now - room.lastUsed > settings.getRefreshIntervalMs() || !readIsLarge(roomId)) {
+                    largeRooms.remove(roomId, room);
+                    continue;
+                }
+                room.sweep(now);
+                if (room.isLoaded()) {
+                    load(roomId, room);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to refresh members of large room {}, keeping the current ones: {}",
+                        roomId, e.getMessage());
+            }
+        }
+    }
+
+    private LargeRoom largeRoom(long roomId) {
+        LargeRoom room = largeRooms.get(roomId);
+        if (room == null) {
+            if (regularRooms.contains(roomId)) {
+                return null;
+            }
+            if (!readIsLarge(roomId)) {
+                regularRooms.add(roomId);
+                return null;
+            }
+            room = largeRooms.computeIfAbsent(roomId, id -> new LargeRoom(settings));
+        }
+        room.lastUsed = System.currentTimeMillis();
+        return room;
+    }
+
+    private LargeRoom loadedLargeRoom(long roomId) {
+        LargeRoom room = largeRoom(roomId);
+        if (room != null && !room.isLoaded()) {
+            // One loader per room; everyone else arriving at once waits for its bitmap. A lock rather
+            // than a monitor, so virtual threads waiting out the query do not pin their carriers
+            room.loadLock.lock();
+            try {
+                if (!room.isLoaded()) {
+                    load(roomId, room);
+                }
+            } finally {
+                room.loadLock.unlock();
+            }
+        }
+        return room;
+    }
+
+    private boolean readIsLarge(long roomId) {
+        List<Boolean> large = jdbcTemplate.query(ROOM_SQL, (rs, row) -> {
+            boolean facultyWide = ChatRoom.RoomType.FACULTY_GENERAL.name().equals(rs.getString("room_type"))
+                    && rs.getObject("faculty_id") != null;
+            Integer maxMembers = rs.getObject("max_members", Integer.class);
+            return (settings.isFacultyRooms() && facultyWide)
+                    || (maxMembers != null && maxMembers >= settings.getMinMaxMembers());
+        }, roomId);
+        return !large.isEmpty() && large.get(0);
+    }
+
+    private void load(long roomId, LargeRoom room) {
+        RoaringLongBitmap members = new RoaringLongBitmap();
+        RoaringLongBitmap moderators = new RoaringLongBitmap();
+        jdbcTemplate.query(MEMBERS_SQL, rs -> {
+            long userId = rs.getLong(1);
+            members.add(userId);
+            if (!ChatRoomMember.MemberRole.MEMBER.name().equals(rs.getString(2))) {
+                moderators.add(userId);
+            }
+        }, roomId);
+        room.replaceMembers(members, moderators);
+        bitmapLoads.increment();
+    }
+}
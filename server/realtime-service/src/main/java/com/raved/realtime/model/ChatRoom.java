@@ -62,6 +62,9 @@ public class ChatRoom {
     @Column(name = "last_activity_at")
     private LocalDateTime lastActivityAt;
 
+    @Column(name = "message_seq", nullable = false, insertable = false, updatable = false)
+    private Long messageSeq = 0L; // Sequence of the newest message, only ever advanced by MessageBatchWriter
+
     // Relationships
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ChatRoomMember> members;
@@ -185,6 +188,14 @@ public class ChatRoom {
         this.lastActivityAt = lastActivityAt;
     }
 
+    public Long getMessageSeq() {
+        return messageSeq;
+    }
+
+    public void setMessageSeq(Long messageSeq) {
+        this.messageSeq = messageSeq;
+    }
+
     public List<ChatRoomMember> getMembers() {
         return members;
     }
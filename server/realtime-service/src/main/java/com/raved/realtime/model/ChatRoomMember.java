@@ -47,6 +47,11 @@ public class ChatRoomMember {
     @Column(name = "last_read_at")
     private LocalDateTime lastReadAt;
 
+    // Highest room message sequence read; set to the room's sequence on join by a trigger (V6),
+    // then only ever written by ReadReceiptWriter
+    @Column(name = "last_read_seq", nullable = false, insertable = false, updatable = false)
+    private Long lastReadSeq = 0L;
+
     @Column(name = "left_at")
     private LocalDateTime leftAt;
 
@@ -133,6 +138,14 @@ public class ChatRoomMember {
         this.lastReadAt = lastReadAt;
     }
 
+    public Long getLastReadSeq() {
+        return lastReadSeq;
+    }
+
+    public void setLastReadSeq(Long lastReadSeq) {
+        this.lastReadSeq = lastReadSeq;
+    }
+
     public LocalDateTime getLeftAt() {
         return leftAt;
     }
@@ -14,18 +14,14 @@ import java.util.List;
  */
 @Entity
 @Table(name = "messages", indexes = {
-        @Index(name = "idx_messages_chat_room", columnList = "chat_room_id"),
+        @Index(name = "idx_messages_room_id", columnList = "chat_room_id, id DESC"),
         @Index(name = "idx_messages_sender", columnList = "sender_user_id"),
-        @Index(name = "idx_messages_created", columnList = "created_at"),
-        @Index(name = "idx_messages_type", columnList = "message_type"),
-        @Index(name = "idx_messages_room_created", columnList = "chat_room_id, created_at"),
         @Index(name = "idx_messages_reply", columnList = "reply_to_message_id")
-})
+}) // Range-partitioned by id (one partition per month), see V2__Partition_messages.sql
 public class Message {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    private Long id; // Snowflake id assigned by SnowflakeIdGenerator
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chat_room_id", nullable = false)
@@ -56,6 +52,12 @@ public class Message {
     @Column(name = "media_size")
     private Long mediaSize;
 
+    @Column(name = "room_seq", updatable = false)
+    private Long roomSeq; // Position within the room, assigned by MessageBatchWriter
+
+    @Column(name = "reaction_summary", columnDefinition = "TEXT", insertable = false, updatable = false)
+    private String reactionSummary; // JSON emoji -> count, only ever written by ReactionAggregator
+
     // Message Status
     @Column(name = "is_edited", nullable = false)
     private Boolean isEdited = false;
@@ -171,6 +173,22 @@ public class Message {
         this.mediaSize = mediaSize;
     }
 
+    public Long getRoomSeq() {
+        return roomSeq;
+    }
+
+    public void setRoomSeq(Long roomSeq) {
+        this.roomSeq = roomSeq;
+    }
+
+    public String getReactionSummary() {
+        return reactionSummary;
+    }
+
+    public void setReactionSummary(String reactionSummary) {
+        this.reactionSummary = reactionSummary;
+    }
+
     public Boolean getIsEdited() {
         return isEdited;
     }
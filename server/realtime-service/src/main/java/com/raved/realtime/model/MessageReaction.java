@@ -13,10 +13,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "message_reactions", indexes = {
-    @Index(name = "idx_message_reactions_message", columnList = "message_id"),
-    @Index(name = "idx_message_reactions_user", columnList = "user_id"),
-    @Index(name = "idx_message_reactions_emoji", columnList = "emoji"),
-    @Index(name = "idx_message_reactions_created", columnList = "created_at")
+    @Index(name = "idx_message_reactions_user", columnList = "user_id")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_message_reaction", columnNames = {"message_id", "user_id", "emoji"})
 })
@@ -1,8 +1,69 @@
 package com.raved.realtime.model;
 
+import java.time.LocalDateTime;
+
 /**
  * UserSession for TheRavedApp
+ *
+ * Cluster-wide presence of one user, aggregated from the connections held by every
+ * realtime-service node. Not persisted; the live state is kept in Redis.
  */
 public class UserSession {
-    // Implementation
+
+    private Long userId;
+    private PresenceStatus status = PresenceStatus.OFFLINE;
+    private LocalDateTime lastSeenAt; // Last activity on any connection; null if never seen
+
+    // Enums
+    public enum PresenceStatus {
+        ONLINE, AWAY, OFFLINE
+    }
+
+    // Constructors
+    public UserSession() {
+    }
+
+    public UserSession(Long userId, PresenceStatus status, LocalDateTime lastSeenAt) {
+        this.userId = userId;
+        this.status = status;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public PresenceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PresenceStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public boolean isOnline() {
+        return status != PresenceStatus.OFFLINE;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSession{" +
+                "userId=" + userId +
+                ", status=" + status +
+                ", lastSeenAt=" + lastSeenAt +
+                '}';
+    }
 }
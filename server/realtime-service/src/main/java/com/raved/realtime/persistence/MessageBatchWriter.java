@@ -0,0 +1,305 @@
+package com.raved.realtime.persistence;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.exception.MessageDeliveryException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit writer for chat messages.
+ *
+ * Messages are queued and a small pool of writer threads turns whatever arrived within the flush
+ * window into one chat_rooms UPDATE plus one multi-row INSERT, in a single transaction. Each room
+ * is pinned to one writer by its id, so a room's batches commit one after another in the order
+ * they were queued. The UPDATE advances each room's message sequence by the number of its
+ * messages in the batch and returns the new value, and the messages are numbered from it in id
+ * order, so sequences stay gapless per room without a round trip per message. On one node a
+ * room's sequence therefore follows id order, except for a sender that took its id and was then
+ * delayed past a batch boundary; across nodes it follows commit order, which can differ from id
+ * order by as much as the nodes' clock skew. Unread counts only rely on sequences being gapless;
+ * history is paged by id.
+ *
+ * Each sender's future completes only after its batch commits, so an ack always means the
+ * message is durable. A batch rejected by a constraint is split in half and retried, so one bad
+ * row (e.g. a room deleted mid-flight) fails only its own sender.
+ */
+@Component
+public class MessageBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageBatchWriter.class);
+
+    private static final String INSERT_MESSAGES_SQL =
+            "INSERT INTO messages (id, chat_room_id, room_seq, sender_user_id, content, message_type, " +
+            "reply_to_message_id, media_url, media_type, media_size, is_edited, is_deleted, created_at, updated_at) " +
+            "SELECT t.id, t.room_id, t.room_seq, t.sender_id, t.content, t.message_type, t.reply_to, t.media_url, " +
+            "t.media_type, t.media_size, FALSE, FALSE, t.created_at, t.created_at " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[], ?::text[], ?::text[], ?::bigint[], " +
+            "?::text[], ?::text[], ?::bigint[], ?::timestamp[]) " +
+            "AS t(id, room_id, room_seq, sender_id, content, message_type, reply_to, media_url, media_type, " +
+            "media_size, created_at)";
+
+    // Rooms are updated in id order so concurrent writer transactions cannot deadlock; the row lock
+    // also serializes sequence assignment for a room across writer threads and nodes
+    private static final String TOUCH_ROOMS_SQL =
+            "UPDATE chat_rooms c SET message_seq = c.message_seq + t.n, " +
+            "last_activity_at = GREATEST(c.last_activity_at, t.at) " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::timestamp[]) AS t(id, n, at) " +
+            "WHERE c.id = t.id RETURNING c.id, c.message_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RealtimeServiceConfig.Messages settings;
+    // One queue per writer thread; a room always maps to the same one
+    private final List<BlockingQueue<PendingWrite>> queues = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Counter persisted;
+    private final Counter failed;
+    private final Counter rejected;
+    private final DistributionSummary batchSize;
+    private final Timer commitTimer;
+
+    public MessageBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = config.getMessages();
+        int writerCount = Math.max(1, settings.getWriterThreads());
+        for (int i = 0; i < writerCount; i++) {
+            queues.add(new ArrayBlockingQueue<>(Math.max(1, settings.getMaxPending() / writerCount)));
+        }
+
+        this.persisted = meterRegistry.counter("realtime.messages.persisted");
+        this.failed = meterRegistry.counter("realtime.messages.failed");
+        this.rejected = meterRegistry.counter("realtime.messages.rejected");
+        this.batchSize = DistributionSummary.builder("realtime.messages.batch.size").register(meterRegistry);
+        this.commitTimer = meterRegistry.timer("realtime.messages.commit");
+        Gauge.builder("realtime.messages.pending", queues,
+                all -> all.stream().mapToInt(BlockingQueue::size).sum()).register(meterRegistry);
+
+        for (int i = 0; i < writerCount; i++) {
+            BlockingQueue<PendingWrite> queue = queues.get(i);
+            Thread writer = new Thread(() -> run(queue), "message-writer-" + (i + 1));
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Queue a message for the next batch; the future completes after the batch commits
+     */
+    public CompletableFuture<MessageRecord> submit(MessageRecord record) {
+        CompletableFuture<MessageRecord> future = new CompletableFuture<>();
+        int writer = Math.floorMod(Long.hashCode(record.getChatRoomId()), queues.size());
+        BlockingQueue<PendingWrite> queue = queues.get(writer);
+        if (!running || !queue.offer(new PendingWrite(record, future))) {
+            rejected.increment();
+            future.completeExceptionally(new MessageDeliveryException("Message queue is full, retry shortly"));
+        }
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void run(BlockingQueue<PendingWrite> queue) {
+        int maxBatch = Math.max(1, settings.getMaxBatchSize());
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Group commit: give other senders one window to join this transaction
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getFlushIntervalMs());
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (queue.drainTo(batch, maxBatch - batch.size()) == 0) {
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                fail(batch, e);
+            } catch (RuntimeException e) {
+                log.error("Message writer failed", e);
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        try {
+            commitTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(batch)));
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                log.warn("Rejected message {}: {}", batch.get(0).record.getId(), e.getMessage());
+                fail(batch, e);
+                return;
+            }
+            int half = batch.size() / 2;
+            write(new ArrayList<>(batch.subList(0, half)));
+            write(new ArrayList<>(batch.subList(half, batch.size())));
+            return;
+        } catch (DataAccessException e) {
+            // Not row-specific (e.g. the database is unreachable); retrying halves would only add load
+            log.warn("Failed to persist {} messages: {}", batch.size(), e.getMessage());
+            fail(batch, e);
+            return;
+        }
+        batchSize.record(batch.size());
+        persisted.increment(batch.size());
+        for (PendingWrite write : batch) {
+            write.future.complete(write.record);
+        }
+    }
+
+    private void insert(List<PendingWrite> batch) {
+        // Number each room's messages in id order within the batch
+        List<MessageRecord> records = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            records.add(write.record);
+        }
+        records.sort(Comparator.comparingLong(MessageRecord::getId));
+
+        Map<Long, long[]> roomCounts = new TreeMap<>();
+        Map<Long, LocalDateTime> roomActivity = new HashMap<>();
+        for (MessageRecord record : records) {
+            roomCounts.computeIfAbsent(record.getChatRoomId(), id -> new long[1])[0]++;
+            roomActivity.merge(record.getChatRoomId(), record.getCreatedAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        Long[] touchedRooms = roomCounts.keySet().toArray(new Long[0]);
+        Long[] counts = roomCounts.values().stream().map(count -> count[0]).toArray(Long[]::new);
+        Timestamp[] touchedAt = roomCounts.keySet().stream()
+                .map(id -> Timestamp.valueOf(roomActivity.get(id))).toArray(Timestamp[]::new);
+        Map<Long, Long> nextSeq = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(TOUCH_ROOMS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", touchedRooms));
+            ps.setArray(2, con.createArrayOf("bigint", counts));
+            ps.setArray(3, con.createArrayOf("timestamp", touchedAt));
+            return ps;
+        }, rs -> {
+            long roomId = rs.getLong(1);
+            nextSeq.put(roomId, rs.getLong(2) - roomCounts.get(roomId)[0] + 1);
+        });
+
+        int size = records.size();
+        Long[] ids = new Long[size];
+        Long[] roomIds = new Long[size];
+        Long[] sequences = new Long[size];
+        Long[] senderIds = new Long[size];
+        String[] contents = new String[size];
+        String[] types = new String[size];
+        Long[] replyTo = new Long[size];
+        String[] mediaUrls = new String[size];
+        String[] mediaTypes = new String[size];
+        Long[] mediaSizes = new Long[size];
+        Timestamp[] createdAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            MessageRecord record = records.get(i);
+            // A room that no longer exists gets no sequence; its row then fails the foreign key
+            Long sequence = nextSeq.get(record.getChatRoomId());
+            if (sequence != null) {
+                record.setSequence(sequence);
+                sequences[i] = sequence;
+                nextSeq.put(record.getChatRoomId(), sequence + 1);
+            }
+            ids[i] = record.getId();
+            roomIds[i] = record.getChatRoomId();
+            senderIds[i] = record.getSenderUserId();
+            contents[i] = record.getContent();
+            types[i] = record.getMessageType();
+            replyTo[i] = record.getReplyToMessageId();
+            mediaUrls[i] = record.getMediaUrl();
+            mediaTypes[i] = record.getMediaType();
+            mediaSizes[i] = record.getMediaSize();
+            createdAt[i] = Timestamp.valueOf(record.getCreatedAt());
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_MESSAGES_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("bigint", roomIds));
+            ps.setArray(3, con.createArrayOf("bigint", sequences));
+            ps.setArray(4, con.createArrayOf("bigint", senderIds));
+            ps.setArray(5, con.createArrayOf("text", contents));
+            ps.setArray(6, con.createArrayOf("text", types));
+            ps.setArray(7, con.createArrayOf("bigint", replyTo));
+            ps.setArray(8, con.createArrayOf("text", mediaUrls));
+            ps.setArray(9, con.createArrayOf("text", mediaTypes));
+            ps.setArray(10, con.createArrayOf("bigint", mediaSizes));
+            ps.setArray(11, con.createArrayOf("timestamp", createdAt));
+            return ps;
+        });
+    }
+
+    private void fail(List<PendingWrite> batch, Exception cause) {
+        failed.increment(batch.size());
+        MessageDeliveryException error = new MessageDeliveryException("Message could not be stored", cause);
+        for (PendingWrite write : batch) {
+            write.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class PendingWrite {
+        private final MessageRecord record;
+        private final CompletableFuture<MessageRecord> future;
+
+        PendingWrite(MessageRecord record, CompletableFuture<MessageRecord> future) {
+            this.record = record;
+            this.future = future;
+        }
+    }
+}
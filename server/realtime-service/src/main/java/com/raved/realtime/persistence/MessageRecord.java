@@ -0,0 +1,89 @@
+package com.raved.realtime.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable row for the messages table, built before the insert so the id and timestamp are
+ * known to the sender without reading anything back
+ */
+public class MessageRecord {
+
+    private final long id;
+    private final long chatRoomId;
+    private final long senderUserId;
+    private final String content;
+    private final String messageType;
+    private final Long replyToMessageId;
+    private final String mediaUrl;
+    private final String mediaType;
+    private final Long mediaSize;
+    private final LocalDateTime createdAt;
+    // Assigned by the writer inside the batch transaction
+    private volatile long sequence;
+
+    public MessageRecord(long id, long chatRoomId, long senderUserId, String content, String messageType,
+                         Long replyToMessageId, String mediaUrl, String mediaType, Long mediaSize,
+                         LocalDateTime createdAt) {
+        this.id = id;
+        this.chatRoomId = chatRoomId;
+        this.senderUserId = senderUserId;
+        this.content = content;
+        this.messageType = messageType;
+        this.replyToMessageId = replyToMessageId;
+        this.mediaUrl = mediaUrl;
+        this.mediaType = mediaType;
+        this.mediaSize = mediaSize;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getChatRoomId() {
+        return chatRoomId;
+    }
+
+    public long getSenderUserId() {
+        return senderUserId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public Long getReplyToMessageId() {
+        return replyToMessageId;
+    }
+
+    public String getMediaUrl() {
+        return mediaUrl;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public Long getMediaSize() {
+        return mediaSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Position of the message within its room; set once the batch holding it commits
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
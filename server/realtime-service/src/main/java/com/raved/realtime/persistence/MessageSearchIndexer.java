@@ -0,0 +1,113 @@
+package com.raved.realtime.persistence;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps messages.search_vector up to date off the send path.
+ *
+ * New messages are written without a vector and picked up by polling the partial index of
+ * unindexed rows, so nothing on the send path waits for indexing and rows committed by a node
+ * that died before indexing them are still found by the next poll on any node. Edits and deletes
+ * are queued here and re-indexed in one statement per batch; a deleted message's vector is
+ * cleared so it drops out of the search index. Concurrent nodes skip rows another node is
+ * already indexing.
+ */
+@Component
+public class MessageSearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchIndexer.class);
+
+    public static final String TEXT_SEARCH_CONFIG = "simple";
+
+    private static final String INDEX_NEW_SQL =
+            "UPDATE messages m SET search_vector = to_tsvector('" + TEXT_SEARCH_CONFIG + "', m.content) " +
+            "FROM (SELECT id FROM messages WHERE search_vector IS NULL AND is_deleted = FALSE " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) t " +
+            "WHERE m.id = t.id";
+
+    private static final String REINDEX_SQL =
+            "UPDATE messages SET search_vector = CASE WHEN is_deleted THEN NULL " +
+            "ELSE to_tsvector('" + TEXT_SEARCH_CONFIG + "', content) END " +
+            "WHERE id = ANY(?::bigint[])";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RealtimeServiceConfig.Search settings;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    private final Counter indexed;
+    private final Counter reindexed;
+
+    public MessageSearchIndexer(JdbcTemplate jdbcTemplate, RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = config.getSearch();
+        this.indexed = meterRegistry.counter("realtime.search.indexed");
+        this.reindexed = meterRegistry.counter("realtime.search.reindexed");
+        Gauge.builder("realtime.search.reindex.pending", changed, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Queue a committed edit or delete for re-indexing
+     */
+    public void onMessageChanged(long messageId) {
+        changed.add(messageId);
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.search.index-interval-ms:1000}")
+    public synchronized void index() {
+        int batchSize = Math.max(1, settings.getBatchSize());
+        try {
+            reindexChanged(batchSize);
+            // A full batch means there is a backlog; keep going, but leave the scheduler to other tasks eventually
+            for (int run = 0; run < Math.max(1, settings.getMaxBatchesPerRun()); run++) {
+                int rows = jdbcTemplate.update(INDEX_NEW_SQL, batchSize);
+                indexed.increment(rows);
+                if (rows < batchSize) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to update the message search index, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    private void reindexChanged(int batchSize) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> messageIds = new ArrayList<>(changed);
+        changed.removeAll(messageIds);
+        // Rows are updated in id order so concurrent runs on other nodes cannot deadlock
+        Collections.sort(messageIds);
+        int from = 0;
+        try {
+            for (; from < messageIds.size(); from += batchSize) {
+                Long[] ids = messageIds.subList(from, Math.min(messageIds.size(), from + batchSize)).toArray(new Long[0]);
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(REINDEX_SQL);
+                    ps.setArray(1, con.createArrayOf("bigint", ids));
+                    return ps;
+                });
+                reindexed.increment(ids.length);
+            }
+        } catch (DataAccessException e) {
+            changed.addAll(messageIds.subList(from, messageIds.size()));
+            throw e;
+        }
+    }
+}
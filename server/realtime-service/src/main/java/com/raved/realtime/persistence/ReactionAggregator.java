@@ -0,0 +1,268 @@
+package com.raved.realtime.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.cache.RoomMessageCache;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.util.SnowflakeIdGenerator;
+import com.raved.realtime.websocket.MessageBroker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains messages.reaction_summary, the per-message emoji→count map.
+ *
+ * A reaction is stored as its message_reactions row right away, and only a row that was actually
+ * inserted or deleted contributes a +1/-1 to the message's pending deltas. Once per flush
+ * interval all pending deltas are folded into their summaries with one UPDATE, which touches
+ * each message once however many reactions it received, and the new summaries are pushed to the
+ * recent-message cache and broadcast to each room as a single "reactions" frame.
+ *
+ * Deltas not yet flushed when a node dies are lost, so a periodic repair recomputes the summaries
+ * of recent messages from message_reactions and rewrites those that disagree. Messages with a
+ * reaction added in the last few flush intervals, or with deltas pending on this node, are left
+ * for the next pass, so a repair does not race a flush that is about to apply the same change.
+ */
+@Component
+public class ReactionAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactionAggregator.class);
+
+    private static final TypeReference<LinkedHashMap<String, Long>> SUMMARY_TYPE = new TypeReference<>() {};
+
+    private static final String INSERT_REACTION_SQL =
+            "INSERT INTO message_reactions (message_id, user_id, emoji, created_at) VALUES (?, ?, ?, LOCALTIMESTAMP) " +
+            "ON CONFLICT (message_id, user_id, emoji) DO NOTHING";
+
+    private static final String DELETE_REACTION_SQL =
+            "DELETE FROM message_reactions WHERE message_id = ? AND user_id = ? AND emoji = ?";
+
+    // Adds each delta to the stored count and drops emojis that fall to zero; no reactions left is NULL
+    private static final String APPLY_DELTAS_SQL =
+            "UPDATE messages m SET reaction_summary = (" +
+            "SELECT jsonb_object_agg(c.emoji, c.total)::text FROM (" +
+            "SELECT e.key AS emoji, SUM(e.value::bigint) AS total FROM (" +
+            "SELECT key, value FROM jsonb_each_text(COALESCE(m.reaction_summary, '{}')::jsonb) " +
+            "UNION ALL SELECT key, value FROM jsonb_each_text(t.delta::jsonb)) e " +
+            "GROUP BY e.key HAVING SUM(e.value::bigint) > 0) c) " +
+            "FROM unnest(?::bigint[], ?::text[]) AS t(id, delta) WHERE m.id = t.id " +
+            "RETURNING m.id, m.chat_room_id, m.reaction_summary";
+
+    // Recounts reacted messages sent since a bound and rewrites summaries that differ from the rows
+    private static final String REPAIR_SQL =
+            "UPDATE messages m SET reaction_summary = a.summary FROM (" +
+            "SELECT c.id, (SELECT jsonb_object_agg(r.emoji, r.n)::text FROM (SELECT emoji, COUNT(*) AS n " +
+            "FROM message_reactions WHERE message_id = c.id GROUP BY emoji) r) AS summary " +
+            "FROM messages c WHERE c.id >= ? AND c.id <> ALL(?::bigint[]) " +
+            "AND (c.reaction_summary IS NOT NULL " +
+            "OR EXISTS (SELECT 1 FROM message_reactions x WHERE x.message_id = c.id)) " +
+            "AND NOT EXISTS (SELECT 1 FROM message_reactions y WHERE y.message_id = c.id AND y.created_at > ?)) a " +
+            "WHERE m.id = a.id AND m.id >= ? AND m.reaction_summary::jsonb IS DISTINCT FROM a.summary::jsonb " +
+            "RETURNING m.id, m.chat_room_id, m.reaction_summary";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageBroker messageBroker;
+    private final RoomMessageCache roomMessageCache;
+    private final RealtimeServiceConfig.Reactions settings;
+    // message id -> emoji -> pending change; inner maps are only touched inside compute
+    private final Map<Long, Map<String, Long>> pending = new ConcurrentHashMap<>();
+
+    private final Counter changes;
+    private final Counter summariesWritten;
+    private final Counter summariesRepaired;
+
+    public ReactionAggregator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MessageBroker messageBroker,
+                              RoomMessageCache roomMessageCache, RealtimeServiceConfig config,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.messageBroker = messageBroker;
+        this.roomMessageCache = roomMessageCache;
+        this.settings = config.getReactions();
+        this.changes = meterRegistry.counter("realtime.reactions.changes");
+        this.summariesWritten = meterRegistry.counter("realtime.reactions.summaries.written");
+        this.summariesRepaired = meterRegistry.counter("realtime.reactions.summaries.repaired");
+        Gauge.builder("realtime.reactions.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Store a user's reaction; returns false if they had already reacted with this emoji
+     */
+    public boolean add(long messageId, long userId, String emoji) {
+        if (jdbcTemplate.update(INSERT_REACTION_SQL, messageId, userId, emoji) == 0) {
+            return false;
+        }
+        record(messageId, Map.of(emoji, 1L));
+        return true;
+    }
+
+    /**
+     * Remove a user's reaction; returns false if there was none
+     */
+    public boolean remove(long messageId, long userId, String emoji) {
+        if (jdbcTemplate.update(DELETE_REACTION_SQL, messageId, userId, emoji) == 0) {
+            return false;
+        }
+        record(messageId, Map.of(emoji, -1L));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.reactions.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Messages are updated in id order so concurrent flushes from other nodes cannot deadlock
+        Map<Long, Map<String, Long>> drained = new TreeMap<>();
+        for (Long messageId : pending.keySet()) {
+            Map<String, Long> deltas = pending.remove(messageId);
+            if (deltas != null) {
+                deltas.values().removeIf(delta -> delta == 0);
+                if (!deltas.isEmpty()) {
+                    drained.put(messageId, deltas);
+                }
+            }
+        }
+        List<Long> messageIds = new ArrayList<>(drained.keySet());
+        Map<Long, Map<Long, Map<String, Long>>> summariesByRoom = new TreeMap<>();
+        int chunkSize = Math.max(1, settings.getMaxBatchSize());
+        int from = 0;
+        try {
+            for (; from < messageIds.size(); from += chunkSize) {
+                apply(messageIds.subList(from, Math.min(messageIds.size(), from + chunkSize)), drained,
+                        summariesByRoom);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            List<Long> unapplied = messageIds.subList(from, messageIds.size());
+            log.warn("Failed to update reaction summaries of {} messages, retrying next flush: {}",
+                    unapplied.size(), e.getMessage());
+            for (Long messageId : unapplied) {
+                record(messageId, drained.get(messageId));
+            }
+        }
+        summariesByRoom.forEach(this::publish);
+    }
+
+    /**
+     * Rewrite recent summaries that disagree with message_reactions; the first pass after a
+     * restart comes within a minute, so deltas lost in a crash are not visible for long
+     */
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${realtime.reactions.repair-interval-ms:600000}")
+    public synchronized void repair() {
+        long lowerId = Math.max(0L,
+                SnowflakeIdGenerator.minIdAt(System.currentTimeMillis() - settings.getRepairLookbackMs()));
+        // A reaction this recent may still be a pending delta on some node
+        Timestamp settledBefore = Timestamp.valueOf(LocalDateTime.now().minusNanos(
+                Math.max(10000, settings.getFlushIntervalMs() * 5) * 1_000_000));
+        Long[] unsettled = pending.keySet().toArray(new Long[0]);
+        Map<Long, Map<Long, Map<String, Long>>> summariesByRoom = new TreeMap<>();
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(REPAIR_SQL);
+                ps.setLong(1, lowerId);
+                ps.setArray(2, con.createArrayOf("bigint", unsettled));
+                ps.setTimestamp(3, settledBefore);
+                ps.setLong(4, lowerId);
+                return ps;
+            }, rs -> {
+                Map<String, Long> summary = parseSummary(objectMapper, rs.getString(3));
+                summariesByRoom.computeIfAbsent(rs.getLong(2), room -> new LinkedHashMap<>())
+                        .put(rs.getLong(1), summary != null ? summary : Map.of());
+            });
+        } catch (DataAccessException e) {
+            log.warn("Reaction summary repair failed, retrying next pass: {}", e.getMessage());
+            return;
+        }
+        int repaired = summariesByRoom.values().stream().mapToInt(Map::size).sum();
+        if (repaired > 0) {
+            log.info("Repaired reaction summaries of {} messages", repaired);
+            summariesRepaired.increment(repaired);
+            summariesByRoom.forEach(this::publish);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Parse a stored summary; null or unreadable input reads as no reactions
+     */
+    public static Map<String, Long> parseSummary(ObjectMapper objectMapper, String summary) {
+        if (summary == null || summary.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(summary, SUMMARY_TYPE);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void record(long messageId, Map<String, Long> deltas) {
+        changes.increment();
+        pending.compute(messageId, (id, current) -> {
+            Map<String, Long> next = current != null ? current : new HashMap<>();
+            deltas.forEach((emoji, delta) -> next.merge(emoji, delta, Long::sum));
+            return next;
+        });
+    }
+
+    private void apply(List<Long> messageIds, Map<Long, Map<String, Long>> drained,
+                       Map<Long, Map<Long, Map<String, Long>>> summariesByRoom) throws JsonProcessingException {
+        Long[] ids = messageIds.toArray(new Long[0]);
+        String[] deltas = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            deltas[i] = objectMapper.writeValueAsString(drained.get(ids[i]));
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(APPLY_DELTAS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("text", deltas));
+            return ps;
+        }, rs -> {
+            Map<String, Long> summary = parseSummary(objectMapper, rs.getString(3));
+            summariesByRoom.computeIfAbsent(rs.getLong(2), room -> new LinkedHashMap<>())
+                    .put(rs.getLong(1), summary != null ? summary : Map.of());
+        });
+        summariesWritten.increment(ids.length);
+    }
+
+    private void publish(long roomId, Map<Long, Map<String, Long>> summaries) {
+        roomMessageCache.onReactionsChanged(roomId, summaries);
+        List<Map<String, Object>> messages = new ArrayList<>(summaries.size());
+        summaries.forEach((messageId, reactions) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("messageId", messageId);
+            entry.put("reactions", reactions);
+            messages.add(entry);
+        });
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "reactions");
+        frame.put("roomId", roomId);
+        frame.put("messages", messages);
+        messageBroker.publish(roomId, frame);
+    }
+}
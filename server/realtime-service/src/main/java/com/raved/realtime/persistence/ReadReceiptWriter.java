@@ -0,0 +1,180 @@
+package com.raved.realtime.persistence;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.websocket.MessageBroker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Debounced writer for members' read positions.
+ *
+ * Marking a room read only records the sequence in memory, merged with max, so a client that
+ * acknowledges every message as it scrolls costs nothing per message. Once per flush interval
+ * every position that moved is written in a single UPDATE, clamped to the room's newest
+ * sequence and never moving backwards, and the positions that actually advanced are broadcast
+ * to their rooms as read receipts. Positions waiting for or in the middle of a flush are still
+ * visible to this node through pendingSequences. Large rooms get no receipts: every member's read
+ * would otherwise reach every subscriber.
+ */
+@Component
+public class ReadReceiptWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReceiptWriter.class);
+
+    private static final String UPDATE_READS_SQL =
+            "UPDATE chat_room_members m SET last_read_seq = LEAST(t.seq, c.message_seq), last_read_at = LOCALTIMESTAMP " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[]) AS t(room_id, user_id, seq) " +
+            "JOIN chat_rooms c ON c.id = t.room_id " +
+            "WHERE m.chat_room_id = t.room_id AND m.user_id = t.user_id AND m.is_active = TRUE " +
+            "AND m.last_read_seq < LEAST(t.seq, c.message_seq) " +
+            "RETURNING m.chat_room_id, m.user_id, m.last_read_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageBroker messageBroker;
+    private final RoomMembership roomMembership;
+    private final RealtimeServiceConfig.Reads settings;
+    // user id -> room id -> highest sequence marked read; inner maps are only touched inside compute
+    private final Map<Long, Map<Long, Long>> pending = new ConcurrentHashMap<>();
+    private volatile Map<Long, Map<Long, Long>> inFlight = Map.of();
+
+    private final Counter marked;
+    private final Counter written;
+
+    public ReadReceiptWriter(JdbcTemplate jdbcTemplate, MessageBroker messageBroker, RoomMembership roomMembership,
+                             RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageBroker = messageBroker;
+        this.roomMembership = roomMembership;
+        this.settings = config.getReads();
+        this.marked = meterRegistry.counter("realtime.reads.marked");
+        this.written = meterRegistry.counter("realtime.reads.written");
+        Gauge.builder("realtime.reads.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Record that a member has read their room up to and including sequence
+     */
+    public void record(long roomId, long userId, long sequence) {
+        marked.increment();
+        pending.compute(userId, (id, rooms) -> {
+            Map<Long, Long> next = rooms != null ? rooms : new HashMap<>();
+            next.merge(roomId, sequence, Math::max);
+            return next;
+        });
+    }
+
+    /**
+     * Read positions of a user not yet committed, room id to sequence
+     */
+    public Map<Long, Long> pendingSequences(long userId) {
+        Map<Long, Long> sequences = new HashMap<>();
+        Map<Long, Long> flushing = inFlight.get(userId);
+        if (flushing != null) {
+            sequences.putAll(flushing);
+        }
+        pending.computeIfPresent(userId, (id, rooms) -> {
+            rooms.forEach((roomId, sequence) -> sequences.merge(roomId, sequence, Math::max));
+            return rooms;
+        });
+        return sequences;
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.reads.flush-interval-ms:2000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<Long, Long>> drained = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            Map<Long, Long> rooms = pending.remove(userId);
+            if (rooms != null) {
+                drained.put(userId, rooms);
+            }
+        }
+        inFlight = drained;
+
+        // Rows are visited in (room, user) order so concurrent flushes from other nodes cannot deadlock
+        List<long[]> marks = new ArrayList<>();
+        drained.forEach((userId, rooms) ->
+                rooms.forEach((roomId, sequence) -> marks.add(new long[] { roomId, userId, sequence })));
+        marks.sort(Comparator.<long[]>comparingLong(mark -> mark[0]).thenComparingLong(mark -> mark[1]));
+
+        Map<Long, List<Map<String, Long>>> receipts = new TreeMap<>();
+        int chunkSize = Math.max(1, settings.getMaxBatchSize());
+        try {
+            for (int from = 0; from < marks.size(); from += chunkSize) {
+                update(marks.subList(from, Math.min(marks.size(), from + chunkSize)), receipts);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to write {} read positions, retrying next flush: {}", marks.size(), e.getMessage());
+            for (long[] mark : marks) {
+                record(mark[0], mark[1], mark[2]);
+            }
+        } finally {
+            inFlight = Map.of();
+        }
+        if (settings.isReceipts()) {
+            receipts.forEach((roomId, roomReceipts) -> {
+                if (!roomMembership.isLargeRoom(roomId)) {
+                    broadcast(roomId, roomReceipts);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void update(List<long[]> marks, Map<Long, List<Map<String, Long>>> receipts) {
+        Long[] roomIds = new Long[marks.size()];
+        Long[] userIds = new Long[marks.size()];
+        Long[] sequences = new Long[marks.size()];
+        for (int i = 0; i < marks.size(); i++) {
+            roomIds[i] = marks.get(i)[0];
+            userIds[i] = marks.get(i)[1];
+            sequences[i] = marks.get(i)[2];
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_READS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", roomIds));
+            ps.setArray(2, con.createArrayOf("bigint", userIds));
+            ps.setArray(3, con.createArrayOf("bigint", sequences));
+            return ps;
+        }, rs -> {
+            Map<String, Long> receipt = new LinkedHashMap<>();
+            receipt.put("userId", rs.getLong(2));
+            receipt.put("sequence", rs.getLong(3));
+            receipts.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(receipt);
+        });
+        written.increment(marks.size());
+    }
+
+    private void broadcast(long roomId, List<Map<String, Long>> roomReceipts) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "read_receipts");
+        frame.put("roomId", roomId);
+        frame.put("receipts", roomReceipts);
+        messageBroker.publish(roomId, frame);
+    }
+}
@@ -0,0 +1,178 @@
+package com.raved.realtime.presence;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.dto.response.PresenceResponse;
+import com.raved.realtime.service.PresenceService;
+import com.raved.realtime.util.ShardedLongMap;
+import com.raved.realtime.websocket.ChatSession;
+import com.raved.realtime.websocket.FrameEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes presence changes to the connections watching them.
+ *
+ * A connection watches a list of users (typically its contact list) and gets the current state
+ * once, then only changes. When any node announces changed users, this node re-reads just the
+ * ones its own connections watch, in one bulk lookup, and sends each watcher a single frame
+ * with the entries whose status or last-seen time actually differ from what was last pushed.
+ */
+@Component
+public class PresenceNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceNotifier.class);
+
+    private final PresenceService presenceService;
+    private final FrameEncoder frameEncoder;
+    private final RealtimeServiceConfig.Presence settings;
+    private final ShardedLongMap<ChatSession[]> watchersByUser;
+    private final ShardedLongMap<PresenceResponse> lastPushed;
+    private final Map<String, long[]> watchedBySession = new ConcurrentHashMap<>();
+
+    private final Counter deltasSent;
+
+    public PresenceNotifier(PresenceService presenceService, FrameEncoder frameEncoder, RealtimeServiceConfig config,
+                            MeterRegistry meterRegistry) {
+        this.presenceService = presenceService;
+        this.frameEncoder = frameEncoder;
+        this.settings = config.getPresence();
+        this.watchersByUser = new ShardedLongMap<>(config.getWebsocket().getRegistryShards(),
+                config.getWebsocket().getExpectedSessions());
+        this.lastPushed = new ShardedLongMap<>(config.getWebsocket().getRegistryShards(),
+                config.getWebsocket().getExpectedSessions());
+        this.deltasSent = meterRegistry.counter("realtime.presence.deltas");
+    }
+
+    /**
+     * Replace the users a connection watches; returns their current presence
+     */
+    public List<PresenceResponse> watch(ChatSession chatSession, List<Long> userIds) {
+        unwatch(chatSession);
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (ids.size() > settings.getMaxUsersPerRequest()) {
+            ids = ids.subList(0, settings.getMaxUsersPerRequest());
+        }
+        long[] watched = ids.stream().mapToLong(Long::longValue).toArray();
+        watchedBySession.put(chatSession.getId(), watched);
+        for (long userId : watched) {
+            watchersByUser.compute(userId, (id, current) -> append(current, chatSession));
+        }
+        List<PresenceResponse> snapshot = presenceService.getPresence(ids);
+        for (PresenceResponse presence : snapshot) {
+            lastPushed.compute(presence.getUserId(), (id, current) -> current != null ? current : presence);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Stop notifying a connection; safe to call for connections that watch nothing
+     */
+    public void unwatch(ChatSession chatSession) {
+        long[] watched = watchedBySession.remove(chatSession.getId());
+        if (watched == null) {
+            return;
+        }
+        for (long userId : watched) {
+            ChatSession[] remaining = watchersByUser.compute(userId, (id, current) -> without(current, chatSession));
+            if (remaining == null) {
+                lastPushed.compute(userId, (id, current) -> null);
+            }
+        }
+    }
+
+    @RabbitListener(queues = "#{realtimePresenceQueue.name}")
+    public void onPresenceUpdate(PresenceUpdate update) {
+        if (update.getUserIds() == null) {
+            return;
+        }
+        List<Long> watched = new ArrayList<>();
+        for (Long userId : update.getUserIds()) {
+            if (watchersByUser.get(userId) != null) {
+                watched.add(userId);
+            }
+        }
+        if (watched.isEmpty()) {
+            return;
+        }
+        List<PresenceResponse> current;
+        try {
+            current = presenceService.getPresence(watched);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read presence of {} watched users: {}", watched.size(), e.getMessage());
+            return;
+        }
+
+        Map<ChatSession, List<PresenceResponse>> deltas = new HashMap<>();
+        for (PresenceResponse presence : current) {
+            PresenceResponse previous = lastPushed.get(presence.getUserId());
+            if (previous != null && previous.getStatus().equals(presence.getStatus())
+                    && Objects.equals(previous.getLastSeenAt(), presence.getLastSeenAt())) {
+                continue;
+            }
+            ChatSession[] watchers = watchersByUser.get(presence.getUserId());
+            if (watchers == null) {
+                continue;
+            }
+            lastPushed.compute(presence.getUserId(), (id, existing) -> presence);
+            for (ChatSession watcher : watchers) {
+                deltas.computeIfAbsent(watcher, session -> new ArrayList<>()).add(presence);
+            }
+        }
+        deltas.forEach((watcher, users) -> {
+            Map<String, Object> frame = new HashMap<>();
+            frame.put("type", "presence");
+            frame.put("users", users);
+            if (watcher.enqueue(frameEncoder.encode(frame).getText())) {
+                deltasSent.increment(users.size());
+            } else if (!watcher.isOpen()) {
+                unwatch(watcher);
+            }
+        });
+    }
+
+    private static ChatSession[] append(ChatSession[] current, ChatSession chatSession) {
+        if (current == null) {
+            return new ChatSession[] { chatSession };
+        }
+        ChatSession[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = chatSession;
+        return next;
+    }
+
+    private static ChatSession[] without(ChatSession[] current, ChatSession chatSession) {
+        if (current == null) {
+            return null;
+        }
+        int index = -1;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == chatSession) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return current;
+        }
+        if (current.length == 1) {
+            return null;
+        }
+        ChatSession[] next = new ChatSession[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, next.length - index);
+        return next;
+    }
+}
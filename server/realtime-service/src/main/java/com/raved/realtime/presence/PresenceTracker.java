@@ -0,0 +1,206 @@
+package com.raved.realtime.presence;
+
+import com.raved.realtime.broker.NodeRegistry;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.util.ShardedLongMap;
+import com.raved.realtime.websocket.ChatSession;
+import com.raved.realtime.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes the presence of this node's users to the cluster.
+ *
+ * Client frames only stamp the connection's last user-activity time; pongs and "ping" keepalives
+ * keep the connection alive but leave it alone, so an unattended tab turns away. Once per flush
+ * interval the tracker samples every local user and remembers the interval (epoch) of their
+ * latest activity, so any number of frames within an epoch cost a single Redis write, and users
+ * who stay idle cost none. Each user has a Redis hash with one field per node holding that
+ * node's last activity time; a node removes its field when the user's last connection closes,
+ * and fields of nodes that stopped heartbeating are ignored by readers. Users whose status
+ * changed are announced on the presence exchange so every node can notify its watchers.
+ */
+@Component
+public class PresenceTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceTracker.class);
+
+    public static final String PRESENCE_KEY = "realtime:presence:";
+    public static final String LAST_SEEN_FIELD = "seen";
+    private static final int MAX_UPDATE_SIZE = 1000;
+
+    private final WebSocketSessionManager sessionManager;
+    private final StringRedisTemplate redisTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final FanoutExchange presenceExchange;
+    private final NodeRegistry nodeRegistry;
+    private final RealtimeServiceConfig.Presence settings;
+    // Only touched by the flushing thread
+    private final ShardedLongMap<Published> published;
+
+    private final Counter writes;
+    private final Counter changes;
+
+    public PresenceTracker(WebSocketSessionManager sessionManager, StringRedisTemplate redisTemplate,
+                           RabbitTemplate rabbitTemplate, FanoutExchange realtimePresenceExchange,
+                           NodeRegistry nodeRegistry, RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.sessionManager = sessionManager;
+        this.redisTemplate = redisTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.presenceExchange = realtimePresenceExchange;
+        this.nodeRegistry = nodeRegistry;
+        this.settings = config.getPresence();
+        this.published = new ShardedLongMap<>(config.getWebsocket().getRegistryShards(),
+                config.getWebsocket().getExpectedSessions());
+        this.writes = meterRegistry.counter("realtime.presence.writes");
+        this.changes = meterRegistry.counter("realtime.presence.changes");
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.presence.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        long interval = Math.max(1, settings.getFlushIntervalMs());
+        long epoch = now / interval;
+        // Idle users are rewritten at half the retention so their hash does not expire while connected
+        long refreshEpochs = Math.max(1, settings.getRetentionSeconds() * 1000 / 2 / interval);
+
+        List<long[]> active = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        List<Published> added = new ArrayList<>();
+        sessionManager.forEachUser((userId, sessions) -> {
+            long lastActive = 0;
+            for (ChatSession chatSession : sessions) {
+                // Pongs keep a session alive but say nothing about whether anyone is there
+                lastActive = Math.max(lastActive, chatSession.getLastUserActivityAt());
+            }
+            boolean away = now - lastActive > settings.getIdleMs();
+            Published state = published.get(userId);
+            if (state == null) {
+                added.add(new Published(userId, lastActive / interval, epoch, lastActive, away));
+                active.add(new long[] { userId, lastActive });
+                changed.add(userId);
+                return;
+            }
+            if (state.activeEpoch != lastActive / interval || epoch - state.writtenEpoch >= refreshEpochs) {
+                state.activeEpoch = lastActive / interval;
+                state.writtenEpoch = epoch;
+                active.add(new long[] { userId, lastActive });
+            }
+            if (state.away != away) {
+                changed.add(userId);
+            }
+            state.lastActive = lastActive;
+            state.away = away;
+        });
+        for (Published state : added) {
+            published.compute(state.userId, (id, current) -> state);
+        }
+
+        List<long[]> departed = new ArrayList<>();
+        published.forEach((userId, state) -> {
+            if (!sessionManager.isUserConnected(userId)) {
+                departed.add(new long[] { userId, state.lastActive });
+            }
+        });
+        for (long[] user : departed) {
+            published.compute(user[0], (id, current) -> null);
+            changed.add(user[0]);
+        }
+
+        write(active, departed);
+        announce(changed);
+    }
+
+    /**
+     * Take this node's users offline right away rather than when its heartbeat expires
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        List<long[]> departed = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        published.forEach((userId, state) -> {
+            departed.add(new long[] { userId, state.lastActive });
+            changed.add(userId);
+        });
+        write(List.of(), departed);
+        announce(changed);
+    }
+
+    private void write(List<long[]> active, List<long[]> departed) {
+        if (active.isEmpty() && departed.isEmpty()) {
+            return;
+        }
+        String node = nodeRegistry.getNodeId();
+        long retention = settings.getRetentionSeconds();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (long[] user : active) {
+                    String key = PRESENCE_KEY + user[0];
+                    redis.hSet(key, node, Long.toString(user[1]));
+                    redis.expire(key, retention);
+                }
+                for (long[] user : departed) {
+                    String key = PRESENCE_KEY + user[0];
+                    redis.hDel(key, node);
+                    redis.hSet(key, LAST_SEEN_FIELD, Long.toString(user[1]));
+                    redis.expire(key, retention);
+                }
+                return null;
+            });
+            writes.increment(active.size() + departed.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to write presence of {} users: {}", active.size() + departed.size(), e.getMessage());
+        }
+    }
+
+    private void announce(List<Long> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        changes.increment(changed.size());
+        try {
+            for (int from = 0; from < changed.size(); from += MAX_UPDATE_SIZE) {
+                List<Long> chunk = changed.subList(from, Math.min(changed.size(), from + MAX_UPDATE_SIZE));
+                rabbitTemplate.convertAndSend(presenceExchange.getName(), "",
+                        new PresenceUpdate(nodeRegistry.getNodeId(), new ArrayList<>(chunk)));
+            }
+        } catch (AmqpException e) {
+            log.warn("Failed to announce presence changes of {} users: {}", changed.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * What this node last wrote for one of its users
+     */
+    private static final class Published {
+        private final long userId;
+        private long activeEpoch;
+        private long writtenEpoch;
+        private long lastActive;
+        private boolean away;
+
+        Published(long userId, long activeEpoch, long writtenEpoch, long lastActive, boolean away) {
+            this.userId = userId;
+            this.activeEpoch = activeEpoch;
+            this.writtenEpoch = writtenEpoch;
+            this.lastActive = lastActive;
+            this.away = away;
+        }
+    }
+}
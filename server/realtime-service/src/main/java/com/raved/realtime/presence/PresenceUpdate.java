@@ -0,0 +1,37 @@
+package com.raved.realtime.presence;
+
+import java.util.List;
+
+/**
+ * Broadcast to every node after a node wrote presence changes for some of its users
+ */
+public class PresenceUpdate {
+
+    private String nodeId;
+    private List<Long> userIds;
+
+    // Constructors
+    public PresenceUpdate() {}
+
+    public PresenceUpdate(String nodeId, List<Long> userIds) {
+        this.nodeId = nodeId;
+        this.userIds = userIds;
+    }
+
+    // Getters and Setters
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+}
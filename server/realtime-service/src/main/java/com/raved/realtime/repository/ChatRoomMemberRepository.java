@@ -0,0 +1,51 @@
+package com.raved.realtime.repository;
+
+import com.raved.realtime.model.ChatRoomMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * ChatRoomMemberRepository for TheRavedApp
+ */
+@Repository
+public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember, Long> {
+
+    /**
+     * Check whether a user is an active member of a room
+     */
+    boolean existsByChatRoomIdAndUserIdAndIsActiveTrue(Long chatRoomId, Long userId);
+
+    /**
+     * Number of active members of a room
+     */
+    long countByChatRoomIdAndIsActiveTrue(Long chatRoomId);
+
+    /**
+     * One page of a room's active members in user id order, after a user id cursor; served by
+     * uk_chat_room_member however large the room
+     */
+    @Query(value = "SELECT * FROM chat_room_members WHERE chat_room_id = :roomId AND is_active = TRUE " +
+            "AND user_id > :afterUserId ORDER BY user_id LIMIT :limit", nativeQuery = true)
+    List<ChatRoomMember> findMemberPage(@Param("roomId") Long roomId, @Param("afterUserId") Long afterUserId,
+                                        @Param("limit") int limit);
+
+    /**
+     * Every active membership of a user as (chat_room_id, message_seq, last_read_seq, is_muted),
+     * served by idx_chat_room_members_user_active and the chat_rooms primary key
+     */
+    @Query(value = "SELECT m.chat_room_id, r.message_seq, m.last_read_seq, m.is_muted FROM chat_room_members m " +
+            "JOIN chat_rooms r ON r.id = m.chat_room_id WHERE m.user_id = :userId AND m.is_active = TRUE",
+            nativeQuery = true)
+    List<Object[]> findReadPositions(@Param("userId") Long userId);
+
+    /**
+     * Ids of the rooms a user is an active member of, served by idx_chat_room_members_user_active
+     */
+    @Query(value = "SELECT chat_room_id FROM chat_room_members WHERE user_id = :userId AND is_active = TRUE",
+            nativeQuery = true)
+    List<Long> findActiveRoomIds(@Param("userId") Long userId);
+}
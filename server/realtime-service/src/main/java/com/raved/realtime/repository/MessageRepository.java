@@ -1,8 +1,25 @@
 package com.raved.realtime.repository;
 
+import com.raved.realtime.model.Message;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
 /**
  * MessageRepository for TheRavedApp
  */
-public interface MessageRepository {
-    // Implementation
+@Repository
+public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    /**
+     * Newest visible messages of a room with ids in [fromId, beforeId); served by
+     * idx_messages_room_id, and the id bounds let Postgres skip every monthly partition outside them
+     */
+    @Query(value = "SELECT * FROM messages WHERE chat_room_id = :roomId AND id < :beforeId AND id >= :fromId " +
+            "AND is_deleted = FALSE ORDER BY id DESC LIMIT :limit", nativeQuery = true)
+    List<Message> findRoomPage(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId,
+                               @Param("fromId") Long fromId, @Param("limit") int limit);
 }
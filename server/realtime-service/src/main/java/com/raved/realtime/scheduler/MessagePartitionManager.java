@@ -0,0 +1,64 @@
+package com.raved.realtime.scheduler;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Maintains the monthly partitions of the messages and message_reactions tables.
+ *
+ * Both tables are range-partitioned on the Snowflake message id, so a month is the id range
+ * between the first ids issuable at the start of that month and the next (UTC). Partitions
+ * are created a few months ahead so inserts never land in the default partition; old months
+ * are moved out by MessageArchiver.
+ */
+@Component
+public class MessagePartitionManager {
+
+    public static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RealtimeServiceConfig config;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${realtime.archive.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int ahead = 0; ahead <= config.getArchive().getPartitionsAhead(); ahead++) {
+            createPartitions(current.plusMonths(ahead));
+        }
+    }
+
+    /**
+     * First message id of a month (inclusive lower partition bound)
+     */
+    public static long lowerBound(YearMonth month) {
+        return SnowflakeIdGenerator.minIdAt(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    private void createPartitions(YearMonth month) {
+        String suffix = month.format(PARTITION_SUFFIX);
+        long from = lowerBound(month);
+        long to = lowerBound(month.plusMonths(1));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS messages_" + suffix + " PARTITION OF messages " +
+                "FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS message_reactions_" + suffix + " PARTITION OF message_reactions " +
+                "FOR VALUES FROM (" + from + ") TO (" + to + ")");
+    }
+}
@@ -1,8 +1,15 @@
 package com.raved.realtime.service;
 
+import com.raved.realtime.dto.response.ChatRoomMemberPageResponse;
+
 /**
- * ChatService for TheRavedApp
+ * Service interface for chat rooms and their members
  */
 public interface ChatService {
-    // Implementation
+
+    /**
+     * One page of a room's members in user id order; member lists are loaded lazily, page by page,
+     * since faculty-wide rooms have thousands of members
+     */
+    ChatRoomMemberPageResponse getRoomMembers(Long userId, Long roomId, Long after, int limit);
 }
@@ -1,8 +1,55 @@
 package com.raved.realtime.service;
 
+import com.raved.realtime.dto.request.EditMessageRequest;
+import com.raved.realtime.dto.request.MessageReactionRequest;
+import com.raved.realtime.dto.request.SendMessageRequest;
+import com.raved.realtime.dto.response.MessagePageResponse;
+import com.raved.realtime.dto.response.MessageResponse;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
- * MessageService for TheRavedApp
+ * Service interface for sending and storing chat messages
  */
 public interface MessageService {
-    // Implementation
+
+    /**
+     * Store a message and broadcast it to the room; completes once the message is durable
+     */
+    CompletableFuture<MessageResponse> sendMessage(Long userId, SendMessageRequest request);
+
+    /**
+     * As sendMessage, for callers that already verified membership (a WebSocket subscription)
+     */
+    CompletableFuture<MessageResponse> sendVerifiedMessage(Long userId, SendMessageRequest request);
+
+    /**
+     * Page through a room's history, newest first, across the hot table and the archive tier
+     */
+    MessagePageResponse getRoomMessages(Long userId, Long roomId, Long before, int limit);
+
+    /**
+     * As getRoomMessages, for callers that already verified membership (a WebSocket subscription)
+     */
+    MessagePageResponse getVerifiedRoomMessages(Long roomId, Long before, int limit);
+
+    /**
+     * Replace the content of one of the caller's messages
+     */
+    MessageResponse editMessage(Long userId, Long messageId, EditMessageRequest request);
+
+    /**
+     * Soft-delete one of the caller's messages
+     */
+    void deleteMessage(Long userId, Long messageId);
+
+    /**
+     * React to a message in one of the caller's rooms; the room sees the new counts on the next flush
+     */
+    void addReaction(Long userId, MessageReactionRequest request);
+
+    /**
+     * Withdraw one of the caller's reactions
+     */
+    void removeReaction(Long userId, MessageReactionRequest request);
 }
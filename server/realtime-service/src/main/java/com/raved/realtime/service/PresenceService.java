@@ -1,8 +1,22 @@
 package com.raved.realtime.service;
 
+import com.raved.realtime.dto.response.PresenceResponse;
+
+import java.util.Collection;
+import java.util.List;
+
 /**
  * PresenceService for TheRavedApp
  */
 public interface PresenceService {
-    // Implementation
+
+    /**
+     * Presence of one user across all realtime nodes
+     */
+    PresenceResponse getPresence(Long userId);
+
+    /**
+     * Presence of many users in one Redis round trip, in request order without duplicates
+     */
+    List<PresenceResponse> getPresence(Collection<Long> userIds);
 }
@@ -0,0 +1,15 @@
+package com.raved.realtime.service;
+
+import com.raved.realtime.dto.request.MessageSearchRequest;
+import com.raved.realtime.dto.response.MessagePageResponse;
+
+/**
+ * Service interface for full-text message search
+ */
+public interface SearchService {
+
+    /**
+     * Search the rooms the caller is an active member of, newest match first
+     */
+    MessagePageResponse searchMessages(Long userId, MessageSearchRequest request);
+}
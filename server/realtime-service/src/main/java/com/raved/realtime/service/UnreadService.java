@@ -0,0 +1,24 @@
+package com.raved.realtime.service;
+
+import com.raved.realtime.dto.response.UnreadCountsResponse;
+
+/**
+ * Service interface for read positions and unread counts
+ */
+public interface UnreadService {
+
+    /**
+     * Mark a room read up to and including a message sequence; written on the next flush
+     */
+    void markRead(Long userId, Long roomId, Long sequence);
+
+    /**
+     * As markRead, for callers that already verified membership (a WebSocket subscription)
+     */
+    void markVerifiedRead(Long userId, Long roomId, Long sequence);
+
+    /**
+     * Unread counts of every room the user belongs to, in one query
+     */
+    UnreadCountsResponse getUnreadCounts(Long userId);
+}
@@ -0,0 +1,86 @@
+package com.raved.realtime.service.impl;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.dto.response.ChatRoomMemberPageResponse;
+import com.raved.realtime.dto.response.ChatRoomMemberResponse;
+import com.raved.realtime.dto.response.PresenceResponse;
+import com.raved.realtime.exception.ChatRoomNotFoundException;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.model.ChatRoomMember;
+import com.raved.realtime.repository.ChatRoomMemberRepository;
+import com.raved.realtime.service.ChatService;
+import com.raved.realtime.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementation of ChatService.
+ *
+ * Member lists are keyset pages over the (chat_room_id, user_id) unique index, so each page costs
+ * the same however deep into a faculty-wide room it is, and presence is looked up in bulk for just
+ * the members on the page.
+ */
+@Service
+public class ChatServiceImpl implements ChatService {
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private RoomMembership roomMembership;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private RealtimeServiceConfig config;
+
+    @Override
+    public ChatRoomMemberPageResponse getRoomMembers(Long userId, Long roomId, Long after, int limit) {
+        if (!roomMembership.isMember(roomId, userId)) {
+            throw new ChatRoomNotFoundException(roomId);
+        }
+        int pageSize = Math.max(1, Math.min(limit, config.getLargeRooms().getMaxMemberPageSize()));
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<ChatRoomMember> rows = chatRoomMemberRepository.findMemberPage(roomId, after != null ? after : Long.MIN_VALUE,
+                pageSize + 1);
+        List<ChatRoomMember> page = rows.subList(0, Math.min(rows.size(), pageSize));
+
+        List<Long> userIds = new ArrayList<>(page.size());
+        for (ChatRoomMember member : page) {
+            userIds.add(member.getUserId());
+        }
+        Map<Long, PresenceResponse> presence = new HashMap<>();
+        for (PresenceResponse entry : presenceService.getPresence(userIds)) {
+            presence.put(entry.getUserId(), entry);
+        }
+
+        List<ChatRoomMemberResponse> members = new ArrayList<>(page.size());
+        for (ChatRoomMember member : page) {
+            members.add(convertToResponse(member, presence.get(member.getUserId())));
+        }
+        Long nextCursor = rows.size() > pageSize ? page.get(pageSize - 1).getUserId() : null;
+        // The count comes with the first page only; later pages just continue the list
+        Long memberCount = after == null ? roomMembership.memberCount(roomId) : null;
+        return new ChatRoomMemberPageResponse(members, nextCursor, memberCount);
+    }
+
+    private ChatRoomMemberResponse convertToResponse(ChatRoomMember member, PresenceResponse presence) {
+        ChatRoomMemberResponse response = new ChatRoomMemberResponse();
+        response.setId(member.getId());
+        response.setUserId(member.getUserId());
+        response.setMemberRole(member.getMemberRole().name().toLowerCase(Locale.ROOT));
+        response.setJoinedAt(member.getJoinedAt());
+        if (presence != null) {
+            response.setIsOnline(!"OFFLINE".equals(presence.getStatus()));
+            response.setLastSeenAt(presence.getLastSeenAt());
+        }
+        return response;
+    }
+}
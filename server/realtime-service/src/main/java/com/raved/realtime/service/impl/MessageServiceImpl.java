@@ -0,0 +1,347 @@
+package com.raved.realtime.service.impl;
+
+import com.raved.realtime.archive.MessageArchiveStore;
+import com.raved.realtime.cache.RoomMessageCache;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.dto.request.EditMessageRequest;
+import com.raved.realtime.dto.request.MessageReactionRequest;
+import com.raved.realtime.dto.request.SendMessageRequest;
+import com.raved.realtime.dto.response.MessagePageResponse;
+import com.raved.realtime.dto.response.MessageResponse;
+import com.raved.realtime.exception.ChatRoomNotFoundException;
+import com.raved.realtime.exception.MessageNotFoundException;
+import com.raved.realtime.exception.RateLimitedException;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.model.Message;
+import com.raved.realtime.persistence.MessageBatchWriter;
+import com.raved.realtime.persistence.MessageRecord;
+import com.raved.realtime.persistence.MessageSearchIndexer;
+import com.raved.realtime.persistence.ReactionAggregator;
+import com.raved.realtime.repository.MessageRepository;
+import com.raved.realtime.service.MessageService;
+import com.raved.realtime.service.UnreadService;
+import com.raved.realtime.util.SnowflakeIdGenerator;
+import com.raved.realtime.websocket.MessageBroker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of MessageService.
+ *
+ * The id and timestamp are assigned in-process, the row goes through the group-commit writer,
+ * and the room broadcast happens only after commit, so no client ever sees a message that was
+ * not stored. The broadcast, cache update and ack run on fan-out threads rather than the writer
+ * thread that completed the commit, so a large room's fan-out or a Redis lookup never holds up
+ * the next group commit. Each room is pinned to one fan-out thread, keeping its broadcasts in
+ * commit order.
+ */
+@Service
+public class MessageServiceImpl implements MessageService {
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private MessageBatchWriter messageBatchWriter;
+
+    @Autowired
+    private RoomMembership roomMembership;
+
+    @Autowired
+    private MessageBroker messageBroker;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageArchiveStore messageArchiveStore;
+
+    @Autowired
+    private RoomMessageCache roomMessageCache;
+
+    @Autowired
+    private UnreadService unreadService;
+
+    @Autowired
+    private ReactionAggregator reactionAggregator;
+
+    @Autowired
+    private MessageSearchIndexer messageSearchIndexer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RealtimeServiceConfig config;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private ThreadPoolExecutor[] fanout;
+
+    @PostConstruct
+    public void startFanout() {
+        int configured = config.getMessages().getFanoutThreads();
+        int threads = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        fanout = new ThreadPoolExecutor[threads];
+        for (int i = 0; i < threads; i++) {
+            String name = "message-fanout-" + (i + 1);
+            fanout[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        Gauge.builder("realtime.messages.fanout.pending", fanout,
+                executors -> Arrays.stream(executors).mapToInt(executor -> executor.getQueue().size()).sum())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stopFanout() {
+        for (ThreadPoolExecutor executor : fanout) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public CompletableFuture<MessageResponse> sendMessage(Long userId, SendMessageRequest request) {
+        if (!roomMembership.isMember(request.getChatRoomId(), userId)) {
+            return CompletableFuture.failedFuture(new ChatRoomNotFoundException(request.getChatRoomId()));
+        }
+        return sendVerifiedMessage(userId, request);
+    }
+
+    @Override
+    public CompletableFuture<MessageResponse> sendVerifiedMessage(Long userId, SendMessageRequest request) {
+        long retryAfterMs = roomMembership.acquireSend(request.getChatRoomId(), userId);
+        if (retryAfterMs > 0) {
+            return CompletableFuture.failedFuture(new RateLimitedException(request.getChatRoomId(), retryAfterMs));
+        }
+        long id = idGenerator.nextId();
+        LocalDateTime createdAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(SnowflakeIdGenerator.timestampOf(id)), ZoneId.systemDefault());
+        String mediaUrl = request.getMediaUrls() != null && !request.getMediaUrls().isEmpty()
+                ? request.getMediaUrls().get(0) : null;
+        MessageRecord record = new MessageRecord(id, request.getChatRoomId(), userId, request.getContent(),
+                parseType(request.getMessageType()).name(), request.getReplyToMessageId(), mediaUrl, null, null,
+                createdAt);
+
+        return messageBatchWriter.submit(record).thenApplyAsync(stored -> {
+            MessageResponse response = convertToResponse(stored);
+            roomMessageCache.onMessageStored(response);
+            // A sender has read everything up to their own message
+            unreadService.markVerifiedRead(userId, stored.getChatRoomId(), stored.getSequence());
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("type", "message");
+            frame.put("roomId", stored.getChatRoomId());
+            frame.put("message", response);
+            messageBroker.publish(stored.getChatRoomId(), frame);
+            return response;
+        }, fanout[Math.floorMod(Long.hashCode(request.getChatRoomId()), fanout.length)]);
+    }
+
+    @Override
+    public MessagePageResponse getRoomMessages(Long userId, Long roomId, Long before, int limit) {
+        if (!roomMembership.isMember(roomId, userId)) {
+            throw new ChatRoomNotFoundException(roomId);
+        }
+        return getVerifiedRoomMessages(roomId, before, limit);
+    }
+
+    @Override
+    public MessagePageResponse getVerifiedRoomMessages(Long roomId, Long before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (before == null) {
+            MessagePageResponse cached = roomMessageCache.firstPage(roomId, pageSize);
+            if (cached != null) {
+                return cached;
+            }
+            // Load a whole cache's worth so the next opening of this room is served from memory
+            int capacity = config.getRecentMessages().getCapacity();
+            int count = Math.max(capacity, pageSize + 1);
+            List<MessageResponse> newest = loadHistory(roomId, Long.MAX_VALUE, count);
+            roomMessageCache.fill(roomId, newest.subList(0, Math.min(newest.size(), capacity)), newest.size() < count);
+            return toPage(newest, pageSize);
+        }
+        // Fetch one extra row to learn whether another page exists without a count query
+        return toPage(loadHistory(roomId, before, pageSize + 1), pageSize);
+    }
+
+    @Override
+    public MessageResponse editMessage(Long userId, Long messageId, EditMessageRequest request) {
+        Message message = findOwnMessage(userId, messageId);
+        LocalDateTime now = LocalDateTime.now();
+        message.setContent(request.getContent());
+        message.setIsEdited(true);
+        message.setEditedAt(now);
+        MessageResponse response = convertToResponse(messageRepository.save(message));
+
+        messageSearchIndexer.onMessageChanged(messageId);
+        roomMessageCache.onMessageEdited(response);
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "message_edited");
+        frame.put("roomId", response.getChatRoomId());
+        frame.put("message", response);
+        messageBroker.publish(response.getChatRoomId(), frame);
+        return response;
+    }
+
+    @Override
+    public void deleteMessage(Long userId, Long messageId) {
+        Message message = findOwnMessage(userId, messageId);
+        message.setIsDeleted(true);
+        message.setDeletedAt(LocalDateTime.now());
+        messageRepository.save(message);
+
+        messageSearchIndexer.onMessageChanged(messageId);
+        long roomId = message.getChatRoom().getId();
+        roomMessageCache.onMessageDeleted(roomId, messageId);
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "message_deleted");
+        frame.put("roomId", roomId);
+        frame.put("messageId", messageId);
+        messageBroker.publish(roomId, frame);
+    }
+
+    @Override
+    public void addReaction(Long userId, MessageReactionRequest request) {
+        Message message = findReactableMessage(userId, request.getMessageId());
+        reactionAggregator.add(message.getId(), userId, request.getReactionType());
+    }
+
+    @Override
+    public void removeReaction(Long userId, MessageReactionRequest request) {
+        Message message = findReactableMessage(userId, request.getMessageId());
+        reactionAggregator.remove(message.getId(), userId, request.getReactionType());
+    }
+
+    /**
+     * Keyset page through the hot partitions, continuing seamlessly into archived months and then
+     * into pre-partitioning rows. Those kept their small IDENTITY ids and stay in the default
+     * partition below every archived month, so the hot scan stops at the archive's upper bound
+     * and legacy rows are only read once the archive has nothing older for the room.
+     */
+    private List<MessageResponse> loadHistory(long roomId, long before, int count) {
+        long[] archived = messageArchiveStore.archivedIdRange();
+        List<MessageResponse> messages = new ArrayList<>(count);
+        addRoomPage(messages, roomId, before, archived != null ? archived[1] : Long.MIN_VALUE, count);
+        if (archived == null || messages.size() >= count) {
+            return messages;
+        }
+        messages.addAll(messageArchiveStore.findRoomPage(roomId, cursor(messages, before), count - messages.size()));
+        if (messages.size() < count) {
+            addRoomPage(messages, roomId, Math.min(cursor(messages, before), archived[0]), Long.MIN_VALUE, count);
+        }
+        return messages;
+    }
+
+    private void addRoomPage(List<MessageResponse> messages, long roomId, long before, long from, int count) {
+        for (Message message : messageRepository.findRoomPage(roomId, before, from, count - messages.size())) {
+            messages.add(convertToResponse(message));
+        }
+    }
+
+    private static long cursor(List<MessageResponse> messages, long before) {
+        return messages.isEmpty() ? before : messages.get(messages.size() - 1).getId();
+    }
+
+    private MessagePageResponse toPage(List<MessageResponse> messages, int pageSize) {
+        if (messages.size() <= pageSize) {
+            return new MessagePageResponse(new ArrayList<>(messages), null);
+        }
+        List<MessageResponse> page = new ArrayList<>(messages.subList(0, pageSize));
+        return new MessagePageResponse(page, page.get(pageSize - 1).getId());
+    }
+
+    private Message findOwnMessage(Long userId, Long messageId) {
+        return messageRepository.findById(messageId)
+                .filter(message -> !message.getIsDeleted() && message.getSenderUserId().equals(userId))
+                .orElseThrow(() -> new MessageNotFoundException(messageId));
+    }
+
+    /**
+     * A visible message in a room the user belongs to; archived months are read-only
+     */
+    private Message findReactableMessage(Long userId, Long messageId) {
+        return messageRepository.findById(messageId)
+                .filter(message -> !message.getIsDeleted())
+                .filter(message -> roomMembership.isMember(message.getChatRoom().getId(), userId))
+                .orElseThrow(() -> new MessageNotFoundException(messageId));
+    }
+
+    /**
+     * Client-supplied type ("text", "image", ...); system messages cannot be sent by users
+     */
+    private Message.MessageType parseType(String messageType) {
+        if (messageType == null) {
+            return Message.MessageType.TEXT;
+        }
+        try {
+            Message.MessageType type = Message.MessageType.valueOf(messageType.toUpperCase(Locale.ROOT));
+            return type == Message.MessageType.SYSTEM_MESSAGE ? Message.MessageType.TEXT : type;
+        } catch (IllegalArgumentException e) {
+            return Message.MessageType.TEXT;
+        }
+    }
+
+    private MessageResponse convertToResponse(MessageRecord record) {
+        MessageResponse response = new MessageResponse();
+        response.setId(record.getId());
+        response.setChatRoomId(record.getChatRoomId());
+        response.setSequence(record.getSequence());
+        response.setSenderUserId(record.getSenderUserId());
+        response.setContent(record.getContent());
+        response.setMessageType(record.getMessageType());
+        response.setReplyToMessageId(record.getReplyToMessageId());
+        response.setMediaUrl(record.getMediaUrl());
+        response.setMediaType(record.getMediaType());
+        response.setMediaSize(record.getMediaSize());
+        response.setIsEdited(false);
+        response.setIsDeleted(false);
+        response.setCreatedAt(record.getCreatedAt());
+        return response;
+    }
+
+    private MessageResponse convertToResponse(Message message) {
+        MessageResponse response = new MessageResponse();
+        response.setId(message.getId());
+        response.setChatRoomId(message.getChatRoom().getId());
+        response.setSequence(message.getRoomSeq());
+        response.setSenderUserId(message.getSenderUserId());
+        response.setContent(message.getContent());
+        response.setMessageType(message.getMessageType().name());
+        response.setReplyToMessageId(message.getReplyToMessageId());
+        response.setMediaUrl(message.getMediaUrl());
+        response.setMediaType(message.getMediaType());
+        response.setMediaSize(message.getMediaSize());
+        response.setIsEdited(message.getIsEdited());
+        response.setIsDeleted(message.getIsDeleted());
+        response.setCreatedAt(message.getCreatedAt());
+        response.setEditedAt(message.getEditedAt());
+        response.setReactions(ReactionAggregator.parseSummary(objectMapper, message.getReactionSummary()));
+        return response;
+    }
+}
@@ -0,0 +1,104 @@
+package com.raved.realtime.service.impl;
+
+import com.raved.realtime.broker.NodeRegistry;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.dto.response.PresenceResponse;
+import com.raved.realtime.model.UserSession;
+import com.raved.realtime.presence.PresenceTracker;
+import com.raved.realtime.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of PresenceService.
+ *
+ * A user is connected if any live node has a field in their presence hash, away if none of
+ * those nodes saw activity within the idle window, and offline otherwise; the last-seen time
+ * is the newest value in the hash.
+ */
+@Service
+public class PresenceServiceImpl implements PresenceService {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private NodeRegistry nodeRegistry;
+
+    @Autowired
+    private RealtimeServiceConfig config;
+
+    @Override
+    public PresenceResponse getPresence(Long userId) {
+        return getPresence(List.of(userId)).get(0);
+    }
+
+    @Override
+    public List<PresenceResponse> getPresence(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (ids.size() > config.getPresence().getMaxUsersPerRequest()) {
+            ids = ids.subList(0, config.getPresence().getMaxUsersPerRequest());
+        }
+        List<Long> keys = ids;
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Long userId : keys) {
+                redis.hGetAll(PresenceTracker.PRESENCE_KEY + userId);
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        List<PresenceResponse> responses = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> fields = (Map<String, String>) hashes.get(i);
+            responses.add(convertToResponse(aggregate(ids.get(i), fields, now)));
+        }
+        return responses;
+    }
+
+    private UserSession aggregate(Long userId, Map<String, String> fields, long now) {
+        long lastSeen = 0;
+        long lastActiveConnected = -1;
+        boolean trustAll = !nodeRegistry.isReady(); // Liveness not loaded yet right after startup
+        if (fields != null) {
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                long at = Long.parseLong(field.getValue());
+                lastSeen = Math.max(lastSeen, at);
+                if (!PresenceTracker.LAST_SEEN_FIELD.equals(field.getKey())
+                        && (trustAll || nodeRegistry.isLive(field.getKey()))) {
+                    lastActiveConnected = Math.max(lastActiveConnected, at);
+                }
+            }
+        }
+        UserSession.PresenceStatus status;
+        if (lastActiveConnected < 0) {
+            status = UserSession.PresenceStatus.OFFLINE;
+        } else if (now - lastActiveConnected > config.getPresence().getIdleMs()) {
+            status = UserSession.PresenceStatus.AWAY;
+        } else {
+            status = UserSession.PresenceStatus.ONLINE;
+        }
+        LocalDateTime lastSeenAt = lastSeen > 0
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(lastSeen), ZoneId.systemDefault()) : null;
+        return new UserSession(userId, status, lastSeenAt);
+    }
+
+    private PresenceResponse convertToResponse(UserSession userSession) {
+        return new PresenceResponse(userSession.getUserId(), userSession.getStatus().name(),
+                userSession.getLastSeenAt());
+    }
+}
@@ -0,0 +1,130 @@
+package com.raved.realtime.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.dto.request.MessageSearchRequest;
+import com.raved.realtime.dto.response.MessagePageResponse;
+import com.raved.realtime.dto.response.MessageResponse;
+import com.raved.realtime.exception.ChatRoomNotFoundException;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.persistence.MessageSearchIndexer;
+import com.raved.realtime.persistence.ReactionAggregator;
+import com.raved.realtime.repository.ChatRoomMemberRepository;
+import com.raved.realtime.service.SearchService;
+import com.raved.realtime.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of SearchService.
+ *
+ * The caller's active room ids are read first and passed in as the room filter, so the composite
+ * (chat_room_id, search_vector) GIN index only visits postings in rooms they can see, and rooms
+ * they left or never joined are never read. Date bounds are turned into Snowflake id bounds,
+ * which lets Postgres skip whole monthly partitions, and results are ordered by id so pages
+ * continue with the same "before" cursor as room history. Messages sent in the last index
+ * interval, and months already moved to the archive tier, are not searchable.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final String SEARCH_SQL =
+            "SELECT m.id, m.chat_room_id, m.room_seq, m.sender_user_id, m.content, m.message_type, " +
+            "m.reply_to_message_id, m.media_url, m.media_type, m.media_size, m.is_edited, m.created_at, " +
+            "m.edited_at, m.reaction_summary " +
+            "FROM messages m " +
+            "WHERE m.chat_room_id = ANY(?::bigint[]) " +
+            "AND m.search_vector @@ websearch_to_tsquery('" + MessageSearchIndexer.TEXT_SEARCH_CONFIG + "', ?) " +
+            "AND m.is_deleted = FALSE AND m.id >= ? AND m.id < ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomMembership roomMembership;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RealtimeServiceConfig config;
+
+    @Override
+    public MessagePageResponse searchMessages(Long userId, MessageSearchRequest request) {
+        Long roomId = request.getRoomId();
+        if (roomId != null && !roomMembership.isMember(roomId, userId)) {
+            throw new ChatRoomNotFoundException(roomId);
+        }
+        int pageSize = Math.max(1, Math.min(request.getLimit(), config.getSearch().getMaxResults()));
+
+        // created_at is local time, so the bounds are read in the same zone before becoming ids
+        long lowerId = request.getFrom() != null ? idAt(request.getFrom()) : 0L;
+        long upperId = request.getTo() != null ? idAt(request.getTo()) : Long.MAX_VALUE;
+        if (request.getBefore() != null) {
+            upperId = Math.min(upperId, request.getBefore());
+        }
+
+        List<Long> roomIds = roomId != null ? List.of(roomId) : chatRoomMemberRepository.findActiveRoomIds(userId);
+        if (roomIds.isEmpty()) {
+            return new MessagePageResponse(List.of(), null);
+        }
+        StringBuilder sql = new StringBuilder(SEARCH_SQL);
+        List<Object> args = new ArrayList<>(List.of(roomIds.toArray(new Long[0]), request.getQuery(), lowerId,
+                upperId));
+        if (request.getSenderId() != null) {
+            sql.append(" AND m.sender_user_id = ?");
+            args.add(request.getSenderId());
+        }
+        if (request.getMessageType() != null) {
+            sql.append(" AND m.message_type = ?");
+            args.add(request.getMessageType().name());
+        }
+        // Fetch one extra row to learn whether another page exists without a count query
+        sql.append(" ORDER BY m.id DESC LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<MessageResponse> matches = jdbcTemplate.query(sql.toString(), this::toResponse, args.toArray());
+        if (matches.size() <= pageSize) {
+            return new MessagePageResponse(matches, null);
+        }
+        List<MessageResponse> page = new ArrayList<>(matches.subList(0, pageSize));
+        return new MessagePageResponse(page, page.get(pageSize - 1).getId());
+    }
+
+    private static long idAt(LocalDateTime time) {
+        return Math.max(0L, SnowflakeIdGenerator.minIdAt(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    private MessageResponse toResponse(ResultSet rs, int row) throws SQLException {
+        MessageResponse response = new MessageResponse();
+        response.setId(rs.getLong("id"));
+        response.setChatRoomId(rs.getLong("chat_room_id"));
+        response.setSequence(rs.getObject("room_seq", Long.class));
+        response.setSenderUserId(rs.getLong("sender_user_id"));
+        response.setContent(rs.getString("content"));
+        response.setMessageType(rs.getString("message_type"));
+        response.setReplyToMessageId(rs.getObject("reply_to_message_id", Long.class));
+        response.setMediaUrl(rs.getString("media_url"));
+        response.setMediaType(rs.getString("media_type"));
+        response.setMediaSize(rs.getObject("media_size", Long.class));
+        response.setIsEdited(rs.getBoolean("is_edited"));
+        response.setIsDeleted(false);
+        response.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        Timestamp editedAt = rs.getTimestamp("edited_at");
+        response.setEditedAt(editedAt != null ? editedAt.toLocalDateTime() : null);
+        response.setReactions(ReactionAggregator.parseSummary(objectMapper, rs.getString("reaction_summary")));
+        return response;
+    }
+}
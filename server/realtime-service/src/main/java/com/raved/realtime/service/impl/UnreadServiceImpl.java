@@ -0,0 +1,64 @@
+package com.raved.realtime.service.impl;
+
+import com.raved.realtime.dto.response.UnreadCountsResponse;
+import com.raved.realtime.exception.ChatRoomNotFoundException;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.persistence.ReadReceiptWriter;
+import com.raved.realtime.repository.ChatRoomMemberRepository;
+import com.raved.realtime.service.UnreadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of UnreadService.
+ *
+ * A room's unread count is its newest message sequence minus the member's last-read sequence,
+ * so all of a user's rooms come from one indexed join with no scan of messages. Read positions
+ * this node has accepted but not yet flushed are applied on top.
+ */
+@Service
+public class UnreadServiceImpl implements UnreadService {
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private ReadReceiptWriter readReceiptWriter;
+
+    @Autowired
+    private RoomMembership roomMembership;
+
+    @Override
+    public void markRead(Long userId, Long roomId, Long sequence) {
+        if (!roomMembership.isMember(roomId, userId)) {
+            throw new ChatRoomNotFoundException(roomId);
+        }
+        markVerifiedRead(userId, roomId, sequence);
+    }
+
+    @Override
+    public void markVerifiedRead(Long userId, Long roomId, Long sequence) {
+        readReceiptWriter.record(roomId, userId, sequence);
+    }
+
+    @Override
+    public UnreadCountsResponse getUnreadCounts(Long userId) {
+        Map<Long, Long> pending = readReceiptWriter.pendingSequences(userId);
+        Map<Long, Long> rooms = new LinkedHashMap<>();
+        long total = 0;
+        for (Object[] row : chatRoomMemberRepository.findReadPositions(userId)) {
+            long roomId = ((Number) row[0]).longValue();
+            long messageSeq = ((Number) row[1]).longValue();
+            long lastRead = Math.max(((Number) row[2]).longValue(), pending.getOrDefault(roomId, 0L));
+            long unread = Math.max(0, messageSeq - lastRead);
+            rooms.put(roomId, unread);
+            if (!Boolean.TRUE.equals(row[3])) {
+                total += unread;
+            }
+        }
+        return new UnreadCountsResponse(total, rooms);
+    }
+}
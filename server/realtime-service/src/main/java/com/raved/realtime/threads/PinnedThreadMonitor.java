@@ -0,0 +1,79 @@
+package com.raved.realtime.threads;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that pin their carrier thread.
+ *
+ * A virtual thread that blocks inside a synchronized block or a native frame keeps its carrier
+ * busy, so a few pinning sites on hot paths quietly turn the virtual-thread pool back into a
+ * small platform pool. The JVM reports these as JFR jdk.VirtualThreadPinned events; this monitor
+ * streams them in-process, records their duration as realtime.threads.pinned, and logs the stack
+ * of each distinct site at most once per log interval.
+ */
+public class PinnedThreadMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RealtimeServiceConfig.Threads settings;
+    private final RecordingStream stream;
+    private final Map<String, Long> lastLogged = new ConcurrentHashMap<>();
+    private final Timer pinned;
+
+    public PinnedThreadMonitor(RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.settings = config.getThreads();
+        this.pinned = Timer.builder("realtime.threads.pinned")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(settings.getPinnedThresholdMs()))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder site = new StringBuilder();
+        for (int i = 0; i < Math.min(frames.size(), settings.getPinnedStackDepth()); i++) {
+            RecordedFrame frame = frames.get(i);
+            site.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber());
+        }
+        String key = site.toString();
+        long now = System.currentTimeMillis();
+        Long previous = lastLogged.get(key);
+        if (previous != null && now - previous < settings.getPinnedLogIntervalMs()) {
+            return;
+        }
+        lastLogged.put(key, now);
+        log.warn("Virtual thread pinned its carrier for {} ms{}", event.getDuration().toMillis(), key);
+    }
+}
@@ -0,0 +1,122 @@
+package com.raved.realtime.util;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of long ids, laid out like a roaring bitmap.
+ *
+ * A value is split into a 48-bit key and a 16-bit low part, and each key owns one container of
+ * low parts: a sorted char array while it holds at most 4096 values, and a 65536-bit bitmap (8 KB)
+ * once it grows past that. Ids that cluster, as user ids of one faculty do, cost about two bytes
+ * each and never more than a bit each within a dense container. A lookup is a binary search over
+ * the keys followed by either a binary search in a small array or a single bit test.
+ *
+ * Not thread-safe; callers guard concurrent access.
+ */
+public class RoaringLongBitmap {
+
+    private static final int ARRAY_CONTAINER_MAX = 4096;
+    private static final int BITMAP_WORDS = (1 << 16) / 64;
+
+    private long[] keys = new long[4];
+    private Object[] containers = new Object[4]; // char[] array containers or long[] bitmap containers
+    private int[] counts = new int[4];
+    private int size;
+    private long cardinality;
+
+    /**
+     * Add a value; returns false if it was already present
+     */
+    public boolean add(long value) {
+        long key = value >>> 16;
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+        if (!addLow(index, low)) {
+            return false;
+        }
+        counts[index]++;
+        cardinality++;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        if (containers[index] instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[index], 0, counts[index], low) >= 0;
+    }
+
+    public long getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Approximate heap footprint of the containers and their index
+     */
+    public long getSizeInBytes() {
+        long bytes = keys.length * (8L + 8L + 4L);
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i] instanceof long[] words ? words.length * 8L : ((char[]) containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    private boolean addLow(int index, char low) {
+        if (containers[index] instanceof long[] words) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            words[low >>> 6] |= bit;
+            return true;
+        }
+        char[] values = (char[]) containers[index];
+        int count = counts[index];
+        int position = Arrays.binarySearch(values, 0, count, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (count == ARRAY_CONTAINER_MAX) {
+            // Past 4096 values a bitmap is smaller than the array, and stays 8 KB however full it gets
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < count; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            words[low >>> 6] |= 1L << low;
+            containers[index] = words;
+            return true;
+        }
+        if (count == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_CONTAINER_MAX, count * 2));
+            containers[index] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, count - position);
+        values[position] = low;
+        return true;
+    }
+
+    private void insertContainer(int index, long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(counts, index, counts, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = new char[4];
+        counts[index] = 0;
+        size++;
+    }
+}
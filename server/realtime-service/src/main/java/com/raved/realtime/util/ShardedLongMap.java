@@ -0,0 +1,233 @@
+package com.raved.realtime.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from primitive long keys to values, split into independently locked shards.
+ *
+ * Each shard is an open-addressing table guarded by a StampedLock: reads are optimistic and
+ * never block or write shared memory, writes lock only their own shard. Keys are never boxed,
+ * so a registry of 100k+ ids costs two arrays per shard rather than one node object per entry.
+ * Values should be immutable (e.g. copy-on-write arrays) so a reader can use them lock-free.
+ */
+public class ShardedLongMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /**
+     * Computes a new value from the key and its current value (null if absent); null removes the entry
+     */
+    @FunctionalInterface
+    public interface Remapping<V> {
+        V apply(long key, V current);
+    }
+
+    @FunctionalInterface
+    public interface Visitor<V> {
+        void accept(long key, V value);
+    }
+
+    private final Shard<V>[] shards;
+    private final int shardMask;
+
+    @SuppressWarnings("unchecked")
+    public ShardedLongMap(int shardCount, int expectedSize) {
+        int count = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new Shard[count];
+        this.shardMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard<>(Math.max(16, expectedSize / count));
+        }
+    }
+
+    public V get(long key) {
+        int hash = mix(key);
+        return shards[hash & shardMask].get(key, hash);
+    }
+
+    /**
+     * Atomically replace the value for a key; the function runs under the shard's write lock
+     */
+    public V compute(long key, Remapping<V> remapping) {
+        int hash = mix(key);
+        return shards[hash & shardMask].compute(key, hash, remapping);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard<V> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Visit every entry, one shard at a time under that shard's read lock
+     */
+    public void forEach(Visitor<V> visitor) {
+        for (Shard<V> shard : shards) {
+            shard.forEach(visitor);
+        }
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 29));
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final Object[] values; // null marks an empty slot
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Shard<V> {
+        private final StampedLock lock = new StampedLock();
+        private Table table;
+        private int size;
+
+        Shard(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+            this.table = new Table(capacity);
+        }
+
+        V get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            // A writer raced with us; fall back to a shared lock
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        V compute(long key, int hash, Remapping<V> remapping) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                int index = (hash >>> 8) & mask;
+                while (t.values[index] != null && t.keys[index] != key) {
+                    index = (index + 1) & mask;
+                }
+                @SuppressWarnings("unchecked")
+                V current = (V) t.values[index];
+                V updated = remapping.apply(key, current);
+                if (updated == null) {
+                    if (current != null) {
+                        delete(t, index);
+                        size--;
+                    }
+                    return null;
+                }
+                t.keys[index] = key;
+                t.values[index] = updated;
+                if (current == null && ++size > t.keys.length * LOAD_FACTOR) {
+                    table = rehash(t, t.keys.length << 1);
+                }
+                return updated;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.tryOptimisticRead();
+            int result = size;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    result = size;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(Visitor<V> visitor) {
+            long stamp = lock.readLock();
+            try {
+                Table t = table;
+                for (int i = 0; i < t.keys.length; i++) {
+                    if (t.values[i] != null) {
+                        visitor.accept(t.keys[i], (V) t.values[i]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Probe for a key; bounded by the table length so a torn optimistic read cannot loop forever
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> V find(Table t, long key, int hash) {
+            int mask = t.keys.length - 1;
+            int index = (hash >>> 8) & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = t.values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (t.keys[index] == key) {
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Backward-shift deletion keeps probe chains intact without tombstones
+         */
+        private static void delete(Table t, int index) {
+            int mask = t.keys.length - 1;
+            int gap = index;
+            int next = (gap + 1) & mask;
+            while (t.values[next] != null) {
+                int home = (mix(t.keys[next]) >>> 8) & mask;
+                // Move the entry back if its home slot is not within (gap, next]
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    t.keys[gap] = t.keys[next];
+                    t.values[gap] = t.values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            t.keys[gap] = 0L;
+            t.values[gap] = null;
+        }
+
+        private static Table rehash(Table old, int capacity) {
+            Table t = new Table(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < old.keys.length; i++) {
+                if (old.values[i] != null) {
+                    int index = (mix(old.keys[i]) >>> 8) & mask;
+                    while (t.values[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    t.keys[index] = old.keys[i];
+                    t.values[index] = old.values[i];
+                }
+            }
+            return t;
+        }
+    }
+}
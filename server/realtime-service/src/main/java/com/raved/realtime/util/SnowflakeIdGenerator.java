@@ -0,0 +1,67 @@
+package com.raved.realtime.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ids generated in-process.
+ *
+ * Layout: 41 bits of milliseconds since 2024-01-01 UTC, 10 bits of worker id, 12 bits of
+ * per-millisecond sequence, so one worker issues up to 4096 ids per millisecond without
+ * coordination. The clock and sequence are packed into one AtomicLong and advanced with CAS;
+ * if the wall clock steps backwards, ids keep counting from the last issued millisecond.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int MAX_WORKER_ID = (1 << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerBits;
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerBits = (long) workerId << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                // Sequence exhausted for this millisecond (or the clock went back): borrow the next one
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+            if (state.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (WORKER_BITS + SEQUENCE_BITS)) | workerBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Smallest id that can be issued at or after the given epoch milliseconds
+     */
+    public static long minIdAt(long epochMillis) {
+        return (epochMillis - EPOCH_MILLIS) << (WORKER_BITS + SEQUENCE_BITS);
+    }
+
+    /**
+     * Epoch milliseconds at which an id was issued
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,62 @@
+package com.raved.realtime.websocket;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One outbound frame encoded once and shared by every recipient.
+ *
+ * The text form is a single immutable TextMessage queued to each session as-is. The deflated
+ * form is compressed at most once, on first use, and is only built when a recipient of a large
+ * room asked for compressed frames; its read-only buffer is duplicated per send, never copied.
+ */
+public class BroadcastFrame {
+
+    private final TextMessage text;
+    private final byte[] utf8;
+    private volatile BinaryMessage deflated;
+
+    BroadcastFrame(String payload, byte[] utf8) {
+        this.text = new TextMessage(payload);
+        this.utf8 = utf8;
+    }
+
+    /**
+     * Wrap an already serialized frame, e.g. one received from another node
+     */
+    public static BroadcastFrame of(String payload) {
+        return new BroadcastFrame(payload, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public TextMessage getText() {
+        return text;
+    }
+
+    public String getPayload() {
+        return text.getPayload();
+    }
+
+    /**
+     * Encoded size in bytes
+     */
+    public int getSize() {
+        return utf8.length;
+    }
+
+    BinaryMessage getDeflated(FrameEncoder encoder) {
+        BinaryMessage message = deflated;
+        if (message == null) {
+            synchronized (this) {
+                message = deflated;
+                if (message == null) {
+                    message = new BinaryMessage(ByteBuffer.wrap(encoder.deflate(utf8)).asReadOnlyBuffer());
+                    deflated = message;
+                }
+            }
+        }
+        return message;
+    }
+}
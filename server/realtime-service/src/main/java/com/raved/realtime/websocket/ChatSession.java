@@ -0,0 +1,202 @@
+package com.raved.realtime.websocket;
+
+import com.raved.realtime.util.HashedTimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One connected WebSocket client and its bounded outbound queue.
+ *
+ * Producers only enqueue; a writer thread drains the queue, so a broadcast never waits on a
+ * socket. At most one drain runs per session at a time, which also satisfies the WebSocket
+ * API's rule that a session is written by one thread at a time. A full queue means the client
+ * cannot keep up and the session is closed rather than buffering without bound. So does a single
+ * send that the socket does not accept within the per-send time limit: the stalled client is the
+ * one disconnected, and the writer thread goes straight back to serving everyone else.
+ */
+public class ChatSession {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSession.class);
+
+    private final WebSocketSession session;
+    private final long userId;
+    private final Queue<WebSocketMessage<?>> outbound;
+    private final int maxMessagesPerDrain;
+    private final Executor writers;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Set<Long> rooms = ConcurrentHashMap.newKeySet();
+
+    private volatile long lastActivityAt = System.currentTimeMillis();
+    private volatile long lastUserActivityAt = lastActivityAt;
+    private volatile boolean acceptsDeflate;
+    private volatile HashedTimerWheel.Timeout heartbeat;
+
+    ChatSession(WebSocketSession session, long userId, int queueCapacity, int maxMessagesPerDrain, Executor writers) {
+        this.session = session;
+        this.userId = userId;
+        this.outbound = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxMessagesPerDrain = maxMessagesPerDrain;
+        this.writers = writers;
+    }
+
+    /**
+     * Queue a message for delivery; returns false if the session is closed or its queue is full
+     */
+    public boolean enqueue(WebSocketMessage<?> message) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!outbound.offer(message)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Queue a best-effort frame only while fewer than maxQueued frames are waiting, so it never
+     * pushes a slow client towards eviction; returns false if the frame was dropped
+     */
+    public boolean offer(WebSocketMessage<?> message, int maxQueued) {
+        if (closed.get() || outbound.size() >= maxQueued || !outbound.offer(message)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public boolean isOpen() {
+        return !closed.get() && session.isOpen();
+    }
+
+    public int getQueuedCount() {
+        return outbound.size();
+    }
+
+    public long getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    /**
+     * Record inbound traffic (messages or pongs) for idle detection
+     */
+    public void touch() {
+        lastActivityAt = System.currentTimeMillis();
+    }
+
+    /**
+     * When the client last sent a frame on the user's behalf; keepalives do not count, so this
+     * is what presence uses to tell an open but unattended tab from an active one
+     */
+    public long getLastUserActivityAt() {
+        return lastUserActivityAt;
+    }
+
+    /**
+     * Record a frame sent on the user's behalf, as opposed to a keepalive
+     */
+    public void markUserActivity() {
+        lastUserActivityAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Whether the client asked for large-room frames as raw-DEFLATE binary messages
+     */
+    public boolean acceptsDeflate() {
+        return acceptsDeflate;
+    }
+
+    public void setAcceptsDeflate(boolean acceptsDeflate) {
+        this.acceptsDeflate = acceptsDeflate;
+    }
+
+    Set<Long> getRooms() {
+        return rooms;
+    }
+
+    WebSocketSession getNativeSession() {
+        return session;
+    }
+
+    void setHeartbeat(HashedTimerWheel.Timeout heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * Mark closed and close the socket off the caller's thread; returns false if already closed
+     */
+    boolean close(CloseStatus status) {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        HashedTimerWheel.Timeout timeout = heartbeat;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        outbound.clear();
+        writers.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Error closing session {}: {}", session.getId(), e.getMessage());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Binary frames may be shared by many sessions; give each send its own position and limit
+     */
+    private static BinaryMessage duplicate(BinaryMessage message) {
+        return new BinaryMessage(message.getPayload().duplicate(), message.isLast());
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            writers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int sent = 0; sent < maxMessagesPerDrain && !closed.get(); sent++) {
+                WebSocketMessage<?> message = outbound.poll();
+                if (message == null) {
+                    break;
+                }
+                session.sendMessage(message instanceof BinaryMessage binary ? duplicate(binary) : message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Includes the blocking-send timeout of a client that stopped reading
+            log.debug("Send to session {} failed: {}", session.getId(), e.getMessage());
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+        }
+        // Yield the writer thread after a slice so one busy session cannot starve the rest
+        if (!outbound.isEmpty() && !closed.get()) {
+            scheduleDrain();
+        }
+    }
+}
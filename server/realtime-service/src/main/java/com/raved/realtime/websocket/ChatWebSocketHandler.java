@@ -1,8 +1,251 @@
 package com.raved.realtime.websocket;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.dto.request.SendMessageRequest;
+import com.raved.realtime.dto.response.MessagePageResponse;
+import com.raved.realtime.dto.response.PresenceResponse;
+import com.raved.realtime.exception.RateLimitedException;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.presence.PresenceNotifier;
+import com.raved.realtime.service.MessageService;
+import com.raved.realtime.service.UnreadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
 /**
- * ChatWebSocketHandler for TheRavedApp
+ * WebSocket endpoint for chat clients.
+ *
+ * Inbound frames are small JSON commands ({"type": "subscribe", "roomId": 1}); outbound traffic
+ * never touches the container thread and goes through WebSocketSessionManager's queues. A client
+ * sending {"type": "options", "deflate": true} receives large-room broadcasts as binary frames
+ * holding raw-DEFLATE-compressed JSON.
  */
-public class ChatWebSocketHandler {
-    // Implementation
+@Component
+public class ChatWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatWebSocketHandler.class);
+
+    @Autowired
+    private WebSocketSessionManager sessionManager;
+
+    @Autowired
+    private RoomMembership roomMembership;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private PresenceNotifier presenceNotifier;
+
+    @Autowired
+    private UnreadService unreadService;
+
+    @Autowired
+    private EphemeralEventRelay ephemeralEventRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Long userId = (Long) session.getAttributes().get(UserHandshakeInterceptor.USER_ID_ATTRIBUTE);
+        sessionManager.register(session, userId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        ChatSession chatSession = sessionManager.getSession(session.getId());
+        if (chatSession == null) {
+            return;
+        }
+        chatSession.touch();
+
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(message.getPayload());
+        } catch (IOException e) {
+            reply(chatSession, Map.of("type", "error", "message", "Malformed frame"));
+            return;
+        }
+        String type = frame.path("type").asText();
+        if (!"ping".equals(type)) {
+            chatSession.markUserActivity();
+        }
+        switch (type) {
+            case "ping" -> reply(chatSession, Map.of("type", "pong"));
+            case "options" -> {
+                chatSession.setAcceptsDeflate(frame.path("deflate").asBoolean(false));
+                reply(chatSession, Map.of("type", "options", "deflate", chatSession.acceptsDeflate()));
+            }
+            case "subscribe" -> subscribe(chatSession, frame.path("roomId").asLong());
+            case "send" -> send(chatSession, frame);
+            case "history" -> history(chatSession, frame);
+            case "read" -> markRead(chatSession, frame);
+            case "event" -> relayEvent(chatSession, frame);
+            case "presence_subscribe" -> watchPresence(chatSession, frame);
+            case "presence_unsubscribe" -> presenceNotifier.unwatch(chatSession);
+            case "unsubscribe" -> {
+                long roomId = frame.path("roomId").asLong();
+                sessionManager.leaveRoom(chatSession, roomId);
+                reply(chatSession, Map.of("type", "unsubscribed", "roomId", roomId));
+            }
+            default -> reply(chatSession, Map.of("type", "error", "message", "Unknown frame type: " + type));
+        }
+    }
+
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        ChatSession chatSession = sessionManager.getSession(session.getId());
+        if (chatSession != null) {
+            chatSession.touch();
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Transport error on session {}: {}", session.getId(), exception.getMessage());
+        close(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        close(session);
+    }
+
+    private void close(WebSocketSession session) {
+        ChatSession chatSession = sessionManager.getSession(session.getId());
+        if (chatSession != null) {
+            presenceNotifier.unwatch(chatSession);
+        }
+        sessionManager.unregister(session.getId());
+    }
+
+    private void subscribe(ChatSession chatSession, long roomId) throws IOException {
+        if (!roomMembership.isMember(roomId, chatSession.getUserId())) {
+            reply(chatSession, Map.of("type", "error", "message", "Not a member of room " + roomId));
+            return;
+        }
+        sessionManager.joinRoom(chatSession, roomId);
+        reply(chatSession, Map.of("type", "subscribed", "roomId", roomId));
+    }
+
+    /**
+     * Store a message for a subscribed room; the sender is acked with its id once it is committed
+     */
+    private void send(ChatSession chatSession, JsonNode frame) throws IOException {
+        long roomId = frame.path("roomId").asLong();
+        String clientId = frame.path("clientId").asText("");
+        String content = frame.path("content").asText("");
+        if (!chatSession.getRooms().contains(roomId)) {
+            reply(chatSession, Map.of("type", "error", "clientId", clientId, "message", "Not subscribed to room " + roomId));
+            return;
+        }
+        if (content.isBlank() || content.length() > 4000) {
+            reply(chatSession, Map.of("type", "error", "clientId", clientId, "message", "Content must be 1-4000 characters"));
+            return;
+        }
+        SendMessageRequest request = new SendMessageRequest(roomId, content);
+        request.setMessageType(frame.path("messageType").asText(null));
+        if (frame.hasNonNull("replyToMessageId")) {
+            request.setReplyToMessageId(frame.get("replyToMessageId").asLong());
+        }
+        messageService.sendVerifiedMessage(chatSession.getUserId(), request).whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            Map<String, Object> ack;
+            if (cause == null) {
+                ack = Map.of("type", "ack", "clientId", clientId, "messageId", response.getId(),
+                        "sequence", response.getSequence(), "createdAt", response.getCreatedAt());
+            } else if (cause instanceof RateLimitedException limited) {
+                // Slow mode in a large room: the client may resend the same message once retryAfterMs has passed
+                ack = Map.of("type", "error", "clientId", clientId, "message", "Slow mode, retry later",
+                        "retryAfterMs", limited.getRetryAfterMs());
+            } else {
+                ack = Map.of("type", "error", "clientId", clientId, "message", "Message not stored, retry");
+            }
+            try {
+                reply(chatSession, ack);
+            } catch (IOException e) {
+                log.debug("Failed to ack session {}: {}", chatSession.getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Page through a subscribed room's history; the newest page is usually served from the recent-message cache
+     */
+    private void history(ChatSession chatSession, JsonNode frame) throws IOException {
+        long roomId = frame.path("roomId").asLong();
+        if (!chatSession.getRooms().contains(roomId)) {
+            reply(chatSession, Map.of("type", "error", "message", "Not subscribed to room " + roomId));
+            return;
+        }
+        Long before = frame.hasNonNull("before") ? frame.get("before").asLong() : null;
+        MessagePageResponse page = messageService.getVerifiedRoomMessages(roomId, before, frame.path("limit").asInt(50));
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("type", "history");
+        reply.put("roomId", roomId);
+        reply.put("messages", page.getMessages());
+        reply.put("nextCursor", page.getNextCursor());
+        reply(chatSession, reply);
+    }
+
+    /**
+     * Mark a subscribed room read up to a message sequence; nothing is sent back, the room sees a
+     * read_receipts frame once the position is flushed
+     */
+    private void markRead(ChatSession chatSession, JsonNode frame) throws IOException {
+        long roomId = frame.path("roomId").asLong();
+        long sequence = frame.path("sequence").asLong(-1);
+        if (!chatSession.getRooms().contains(roomId) || sequence < 0) {
+            reply(chatSession, Map.of("type", "error", "message", "Cannot mark room " + roomId + " read"));
+            return;
+        }
+        unreadService.markVerifiedRead(chatSession.getUserId(), roomId, sequence);
+    }
+
+    /**
+     * Relay an ephemeral event (typing, ...) to a subscribed room; throttled events are dropped
+     * without a reply since the client will simply send the next one
+     */
+    private void relayEvent(ChatSession chatSession, JsonNode frame) throws IOException {
+        long roomId = frame.path("roomId").asLong();
+        String event = frame.path("event").asText("");
+        if (!chatSession.getRooms().contains(roomId) || !ephemeralEventRelay.isSupported(event)) {
+            reply(chatSession, Map.of("type", "error", "message", "Cannot send " + event + " to room " + roomId));
+            return;
+        }
+        ephemeralEventRelay.relay(chatSession.getUserId(), roomId, event, frame.get("data"));
+    }
+
+    /**
+     * Watch a list of users' presence: current state now, then {"type": "presence"} deltas
+     */
+    private void watchPresence(ChatSession chatSession, JsonNode frame) throws IOException {
+        List<Long> userIds = new ArrayList<>();
+        frame.path("userIds").forEach(id -> userIds.add(id.asLong()));
+        List<PresenceResponse> snapshot = presenceNotifier.watch(chatSession, userIds);
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("type", "presence");
+        reply.put("users", snapshot);
+        reply(chatSession, reply);
+    }
+
+    private void reply(ChatSession chatSession, Map<String, Object> frame) throws IOException {
+        chatSession.enqueue(new TextMessage(objectMapper.writeValueAsString(frame)));
+    }
 }
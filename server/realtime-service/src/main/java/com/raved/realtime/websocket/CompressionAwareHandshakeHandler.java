@@ -0,0 +1,39 @@
+package com.raved.realtime.websocket;
+
+import com.raved.realtime.config.RealtimeServiceConfig;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+
+/**
+ * Declines permessage-deflate unless enabled.
+ *
+ * The container keeps one compression context per connection, so a broadcast to an N-member
+ * room would be compressed N times; the shared deflated frames in BroadcastFrame replace it.
+ */
+public class CompressionAwareHandshakeHandler extends DefaultHandshakeHandler {
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final RealtimeServiceConfig.Compression compression;
+
+    public CompressionAwareHandshakeHandler(RealtimeServiceConfig.Compression compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions,
+                supportedExtensions);
+        if (compression.isPermessageDeflate()) {
+            return extensions;
+        }
+        return extensions.stream()
+                .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.raved.realtime.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.membership.RoomMembership;
+import com.raved.realtime.util.ShardedLongMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relays ephemeral room events such as typing indicators.
+ *
+ * Events never touch the database, the message writer or the recent-message cache. Each user
+ * may send each event type to a room at most once per throttle interval; extra events are
+ * dropped silently, which is harmless because clients expire indicators on their own. Accepted
+ * events go out through MessageBroker.publishEphemeral, so they are skipped for clients that
+ * are behind and only reach the broker when another node has subscribers. Large rooms relay no
+ * events at all, since a typing indicator from any of thousands of members is noise to the rest.
+ */
+@Component
+public class EphemeralEventRelay {
+
+    private final MessageBroker messageBroker;
+    private final FrameEncoder frameEncoder;
+    private final RoomMembership roomMembership;
+    private final RealtimeServiceConfig.Ephemeral settings;
+    // user id -> room id -> last accepted time per event type; inner maps are only touched inside compute
+    private final ShardedLongMap<Map<Long, long[]>> lastSent;
+
+    private final Counter relayed;
+    private final Counter throttled;
+    private final Counter largeRoom;
+
+    public EphemeralEventRelay(MessageBroker messageBroker, FrameEncoder frameEncoder, RoomMembership roomMembership,
+                               RealtimeServiceConfig config, MeterRegistry meterRegistry) {
+        this.messageBroker = messageBroker;
+        this.frameEncoder = frameEncoder;
+        this.roomMembership = roomMembership;
+        this.settings = config.getEphemeral();
+        this.lastSent = new ShardedLongMap<>(config.getWebsocket().getRegistryShards(),
+                config.getWebsocket().getExpectedSessions());
+        this.relayed = meterRegistry.counter("realtime.ephemeral.relayed");
+        this.throttled = meterRegistry.counter("realtime.ephemeral.dropped", "reason", "throttled");
+        this.largeRoom = meterRegistry.counter("realtime.ephemeral.dropped", "reason", "large_room");
+    }
+
+    /**
+     * Whether an event name is one clients may send
+     */
+    public boolean isSupported(String event) {
+        return settings.getEvents().contains(event);
+    }
+
+    /**
+     * Relay an event from a user to a room they are subscribed to; returns false if it was
+     * throttled, unsupported, its data is too large or the room is a large room
+     */
+    public boolean relay(long userId, long roomId, String event, JsonNode data) {
+        int index = settings.getEvents().indexOf(event);
+        if (index < 0 || (data != null && data.toString().length() > settings.getMaxDataBytes())) {
+            return false;
+        }
+        if (roomMembership.isLargeRoom(roomId)) {
+            largeRoom.increment();
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        int eventCount = settings.getEvents().size();
+        boolean[] accepted = new boolean[1];
+        lastSent.compute(userId, (id, rooms) -> {
+            Map<Long, long[]> next = rooms != null ? rooms : new HashMap<>();
+            long[] sent = next.computeIfAbsent(roomId, room -> new long[eventCount]);
+            if (now - sent[index] >= settings.getThrottleMs()) {
+                sent[index] = now;
+                accepted[0] = true;
+            }
+            return next;
+        });
+        if (!accepted[0]) {
+            throttled.increment();
+            return false;
+        }
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "event");
+        frame.put("roomId", roomId);
+        frame.put("userId", userId);
+        frame.put("event", event);
+        if (data != null && !data.isNull() && !data.isMissingNode()) {
+            frame.put("data", data);
+        }
+        messageBroker.publishEphemeral(roomId, frameEncoder.encode(frame));
+        relayed.increment();
+        return true;
+    }
+
+    /**
+     * Forget throttle state that can no longer hold anything back
+     */
+    @Scheduled(fixedDelayString = "${realtime.ephemeral.sweep-interval-ms:60000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - settings.getThrottleMs();
+        List<Long> users = new ArrayList<>();
+        lastSent.forEach((userId, rooms) -> users.add(userId));
+        for (long userId : users) {
+            lastSent.compute(userId, (id, rooms) -> {
+                if (rooms == null) {
+                    return null;
+                }
+                rooms.values().removeIf(sent -> {
+                    for (long at : sent) {
+                        if (at > cutoff) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+                return rooms.isEmpty() ? null : rooms;
+            });
+        }
+    }
+}
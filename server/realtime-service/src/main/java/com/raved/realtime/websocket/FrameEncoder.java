@@ -0,0 +1,162 @@
+package com.raved.realtime.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Serializes outbound frames once per broadcast.
+ *
+ * JSON is written into a pooled buffer that is reused across frames, so encoding a frame costs
+ * one exact-size copy rather than a chain of growing arrays. Compression likewise reuses pooled
+ * raw-DEFLATE contexts. The pool is shared rather than per thread, so it stays the same size
+ * when frames are encoded on short-lived virtual threads; a caller finding it empty gets a fresh
+ * context, and one returned to a full pool is dropped and its Deflater ended at once.
+ */
+@Component
+public class FrameEncoder {
+
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+
+    // Matches the writer pool, which does nearly all of the encoding
+    private static final int MAX_POOLED_CONTEXTS = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final ObjectMapper objectMapper;
+    private final int deflateLevel;
+    private final BlockingQueue<EncodingContext> contexts = new ArrayBlockingQueue<>(MAX_POOLED_CONTEXTS);
+
+    public FrameEncoder(ObjectMapper objectMapper, RealtimeServiceConfig config) {
+        this.objectMapper = objectMapper;
+        this.deflateLevel = config.getWebsocket().getCompression().getLevel();
+    }
+
+    /**
+     * Serialize a payload to a frame that can be queued to any number of sessions
+     */
+    public BroadcastFrame encode(Object payload) {
+        EncodingContext context = borrow();
+        try {
+            objectMapper.writeValue(context.buffer, payload);
+            byte[] utf8 = context.buffer.toByteArray();
+            return new BroadcastFrame(new String(utf8, StandardCharsets.UTF_8), utf8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode frame", e);
+        } finally {
+            giveBack(context);
+        }
+    }
+
+    byte[] deflate(byte[] input) {
+        EncodingContext context = borrow();
+        try {
+            Deflater deflater = context.deflater();
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] chunk = context.buffer.chunk();
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                context.buffer.write(chunk, 0, written);
+            }
+            return context.buffer.toByteArray();
+        } finally {
+            giveBack(context);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        EncodingContext context;
+        while ((context = contexts.poll()) != null) {
+            context.end();
+        }
+    }
+
+    private EncodingContext borrow() {
+        EncodingContext context = contexts.poll();
+        return context != null ? context : new EncodingContext(deflateLevel);
+    }
+
+    private void giveBack(EncodingContext context) {
+        context.reset();
+        if (!contexts.offer(context)) {
+            // Pool is full; free the native zlib memory now rather than whenever GC gets to it
+            context.end();
+        }
+    }
+
+    /**
+     * A buffer and, once compression is first needed, a Deflater; used by one caller at a time
+     */
+    private static final class EncodingContext {
+        private final int level;
+        private final PooledBuffer buffer = new PooledBuffer();
+        private Deflater deflater;
+
+        EncodingContext(int level) {
+            this.level = level;
+        }
+
+        Deflater deflater() {
+            if (deflater == null) {
+                deflater = new Deflater(level, true);
+            }
+            return deflater;
+        }
+
+        void reset() {
+            if (deflater != null) {
+                deflater.reset();
+            }
+            buffer.release();
+        }
+
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+                deflater = null;
+            }
+        }
+    }
+
+    /**
+     * Growable buffer kept in the pool; oversized backing arrays are dropped after use
+     */
+    private static final class PooledBuffer extends ByteArrayOutputStream {
+        private final byte[] chunk = new byte[8192];
+
+        PooledBuffer() {
+            super(8192);
+        }
+
+        byte[] chunk() {
+            return chunk;
+        }
+
+        @Override
+        public void close() {
+            // ObjectMapper closes its target; the buffer stays usable
+        }
+
+        void release() {
+            if (buf.length > MAX_RETAINED_BUFFER) {
+                buf = new byte[8192];
+            }
+            reset();
+        }
+
+        @Override
+        public synchronized byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+}
@@ -1,8 +1,251 @@
 package com.raved.realtime.websocket;
 
+import com.raved.realtime.broker.FanoutBatch;
+import com.raved.realtime.broker.FanoutMessage;
+import com.raved.realtime.broker.NodeRegistry;
+import com.raved.realtime.broker.RoomNodeIndex;
+import com.raved.realtime.cache.RoomMessageCache;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
 /**
- * MessageBroker for TheRavedApp
+ * Delivers room frames to subscribers on every realtime-service node.
+ *
+ * Local subscribers are served immediately. For other nodes the room→node index says which
+ * nodes have subscribers, so a frame crosses the broker once per interested node rather than
+ * once per member. Remote frames are queued and a single flusher thread coalesces everything
+ * published within the batch window into one message per destination node.
  */
+@Component
 public class MessageBroker {
-    // Implementation
+
+    private static final Logger log = LoggerFactory.getLogger(MessageBroker.class);
+
+    private final WebSocketSessionManager sessionManager;
+    private final FrameEncoder frameEncoder;
+    private final RoomNodeIndex roomNodeIndex;
+    private final NodeRegistry nodeRegistry;
+    private final RoomMessageCache roomMessageCache;
+    private final RabbitTemplate rabbitTemplate;
+    private final DirectExchange fanoutExchange;
+    private final RealtimeServiceConfig.Broker settings;
+    private final RealtimeServiceConfig.Ephemeral ephemeralSettings;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Timer localLatency;
+    private final Timer remoteLatency;
+    private final Counter batchesSent;
+    private final Counter messagesSent;
+    private final Counter messagesDropped;
+    private final Counter ephemeralDropped;
+
+    public MessageBroker(WebSocketSessionManager sessionManager, FrameEncoder frameEncoder, RoomNodeIndex roomNodeIndex,
+                         NodeRegistry nodeRegistry, RoomMessageCache roomMessageCache, RabbitTemplate rabbitTemplate,
+                         DirectExchange realtimeFanoutExchange, RealtimeServiceConfig config,
+                         MeterRegistry meterRegistry) {
+        this.sessionManager = sessionManager;
+        this.frameEncoder = frameEncoder;
+        this.roomNodeIndex = roomNodeIndex;
+        this.nodeRegistry = nodeRegistry;
+        this.roomMessageCache = roomMessageCache;
+        this.rabbitTemplate = rabbitTemplate;
+        this.fanoutExchange = realtimeFanoutExchange;
+        this.settings = config.getBroker();
+        this.ephemeralSettings = config.getEphemeral();
+
+        this.localLatency = latencyTimer(meterRegistry, "local");
+        this.remoteLatency = latencyTimer(meterRegistry, "remote");
+        this.batchesSent = meterRegistry.counter("realtime.fanout.batches");
+        this.messagesSent = meterRegistry.counter("realtime.fanout.messages");
+        this.messagesDropped = meterRegistry.counter("realtime.fanout.dropped");
+        this.ephemeralDropped = meterRegistry.counter("realtime.ephemeral.dropped", "reason", "fanout");
+        Gauge.builder("realtime.fanout.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+
+        this.flusher = new Thread(this::runFlusher, "fanout-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Serialize a payload once and deliver it to every subscriber of a room
+     */
+    public void publish(long roomId, Object payload) {
+        publish(roomId, frameEncoder.encode(payload));
+    }
+
+    /**
+     * Deliver an encoded frame to every subscriber of a room, on this node and all others
+     */
+    public void publish(long roomId, BroadcastFrame frame) {
+        long publishedAt = nowMicros();
+        sessionManager.broadcastToRoom(roomId, frame);
+        localLatency.record(nowMicros() - publishedAt, TimeUnit.MICROSECONDS);
+
+        List<String> nodes = roomNodeIndex.getRemoteNodes(roomId);
+        if (nodes.isEmpty()) {
+            return;
+        }
+        if (!enqueueRemote(nodes, new FanoutMessage(roomId, frame.getPayload(), publishedAt), settings.getMaxPending())) {
+            messagesDropped.increment();
+        }
+    }
+
+    /**
+     * Deliver an ephemeral frame (typing and the like) best-effort: local recipients that are
+     * behind are skipped, and the frame only crosses the broker when another node has subscribers
+     * and the fan-out queue is well below its limit, so it never delays stored messages
+     */
+    public void publishEphemeral(long roomId, BroadcastFrame frame) {
+        long publishedAt = nowMicros();
+        sessionManager.broadcastEphemeral(roomId, frame, ephemeralSettings.getMaxQueued());
+
+        List<String> nodes = roomNodeIndex.getRemoteNodes(roomId);
+        if (nodes.isEmpty()) {
+            return;
+        }
+        if (!enqueueRemote(nodes, new FanoutMessage(roomId, frame.getPayload(), publishedAt, true),
+                ephemeralSettings.getMaxFanoutPending())) {
+            ephemeralDropped.increment();
+        }
+    }
+
+    @RabbitListener(queues = "#{realtimeNodeQueue.name}")
+    public void onBatch(FanoutBatch batch) {
+        if (batch.getMessages() == null) {
+            return;
+        }
+        for (FanoutMessage message : batch.getMessages()) {
+            if (message.isEphemeral()) {
+                sessionManager.broadcastEphemeral(message.getRoomId(), BroadcastFrame.of(message.getFrame()),
+                        ephemeralSettings.getMaxQueued());
+                continue;
+            }
+            sessionManager.broadcastToRoom(message.getRoomId(), BroadcastFrame.of(message.getFrame()));
+            if (roomMessageCache.isTracking(message.getRoomId())) {
+                roomMessageCache.onRoomFrame(message.getRoomId(), message.getFrame());
+            }
+            // Cross-node clocks are NTP-synchronised; clamp skew so it cannot record negative latency
+            remoteLatency.record(Math.max(0, nowMicros() - message.getPublishedAtMicros()), TimeUnit.MICROSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean enqueueRemote(List<String> nodes, FanoutMessage message, int maxPending) {
+        int count = pendingCount.incrementAndGet();
+        if (count > maxPending) {
+            pendingCount.decrementAndGet();
+            return false;
+        }
+        pending.add(new Pending(nodes, message));
+        // Wake the idle flusher to open a window, or cut the window short once a batch is full
+        if (count == 1 || count >= settings.getMaxBatchSize()) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    private void runFlusher() {
+        long windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(1, settings.getBatchWindowMicros()));
+        while (running || !pending.isEmpty()) {
+            if (pending.isEmpty()) {
+                LockSupport.park(this);
+                continue;
+            }
+            // Hold the first message for one window so later publishes share its batch
+            LockSupport.parkNanos(this, windowNanos);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Fan-out flush failed", e);
+            }
+        }
+    }
+
+    private void flush() {
+        Map<String, List<FanoutMessage>> byNode = new HashMap<>();
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            for (String node : next.nodes) {
+                List<FanoutMessage> messages = byNode.computeIfAbsent(node, n -> new ArrayList<>());
+                messages.add(next.message);
+                if (messages.size() >= settings.getMaxBatchSize()) {
+                    send(node, byNode.remove(node));
+                }
+            }
+        }
+        byNode.forEach(this::send);
+    }
+
+    private void send(String node, List<FanoutMessage> messages) {
+        try {
+            rabbitTemplate.convertAndSend(fanoutExchange.getName(), node,
+                    new FanoutBatch(nodeRegistry.getNodeId(), messages));
+            batchesSent.increment();
+            messagesSent.increment(messages.size());
+        } catch (AmqpException e) {
+            messagesDropped.increment(messages.size());
+            log.warn("Failed to fan out {} messages to node {}: {}", messages.size(), node, e.getMessage());
+        }
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String scope) {
+        return Timer.builder("realtime.fanout.latency")
+                .tag("scope", scope)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static long nowMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+
+    /**
+     * A frame waiting for the flusher together with the nodes it must reach
+     */
+    private static final class Pending {
+        private final List<String> nodes;
+        private final FanoutMessage message;
+
+        Pending(List<String> nodes, FanoutMessage message) {
+            this.nodes = nodes;
+            this.message = message;
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.raved.realtime.websocket;
+
+/**
+ * Application event published when this node gains its first or loses its last session in a room
+ */
+public class RoomSubscriptionEvent {
+
+    private final long roomId;
+    private final boolean subscribed;
+
+    public RoomSubscriptionEvent(long roomId, boolean subscribed) {
+        this.roomId = roomId;
+        this.subscribed = subscribed;
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    /**
+     * True when the room gained its first local session, false when it lost its last
+     */
+    public boolean isSubscribed() {
+        return subscribed;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomSubscriptionEvent{" +
+                "roomId=" + roomId +
+                ", subscribed=" + subscribed +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.raved.realtime.websocket;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Rejects WebSocket upgrades without an authenticated user and records the user id on the session.
+ *
+ * The API gateway authenticates the request and forwards the user id in X-User-Id, as for REST calls.
+ */
+public class UserHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_ID_ATTRIBUTE = "userId";
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String header = request.getHeaders().getFirst(USER_ID_HEADER);
+        try {
+            attributes.put(USER_ID_ATTRIBUTE, Long.parseLong(header));
+            return true;
+        } catch (NumberFormatException e) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -1,8 +1,365 @@
 package com.raved.realtime.websocket;
 
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.util.HashedTimerWheel;
+import com.raved.realtime.util.ShardedLongMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
 /**
- * WebSocketSessionManager for TheRavedApp
+ * Registry of the WebSocket sessions connected to this node.
+ *
+ * Sessions are indexed by user id and by room id in sharded primitive-keyed maps whose values
+ * are copy-on-write arrays, so a broadcast reads its recipients without taking a lock and
+ * connect/disconnect contend only within one shard. Delivery goes through each session's
+ * bounded outbound queue, and heartbeats and idle eviction run on a single hashed timer wheel.
  */
+@Component
 public class WebSocketSessionManager {
-    // Implementation
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketSessionManager.class);
+
+    private static final ChatSession[] NO_SESSIONS = new ChatSession[0];
+    private static final String TOMCAT_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+    private static final PingMessage PING = new PingMessage(ByteBuffer.allocate(0));
+
+    private final RealtimeServiceConfig.WebSocket settings;
+    private final FrameEncoder frameEncoder;
+    private final Map<String, ChatSession> sessionsById = new ConcurrentHashMap<>();
+    private final ShardedLongMap<ChatSession[]> sessionsByUser;
+    private final ShardedLongMap<ChatSession[]> sessionsByRoom;
+    private final ExecutorService writers;
+    private final HashedTimerWheel timerWheel;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter messagesDropped;
+    private final Counter ephemeralDropped;
+    private final Counter idleEvictions;
+    private final Counter slowConsumerEvictions;
+
+    public WebSocketSessionManager(RealtimeServiceConfig config, FrameEncoder frameEncoder,
+                                   ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.settings = config.getWebsocket();
+        this.frameEncoder = frameEncoder;
+        this.eventPublisher = eventPublisher;
+        this.sessionsByUser = new ShardedLongMap<>(settings.getRegistryShards(), settings.getExpectedSessions());
+        this.sessionsByRoom = new ShardedLongMap<>(settings.getRegistryShards(), settings.getExpectedSessions() / 4);
+        int threads = settings.getWriterThreads() > 0 ? settings.getWriterThreads()
+                : Runtime.getRuntime().availableProcessors() * 2;
+        this.writers = Executors.newFixedThreadPool(threads, namedThreads("ws-writer-"));
+        this.timerWheel = new HashedTimerWheel("ws-heartbeat", settings.getTimerTickMs(), settings.getTimerWheelSize());
+
+        Gauge.builder("realtime.sessions.active", sessionsById, Map::size).register(meterRegistry);
+        Gauge.builder("realtime.sessions.users", sessionsByUser, ShardedLongMap::size).register(meterRegistry);
+        this.messagesDropped = meterRegistry.counter("realtime.outbound.dropped");
+        this.ephemeralDropped = meterRegistry.counter("realtime.ephemeral.dropped", "reason", "backpressure");
+        this.idleEvictions = meterRegistry.counter("realtime.sessions.evicted", "reason", "idle");
+        this.slowConsumerEvictions = meterRegistry.counter("realtime.sessions.evicted", "reason", "slow-consumer");
+    }
+
+    /**
+     * Register a newly opened connection for a user
+     */
+    public ChatSession register(WebSocketSession session, long userId) {
+        limitBlockingSends(session);
+        ChatSession chatSession = new ChatSession(session, userId, settings.getOutboundQueueCapacity(),
+                settings.getMaxMessagesPerDrain(), writers);
+        sessionsById.put(session.getId(), chatSession);
+        sessionsByUser.compute(userId, (id, current) -> append(current, chatSession));
+        scheduleHeartbeat(chatSession);
+        return chatSession;
+    }
+
+    /**
+     * Remove a connection from every index; safe to call more than once
+     */
+    public void unregister(String sessionId) {
+        ChatSession chatSession = sessionsById.remove(sessionId);
+        if (chatSession == null) {
+            return;
+        }
+        chatSession.close(CloseStatus.NORMAL);
+        for (Long roomId : chatSession.getRooms()) {
+            removeFromRoom(chatSession, roomId);
+        }
+        chatSession.getRooms().clear();
+        sessionsByUser.compute(chatSession.getUserId(), (id, current) -> without(current, chatSession));
+    }
+
+    public ChatSession getSession(String sessionId) {
+        return sessionsById.get(sessionId);
+    }
+
+    /**
+     * Subscribe a connection to a room's broadcasts
+     */
+    public void joinRoom(ChatSession chatSession, long roomId) {
+        if (chatSession.getRooms().add(roomId)) {
+            boolean[] first = new boolean[1];
+            sessionsByRoom.compute(roomId, (id, current) -> {
+                first[0] = current == null;
+                return append(current, chatSession);
+            });
+            if (first[0]) {
+                eventPublisher.publishEvent(new RoomSubscriptionEvent(roomId, true));
+            }
+            // Lost a race with unregister: undo so the room index does not keep a dead session
+            if (!sessionsById.containsKey(chatSession.getId())) {
+                leaveRoom(chatSession, roomId);
+            }
+        }
+    }
+
+    public void leaveRoom(ChatSession chatSession, long roomId) {
+        if (chatSession.getRooms().remove(roomId)) {
+            removeFromRoom(chatSession, roomId);
+        }
+    }
+
+    /**
+     * Whether any connection on this node is subscribed to the room
+     */
+    public boolean hasRoomSessions(long roomId) {
+        return sessionsByRoom.get(roomId) != null;
+    }
+
+    /**
+     * Invoke an action for every room with at least one local subscriber
+     */
+    public void forEachSubscribedRoom(LongConsumer action) {
+        sessionsByRoom.forEach((roomId, sessions) -> action.accept(roomId));
+    }
+
+    /**
+     * Invoke an action for every user with at least one local connection, with a snapshot of those connections
+     */
+    public void forEachUser(ShardedLongMap.Visitor<ChatSession[]> action) {
+        sessionsByUser.forEach(action);
+    }
+
+    /**
+     * Queue a message to every connection of a user; returns the number of sessions it was queued for
+     */
+    public int sendToUser(long userId, WebSocketMessage<?> message) {
+        return deliver(sessionsByUser.get(userId), message);
+    }
+
+    /**
+     * Queue a message to every connection subscribed to a room; never blocks on a slow client
+     */
+    public int broadcastToRoom(long roomId, WebSocketMessage<?> message) {
+        return deliver(sessionsByRoom.get(roomId), message);
+    }
+
+    /**
+     * Queue a pre-encoded frame to a room. Every recipient gets the same message instance; in a
+     * large room, clients that opted into compression share a single deflated copy.
+     */
+    public int broadcastToRoom(long roomId, BroadcastFrame frame) {
+        ChatSession[] recipients = sessionsByRoom.get(roomId);
+        if (recipients == null) {
+            return 0;
+        }
+        RealtimeServiceConfig.Compression compression = settings.getCompression();
+        if (!compression.isSharedDeflate() || recipients.length < compression.getMinRoomSize()
+                || frame.getSize() < compression.getMinFrameBytes()) {
+            return deliver(recipients, frame.getText());
+        }
+        int queued = 0;
+        for (ChatSession recipient : recipients) {
+            WebSocketMessage<?> message = recipient.acceptsDeflate() ? frame.getDeflated(frameEncoder) : frame.getText();
+            if (offer(recipient, message)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Best-effort delivery of an ephemeral frame to a room: recipients that already have maxQueued
+     * frames waiting are skipped rather than evicted, since the event is stale by the time they
+     * would read it
+     */
+    public int broadcastEphemeral(long roomId, BroadcastFrame frame, int maxQueued) {
+        ChatSession[] recipients = sessionsByRoom.get(roomId);
+        if (recipients == null) {
+            return 0;
+        }
+        int queued = 0;
+        for (ChatSession recipient : recipients) {
+            if (recipient.offer(frame.getText(), maxQueued)) {
+                queued++;
+            } else {
+                ephemeralDropped.increment();
+            }
+        }
+        return queued;
+    }
+
+    public boolean isUserConnected(long userId) {
+        return sessionsByUser.get(userId) != null;
+    }
+
+    public int getSessionCount() {
+        return sessionsById.size();
+    }
+
+    /**
+     * Snapshot of the connections subscribed to a room on this node
+     */
+    public ChatSession[] getRoomSessions(long roomId) {
+        ChatSession[] sessions = sessionsByRoom.get(roomId);
+        return sessions != null ? sessions : NO_SESSIONS;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerWheel.close();
+        sessionsById.values().forEach(chatSession -> chatSession.close(CloseStatus.GOING_AWAY));
+        writers.shutdown();
+        try {
+            writers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void removeFromRoom(ChatSession chatSession, long roomId) {
+        boolean[] last = new boolean[1];
+        sessionsByRoom.compute(roomId, (id, current) -> {
+            ChatSession[] updated = without(current, chatSession);
+            last[0] = current != null && updated == null;
+            return updated;
+        });
+        if (last[0]) {
+            eventPublisher.publishEvent(new RoomSubscriptionEvent(roomId, false));
+        }
+    }
+
+    private int deliver(ChatSession[] recipients, WebSocketMessage<?> message) {
+        if (recipients == null) {
+            return 0;
+        }
+        int queued = 0;
+        for (ChatSession recipient : recipients) {
+            if (offer(recipient, message)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private boolean offer(ChatSession recipient, WebSocketMessage<?> message) {
+        if (recipient.enqueue(message)) {
+            return true;
+        }
+        if (recipient.isOpen()) {
+            // The client is not draining its socket; disconnect it so it can resync on reconnect
+            messagesDropped.increment();
+            slowConsumerEvictions.increment();
+            evict(recipient, CloseStatus.SESSION_NOT_RELIABLE.withReason("Outbound queue full"));
+        }
+        return false;
+    }
+
+    /**
+     * One timeout per session, rescheduled each interval: ping quiet clients, evict silent ones
+     */
+    private void scheduleHeartbeat(ChatSession chatSession) {
+        chatSession.setHeartbeat(timerWheel.schedule(() -> checkHeartbeat(chatSession),
+                settings.getHeartbeatIntervalMs()));
+    }
+
+    private void checkHeartbeat(ChatSession chatSession) {
+        if (!chatSession.isOpen()) {
+            unregister(chatSession.getId());
+            return;
+        }
+        long idle = System.currentTimeMillis() - chatSession.getLastActivityAt();
+        if (idle >= settings.getIdleTimeoutMs()) {
+            idleEvictions.increment();
+            evict(chatSession, CloseStatus.SESSION_NOT_RELIABLE.withReason("Idle timeout"));
+            return;
+        }
+        if (idle >= settings.getHeartbeatIntervalMs()) {
+            chatSession.enqueue(PING);
+        }
+        scheduleHeartbeat(chatSession);
+    }
+
+    private void evict(ChatSession chatSession, CloseStatus status) {
+        if (chatSession.close(status)) {
+            log.debug("Evicted session {} of user {}: {}", chatSession.getId(), chatSession.getUserId(),
+                    status.getReason());
+        }
+        unregister(chatSession.getId());
+    }
+
+    /**
+     * Bound how long a writer thread can be stuck on one client's socket; a send that times out
+     * closes that session, so a few stalled clients cannot hold every writer for long
+     */
+    private void limitBlockingSends(WebSocketSession session) {
+        if (session instanceof StandardWebSocketSession standard) {
+            standard.getNativeSession().getUserProperties().put(TOMCAT_SEND_TIMEOUT, settings.getSendTimeLimitMs());
+        }
+    }
+
+    private static ChatSession[] append(ChatSession[] current, ChatSession chatSession) {
+        if (current == null) {
+            return new ChatSession[] { chatSession };
+        }
+        ChatSession[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = chatSession;
+        return updated;
+    }
+
+    private static ChatSession[] without(ChatSession[] current, ChatSession chatSession) {
+        if (current == null) {
+            return null;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == chatSession) {
+                if (current.length == 1) {
+                    return null;
+                }
+                ChatSession[] updated = new ChatSession[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                return updated;
+            }
+        }
+        return current;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
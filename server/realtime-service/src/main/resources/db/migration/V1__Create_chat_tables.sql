@@ -0,0 +1,80 @@
+-- Create chat rooms table
+CREATE TABLE IF NOT EXISTS chat_rooms (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    room_type VARCHAR(255) NOT NULL,
+    created_by_user_id BIGINT NOT NULL,
+    faculty_id BIGINT,
+    max_members INTEGER,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    is_private BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_activity_at TIMESTAMP
+);
+
+CREATE INDEX idx_chat_rooms_type ON chat_rooms(room_type);
+CREATE INDEX idx_chat_rooms_created ON chat_rooms(created_at);
+CREATE INDEX idx_chat_rooms_active ON chat_rooms(is_active);
+CREATE INDEX idx_chat_rooms_last_activity ON chat_rooms(last_activity_at);
+
+-- Create chat room members table
+CREATE TABLE IF NOT EXISTS chat_room_members (
+    id BIGSERIAL PRIMARY KEY,
+    chat_room_id BIGINT NOT NULL REFERENCES chat_rooms(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL,
+    member_role VARCHAR(255) NOT NULL DEFAULT 'MEMBER',
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    is_muted BOOLEAN NOT NULL DEFAULT FALSE,
+    joined_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_read_at TIMESTAMP,
+    left_at TIMESTAMP,
+    CONSTRAINT uk_chat_room_member UNIQUE (chat_room_id, user_id)
+);
+
+CREATE INDEX idx_chat_room_members_room ON chat_room_members(chat_room_id);
+CREATE INDEX idx_chat_room_members_user ON chat_room_members(user_id);
+CREATE INDEX idx_chat_room_members_role ON chat_room_members(member_role);
+CREATE INDEX idx_chat_room_members_active ON chat_room_members(is_active);
+
+-- Create messages table; ids are Snowflake ids assigned by the service, not a sequence
+CREATE TABLE IF NOT EXISTS messages (
+    id BIGINT PRIMARY KEY,
+    chat_room_id BIGINT NOT NULL REFERENCES chat_rooms(id) ON DELETE CASCADE,
+    sender_user_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    message_type VARCHAR(255) NOT NULL DEFAULT 'TEXT',
+    reply_to_message_id BIGINT,
+    media_url TEXT,
+    media_type VARCHAR(255),
+    media_size BIGINT,
+    is_edited BOOLEAN NOT NULL DEFAULT FALSE,
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    edited_at TIMESTAMP,
+    deleted_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_messages_chat_room ON messages(chat_room_id);
+CREATE INDEX idx_messages_sender ON messages(sender_user_id);
+CREATE INDEX idx_messages_created ON messages(created_at);
+CREATE INDEX idx_messages_type ON messages(message_type);
+CREATE INDEX idx_messages_room_created ON messages(chat_room_id, created_at);
+CREATE INDEX idx_messages_reply ON messages(reply_to_message_id);
+
+-- Create message reactions table
+CREATE TABLE IF NOT EXISTS message_reactions (
+    id BIGSERIAL PRIMARY KEY,
+    message_id BIGINT NOT NULL REFERENCES messages(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL,
+    emoji VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_message_reaction UNIQUE (message_id, user_id, emoji)
+);
+
+CREATE INDEX idx_message_reactions_message ON message_reactions(message_id);
+CREATE INDEX idx_message_reactions_user ON message_reactions(user_id);
+CREATE INDEX idx_message_reactions_emoji ON message_reactions(emoji);
+CREATE INDEX idx_message_reactions_created ON message_reactions(created_at);
@@ -0,0 +1,113 @@
+-- Replace messages and message_reactions with monthly range-partitioned tables.
+-- Message ids are Snowflake ids whose high bits are milliseconds since 2024-01-01 UTC, so each
+-- month is one contiguous id range: messages are partitioned by id and reactions by message_id
+-- with identical bounds, so a month of messages and its reactions can be archived together.
+-- Old months are moved to compressed files by MessageArchiver and their partitions dropped.
+ALTER TABLE message_reactions RENAME TO message_reactions_legacy;
+ALTER TABLE message_reactions_legacy RENAME CONSTRAINT message_reactions_pkey TO message_reactions_legacy_pkey;
+ALTER TABLE message_reactions_legacy RENAME CONSTRAINT uk_message_reaction TO uk_message_reaction_legacy;
+ALTER INDEX idx_message_reactions_message RENAME TO idx_message_reactions_legacy_message;
+ALTER INDEX idx_message_reactions_user RENAME TO idx_message_reactions_legacy_user;
+ALTER INDEX idx_message_reactions_emoji RENAME TO idx_message_reactions_legacy_emoji;
+ALTER INDEX idx_message_reactions_created RENAME TO idx_message_reactions_legacy_created;
+ALTER SEQUENCE message_reactions_id_seq OWNED BY NONE;
+
+ALTER TABLE messages RENAME TO messages_legacy;
+ALTER TABLE messages_legacy RENAME CONSTRAINT messages_pkey TO messages_legacy_pkey;
+ALTER INDEX idx_messages_chat_room RENAME TO idx_messages_legacy_chat_room;
+ALTER INDEX idx_messages_sender RENAME TO idx_messages_legacy_sender;
+ALTER INDEX idx_messages_created RENAME TO idx_messages_legacy_created;
+ALTER INDEX idx_messages_type RENAME TO idx_messages_legacy_type;
+ALTER INDEX idx_messages_room_created RENAME TO idx_messages_legacy_room_created;
+ALTER INDEX idx_messages_reply RENAME TO idx_messages_legacy_reply;
+
+CREATE TABLE messages (
+    id BIGINT NOT NULL,                       -- Snowflake id, time-ordered
+    chat_room_id BIGINT NOT NULL REFERENCES chat_rooms(id) ON DELETE CASCADE,
+    sender_user_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    message_type VARCHAR(255) NOT NULL DEFAULT 'TEXT',
+    reply_to_message_id BIGINT,
+    media_url TEXT,
+    media_type VARCHAR(255),
+    media_size BIGINT,
+    is_edited BOOLEAN NOT NULL DEFAULT FALSE,
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    edited_at TIMESTAMP,
+    deleted_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) PARTITION BY RANGE (id);
+
+-- Catches rows outside every monthly partition so inserts never fail
+CREATE TABLE messages_default PARTITION OF messages DEFAULT;
+
+-- Room history keyset scans; the id already orders by time, so created_at needs no index
+CREATE INDEX idx_messages_room_id ON messages(chat_room_id, id DESC);
+CREATE INDEX idx_messages_sender ON messages(sender_user_id);
+CREATE INDEX idx_messages_reply ON messages(reply_to_message_id) WHERE reply_to_message_id IS NOT NULL;
+
+-- No foreign key to messages: a month of reactions is archived and dropped together with its messages
+CREATE TABLE message_reactions (
+    id BIGINT NOT NULL DEFAULT nextval('message_reactions_id_seq'),
+    message_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    emoji VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, message_id),
+    CONSTRAINT uk_message_reaction UNIQUE (message_id, user_id, emoji)
+) PARTITION BY RANGE (message_id);
+
+ALTER SEQUENCE message_reactions_id_seq OWNED BY message_reactions.id;
+
+CREATE TABLE message_reactions_default PARTITION OF message_reactions DEFAULT;
+
+CREATE INDEX idx_message_reactions_user ON message_reactions(user_id);
+
+-- Monthly partitions from last month through two months ahead (MessagePartitionManager keeps this going).
+-- Legacy rows keep their small IDENTITY ids, which sort below every Snowflake id of these months, so
+-- they land in the default partitions and stay there: they are never archived by month.
+DO $$
+DECLARE
+    month_start DATE := GREATEST(DATE '2024-01-01', (date_trunc('month', now()) - INTERVAL '1 month')::date);
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '2 months')::date;
+    lower_id BIGINT;
+    upper_id BIGINT;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        lower_id := ((extract(epoch FROM month_start::timestamp) * 1000)::bigint - 1704067200000) << 22;
+        upper_id := ((extract(epoch FROM (month_start + INTERVAL '1 month')::timestamp) * 1000)::bigint - 1704067200000) << 22;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF messages FOR VALUES FROM (%s) TO (%s)',
+                'messages_' || to_char(month_start, 'YYYY_MM'), lower_id, upper_id);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF message_reactions FOR VALUES FROM (%s) TO (%s)',
+                'message_reactions_' || to_char(month_start, 'YYYY_MM'), lower_id, upper_id);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO messages (id, chat_room_id, sender_user_id, content, message_type, reply_to_message_id, media_url,
+                      media_type, media_size, is_edited, is_deleted, edited_at, deleted_at, created_at, updated_at)
+SELECT id, chat_room_id, sender_user_id, content, message_type, reply_to_message_id, media_url,
+       media_type, media_size, is_edited, is_deleted, edited_at, deleted_at, created_at, updated_at
+FROM messages_legacy;
+
+INSERT INTO message_reactions (id, message_id, user_id, emoji, created_at)
+SELECT id, message_id, user_id, emoji, created_at
+FROM message_reactions_legacy;
+
+DROP TABLE message_reactions_legacy;
+DROP TABLE messages_legacy;
+
+-- Months moved out of Postgres into compressed columnar files
+CREATE TABLE IF NOT EXISTS message_archives (
+    id BIGSERIAL PRIMARY KEY,
+    month DATE NOT NULL UNIQUE,
+    min_message_id BIGINT NOT NULL,
+    max_message_id BIGINT NOT NULL,               -- exclusive
+    messages_file TEXT NOT NULL,
+    reactions_file TEXT NOT NULL,
+    message_count BIGINT NOT NULL,
+    reaction_count BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
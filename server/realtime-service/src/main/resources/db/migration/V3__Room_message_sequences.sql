@@ -0,0 +1,29 @@
+-- Per-room message sequence numbers so unread counts are a subtraction instead of a COUNT(*).
+-- chat_rooms.message_seq is the sequence of the room's newest message, advanced by the message
+-- writer in the same statement that touches last_activity_at; every message stores its own
+-- room_seq, and each member stores the highest sequence they have read.
+ALTER TABLE chat_rooms ADD COLUMN message_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE chat_room_members ADD COLUMN last_read_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE messages ADD COLUMN room_seq BIGINT;
+
+-- Number the messages still in Postgres; archived months keep no sequence and count as read
+UPDATE messages m SET room_seq = s.seq
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY chat_room_id ORDER BY id) AS seq FROM messages) s
+WHERE m.id = s.id;
+
+UPDATE chat_rooms c SET message_seq = s.max_seq
+FROM (SELECT chat_room_id, MAX(room_seq) AS max_seq FROM messages GROUP BY chat_room_id) s
+WHERE c.id = s.chat_room_id;
+
+-- Carry existing read positions over from last_read_at
+UPDATE chat_room_members cm SET last_read_seq = s.read_seq
+FROM (
+    SELECT cm2.id, MAX(m.room_seq) AS read_seq
+    FROM chat_room_members cm2
+    JOIN messages m ON m.chat_room_id = cm2.chat_room_id AND m.created_at <= cm2.last_read_at
+    GROUP BY cm2.id
+) s
+WHERE cm.id = s.id;
+
+-- Unread totals for one user read every active membership with its room's sequence
+CREATE INDEX idx_chat_room_members_user_active ON chat_room_members(user_id, chat_room_id) WHERE is_active = TRUE;
@@ -0,0 +1,14 @@
+-- Per-message reaction counts as a JSON object of emoji to count, e.g. {"👍": 3, "❤️": 1}, so
+-- history pages render reaction chips without grouping message_reactions. Rows in
+-- message_reactions stay the record of who reacted; ReactionAggregator folds their changes into
+-- this column in batches. NULL means no reactions.
+ALTER TABLE messages ADD COLUMN reaction_summary TEXT;
+
+UPDATE messages m SET reaction_summary = s.summary
+FROM (
+    SELECT message_id, jsonb_object_agg(emoji, n)::text AS summary
+    FROM (SELECT message_id, emoji, COUNT(*) AS n FROM message_reactions GROUP BY message_id, emoji) c
+    GROUP BY message_id
+) s
+WHERE m.id = s.message_id;
+
@@ -0,0 +1,10 @@
+-- Full-text search over message content. search_vector is filled in asynchronously by
+-- MessageSearchIndexer with the 'simple' configuration (lower-cased words, no stemming or stop
+-- words, so names and course codes match as typed); NULL means not indexed yet. Existing rows
+-- start out NULL and are indexed in the background, so this migration does not rewrite the table.
+ALTER TABLE messages ADD COLUMN search_vector TSVECTOR;
+
+CREATE INDEX idx_messages_search_vector ON messages USING GIN (search_vector);
+
+-- Work queue for the indexer: only rows still waiting to be indexed, so it stays small
+CREATE INDEX idx_messages_unindexed ON messages (id) WHERE search_vector IS NULL AND is_deleted = FALSE;
@@ -0,0 +1,21 @@
+-- A new member starts with everything already in the room read, rather than the whole history
+-- unread: last_read_seq is set to the room's current message_seq when the membership is created,
+-- and again when a member who left is reactivated. An explicit non-zero value is kept.
+CREATE OR REPLACE FUNCTION chat_room_members_start_read_position() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' AND NEW.last_read_seq <> 0 THEN
+        RETURN NEW;
+    END IF;
+    NEW.last_read_seq := COALESCE((SELECT message_seq FROM chat_rooms WHERE id = NEW.chat_room_id), 0);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_chat_room_members_read_on_insert
+    BEFORE INSERT ON chat_room_members
+    FOR EACH ROW EXECUTE FUNCTION chat_room_members_start_read_position();
+
+CREATE TRIGGER trg_chat_room_members_read_on_rejoin
+    BEFORE UPDATE OF is_active ON chat_room_members
+    FOR EACH ROW WHEN (OLD.is_active = FALSE AND NEW.is_active = TRUE)
+    EXECUTE FUNCTION chat_room_members_start_read_position();
@@ -0,0 +1,9 @@
+-- Search always filters by the caller's rooms, so index the room alongside the text: with
+-- btree_gin the GIN index can hold chat_room_id next to search_vector, and a query for a few
+-- rooms intersects their postings instead of reading every room's matches for the words.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_messages_room_search_vector ON messages USING GIN (chat_room_id, search_vector);
+
+-- Every search now names its rooms, which the composite index serves
+DROP INDEX IF EXISTS idx_messages_search_vector;
@@ -0,0 +1,262 @@
+package com.raved.realtime.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes archives with ColumnarArchiveWriter and reads them back with ColumnarArchiveReader, so a
+ * change to either side of the format that would make archived history unreadable fails here.
+ */
+class ColumnarArchiveRoundTripTest {
+
+    private static final List<ArchiveColumn> COLUMNS = List.of(
+            new ArchiveColumn("chat_room_id", ColumnType.LONG),
+            new ArchiveColumn("id", ColumnType.LONG),
+            new ArchiveColumn("content", ColumnType.STRING),
+            new ArchiveColumn("is_deleted", ColumnType.BOOLEAN),
+            new ArchiveColumn("created_at", ColumnType.TIMESTAMP),
+            new ArchiveColumn("reply_to_message_id", ColumnType.LONG));
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryTypeIncludingNulls() throws IOException {
+        Path file = dir.resolve("messages.rvarch");
+        List<Object[]> rows = rows();
+        write(file, COLUMNS, 7, rows);
+
+        try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+            assertEquals(COLUMNS.size(), reader.getColumns().size());
+            for (int c = 0; c < COLUMNS.size(); c++) {
+                assertEquals(COLUMNS.get(c).getName(), reader.getColumns().get(c).getName());
+                assertEquals(COLUMNS.get(c).getType(), reader.getColumns().get(c).getType());
+            }
+            assertEquals((rows.size() + 6) / 7, reader.getRowGroups().size());
+
+            int[] all = { 0, 1, 2, 3, 4, 5 };
+            int r = 0;
+            for (ColumnarArchiveReader.RowGroup group : reader.getRowGroups()) {
+                Object[][] columns = reader.read(group, all);
+                for (int g = 0; g < group.getRowCount(); g++, r++) {
+                    for (int c = 0; c < all.length; c++) {
+                        assertEquals(rows.get(r)[c], columns[c][g], "row " + r + " column " + c);
+                    }
+                }
+            }
+            assertEquals(rows.size(), r);
+        }
+        assertFalse(Files.exists(dir.resolve("messages.rvarch.tmp")));
+    }
+
+    @Test
+    void projectionReadsColumnsInRequestedOrder() throws IOException {
+        Path file = dir.resolve("messages.rvarch");
+        List<Object[]> rows = rows();
+        write(file, COLUMNS, 1000, rows);
+
+        try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+            ColumnarArchiveReader.RowGroup group = reader.getRowGroups().get(0);
+            Object[][] columns = reader.read(group, 4, 1);
+            for (int r = 0; r < rows.size(); r++) {
+                assertEquals(rows.get(r)[4], columns[0][r]);
+                assertEquals(rows.get(r)[1], columns[1][r]);
+            }
+        }
+    }
+
+    @Test
+    void rowGroupStatisticsSkipGroupsWithoutTheRoom() throws IOException {
+        Path file = dir.resolve("messages.rvarch");
+        List<Object[]> rows = rows();
+        write(file, COLUMNS, 5, rows);
+
+        try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+            int roomColumn = reader.columnIndex("chat_room_id");
+            int idColumn = reader.columnIndex("id");
+            int replyColumn = reader.columnIndex("reply_to_message_id");
+            int timeColumn = reader.columnIndex("created_at");
+
+            int start = 0;
+            for (ColumnarArchiveReader.RowGroup group : reader.getRowGroups()) {
+                List<Object[]> slice = rows.subList(start, start + group.getRowCount());
+                start += group.getRowCount();
+                assertEquals(minOf(slice, 0), group.min(roomColumn));
+                assertEquals(maxOf(slice, 0), group.max(roomColumn));
+                assertEquals(minOf(slice, 1), group.min(idColumn));
+                assertEquals(maxOf(slice, 1), group.max(idColumn));
+                assertEquals(minOf(slice, 5), group.min(replyColumn));
+                assertEquals(maxOf(slice, 5), group.max(replyColumn));
+                assertEquals(microsOf(slice, 4, Long.MAX_VALUE, Math::min), group.min(timeColumn));
+                assertEquals(microsOf(slice, 4, Long.MIN_VALUE, Math::max), group.max(timeColumn));
+            }
+
+            // Mirror MessageArchiveStore: only groups whose room range covers the room are decoded
+            for (long room = 1; room <= 4; room++) {
+                List<Long> expected = new ArrayList<>();
+                for (Object[] row : rows) {
+                    if ((Long) row[0] == room) {
+                        expected.add((Long) row[1]);
+                    }
+                }
+                List<Long> found = new ArrayList<>();
+                int decoded = 0;
+                for (ColumnarArchiveReader.RowGroup group : reader.getRowGroups()) {
+                    if (group.max(roomColumn) < room || group.min(roomColumn) > room) {
+                        continue;
+                    }
+                    decoded++;
+                    Object[][] keys = reader.read(group, roomColumn, idColumn);
+                    for (int r = 0; r < group.getRowCount(); r++) {
+                        if ((Long) keys[0][r] == room) {
+                            found.add((Long) keys[1][r]);
+                        }
+                    }
+                }
+                assertEquals(expected, found, "room " + room);
+                assertTrue(decoded < reader.getRowGroups().size(), "room " + room + " decoded every group");
+            }
+        }
+    }
+
+    @Test
+    void allNullColumnHasEmptyStatistics() throws IOException {
+        Path file = dir.resolve("nulls.rvarch");
+        List<ArchiveColumn> columns = List.of(
+                new ArchiveColumn("id", ColumnType.LONG),
+                new ArchiveColumn("edited_at", ColumnType.TIMESTAMP));
+        List<Object[]> rows = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            rows.add(new Object[] { i, null });
+        }
+        write(file, columns, 8, rows);
+
+        try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+            for (ColumnarArchiveReader.RowGroup group : reader.getRowGroups()) {
+                assertEquals(Long.MAX_VALUE, group.min(1));
+                assertEquals(Long.MIN_VALUE, group.max(1));
+                Object[][] values = reader.read(group, 1);
+                for (Object value : values[0]) {
+                    assertNull(value);
+                }
+            }
+        }
+    }
+
+    @Test
+    void olderFileReportsMissingColumns() throws IOException {
+        Path file = dir.resolve("old.rvarch");
+        List<ArchiveColumn> older = COLUMNS.subList(0, 4);
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] row : rows()) {
+            rows.add(new Object[] { row[0], row[1], row[2], row[3] });
+        }
+        write(file, older, 6, rows);
+
+        try (ColumnarArchiveReader reader = ColumnarArchiveReader.open(file)) {
+            assertEquals(-1, reader.columnIndex("created_at"));
+            assertEquals(-1, reader.columnIndex("reply_to_message_id"));
+            assertEquals(-1, reader.columnIndex("room_seq"));
+            assertEquals(2, reader.columnIndex("content"));
+
+            int r = 0;
+            for (ColumnarArchiveReader.RowGroup group : reader.getRowGroups()) {
+                Object[][] columns = reader.read(group, 0, 1, 2, 3);
+                for (int g = 0; g < group.getRowCount(); g++, r++) {
+                    Object[] row = new Object[] { columns[0][g], columns[1][g], columns[2][g], columns[3][g] };
+                    assertArrayEquals(rows.get(r), row);
+                }
+            }
+            assertEquals(rows.size(), r);
+        }
+    }
+
+    @Test
+    void abortLeavesNoFileBehind() throws IOException {
+        Path file = dir.resolve("aborted.rvarch");
+        ColumnarArchiveWriter writer = new ColumnarArchiveWriter(file, COLUMNS, 4);
+        for (Object[] row : rows().subList(0, 10)) {
+            writer.append(row);
+        }
+        writer.abort();
+
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("aborted.rvarch.tmp")));
+    }
+
+    /**
+     * Rows sorted by (chat_room_id, id DESC) like the messages archive, with nulls scattered
+     * through every nullable column and values that exercise negative deltas and multi-byte UTF-8
+     */
+    private static List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>();
+        long id = 10_000;
+        for (long room = 1; room <= 4; room++) {
+            int count = room == 3 ? 1 : 9 + (int) room;
+            for (int i = 0; i < count; i++, id -= 37) {
+                String content = i % 4 == 0 ? null : "msg " + room + "-" + i + (i % 3 == 0 ? " é中😀" : "");
+                Boolean deleted = i % 5 == 0 ? null : i % 2 == 0;
+                LocalDateTime createdAt = i % 6 == 5 ? null : BASE.plusSeconds(i * 61L).plusNanos(i * 1_000L);
+                Long replyTo = i % 3 == 1 ? id + 5 : null;
+                rows.add(new Object[] { room, id, content, deleted, createdAt, replyTo });
+            }
+        }
+        return rows;
+    }
+
+    private static void write(Path file, List<ArchiveColumn> columns, int rowGroupSize, List<Object[]> rows)
+            throws IOException {
+        try (ColumnarArchiveWriter writer = new ColumnarArchiveWriter(file, columns, rowGroupSize)) {
+            for (Object[] row : rows) {
+                writer.append(row);
+            }
+            assertEquals(rows.size(), writer.getRowCount());
+        }
+    }
+
+    private static long minOf(List<Object[]> rows, int column) {
+        long min = Long.MAX_VALUE;
+        for (Object[] row : rows) {
+            if (row[column] != null) {
+                min = Math.min(min, (Long) row[column]);
+            }
+        }
+        return min;
+    }
+
+    private static long maxOf(List<Object[]> rows, int column) {
+        long max = Long.MIN_VALUE;
+        for (Object[] row : rows) {
+            if (row[column] != null) {
+                max = Math.max(max, (Long) row[column]);
+            }
+        }
+        return max;
+    }
+
+    private static long microsOf(List<Object[]> rows, int column, long identity, LongBinaryOperator op) {
+        long result = identity;
+        for (Object[] row : rows) {
+            if (row[column] != null) {
+                result = op.applyAsLong(result, ColumnarArchiveWriter.toMicros((LocalDateTime) row[column]));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,252 @@
+package com.raved.realtime.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.realtime.config.RealtimeServiceConfig;
+import com.raved.realtime.dto.response.MessageResponse;
+import com.raved.realtime.websocket.BroadcastFrame;
+import com.raved.realtime.websocket.ChatSession;
+import com.raved.realtime.websocket.FrameEncoder;
+import com.raved.realtime.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadcast throughput against room size, in messages per second delivered to every member.
+ *
+ * Runs the real session manager and writer pool against in-memory sessions that encode text
+ * frames to UTF-8 the way the container does, and compares serializing the response once per
+ * recipient with one shared frame (plain, and deflated for clients that opted in).
+ *
+ * Run with: mvn -q -pl realtime-service test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.raved.realtime.benchmark.BroadcastBenchmark [-Dexec.args="10 100 500 1000 5000"]
+ */
+public class BroadcastBenchmark {
+
+    private static final long DELIVERIES_PER_RUN = 2_000_000;
+    private static final long ROOM_ID = 1L;
+
+    public static void main(String[] args) throws Exception {
+        int[] roomSizes = args.length > 0 ? parse(args) : new int[] { 10, 100, 500, 1000, 5000 };
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        MessageResponse message = sampleMessage(2048);
+
+        System.out.printf("%10s %14s %14s %14s %9s%n", "room size", "naive msg/s", "once msg/s", "deflate msg/s", "speedup");
+        for (int roomSize : roomSizes) {
+            int messages = (int) Math.max(200, DELIVERIES_PER_RUN / roomSize);
+            double naive = run(roomSize, messages, objectMapper, message, Mode.NAIVE);
+            double once = run(roomSize, messages, objectMapper, message, Mode.ONCE);
+            double deflate = run(roomSize, messages, objectMapper, message, Mode.DEFLATE);
+            System.out.printf("%10d %14.0f %14.0f %14.0f %8.1fx%n", roomSize, naive, once, deflate, once / naive);
+        }
+    }
+
+    private enum Mode { NAIVE, ONCE, DEFLATE }
+
+    private static double run(int roomSize, int messages, ObjectMapper objectMapper, MessageResponse message,
+                              Mode mode) throws Exception {
+        RealtimeServiceConfig config = new RealtimeServiceConfig();
+        config.getWebsocket().setOutboundQueueCapacity(messages);
+        config.getWebsocket().getCompression().setMinRoomSize(1);
+        config.getWebsocket().getCompression().setMinFrameBytes(0);
+        FrameEncoder encoder = new FrameEncoder(objectMapper, config);
+        WebSocketSessionManager manager = new WebSocketSessionManager(config, encoder, event -> { },
+                new SimpleMeterRegistry());
+        List<CountingSession> sockets = new ArrayList<>(roomSize);
+        try {
+            for (int i = 0; i < roomSize; i++) {
+                CountingSession socket = new CountingSession("bench-" + i);
+                sockets.add(socket);
+                ChatSession chatSession = manager.register(socket, i);
+                manager.joinRoom(chatSession, ROOM_ID);
+                chatSession.setAcceptsDeflate(mode == Mode.DEFLATE);
+            }
+
+            // Warm up the encoder and the writer pool, then measure
+            broadcast(manager, objectMapper, encoder, message, Math.min(messages, 50), mode);
+            awaitDeliveries(sockets, Math.min(messages, 50));
+
+            long start = System.nanoTime();
+            broadcast(manager, objectMapper, encoder, message, messages - Math.min(messages, 50), mode);
+            awaitDeliveries(sockets, messages);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return (messages - Math.min(messages, 50)) / seconds;
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    private static void broadcast(WebSocketSessionManager manager, ObjectMapper objectMapper, FrameEncoder encoder,
+                                  MessageResponse message, int count, Mode mode) throws Exception {
+        for (int i = 0; i < count; i++) {
+            if (mode == Mode.NAIVE) {
+                for (ChatSession recipient : manager.getRoomSessions(ROOM_ID)) {
+                    recipient.enqueue(new TextMessage(objectMapper.writeValueAsString(message)));
+                }
+            } else {
+                BroadcastFrame frame = encoder.encode(message);
+                manager.broadcastToRoom(ROOM_ID, frame);
+            }
+        }
+    }
+
+    private static void awaitDeliveries(List<CountingSession> sockets, long perSession) throws InterruptedException {
+        for (CountingSession socket : sockets) {
+            while (socket.received() < perSession) {
+                Thread.onSpinWait();
+                if (!socket.isOpen()) {
+                    throw new IllegalStateException("Session " + socket.getId() + " was evicted");
+                }
+            }
+        }
+    }
+
+    private static MessageResponse sampleMessage(int contentLength) {
+        StringBuilder content = new StringBuilder(contentLength);
+        String words = "the quick brown fox jumps over the lazy dog while the chat room keeps on talking ";
+        while (content.length() < contentLength) {
+            content.append(words);
+        }
+        MessageResponse message = new MessageResponse();
+        message.setId(123456789L);
+        message.setChatRoomId(ROOM_ID);
+        message.setSenderUserId(42L);
+        message.setContent(content.substring(0, contentLength));
+        message.setMessageType("TEXT");
+        message.setIsEdited(false);
+        message.setIsDeleted(false);
+        message.setCreatedAt(LocalDateTime.now());
+        return message;
+    }
+
+    private static int[] parse(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+
+    /**
+     * In-memory session; only one writer drains a session at a time, as with a real socket
+     */
+    private static final class CountingSession implements WebSocketSession {
+        private final String id;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private volatile long received;
+        private volatile long bytes;
+        private volatile boolean open = true;
+
+        CountingSession(String id) {
+            this.id = id;
+        }
+
+        long received() {
+            return received;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            if (message instanceof TextMessage text) {
+                // The container encodes every text frame it writes
+                bytes += text.getPayload().getBytes(StandardCharsets.UTF_8).length;
+            } else if (message instanceof BinaryMessage binary) {
+                bytes += binary.getPayload().remaining();
+            }
+            received++;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
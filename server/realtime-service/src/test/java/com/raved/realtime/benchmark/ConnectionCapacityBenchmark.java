@@ -0,0 +1,191 @@
+package com.raved.realtime.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent-connection capacity and round-trip latency of a running instance, for comparing
+ * platform request threads with realtime.threads.virtual=true.
+ *
+ * Opens the requested number of WebSocket connections, then keeps every one of them busy with
+ * "subscribe" frames for the measured period. Each probe costs the handler a membership query
+ * through JPA, so a non-member's probe answered with an error measures the same blocking path and
+ * no test data is needed. Reports how many connections were accepted and survived, and the probe
+ * latency distribution. Run it against the same database once per mode and compare.
+ *
+ * Run with: mvn -q -pl realtime-service test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.raved.realtime.benchmark.ConnectionCapacityBenchmark
+ *     [-Dexec.args="ws://localhost:8084/ws/chat 5000 60 1 1000"]  (url, connections, seconds, room id, probe interval ms)
+ */
+public class ConnectionCapacityBenchmark {
+
+    private static final long FIRST_USER_ID = 1_000_000L;
+    private static final int MAX_CONCURRENT_HANDSHAKES = 200;
+    private static final long PROBE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "ws://localhost:8084/ws/chat");
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        long roomId = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        long probeIntervalMs = args.length > 4 ? Long.parseLong(args[4]) : 1000L;
+
+        HttpClient client = HttpClient.newHttpClient();
+        Latencies latencies = new Latencies();
+        List<Connection> opened = open(client, uri, connections, latencies);
+        System.out.printf("%-26s %d%n", "connections requested", connections);
+        System.out.printf("%-26s %d (%d failed)%n", "connections opened", opened.size(), connections - opened.size());
+
+        String probe = "{\"type\":\"subscribe\",\"roomId\":" + roomId + "}";
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        AtomicLong timeouts = new AtomicLong();
+        scheduler.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            for (Connection connection : opened) {
+                connection.probe(probe, now, timeouts);
+            }
+        }, 0, probeIntervalMs, TimeUnit.MILLISECONDS);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        scheduler.shutdownNow();
+
+        long open = opened.stream().filter(connection -> connection.open).count();
+        System.out.printf("%-26s %d%n", "connections open at end", open);
+        System.out.printf("%-26s %d (%d timed out)%n", "probes answered", latencies.count(), timeouts.get());
+        System.out.printf("%-26s %.1f / %.1f / %.1f / %.1f%n", "latency p50/p99/p99.9/max ms",
+                latencies.percentile(0.50), latencies.percentile(0.99), latencies.percentile(0.999),
+                latencies.percentile(1.0));
+
+        for (Connection connection : opened) {
+            connection.close();
+        }
+    }
+
+    private static List<Connection> open(HttpClient client, URI uri, int connections, Latencies latencies)
+            throws InterruptedException {
+        Semaphore handshakes = new Semaphore(MAX_CONCURRENT_HANDSHAKES);
+        List<CompletableFuture<Connection>> pending = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            handshakes.acquire();
+            Connection connection = new Connection(latencies);
+            CompletableFuture<Connection> future = client.newWebSocketBuilder()
+                    .header("X-User-Id", Long.toString(FIRST_USER_ID + i))
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .buildAsync(uri, connection)
+                    .thenApply(webSocket -> connection)
+                    .whenComplete((result, error) -> handshakes.release());
+            pending.add(future);
+        }
+        List<Connection> opened = new ArrayList<>(connections);
+        for (CompletableFuture<Connection> future : pending) {
+            Connection connection = future.exceptionally(error -> null).join();
+            if (connection != null) {
+                opened.add(connection);
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * One client connection with at most one probe in flight
+     */
+    private static final class Connection implements WebSocket.Listener {
+        private final Latencies latencies;
+        private final AtomicLong sentAt = new AtomicLong();
+        private volatile WebSocket webSocket;
+        private volatile boolean open;
+
+        Connection(Latencies latencies) {
+            this.latencies = latencies;
+        }
+
+        void probe(String frame, long now, AtomicLong timeouts) {
+            if (!open) {
+                return;
+            }
+            long previous = sentAt.get();
+            if (previous != 0 && now - previous < PROBE_TIMEOUT_NANOS) {
+                return;
+            }
+            if (previous != 0) {
+                timeouts.incrementAndGet();
+            }
+            if (sentAt.compareAndSet(previous, now)) {
+                webSocket.sendText(frame, true);
+            }
+        }
+
+        void close() {
+            if (open) {
+                webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+            }
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            this.open = true;
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (last) {
+                long started = sentAt.getAndSet(0);
+                if (started != 0) {
+                    latencies.add(System.nanoTime() - started);
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            open = false;
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            open = false;
+        }
+    }
+
+    private static final class Latencies {
+        private long[] nanos = new long[1 << 16];
+        private int size;
+
+        synchronized void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        synchronized int count() {
+            return size;
+        }
+
+        synchronized double percentile(double quantile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(quantile * size) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
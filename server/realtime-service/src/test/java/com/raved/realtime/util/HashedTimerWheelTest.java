@@ -0,0 +1,91 @@
+package com.raved.realtime.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimerWheelTest {
+
+    // 8 buckets of 10 ms: one revolution is 80 ms
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel("test-timer-wheel", TICK_MILLIS, WHEEL_SIZE);
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void timeoutSpanningSeveralRevolutionsWaitsForItsRound() throws InterruptedException {
+        long[] delays = { 5, 85, 250, 330 };
+        CountDownLatch fired = new CountDownLatch(delays.length);
+        AtomicLong early = new AtomicLong(-1);
+        for (long delay : delays) {
+            long start = System.nanoTime();
+            wheel.schedule(() -> {
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+                    early.set(delay);
+                }
+                fired.countDown();
+            }, delay);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS), "not every timeout fired");
+        assertTrue(early.get() < 0, "timeout of " + early.get() + " ms fired early");
+    }
+
+    @Test
+    void longTimeoutSharingABucketDoesNotFireWithEarlierRound() throws InterruptedException {
+        // 30 ms and 270 ms land in the same bucket three revolutions apart
+        CountDownLatch shortFired = new CountDownLatch(1);
+        CountDownLatch longFired = new CountDownLatch(1);
+        wheel.schedule(shortFired::countDown, 30);
+        wheel.schedule(longFired::countDown, 270);
+
+        assertTrue(shortFired.await(2, TimeUnit.SECONDS));
+        assertFalse(longFired.await(100, TimeUnit.MILLISECONDS), "long timeout fired a revolution early");
+        assertTrue(longFired.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTimeoutsNeverRun() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Cancelled before the worker moves it from the pending queue into a bucket
+        HashedTimerWheel.Timeout beforeTransfer = wheel.schedule(() -> ran.set(true), 20);
+        beforeTransfer.cancel();
+
+        // Cancelled while parked in a bucket with rounds still to go
+        HashedTimerWheel.Timeout inBucket = wheel.schedule(() -> ran.set(true), 250);
+        Thread.sleep(120);
+        inBucket.cancel();
+
+        CountDownLatch sentinel = new CountDownLatch(1);
+        wheel.schedule(sentinel::countDown, 300);
+        assertTrue(sentinel.await(5, TimeUnit.SECONDS));
+
+        assertTrue(beforeTransfer.isCancelled());
+        assertTrue(inBucket.isCancelled());
+        assertFalse(ran.get(), "a cancelled timeout ran");
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        wheel.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 10);
+        CountDownLatch after = new CountDownLatch(1);
+        wheel.schedule(after::countDown, 100);
+
+        assertTrue(after.await(2, TimeUnit.SECONDS));
+    }
+}
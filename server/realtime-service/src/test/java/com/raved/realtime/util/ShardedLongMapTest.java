@@ -0,0 +1,151 @@
+package com.raved.realtime.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShardedLongMapTest {
+
+    /**
+     * Keys whose home slots coincide for every table size up to 1024, so they form one long probe
+     * chain that backward-shift deletion and rehash have to keep intact; the wrapping group sits
+     * in the last slot so its chain runs past the end of the table
+     */
+    private static List<Long> collidingKeys(int home, int count) {
+        List<Long> keys = new ArrayList<>(count);
+        for (long k = 1; keys.size() < count; k++) {
+            if (((ShardedLongMap.mix(k) >>> 8) & 1023) == home) {
+                keys.add(k);
+            }
+        }
+        return keys;
+    }
+
+    private static List<Long> pool() {
+        List<Long> pool = new ArrayList<>();
+        pool.addAll(collidingKeys(0, 80));
+        pool.addAll(collidingKeys(1, 40));
+        pool.addAll(collidingKeys(1023, 80));
+        for (long k = -50; k < 50; k++) {
+            pool.add(k);
+        }
+        pool.add(Long.MIN_VALUE);
+        pool.add(Long.MAX_VALUE);
+        return pool;
+    }
+
+    @Test
+    void churnWithCollidingKeysMatchesHashMap() {
+        ShardedLongMap<String> map = new ShardedLongMap<>(1, 1);
+        Map<Long, String> expected = new HashMap<>();
+        List<Long> pool = pool();
+        Random random = new Random(42);
+
+        for (int op = 0; op < 200_000; op++) {
+            long key = pool.get(random.nextInt(pool.size()));
+            // Bias towards inserts early so the table grows through several rehashes, then churn
+            boolean insert = random.nextInt(100) < (op < 20_000 ? 75 : 50);
+            String value = insert ? key + ":" + op : null;
+            String result = map.compute(key, (k, current) -> {
+                assertEquals(key, k);
+                assertEquals(expected.get(key), current);
+                return value;
+            });
+            assertEquals(value, result);
+            if (value == null) {
+                expected.remove(key);
+            } else {
+                expected.put(key, value);
+            }
+
+            if (op % 997 == 0) {
+                assertMatches(expected, map, pool);
+            }
+        }
+        assertMatches(expected, map, pool);
+
+        for (long key : pool) {
+            map.compute(key, (k, current) -> null);
+        }
+        assertEquals(0, map.size());
+        for (long key : pool) {
+            assertNull(map.get(key));
+        }
+    }
+
+    @Test
+    void computeSeesCurrentValue() {
+        ShardedLongMap<Integer> map = new ShardedLongMap<>(4, 16);
+        for (long key : collidingKeys(0, 50)) {
+            for (int i = 0; i < 3; i++) {
+                map.compute(key, (k, current) -> current == null ? 1 : current + 1);
+            }
+        }
+        map.forEach((key, value) -> assertEquals(3, value));
+        assertEquals(50, map.size());
+    }
+
+    @Test
+    void optimisticReadsSeeStableKeysDuringChurn() throws InterruptedException {
+        ShardedLongMap<Long> map = new ShardedLongMap<>(1, 1);
+        List<Long> stable = new ArrayList<>();
+        List<Long> churn = new ArrayList<>();
+        List<Long> keys = collidingKeys(0, 200);
+        for (int i = 0; i < keys.size(); i++) {
+            (i % 4 == 0 ? stable : churn).add(keys.get(i));
+        }
+        for (long key : stable) {
+            map.compute(key, (k, current) -> k * 3);
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            Random random = new Random(7);
+            for (int op = 0; op < 300_000; op++) {
+                long key = churn.get(random.nextInt(churn.size()));
+                map.compute(key, (k, current) -> current == null ? k : null);
+            }
+            done.set(true);
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            readers.add(new Thread(() -> {
+                while (!done.get() && failure.get() == null) {
+                    for (long key : stable) {
+                        Long value = map.get(key);
+                        if (value == null || value != key * 3) {
+                            failure.compareAndSet(null, "key " + key + " read " + value);
+                        }
+                    }
+                }
+            }));
+        }
+        writer.start();
+        readers.forEach(Thread::start);
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+    }
+
+    private static void assertMatches(Map<Long, String> expected, ShardedLongMap<String> map, List<Long> pool) {
+        assertEquals(expected.size(), map.size());
+        for (long key : pool) {
+            assertEquals(expected.get(key), map.get(key), "key " + key);
+        }
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}
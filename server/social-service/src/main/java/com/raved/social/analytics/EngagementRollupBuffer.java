@@ -0,0 +1,198 @@
+package com.raved.social.analytics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory hourly engagement buckets for recently active posts.
+ *
+ * Each active post owns a PostRing: fixed-size int arrays indexed by epoch hour modulo the
+ * ring size, holding likes and comments not yet written. A periodic flush upserts every
+ * non-empty slot into post_engagement_hourly as a delta (so several nodes can flush the same
+ * bucket) and drops rings that are left empty.
+ *
+ * Changes are bucketed by when the like or comment was made, so an unlike or a deleted comment
+ * comes off the hour that counted it. Such a change can be older than the ring; it is kept in a
+ * small side map until the next flush instead of overwriting a newer slot.
+ */
+@Component
+public class EngagementRollupBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(EngagementRollupBuffer.class);
+
+    static final int RING_HOURS = 72;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO post_engagement_hourly (post_id, bucket_start, likes, comments) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (post_id, bucket_start) DO UPDATE SET " +
+            "likes = post_engagement_hourly.likes + EXCLUDED.likes, " +
+            "comments = post_engagement_hourly.comments + EXCLUDED.comments";
+
+    private final ConcurrentHashMap<Long, PostRing> rings = new ConcurrentHashMap<>();
+    // Changes for hours the ring no longer covers: post id -> hour -> (likes, comments); guarded by itself
+    private final Map<Long, Map<Long, int[]>> outOfRing = new TreeMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void recordLikes(long postId, int delta, LocalDateTime occurredAt) {
+        record(postId, occurredAt != null ? toHour(occurredAt) : currentHour(), delta, 0);
+    }
+
+    public void recordComments(long postId, int delta, LocalDateTime occurredAt) {
+        record(postId, occurredAt != null ? toHour(occurredAt) : currentHour(), 0, delta);
+    }
+
+    /**
+     * Unflushed (likes, comments) per epoch hour for a post; empty when nothing is pending
+     */
+    public Map<Long, int[]> getPending(long postId) {
+        Map<Long, int[]> pending = new TreeMap<>();
+        rings.computeIfPresent(postId, (id, ring) -> {
+            ring.copyInto(pending);
+            return ring;
+        });
+        synchronized (outOfRing) {
+            Map<Long, int[]> old = outOfRing.get(postId);
+            if (old != null) {
+                old.forEach((hour, counts) -> pending.merge(hour, counts.clone(), EngagementRollupBuffer::sum));
+            }
+        }
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${social.analytics.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        // (postId, hour) order keeps concurrent flushers from deadlocking on bucket rows
+        TreeMap<Long, Map<Long, int[]>> drained = new TreeMap<>();
+        synchronized (outOfRing) {
+            drained.putAll(outOfRing);
+            outOfRing.clear();
+        }
+        for (Long postId : rings.keySet()) {
+            rings.computeIfPresent(postId, (id, ring) -> {
+                Map<Long, int[]> buckets = drained.computeIfAbsent(id, key -> new TreeMap<>());
+                ring.drainInto(buckets);
+                if (buckets.isEmpty()) {
+                    drained.remove(id);
+                }
+                return null;
+            });
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        drained.forEach((postId, buckets) -> buckets.forEach((hour, counts) ->
+                batch.add(new Object[] { postId, Timestamp.valueOf(hourStart(hour)), counts[0], counts[1] })));
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush {} engagement buckets, retrying next flush: {}", batch.size(), e.getMessage());
+            drained.forEach((postId, buckets) -> buckets.forEach((hour, counts) ->
+                    record(postId, hour, counts[0], counts[1])));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void record(long postId, long hour, int likes, int comments) {
+        boolean[] inRing = new boolean[1];
+        rings.compute(postId, (id, ring) -> {
+            PostRing target = ring != null ? ring : new PostRing();
+            inRing[0] = target.add(hour, likes, comments);
+            return target;
+        });
+        if (!inRing[0]) {
+            synchronized (outOfRing) {
+                outOfRing.computeIfAbsent(postId, id -> new TreeMap<>())
+                        .merge(hour, new int[] { likes, comments }, EngagementRollupBuffer::sum);
+            }
+        }
+    }
+
+    private static int[] sum(int[] a, int[] b) {
+        a[0] += b[0];
+        a[1] += b[1];
+        return a;
+    }
+
+    /**
+     * Hours since the epoch on the local wall clock, matching date_trunc('hour', created_at) on
+     * the TIMESTAMP columns written with LocalDateTime.now()
+     */
+    public static long currentHour() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    public static long toHour(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    public static LocalDateTime hourStart(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Ring of hourly slots; only mutated inside ConcurrentHashMap.compute for its post
+     */
+    private static final class PostRing {
+        private final long[] slotHour = new long[RING_HOURS];
+        private final int[] likes = new int[RING_HOURS];
+        private final int[] comments = new int[RING_HOURS];
+
+        /**
+         * Add to an hour's slot; returns false, changing nothing, if a newer hour holds the slot
+         */
+        boolean add(long hour, int likeDelta, int commentDelta) {
+            int slot = (int) (hour % RING_HOURS);
+            if (slotHour[slot] > hour) {
+                return false;
+            }
+            if (slotHour[slot] != hour) {
+                // A slot is reused only after 72 hours without a successful flush
+                slotHour[slot] = hour;
+                likes[slot] = 0;
+                comments[slot] = 0;
+            }
+            likes[slot] += likeDelta;
+            comments[slot] += commentDelta;
+            return true;
+        }
+
+        void copyInto(Map<Long, int[]> target) {
+            for (int slot = 0; slot < RING_HOURS; slot++) {
+                if (likes[slot] != 0 || comments[slot] != 0) {
+                    target.merge(slotHour[slot], new int[] { likes[slot], comments[slot] },
+                            EngagementRollupBuffer::sum);
+                }
+            }
+        }
+
+        void drainInto(Map<Long, int[]> target) {
+            copyInto(target);
+            Arrays.fill(likes, 0);
+            Arrays.fill(comments, 0);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.raved.social.cache;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.util.LongBloomFilter;
+import com.raved.social.util.LongHashSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user cache of post-like state used to answer "has the viewer liked these posts" for a feed page.
+ *
+ * Each cached user holds an exact set of their most recent likes and a Bloom filter over every
+ * like loaded at warm-up. A Bloom negative is a definite "not liked", so only posts that hit the
+ * filter without being in the exact sets need to go to the database.
+ */
+@Component
+public class RecentLikesCache {
+
+    /**
+     * Result of probing the cache for one post
+     */
+    public enum Probe {
+        LIKED, NOT_LIKED, UNKNOWN
+    }
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    private final Map<Long, UserLikes> users = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserLikes> eldest) {
+            return size() > config.getLikeCache().getMaxUsers();
+        }
+    };
+
+    /**
+     * Get the live cache entry for a user, or null if absent or expired
+     */
+    public UserLikes get(long userId) {
+        synchronized (users) {
+            UserLikes entry = users.get(userId);
+            if (entry != null && entry.isExpired(config.getLikeCache().getTtlSeconds() * 1000L)) {
+                users.remove(userId);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Build and install an entry from the user's liked post ids, newest first
+     *
+     * @param complete whether likedNewestFirst holds every like the user has
+     */
+    public UserLikes warm(long userId, List<Long> likedNewestFirst, boolean complete) {
+        SocialServiceConfig.LikeCache settings = config.getLikeCache();
+        UserLikes entry = new UserLikes(likedNewestFirst.size(), settings.getRecentCapacity(),
+                settings.getBloomBitsPerEntry(), complete);
+        int recent = 0;
+        for (Long postId : likedNewestFirst) {
+            entry.bloom.add(postId);
+            if (recent++ < settings.getRecentCapacity()) {
+                entry.liked.add(postId);
+            }
+        }
+        synchronized (users) {
+            users.put(userId, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Record a like made through this node
+     */
+    public void recordLike(long userId, long postId) {
+        UserLikes entry = get(userId);
+        if (entry != null) {
+            entry.markLiked(postId);
+        }
+    }
+
+    /**
+     * Record an unlike made through this node
+     */
+    public void recordUnlike(long userId, long postId) {
+        UserLikes entry = get(userId);
+        if (entry != null) {
+            entry.markNotLiked(postId);
+        }
+    }
+
+    public void evict(long userId) {
+        synchronized (users) {
+            users.remove(userId);
+        }
+    }
+
+    /**
+     * Cached like state of a single user
+     */
+    public static final class UserLikes {
+        private final LongHashSet liked;
+        private final LongHashSet notLiked = new LongHashSet();
+        private final LongBloomFilter bloom;
+        private final boolean bloomComplete;
+        private final int recentCapacity;
+        private final long createdAt = System.currentTimeMillis();
+
+        UserLikes(int likeCount, int recentCapacity, int bloomBitsPerEntry, boolean bloomComplete) {
+            this.liked = new LongHashSet(Math.min(likeCount, recentCapacity));
+            // Leave headroom so likes recorded after warm-up do not degrade the false-positive rate
+            this.bloom = new LongBloomFilter(Math.max(likeCount * 2, 256), bloomBitsPerEntry);
+            this.bloomComplete = bloomComplete;
+            this.recentCapacity = recentCapacity;
+        }
+
+        public synchronized Probe probe(long postId) {
+            if (liked.contains(postId)) {
+                return Probe.LIKED;
+            }
+            if (notLiked.contains(postId)) {
+                return Probe.NOT_LIKED;
+            }
+            if (bloomComplete && !bloom.mightContain(postId)) {
+                return Probe.NOT_LIKED;
+            }
+            return Probe.UNKNOWN;
+        }
+
+        public synchronized void markLiked(long postId) {
+            notLiked.remove(postId);
+            bloom.add(postId);
+            if (liked.size() >= recentCapacity * 2) {
+                liked.clear();
+            }
+            liked.add(postId);
+        }
+
+        public synchronized void markNotLiked(long postId) {
+            liked.remove(postId);
+            if (notLiked.size() >= recentCapacity * 2) {
+                notLiked.clear();
+            }
+            notLiked.add(postId);
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - createdAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.raved.social.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ configuration for Social Service
+ */
+@Configuration
+public class RabbitConfig {
+
+    /**
+     * Exchange the outbox relay publishes to; consumers bind their own queues
+     */
+    @Bean
+    public TopicExchange socialEventsExchange(SocialServiceConfig config) {
+        return new TopicExchange(config.getOutbox().getExchange(), true, false);
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
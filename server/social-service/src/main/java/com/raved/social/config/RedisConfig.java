@@ -1,8 +1,66 @@
 package com.raved.social.config;
 
+import com.raved.social.counter.CounterCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
 /**
- * RedisConfig for TheRavedApp
+ * Redis configuration for Social Service
  */
+@Configuration
 public class RedisConfig {
-    // Implementation
+
+    /**
+     * Applies one counter delta per key, skipping keys that are not cached.
+     *
+     * KEYS are counter hashes; ARGV holds a (field, delta) pair per key. Incrementing a missing
+     * hash would create it with only the delta as its value, so absent keys are left for the
+     * seeder to load with exact counts. Every applied delta bumps the hash's version field, which
+     * counterWriteScript checks before overwriting the hash.
+     */
+    @Bean
+    public RedisScript<Long> counterIncrementScript() {
+        return new DefaultRedisScript<>(
+                "local applied = 0\n" +
+                "for i, key in ipairs(KEYS) do\n" +
+                "  if redis.call('EXISTS', key) == 1 then\n" +
+                "    redis.call('HINCRBY', key, ARGV[2 * i - 1], ARGV[2 * i])\n" +
+                "    redis.call('HINCRBY', key, '" + CounterCache.VERSION_FIELD + "', 1)\n" +
+                "    applied = applied + 1\n" +
+                "  end\n" +
+                "end\n" +
+                "return applied",
+                Long.class);
+    }
+
+    /**
+     * Overwrites counter hashes with exact counts, but only where the hash is still at the version
+     * the caller read, so a delta applied by any node after that read is never lost.
+     *
+     * ARGV[1] is the TTL in seconds and ARGV[2] the number of fields n, followed by the n field
+     * names; then, per key, the expected version ("" for a missing or unversioned hash) and the n
+     * values. Returns the number of hashes written.
+     */
+    @Bean
+    public RedisScript<Long> counterWriteScript() {
+        return new DefaultRedisScript<>(
+                "local n = tonumber(ARGV[2])\n" +
+                "local written = 0\n" +
+                "for i, key in ipairs(KEYS) do\n" +
+                "  local base = 2 + n + (i - 1) * (n + 1)\n" +
+                "  local version = redis.call('HGET', key, '" + CounterCache.VERSION_FIELD + "') or ''\n" +
+                "  if version == ARGV[base + 1] then\n" +
+                "    for f = 1, n do\n" +
+                "      redis.call('HSET', key, ARGV[2 + f], ARGV[base + 1 + f])\n" +
+                "    end\n" +
+                "    redis.call('HINCRBY', key, '" + CounterCache.VERSION_FIELD + "', 1)\n" +
+                "    redis.call('EXPIRE', key, ARGV[1])\n" +
+                "    written = written + 1\n" +
+                "  end\n" +
+                "end\n" +
+                "return written",
+                Long.class);
+    }
 }
@@ -0,0 +1,651 @@
+package com.raved.social.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for Social Service
+ */
+@Configuration
+@ConfigurationProperties(prefix = "social")
+public class SocialServiceConfig {
+
+    private FollowGraph followGraph = new FollowGraph();
+    private LikeCache likeCache = new LikeCache();
+    private LikeIngest likeIngest = new LikeIngest();
+    private Comments comments = new Comments();
+    private Activities activities = new Activities();
+    private Recommendations recommendations = new Recommendations();
+    private Analytics analytics = new Analytics();
+    private Moderation moderation = new Moderation();
+    private Counters counters = new Counters();
+    private Outbox outbox = new Outbox();
+
+    // Getters and Setters
+    public FollowGraph getFollowGraph() {
+        return followGraph;
+    }
+
+    public void setFollowGraph(FollowGraph followGraph) {
+        this.followGraph = followGraph;
+    }
+
+    public LikeCache getLikeCache() {
+        return likeCache;
+    }
+
+    public void setLikeCache(LikeCache likeCache) {
+        this.likeCache = likeCache;
+    }
+
+    public LikeIngest getLikeIngest() {
+        return likeIngest;
+    }
+
+    public void setLikeIngest(LikeIngest likeIngest) {
+        this.likeIngest = likeIngest;
+    }
+
+    public Comments getComments() {
+        return comments;
+    }
+
+    public void setComments(Comments comments) {
+        this.comments = comments;
+    }
+
+    public Activities getActivities() {
+        return activities;
+    }
+
+    public void setActivities(Activities activities) {
+        this.activities = activities;
+    }
+
+    public Recommendations getRecommendations() {
+        return recommendations;
+    }
+
+    public void setRecommendations(Recommendations recommendations) {
+        this.recommendations = recommendations;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    public void setAnalytics(Analytics analytics) {
+        this.analytics = analytics;
+    }
+
+    public Moderation getModeration() {
+        return moderation;
+    }
+
+    public void setModeration(Moderation moderation) {
+        this.moderation = moderation;
+    }
+
+    public Counters getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Counters counters) {
+        this.counters = counters;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * In-memory follow graph configuration
+     */
+    public static class FollowGraph {
+        private boolean enabled = true;
+        private int loadFetchSize = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLoadFetchSize() {
+            return loadFetchSize;
+        }
+
+        public void setLoadFetchSize(int loadFetchSize) {
+            this.loadFetchSize = loadFetchSize;
+        }
+    }
+
+    /**
+     * Per-user liked-state cache configuration
+     */
+    public static class LikeCache {
+        private int maxUsers = 50000;
+        private int recentCapacity = 256;
+        private int warmLimit = 20000;
+        private int bloomBitsPerEntry = 10;
+        private int ttlSeconds = 300;
+        private int maxBatchSize = 100;
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+
+        public int getRecentCapacity() {
+            return recentCapacity;
+        }
+
+        public void setRecentCapacity(int recentCapacity) {
+            this.recentCapacity = recentCapacity;
+        }
+
+        public int getWarmLimit() {
+            return warmLimit;
+        }
+
+        public void setWarmLimit(int warmLimit) {
+            this.warmLimit = warmLimit;
+        }
+
+        public int getBloomBitsPerEntry() {
+            return bloomBitsPerEntry;
+        }
+
+        public void setBloomBitsPerEntry(int bloomBitsPerEntry) {
+            this.bloomBitsPerEntry = bloomBitsPerEntry;
+        }
+
+        public int getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(int ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    /**
+     * Coalescing like/unlike write pipeline configuration
+     */
+    public static class LikeIngest {
+        private long flushIntervalMs = 100;
+        private int writeBatchSize = 1000;
+        private int maxPending = 50000;
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getWriteBatchSize() {
+            return writeBatchSize;
+        }
+
+        public void setWriteBatchSize(int writeBatchSize) {
+            this.writeBatchSize = writeBatchSize;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+    }
+
+    /**
+     * Threaded comment configuration
+     */
+    public static class Comments {
+        private int maxDepth = 8;
+        private int maxPageSize = 50;
+        private int maxInlineReplies = 10;
+        private long counterFlushIntervalMs = 1000;
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        public void setMaxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getMaxInlineReplies() {
+            return maxInlineReplies;
+        }
+
+        public void setMaxInlineReplies(int maxInlineReplies) {
+            this.maxInlineReplies = maxInlineReplies;
+        }
+
+        public long getCounterFlushIntervalMs() {
+            return counterFlushIntervalMs;
+        }
+
+        public void setCounterFlushIntervalMs(long counterFlushIntervalMs) {
+            this.counterFlushIntervalMs = counterFlushIntervalMs;
+        }
+    }
+
+    /**
+     * Activity timeline configuration
+     */
+    public static class Activities {
+        private int aggregationWindowHours = 24;
+        private int maxRecentActors = 3;
+        private int timelineDays = 30;
+        private int maxPageSize = 50;
+        private int partitionsAhead = 2;
+        private int retentionMonths = 6;
+
+        public int getAggregationWindowHours() {
+            return aggregationWindowHours;
+        }
+
+        public void setAggregationWindowHours(int aggregationWindowHours) {
+            this.aggregationWindowHours = aggregationWindowHours;
+        }
+
+        public int getMaxRecentActors() {
+            return maxRecentActors;
+        }
+
+        public void setMaxRecentActors(int maxRecentActors) {
+            this.maxRecentActors = maxRecentActors;
+        }
+
+        public int getTimelineDays() {
+            return timelineDays;
+        }
+
+        public void setTimelineDays(int timelineDays) {
+            this.timelineDays = timelineDays;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public int getPartitionsAhead() {
+            return partitionsAhead;
+        }
+
+        public void setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+    }
+
+    /**
+     * "People you may know" engine configuration
+     */
+    public static class Recommendations {
+        private boolean enabled = true;
+        private int topN = 50;
+        private int parallelism = 0;
+        private int maxIntermediateDegree = 5000;
+        private int facultySampleSize = 200;
+        private double mutualWeight = 1.0;
+        private double followsYouWeight = 4.0;
+        private double sameUniversityWeight = 1.5;
+        private double sameFacultyWeight = 3.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxIntermediateDegree() {
+            return maxIntermediateDegree;
+        }
+
+        public void setMaxIntermediateDegree(int maxIntermediateDegree) {
+            this.maxIntermediateDegree = maxIntermediateDegree;
+        }
+
+        public int getFacultySampleSize() {
+            return facultySampleSize;
+        }
+
+        public void setFacultySampleSize(int facultySampleSize) {
+            this.facultySampleSize = facultySampleSize;
+        }
+
+        public double getMutualWeight() {
+            return mutualWeight;
+        }
+
+        public void setMutualWeight(double mutualWeight) {
+            this.mutualWeight = mutualWeight;
+        }
+
+        public double getFollowsYouWeight() {
+            return followsYouWeight;
+        }
+
+        public void setFollowsYouWeight(double followsYouWeight) {
+            this.followsYouWeight = followsYouWeight;
+        }
+
+        public double getSameUniversityWeight() {
+            return sameUniversityWeight;
+        }
+
+        public void setSameUniversityWeight(double sameUniversityWeight) {
+            this.sameUniversityWeight = sameUniversityWeight;
+        }
+
+        public double getSameFacultyWeight() {
+            return sameFacultyWeight;
+        }
+
+        public void setSameFacultyWeight(double sameFacultyWeight) {
+            this.sameFacultyWeight = sameFacultyWeight;
+        }
+    }
+
+    /**
+     * Engagement rollup configuration
+     */
+    public static class Analytics {
+        private long flushIntervalMs = 10000;
+        private int maxCurveHours = 72;
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getMaxCurveHours() {
+            return maxCurveHours;
+        }
+
+        public void setMaxCurveHours(int maxCurveHours) {
+            this.maxCurveHours = maxCurveHours;
+        }
+    }
+
+    /**
+     * Comment burst detection configuration
+     */
+    public static class Moderation {
+        private boolean enabled = true;
+        private long windowMs = 60000;
+        private int windowBuckets = 6;
+        private int maxCommentsPerUser = 10;
+        private int maxCommentsPerPost = 200;
+        private int maxDuplicatesPerUser = 3;
+        private int maxDuplicatesPerPost = 20;
+        private int minFingerprintLength = 12;
+        private int sketchWidth = 65536;
+        private int sketchDepth = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public int getWindowBuckets() {
+            return windowBuckets;
+        }
+
+        public void setWindowBuckets(int windowBuckets) {
+            this.windowBuckets = windowBuckets;
+        }
+
+        public int getMaxCommentsPerUser() {
+            return maxCommentsPerUser;
+        }
+
+        public void setMaxCommentsPerUser(int maxCommentsPerUser) {
+            this.maxCommentsPerUser = maxCommentsPerUser;
+        }
+
+        public int getMaxCommentsPerPost() {
+            return maxCommentsPerPost;
+        }
+
+        public void setMaxCommentsPerPost(int maxCommentsPerPost) {
+            this.maxCommentsPerPost = maxCommentsPerPost;
+        }
+
+        public int getMaxDuplicatesPerUser() {
+            return maxDuplicatesPerUser;
+        }
+
+        public void setMaxDuplicatesPerUser(int maxDuplicatesPerUser) {
+            this.maxDuplicatesPerUser = maxDuplicatesPerUser;
+        }
+
+        public int getMaxDuplicatesPerPost() {
+            return maxDuplicatesPerPost;
+        }
+
+        public void setMaxDuplicatesPerPost(int maxDuplicatesPerPost) {
+            this.maxDuplicatesPerPost = maxDuplicatesPerPost;
+        }
+
+        public int getMinFingerprintLength() {
+            return minFingerprintLength;
+        }
+
+        public void setMinFingerprintLength(int minFingerprintLength) {
+            this.minFingerprintLength = minFingerprintLength;
+        }
+
+        public int getSketchWidth() {
+            return sketchWidth;
+        }
+
+        public void setSketchWidth(int sketchWidth) {
+            this.sketchWidth = sketchWidth;
+        }
+
+        public int getSketchDepth() {
+            return sketchDepth;
+        }
+
+        public void setSketchDepth(int sketchDepth) {
+            this.sketchDepth = sketchDepth;
+        }
+    }
+
+    /**
+     * Redis counter cache and its reconciler
+     */
+    public static class Counters {
+        private boolean reconcileEnabled = true;
+        private int rangeSize = 10000;
+        private long rangePauseMs = 20;
+        private long reconcileLockTtlMs = 600000;
+        private int entryTtlHours = 48;
+        private int maxPendingSeeds = 10000;
+        private int maxBatchSize = 100;
+
+        public boolean isReconcileEnabled() {
+            return reconcileEnabled;
+        }
+
+        public void setReconcileEnabled(boolean reconcileEnabled) {
+            this.reconcileEnabled = reconcileEnabled;
+        }
+
+        public int getRangeSize() {
+            return rangeSize;
+        }
+
+        public void setRangeSize(int rangeSize) {
+            this.rangeSize = rangeSize;
+        }
+
+        public long getRangePauseMs() {
+            return rangePauseMs;
+        }
+
+        public void setRangePauseMs(long rangePauseMs) {
+            this.rangePauseMs = rangePauseMs;
+        }
+
+        public long getReconcileLockTtlMs() {
+            return reconcileLockTtlMs;
+        }
+
+        public void setReconcileLockTtlMs(long reconcileLockTtlMs) {
+            this.reconcileLockTtlMs = reconcileLockTtlMs;
+        }
+
+        public int getEntryTtlHours() {
+            return entryTtlHours;
+        }
+
+        public void setEntryTtlHours(int entryTtlHours) {
+            this.entryTtlHours = entryTtlHours;
+        }
+
+        public int getMaxPendingSeeds() {
+            return maxPendingSeeds;
+        }
+
+        public void setMaxPendingSeeds(int maxPendingSeeds) {
+            this.maxPendingSeeds = maxPendingSeeds;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    /**
+     * Transactional outbox relay configuration
+     */
+    public static class Outbox {
+        private int batchSize = 500;
+        private int maxBatchesPerRun = 20;
+        private long confirmTimeoutMs = 5000;
+        private String exchange = "social.events";
+        private String routingKey = "social.post-counters";
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerRun() {
+            return maxBatchesPerRun;
+        }
+
+        public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+            this.maxBatchesPerRun = maxBatchesPerRun;
+        }
+
+        public long getConfirmTimeoutMs() {
+            return confirmTimeoutMs;
+        }
+
+        public void setConfirmTimeoutMs(long confirmTimeoutMs) {
+            this.confirmTimeoutMs = confirmTimeoutMs;
+        }
+
+        public String getExchange() {
+            return exchange;
+        }
+
+        public void setExchange(String exchange) {
+            this.exchange = exchange;
+        }
+
+        public String getRoutingKey() {
+            return routingKey;
+        }
+
+        public void setRoutingKey(String routingKey) {
+            this.routingKey = routingKey;
+        }
+    }
+}
@@ -1,8 +1,59 @@
 package com.raved.social.controller;
 
+import com.raved.social.dto.request.ActivityRequest;
+import com.raved.social.dto.response.ActivityPageResponse;
+import com.raved.social.service.ActivityService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
 /**
- * ActivityController for TheRavedApp
+ * REST Controller for activity timeline operations
  */
+@RestController
+@RequestMapping("/api/social/activities")
+@CrossOrigin(origins = "*")
 public class ActivityController {
-    // Implementation
+
+    @Autowired
+    private ActivityService activityService;
+
+    /**
+     * Get the current user's timeline, newest first
+     */
+    @GetMapping
+    public ResponseEntity<ActivityPageResponse> getTimeline(@RequestHeader("X-User-Id") Long userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(activityService.getTimeline(userId, cursor, size));
+    }
+
+    /**
+     * Get the number of unread timeline items
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@RequestHeader("X-User-Id") Long userId) {
+        return ResponseEntity.ok(Map.of("unreadCount", activityService.getUnreadCount(userId)));
+    }
+
+    /**
+     * Mark the whole timeline as read
+     */
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Integer>> markAllRead(@RequestHeader("X-User-Id") Long userId) {
+        return ResponseEntity.ok(Map.of("updated", activityService.markAllRead(userId)));
+    }
+
+    /**
+     * Record an activity raised by another service (e.g. a like or comment on a post)
+     */
+    @PostMapping
+    public ResponseEntity<Void> recordActivity(@Valid @RequestBody ActivityRequest request) {
+        activityService.recordActivity(request.getActorId(), request.getTargetUserId(), request.getActivityType(),
+                request.getPostId(), request.getCommentId());
+        return ResponseEntity.accepted().build();
+    }
 }
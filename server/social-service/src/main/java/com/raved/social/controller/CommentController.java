@@ -1,8 +1,74 @@
 package com.raved.social.controller;
 
+import com.raved.social.dto.request.CommentRequest;
+import com.raved.social.dto.response.CommentPageResponse;
+import com.raved.social.dto.response.CommentResponse;
+import com.raved.social.service.CommentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
 /**
- * CommentController for TheRavedApp
+ * REST Controller for comment operations
  */
+@RestController
+@RequestMapping("/api/social/comments")
+@CrossOrigin(origins = "*")
 public class CommentController {
-    // Implementation
+
+    @Autowired
+    private CommentService commentService;
+
+    /**
+     * Create a comment or a reply
+     */
+    @PostMapping
+    public ResponseEntity<CommentResponse> createComment(@RequestHeader("X-User-Id") Long userId,
+                                                         @Valid @RequestBody CommentRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(commentService.createComment(userId, request));
+    }
+
+    /**
+     * Approve a comment held for moderation; moderators only
+     */
+    @PostMapping("/{commentId}/approve")
+    public ResponseEntity<CommentResponse> approveComment(@RequestHeader("X-User-Id") Long userId,
+                                                          @RequestHeader(value = "X-User-Roles", required = false)
+                                                          String roles,
+                                                          @PathVariable Long commentId) {
+        return ResponseEntity.ok(commentService.approveComment(userId, roles, commentId));
+    }
+
+    /**
+     * Delete a comment
+     */
+    @DeleteMapping("/{commentId}")
+    public ResponseEntity<Void> deleteComment(@RequestHeader("X-User-Id") Long userId,
+                                              @PathVariable Long commentId) {
+        commentService.deleteComment(userId, commentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Get a page of comment threads for a post
+     */
+    @GetMapping("/post/{postId}")
+    public ResponseEntity<CommentPageResponse> getThreads(@PathVariable Long postId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          @RequestParam(defaultValue = "3") int replies) {
+        return ResponseEntity.ok(commentService.getThreads(postId, cursor, size, replies));
+    }
+
+    /**
+     * Get the next page of replies below a comment
+     */
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<CommentPageResponse> getReplies(@PathVariable Long commentId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getReplies(commentId, cursor, size));
+    }
 }
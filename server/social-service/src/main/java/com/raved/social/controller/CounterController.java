@@ -0,0 +1,38 @@
+package com.raved.social.controller;
+
+import com.raved.social.dto.response.PostCountersResponse;
+import com.raved.social.dto.response.UserCountersResponse;
+import com.raved.social.service.CounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for cached profile and post counters
+ */
+@RestController
+@RequestMapping("/api/social/counters")
+@CrossOrigin(origins = "*")
+public class CounterController {
+
+    @Autowired
+    private CounterService counterService;
+
+    /**
+     * Get the counts shown on a user's profile header
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<UserCountersResponse> getUserCounters(@PathVariable Long userId) {
+        return ResponseEntity.ok(counterService.getUserCounters(userId));
+    }
+
+    /**
+     * Get like and comment counts for a page of posts
+     */
+    @GetMapping("/posts")
+    public ResponseEntity<List<PostCountersResponse>> getPostCounters(@RequestParam List<Long> postIds) {
+        return ResponseEntity.ok(counterService.getPostCounters(postIds));
+    }
+}
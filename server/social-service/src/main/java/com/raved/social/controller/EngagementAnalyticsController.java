@@ -0,0 +1,33 @@
+package com.raved.social.controller;
+
+import com.raved.social.dto.response.EngagementCurveResponse;
+import com.raved.social.service.EngagementAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for engagement analytics
+ */
+@RestController
+@RequestMapping("/api/social/analytics")
+@CrossOrigin(origins = "*")
+public class EngagementAnalyticsController {
+
+    @Autowired
+    private EngagementAnalyticsService engagementAnalyticsService;
+
+    /**
+     * Get hourly likes/comments for a post; pass the post's creation time as from for an exact first-72-hours curve
+     */
+    @GetMapping("/posts/{postId}/engagement")
+    public ResponseEntity<EngagementCurveResponse> getEngagementCurve(
+            @PathVariable Long postId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "72") int hours) {
+        return ResponseEntity.ok(engagementAnalyticsService.getEngagementCurve(postId, from, hours));
+    }
+}
@@ -1,8 +1,80 @@
 package com.raved.social.controller;
 
+import com.raved.social.dto.request.FollowRequest;
+import com.raved.social.dto.response.FollowStatsResponse;
+import com.raved.social.service.FollowService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
 /**
- * FollowController for TheRavedApp
+ * REST Controller for follow operations
  */
+@RestController
+@RequestMapping("/api/social/follows")
+@CrossOrigin(origins = "*")
 public class FollowController {
-    // Implementation
+
+    @Autowired
+    private FollowService followService;
+
+    /**
+     * Follow a user
+     */
+    @PostMapping
+    public ResponseEntity<FollowStatsResponse> follow(@RequestHeader("X-User-Id") Long userId,
+                                                      @Valid @RequestBody FollowRequest request) {
+        followService.follow(userId, request.getFollowingId());
+        return ResponseEntity.ok(followService.getStats(request.getFollowingId(), userId));
+    }
+
+    /**
+     * Unfollow a user
+     */
+    @DeleteMapping("/{followingId}")
+    public ResponseEntity<FollowStatsResponse> unfollow(@RequestHeader("X-User-Id") Long userId,
+                                                        @PathVariable Long followingId) {
+        followService.unfollow(userId, followingId);
+        return ResponseEntity.ok(followService.getStats(followingId, userId));
+    }
+
+    /**
+     * Get follow counts and the viewer's relationship to a user
+     */
+    @GetMapping("/{userId}/stats")
+    public ResponseEntity<FollowStatsResponse> getStats(@PathVariable Long userId,
+                                                        @RequestHeader(value = "X-User-Id", required = false) Long viewerId) {
+        return ResponseEntity.ok(followService.getStats(userId, viewerId));
+    }
+
+    /**
+     * Get a page of follower ids
+     */
+    @GetMapping("/{userId}/followers")
+    public ResponseEntity<List<Long>> getFollowers(@PathVariable Long userId,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(followService.getFollowers(userId, page, size));
+    }
+
+    /**
+     * Get a page of followed user ids
+     */
+    @GetMapping("/{userId}/following")
+    public ResponseEntity<List<Long>> getFollowing(@PathVariable Long userId,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(followService.getFollowing(userId, page, size));
+    }
+
+    /**
+     * Get users who follow each other with the given user
+     */
+    @GetMapping("/{userId}/mutuals")
+    public ResponseEntity<List<Long>> getMutualFollows(@PathVariable Long userId) {
+        return ResponseEntity.ok(followService.getMutualFollows(userId));
+    }
 }
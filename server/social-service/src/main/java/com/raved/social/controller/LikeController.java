@@ -1,8 +1,48 @@
 package com.raved.social.controller;
 
+import com.raved.social.dto.response.LikeStatusResponse;
+import com.raved.social.service.LikeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
 /**
- * LikeController for TheRavedApp
+ * REST Controller for like operations
  */
+@RestController
+@RequestMapping("/api/social/likes")
+@CrossOrigin(origins = "*")
 public class LikeController {
-    // Implementation
+
+    @Autowired
+    private LikeService likeService;
+
+    /**
+     * Like a post; accepted immediately and written with the next batch
+     */
+    @PostMapping("/{postId}")
+    public ResponseEntity<Void> like(@RequestHeader("X-User-Id") Long userId, @PathVariable Long postId) {
+        likeService.like(userId, postId);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Remove a like; accepted immediately and written with the next batch
+     */
+    @DeleteMapping("/{postId}")
+    public ResponseEntity<Void> unlike(@RequestHeader("X-User-Id") Long userId, @PathVariable Long postId) {
+        likeService.unlike(userId, postId);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Get whether the current user has liked each of the given posts
+     */
+    @GetMapping("/status")
+    public ResponseEntity<LikeStatusResponse> getLikedState(@RequestHeader("X-User-Id") Long userId,
+                                                            @RequestParam List<Long> postIds) {
+        return ResponseEntity.ok(new LikeStatusResponse(userId, likeService.getLikedState(userId, postIds)));
+    }
 }
@@ -0,0 +1,40 @@
+package com.raved.social.controller;
+
+import com.raved.social.dto.request.AffiliationRequest;
+import com.raved.social.dto.response.SuggestionResponse;
+import com.raved.social.service.RecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for follow recommendations
+ */
+@RestController
+@RequestMapping("/api/social/recommendations")
+@CrossOrigin(origins = "*")
+public class RecommendationController {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    /**
+     * Get "people you may know" suggestions for the current user
+     */
+    @GetMapping("/people")
+    public ResponseEntity<List<SuggestionResponse>> getPeopleYouMayKnow(@RequestHeader("X-User-Id") Long userId,
+                                                                        @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(recommendationService.getPeopleYouMayKnow(userId, limit));
+    }
+
+    /**
+     * Update a user's university/faculty (called by user-service)
+     */
+    @PutMapping("/affiliations/{userId}")
+    public ResponseEntity<Void> updateAffiliation(@PathVariable Long userId, @RequestBody AffiliationRequest request) {
+        recommendationService.updateAffiliation(userId, request);
+        return ResponseEntity.noContent().build();
+    }
+}
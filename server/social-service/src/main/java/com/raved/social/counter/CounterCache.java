@@ -0,0 +1,333 @@
+package com.raved.social.counter;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.graph.FollowEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis-backed cache of profile and post counters.
+ *
+ * Each user and post has one hash (social:counters:user:{id}, social:counters:post:{id}) whose
+ * fields are kept current by deltas from committed writes, so reads are a single HMGET instead of
+ * a COUNT(*). Deltas only apply to hashes that already exist; a missing hash is queued for the
+ * CounterReconciler to seed with exact counts, and the reconciler's periodic pass corrects any
+ * drift left by lost deltas or crashes. Every delta bumps a version field in the hash, and exact
+ * counts are only written over the version they were checked against, so a delta applied by any
+ * node while a count was running is never overwritten.
+ */
+@Component
+public class CounterCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterCache.class);
+
+    public static final String USER_FOLLOWERS = "followers";
+    public static final String USER_FOLLOWING = "following";
+    public static final String USER_LIKES = "likes";
+    public static final String POST_LIKES = "likes";
+    public static final String POST_COMMENTS = "comments";
+    /** Hash field bumped by every write; see RedisConfig */
+    public static final String VERSION_FIELD = "_version";
+
+    static final String[] USER_FIELDS = {USER_FOLLOWERS, USER_FOLLOWING, USER_LIKES};
+    static final String[] POST_FIELDS = {POST_LIKES, POST_COMMENTS};
+
+    private static final String USER_KEY_PREFIX = "social:counters:user:";
+    private static final String POST_KEY_PREFIX = "social:counters:post:";
+
+    /** Keys per script call; keeps a single EVAL from blocking Redis for long */
+    private static final int MAX_KEYS_PER_CALL = 500;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisScript<Long> counterIncrementScript;
+
+    @Autowired
+    private RedisScript<Long> counterWriteScript;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    private final Set<Long> usersToSeed = ConcurrentHashMap.newKeySet();
+    private final Set<Long> postsToSeed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Get a user's counters, or null (and queue a seed) if they are not cached yet
+     */
+    public Map<String, Long> getUserCounters(long userId) {
+        Map<Long, Versioned> result = read(List.of(userId), USER_KEY_PREFIX, USER_FIELDS);
+        if (result == null) {
+            return null;
+        }
+        if (result.isEmpty()) {
+            queueSeed(usersToSeed, List.of(userId));
+            return null;
+        }
+        return result.get(userId).counters;
+    }
+
+    /**
+     * Get counters for several posts in one round trip; uncached posts are absent from the result
+     */
+    public Map<Long, Map<String, Long>> getPostCounters(Collection<Long> postIds) {
+        Map<Long, Versioned> result = read(postIds, POST_KEY_PREFIX, POST_FIELDS);
+        if (result == null) {
+            return Map.of();
+        }
+        Map<Long, Map<String, Long>> counters = new HashMap<>();
+        result.forEach((postId, cached) -> counters.put(postId, cached.counters));
+        if (result.size() < postIds.size()) {
+            List<Long> missing = new ArrayList<>();
+            for (Long postId : postIds) {
+                if (!result.containsKey(postId)) {
+                    missing.add(postId);
+                }
+            }
+            queueSeed(postsToSeed, missing);
+        }
+        return counters;
+    }
+
+    /**
+     * Apply a batch of deltas; counters that are not cached are skipped
+     */
+    public void apply(Deltas deltas) {
+        if (deltas.keys.isEmpty()) {
+            return;
+        }
+        try {
+            for (int from = 0; from < deltas.keys.size(); from += MAX_KEYS_PER_CALL) {
+                int to = Math.min(from + MAX_KEYS_PER_CALL, deltas.keys.size());
+                redisTemplate.execute(counterIncrementScript, deltas.keys.subList(from, to),
+                        deltas.args.subList(2 * from, 2 * to).toArray());
+            }
+        } catch (DataAccessException e) {
+            // The reconciler repairs whatever was not applied
+            log.warn("Failed to apply {} counter deltas: {}", deltas.keys.size(), e.getMessage());
+        }
+    }
+
+    public void incrementPost(long postId, String field, long delta) {
+        apply(new Deltas().post(postId, field, delta));
+    }
+
+    /**
+     * Keep follow counts current after each committed follow/unfollow
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        long delta = event.getType() == FollowEvent.Type.FOLLOW ? 1 : -1;
+        apply(new Deltas()
+                .user(event.getFollowingId(), USER_FOLLOWERS, delta)
+                .user(event.getFollowerId(), USER_FOLLOWING, delta));
+    }
+
+    // Reconciler support
+
+    Map<Long, Versioned> readUsers(Collection<Long> userIds) {
+        return read(userIds, USER_KEY_PREFIX, USER_FIELDS);
+    }
+
+    Map<Long, Versioned> readPosts(Collection<Long> postIds) {
+        return read(postIds, POST_KEY_PREFIX, POST_FIELDS);
+    }
+
+    /**
+     * Write exact counts over hashes still at the expected version (absent = missing); returns
+     * how many were written
+     */
+    long writeUsers(Map<Long, Map<String, Long>> counters, Map<Long, String> expectedVersions) {
+        return write(counters, expectedVersions, USER_KEY_PREFIX, USER_FIELDS);
+    }
+
+    long writePosts(Map<Long, Map<String, Long>> counters, Map<Long, String> expectedVersions) {
+        return write(counters, expectedVersions, POST_KEY_PREFIX, POST_FIELDS);
+    }
+
+    void refreshUserTtl(Collection<Long> userIds) {
+        refreshTtl(userIds, USER_KEY_PREFIX);
+    }
+
+    void refreshPostTtl(Collection<Long> postIds) {
+        refreshTtl(postIds, POST_KEY_PREFIX);
+    }
+
+    List<Long> drainUserSeeds() {
+        return drain(usersToSeed);
+    }
+
+    List<Long> drainPostSeeds() {
+        return drain(postsToSeed);
+    }
+
+    static String userKey(long userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+
+    static String postKey(long postId) {
+        return POST_KEY_PREFIX + postId;
+    }
+
+    /**
+     * Pipelined HMGET of the counters and version; ids whose hash does not exist are left out,
+     * and null means Redis is unavailable
+     */
+    private Map<Long, Versioned> read(Collection<Long> ids, String prefix, String[] fields) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> order = new ArrayList<>(ids);
+        String[] withVersion = Arrays.copyOf(fields, fields.length + 1);
+        withVersion[fields.length] = VERSION_FIELD;
+        List<Object> replies;
+        try {
+            replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection strings = (StringRedisConnection) connection;
+                for (Long id : order) {
+                    strings.hMGet(prefix + id, withVersion);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to read counters for {} ids: {}", order.size(), e.getMessage());
+            return null;
+        }
+
+        Map<Long, Versioned> result = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            @SuppressWarnings("unchecked")
+            List<String> values = (List<String>) replies.get(i);
+            if (values == null || values.subList(0, fields.length).stream().allMatch(value -> value == null)) {
+                continue;
+            }
+            Map<String, Long> counters = new LinkedHashMap<>();
+            for (int f = 0; f < fields.length; f++) {
+                String value = values.get(f);
+                counters.put(fields[f], value != null ? Math.max(0, Long.parseLong(value)) : 0L);
+            }
+            String version = values.get(fields.length);
+            result.put(order.get(i), new Versioned(counters, version != null ? version : ""));
+        }
+        return result;
+    }
+
+    private long write(Map<Long, Map<String, Long>> counters, Map<Long, String> expectedVersions, String prefix,
+                       String[] fields) {
+        if (counters.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(counters.keySet());
+        long written = 0;
+        for (int from = 0; from < ids.size(); from += MAX_KEYS_PER_CALL) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_KEYS_PER_CALL, ids.size()));
+            List<String> keys = new ArrayList<>(chunk.size());
+            List<Object> args = new ArrayList<>(2 + fields.length + chunk.size() * (fields.length + 1));
+            args.add(String.valueOf(config.getCounters().getEntryTtlHours() * 3600L));
+            args.add(String.valueOf(fields.length));
+            args.addAll(Arrays.asList(fields));
+            for (Long id : chunk) {
+                keys.add(prefix + id);
+                args.add(expectedVersions.getOrDefault(id, ""));
+                Map<String, Long> values = counters.get(id);
+                for (String field : fields) {
+                    args.add(String.valueOf(values.getOrDefault(field, 0L)));
+                }
+            }
+            Long count = redisTemplate.execute(counterWriteScript, keys, args.toArray());
+            written += count != null ? count : 0;
+        }
+        return written;
+    }
+
+    private void refreshTtl(Collection<Long> ids, String prefix) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long ttlSeconds = config.getCounters().getEntryTtlHours() * 3600L;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (Long id : ids) {
+                strings.expire(prefix + id, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    private void queueSeed(Set<Long> queue, Collection<Long> ids) {
+        int limit = config.getCounters().getMaxPendingSeeds();
+        for (Long id : ids) {
+            if (queue.size() >= limit) {
+                return;
+            }
+            queue.add(id);
+        }
+    }
+
+    private static List<Long> drain(Set<Long> queue) {
+        List<Long> ids = new ArrayList<>(queue);
+        queue.removeAll(ids);
+        return ids;
+    }
+
+    /**
+     * Cached counters of one hash and the version they were read at ("" if unversioned)
+     */
+    static final class Versioned {
+        final Map<String, Long> counters;
+        final String version;
+
+        Versioned(Map<String, Long> counters, String version) {
+            this.counters = counters;
+            this.version = version;
+        }
+    }
+
+    /**
+     * A batch of (counter hash, field, delta) increments
+     */
+    public static final class Deltas {
+        private final List<String> keys = new ArrayList<>();
+        private final List<Object> args = new ArrayList<>();
+
+        public Deltas user(long userId, String field, long delta) {
+            return add(userKey(userId), field, delta);
+        }
+
+        public Deltas post(long postId, String field, long delta) {
+            return add(postKey(postId), field, delta);
+        }
+
+        public boolean isEmpty() {
+            return keys.isEmpty();
+        }
+
+        private Deltas add(String key, String field, long delta) {
+            if (delta != 0) {
+                keys.add(key);
+                args.add(field);
+                args.add(String.valueOf(delta));
+            }
+            return this;
+        }
+    }
+}
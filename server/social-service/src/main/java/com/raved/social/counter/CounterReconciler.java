@@ -0,0 +1,311 @@
+package com.raved.social.counter;
+
+import com.raved.social.config.SocialServiceConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Seeds and repairs the counters held by CounterCache.
+ *
+ * A periodic pass walks user and post ids in fixed-size ranges; for each range one indexed GROUP
+ * BY per counter yields exact counts, which are compared with the cached hashes of every id in the
+ * range (an id with no rows counts as zero). Ids that differ are counted again after their hash
+ * versions were read, and the new counts are written only over hashes still at those versions, so
+ * a delta applied by any node in the meantime is never overwritten with an older count; such
+ * hashes are left for the next pass. Only one node runs a pass at a time, guarded by a Redis lock,
+ * and it runs on its own thread so the shared scheduler keeps flushing likes, relaying the outbox
+ * and seeding counters meanwhile.
+ */
+@Component
+public class CounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private static final String LOCK_KEY = "social:counters:reconcile-lock";
+
+    private static final CountQuery[] USER_QUERIES = {
+            new CountQuery(CounterCache.USER_FOLLOWERS, "follows", "following_id", null),
+            new CountQuery(CounterCache.USER_FOLLOWING, "follows", "follower_id", null),
+            new CountQuery(CounterCache.USER_LIKES, "likes", "user_id", null)
+    };
+
+    private static final CountQuery[] POST_QUERIES = {
+            new CountQuery(CounterCache.POST_LIKES, "likes", "post_id", null),
+            new CountQuery(CounterCache.POST_COMMENTS, "comments", "post_id",
+                    "is_deleted = FALSE AND moderation_status = 'APPROVED'")
+    };
+
+    private final CounterCache counterCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final SocialServiceConfig config;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final ExecutorService reconciler = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "counter-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter userDrift;
+    private final Counter postDrift;
+    private final Counter seeded;
+    private final Timer passTimer;
+
+    public CounterReconciler(CounterCache counterCache, JdbcTemplate jdbcTemplate, StringRedisTemplate redisTemplate,
+                             SocialServiceConfig config, MeterRegistry meterRegistry) {
+        this.counterCache = counterCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+        this.userDrift = meterRegistry.counter("social.counters.drift", "kind", "user");
+        this.postDrift = meterRegistry.counter("social.counters.drift", "kind", "post");
+        this.seeded = meterRegistry.counter("social.counters.seeded");
+        this.passTimer = meterRegistry.timer("social.counters.reconcile");
+    }
+
+    /**
+     * Load exact counts for ids that missed the cache
+     */
+    @Scheduled(fixedDelayString = "${social.counters.seed-interval-ms:500}")
+    public void seedMissing() {
+        try {
+            // Written only where the hash is still missing; one seeded meanwhile is already current
+            List<Long> users = counterCache.drainUserSeeds();
+            if (!users.isEmpty()) {
+                seeded.increment(counterCache.writeUsers(countByIds(USER_QUERIES, users), Map.of()));
+            }
+            List<Long> posts = counterCache.drainPostSeeds();
+            if (!posts.isEmpty()) {
+                seeded.increment(counterCache.writePosts(countByIds(POST_QUERIES, posts), Map.of()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to seed counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Start a pass on the reconcile thread unless one is still running
+     */
+    @Scheduled(initialDelayString = "${social.counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${social.counters.reconcile-interval-ms:3600000}")
+    public void scheduleReconcile() {
+        if (!config.getCounters().isReconcileEnabled() || !reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        reconciler.execute(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                log.error("Counter reconciliation failed", e);
+            } finally {
+                reconciling.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    /**
+     * Walk every counter table in id ranges and repair drifted hashes
+     */
+    private void reconcile() {
+        SocialServiceConfig.Counters settings = config.getCounters();
+        Duration lockTtl = Duration.ofMillis(settings.getReconcileLockTtlMs());
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, lockTtl))) {
+                return;
+            }
+            passTimer.record(() -> {
+                reconcileAll(USER_QUERIES, true, lockTtl);
+                reconcileAll(POST_QUERIES, false, lockTtl);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Counter reconciliation aborted, resuming next pass: {}", e.getMessage());
+        } finally {
+            releaseLock();
+        }
+    }
+
+    private void reconcileAll(CountQuery[] queries, boolean users, Duration lockTtl) {
+        long maxId = 0;
+        for (CountQuery query : queries) {
+            Long max = jdbcTemplate.queryForObject(query.maxSql(), Long.class);
+            maxId = Math.max(maxId, max != null ? max : 0);
+        }
+        int rangeSize = config.getCounters().getRangeSize();
+        long repaired = 0;
+        for (long from = 0; from <= maxId && !Thread.currentThread().isInterrupted(); from += rangeSize) {
+            repaired += reconcileRange(queries, users, from, from + rangeSize);
+            redisTemplate.expire(LOCK_KEY, lockTtl);
+            pause();
+        }
+        log.info("Reconciled {} counters up to id {}: {} repaired", users ? "user" : "post", maxId, repaired);
+    }
+
+    private long reconcileRange(CountQuery[] queries, boolean users, long from, long to) {
+        Map<Long, Map<String, Long>> exact = new HashMap<>();
+        for (CountQuery query : queries) {
+            jdbcTemplate.query(query.rangeSql(), rs -> {
+                exact.computeIfAbsent(rs.getLong(1), id -> zeros(queries)).put(query.field, rs.getLong(2));
+            }, from, to);
+        }
+
+        // Every id of the range, not just those the GROUP BY returned: a cached hash whose rows are
+        // all gone has no row there and must be compared against zero
+        List<Long> rangeIds = new ArrayList<>((int) (to - from));
+        for (long id = from; id < to; id++) {
+            rangeIds.add(id);
+        }
+        Map<Long, CounterCache.Versioned> cached = users ? counterCache.readUsers(rangeIds)
+                : counterCache.readPosts(rangeIds);
+        if (cached == null) {
+            return 0;
+        }
+        List<Long> suspects = new ArrayList<>();
+        exact.forEach((id, counts) -> {
+            if (!matches(counts, cached.get(id))) {
+                suspects.add(id);
+            }
+        });
+        Map<String, Long> none = zeros(queries);
+        cached.forEach((id, entry) -> {
+            if (!exact.containsKey(id) && !matches(none, entry)) {
+                suspects.add(id);
+            }
+        });
+
+        long repaired = 0;
+        if (!suspects.isEmpty()) {
+            // A change this recount misses can only reach Redis after the read above, bumping the version
+            Map<Long, Map<String, Long>> drifted = new HashMap<>();
+            Map<Long, String> versions = new HashMap<>();
+            countByIds(queries, suspects).forEach((id, counts) -> {
+                CounterCache.Versioned entry = cached.get(id);
+                if (!matches(counts, entry)) {
+                    drifted.put(id, counts);
+                    versions.put(id, entry != null ? entry.version : "");
+                }
+            });
+            repaired = users ? counterCache.writeUsers(drifted, versions) : counterCache.writePosts(drifted, versions);
+        }
+        // Hashes of ids without rows are left to expire
+        if (users) {
+            counterCache.refreshUserTtl(exact.keySet());
+            userDrift.increment(repaired);
+        } else {
+            counterCache.refreshPostTtl(exact.keySet());
+            postDrift.increment(repaired);
+        }
+        return repaired;
+    }
+
+    private static boolean matches(Map<String, Long> exact, CounterCache.Versioned cached) {
+        return cached != null && exact.equals(cached.counters);
+    }
+
+    private Map<Long, Map<String, Long>> countByIds(CountQuery[] queries, List<Long> ids) {
+        Long[] idArray = ids.toArray(new Long[0]);
+        Map<Long, Map<String, Long>> exact = new HashMap<>();
+        for (Long id : ids) {
+            exact.put(id, zeros(queries));
+        }
+        for (CountQuery query : queries) {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(query.anySql());
+                ps.setArray(1, con.createArrayOf("bigint", idArray));
+                return ps;
+            }, rs -> {
+                exact.get(rs.getLong(1)).put(query.field, rs.getLong(2));
+            });
+        }
+        return exact;
+    }
+
+    private static Map<String, Long> zeros(CountQuery[] queries) {
+        Map<String, Long> counts = new HashMap<>();
+        for (CountQuery query : queries) {
+            counts.put(query.field, 0L);
+        }
+        return counts;
+    }
+
+    private void pause() {
+        long pauseMs = config.getCounters().getRangePauseMs();
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            if (nodeId.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Reconcile lock left to expire: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * COUNT(*) of one table grouped by the counted id column
+     */
+    private static final class CountQuery {
+        private final String field;
+        private final String table;
+        private final String column;
+        private final String filter;
+
+        CountQuery(String field, String table, String column, String filter) {
+            this.field = field;
+            this.table = table;
+            this.column = column;
+            this.filter = filter;
+        }
+
+        String rangeSql() {
+            return countSql(column + " >= ? AND " + column + " < ?");
+        }
+
+        String anySql() {
+            return countSql(column + " = ANY(?)");
+        }
+
+        String maxSql() {
+            return "SELECT max(" + column + ") FROM " + table;
+        }
+
+        private String countSql(String predicate) {
+            return "SELECT " + column + ", count(*) FROM " + table + " WHERE " + predicate +
+                    (filter != null ? " AND " + filter : "") + " GROUP BY " + column;
+        }
+    }
+}
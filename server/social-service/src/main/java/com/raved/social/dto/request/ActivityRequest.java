@@ -0,0 +1,67 @@
+package com.raved.social.dto.request;
+
+import com.raved.social.model.Activity;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for recording an activity raised by another service
+ */
+public class ActivityRequest {
+
+    @NotNull(message = "Actor ID is required")
+    private Long actorId;
+
+    @NotNull(message = "Target user ID is required")
+    private Long targetUserId;
+
+    @NotNull(message = "Activity type is required")
+    private Activity.ActivityType activityType;
+
+    private Long postId;
+    private Long commentId;
+
+    // Constructors
+    public ActivityRequest() {
+    }
+
+    // Getters and Setters
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(Long actorId) {
+        this.actorId = actorId;
+    }
+
+    public Long getTargetUserId() {
+        return targetUserId;
+    }
+
+    public void setTargetUserId(Long targetUserId) {
+        this.targetUserId = targetUserId;
+    }
+
+    public Activity.ActivityType getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(Activity.ActivityType activityType) {
+        this.activityType = activityType;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.raved.social.dto.request;
+
+/**
+ * Request DTO for updating a user's university/faculty
+ */
+public class AffiliationRequest {
+
+    private Long universityId;
+    private Long facultyId;
+
+    // Constructors
+    public AffiliationRequest() {
+    }
+
+    // Getters and Setters
+    public Long getUniversityId() {
+        return universityId;
+    }
+
+    public void setUniversityId(Long universityId) {
+        this.universityId = universityId;
+    }
+
+    public Long getFacultyId() {
+        return facultyId;
+    }
+
+    public void setFacultyId(Long facultyId) {
+        this.facultyId = facultyId;
+    }
+}
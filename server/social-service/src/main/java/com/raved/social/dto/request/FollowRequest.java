@@ -1,8 +1,29 @@
 package com.raved.social.dto.request;
 
+import jakarta.validation.constraints.NotNull;
+
 /**
- * FollowRequest for TheRavedApp
+ * Request DTO for following/unfollowing a user
  */
 public class FollowRequest {
-    // Implementation
+
+    @NotNull(message = "User ID to follow is required")
+    private Long followingId;
+
+    // Constructors
+    public FollowRequest() {
+    }
+
+    public FollowRequest(Long followingId) {
+        this.followingId = followingId;
+    }
+
+    // Getters and Setters
+    public Long getFollowingId() {
+        return followingId;
+    }
+
+    public void setFollowingId(Long followingId) {
+        this.followingId = followingId;
+    }
 }
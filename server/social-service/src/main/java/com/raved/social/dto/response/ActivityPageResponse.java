@@ -0,0 +1,42 @@
+package com.raved.social.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paged activity timeline
+ */
+public class ActivityPageResponse {
+
+    private List<ActivityResponse> activities;
+    private String nextCursor; // Pass back to fetch the following page; null on the last page
+
+    // Constructors
+    public ActivityPageResponse() {
+    }
+
+    public ActivityPageResponse(List<ActivityResponse> activities, String nextCursor) {
+        this.activities = activities;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ActivityResponse> getActivities() {
+        return activities;
+    }
+
+    public void setActivities(List<ActivityResponse> activities) {
+        this.activities = activities;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
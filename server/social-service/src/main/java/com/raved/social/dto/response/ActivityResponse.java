@@ -1,8 +1,97 @@
 package com.raved.social.dto.response;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
- * ActivityResponse for TheRavedApp
+ * Response DTO for one (possibly aggregated) timeline item
  */
 public class ActivityResponse {
-    // Implementation
+
+    private Long id;
+    private String activityType;
+    private Long postId;
+    private Long commentId;
+    private Integer actorCount; // e.g. 12 for "12 people liked your post"
+    private List<Long> recentActorIds; // Newest first
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ActivityResponse() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(String activityType) {
+        this.activityType = activityType;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+
+    public Integer getActorCount() {
+        return actorCount;
+    }
+
+    public void setActorCount(Integer actorCount) {
+        this.actorCount = actorCount;
+    }
+
+    public List<Long> getRecentActorIds() {
+        return recentActorIds;
+    }
+
+    public void setRecentActorIds(List<Long> recentActorIds) {
+        this.recentActorIds = recentActorIds;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public void setIsRead(Boolean isRead) {
+        this.isRead = isRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,42 @@
+package com.raved.social.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paged list of comments
+ */
+public class CommentPageResponse {
+
+    private List<CommentResponse> comments;
+    private String nextCursor; // Pass back to fetch the following page; null on the last page
+
+    // Constructors
+    public CommentPageResponse() {
+    }
+
+    public CommentPageResponse(List<CommentResponse> comments, String nextCursor) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<CommentResponse> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentResponse> comments) {
+        this.comments = comments;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.raved.social.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a post's hourly engagement curve
+ */
+public class EngagementCurveResponse {
+
+    private Long postId;
+    private LocalDateTime from; // Start of the first hourly bucket
+    private int[] likes; // Net likes per hour, index 0 = first hour
+    private int[] comments; // Comments per hour
+    private long totalLikes;
+    private long totalComments;
+
+    // Constructors
+    public EngagementCurveResponse() {
+    }
+
+    public EngagementCurveResponse(Long postId, LocalDateTime from, int hours) {
+        this.postId = postId;
+        this.from = from;
+        this.likes = new int[hours];
+        this.comments = new int[hours];
+    }
+
+    // Getters and Setters
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public int[] getLikes() {
+        return likes;
+    }
+
+    public void setLikes(int[] likes) {
+        this.likes = likes;
+    }
+
+    public int[] getComments() {
+        return comments;
+    }
+
+    public void setComments(int[] comments) {
+        this.comments = comments;
+    }
+
+    public long getTotalLikes() {
+        return totalLikes;
+    }
+
+    public void setTotalLikes(long totalLikes) {
+        this.totalLikes = totalLikes;
+    }
+
+    public long getTotalComments() {
+        return totalComments;
+    }
+
+    public void setTotalComments(long totalComments) {
+        this.totalComments = totalComments;
+    }
+}
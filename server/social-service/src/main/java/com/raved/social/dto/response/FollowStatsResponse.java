@@ -0,0 +1,75 @@
+package com.raved.social.dto.response;
+
+/**
+ * Response DTO for a user's follow counts and the viewer's relationship to them
+ */
+public class FollowStatsResponse {
+
+    private Long userId;
+    private Integer followersCount;
+    private Integer followingCount;
+
+    // Viewer relationship flags (null when there is no viewer)
+    private Boolean isFollowing;
+    private Boolean isFollowedBy;
+    private Integer mutualFollowersCount;
+
+    // Constructors
+    public FollowStatsResponse() {
+    }
+
+    public FollowStatsResponse(Long userId, Integer followersCount, Integer followingCount) {
+        this.userId = userId;
+        this.followersCount = followersCount;
+        this.followingCount = followingCount;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getFollowersCount() {
+        return followersCount;
+    }
+
+    public void setFollowersCount(Integer followersCount) {
+        this.followersCount = followersCount;
+    }
+
+    public Integer getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Integer followingCount) {
+        this.followingCount = followingCount;
+    }
+
+    public Boolean getIsFollowing() {
+        return isFollowing;
+    }
+
+    public void setIsFollowing(Boolean isFollowing) {
+        this.isFollowing = isFollowing;
+    }
+
+    public Boolean getIsFollowedBy() {
+        return isFollowedBy;
+    }
+
+    public void setIsFollowedBy(Boolean isFollowedBy) {
+        this.isFollowedBy = isFollowedBy;
+    }
+
+    public Integer getMutualFollowersCount() {
+        return mutualFollowersCount;
+    }
+
+    public void setMutualFollowersCount(Integer mutualFollowersCount) {
+        this.mutualFollowersCount = mutualFollowersCount;
+    }
+}
@@ -0,0 +1,38 @@
+package com.raved.social.dto.response;
+
+import java.util.Map;
+
+/**
+ * Response DTO for the liked state of a batch of posts
+ */
+public class LikeStatusResponse {
+
+    private Long userId;
+    private Map<Long, Boolean> liked;
+
+    // Constructors
+    public LikeStatusResponse() {
+    }
+
+    public LikeStatusResponse(Long userId, Map<Long, Boolean> liked) {
+        this.userId = userId;
+        this.liked = liked;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Map<Long, Boolean> getLiked() {
+        return liked;
+    }
+
+    public void setLiked(Map<Long, Boolean> liked) {
+        this.liked = liked;
+    }
+}
@@ -0,0 +1,48 @@
+package com.raved.social.dto.response;
+
+/**
+ * Response DTO for the like and comment counts of a post
+ */
+public class PostCountersResponse {
+
+    private Long postId;
+
+    // Null while the post's counters are being seeded into the cache
+    private Long likesCount;
+    private Long commentsCount;
+
+    // Constructors
+    public PostCountersResponse() {
+    }
+
+    public PostCountersResponse(Long postId, Long likesCount, Long commentsCount) {
+        this.postId = postId;
+        this.likesCount = likesCount;
+        this.commentsCount = commentsCount;
+    }
+
+    // Getters and Setters
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public Long getLikesCount() {
+        return likesCount;
+    }
+
+    public void setLikesCount(Long likesCount) {
+        this.likesCount = likesCount;
+    }
+
+    public Long getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(Long commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+}
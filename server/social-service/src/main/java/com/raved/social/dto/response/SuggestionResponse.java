@@ -0,0 +1,67 @@
+package com.raved.social.dto.response;
+
+/**
+ * Response DTO for one "people you may know" suggestion
+ */
+public class SuggestionResponse {
+
+    private Long userId;
+    private Double score;
+    private Integer mutualFollowsCount; // Accounts the viewer follows that follow this user
+    private Boolean followsYou;
+    private Boolean sameUniversity;
+    private Boolean sameFaculty;
+
+    // Constructors
+    public SuggestionResponse() {
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Integer getMutualFollowsCount() {
+        return mutualFollowsCount;
+    }
+
+    public void setMutualFollowsCount(Integer mutualFollowsCount) {
+        this.mutualFollowsCount = mutualFollowsCount;
+    }
+
+    public Boolean getFollowsYou() {
+        return followsYou;
+    }
+
+    public void setFollowsYou(Boolean followsYou) {
+        this.followsYou = followsYou;
+    }
+
+    public Boolean getSameUniversity() {
+        return sameUniversity;
+    }
+
+    public void setSameUniversity(Boolean sameUniversity) {
+        this.sameUniversity = sameUniversity;
+    }
+
+    public Boolean getSameFaculty() {
+        return sameFaculty;
+    }
+
+    public void setSameFaculty(Boolean sameFaculty) {
+        this.sameFaculty = sameFaculty;
+    }
+}
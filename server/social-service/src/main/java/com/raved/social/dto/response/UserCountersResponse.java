@@ -0,0 +1,58 @@
+package com.raved.social.dto.response;
+
+/**
+ * Response DTO for the counters shown on a profile header
+ */
+public class UserCountersResponse {
+
+    private Long userId;
+
+    // Null while the user's counters are being seeded into the cache
+    private Long followersCount;
+    private Long followingCount;
+    private Long likesCount;
+
+    // Constructors
+    public UserCountersResponse() {
+    }
+
+    public UserCountersResponse(Long userId, Long followersCount, Long followingCount, Long likesCount) {
+        this.userId = userId;
+        this.followersCount = followersCount;
+        this.followingCount = followingCount;
+        this.likesCount = likesCount;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getFollowersCount() {
+        return followersCount;
+    }
+
+    public void setFollowersCount(Long followersCount) {
+        this.followersCount = followersCount;
+    }
+
+    public Long getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Long followingCount) {
+        this.followingCount = followingCount;
+    }
+
+    public Long getLikesCount() {
+        return likesCount;
+    }
+
+    public void setLikesCount(Long likesCount) {
+        this.likesCount = likesCount;
+    }
+}
@@ -1,8 +1,15 @@
 package com.raved.social.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 /**
  * CommentNotFoundException for TheRavedApp
  */
+@ResponseStatus(HttpStatus.NOT_FOUND)
 public class CommentNotFoundException extends RuntimeException {
-    // Implementation
+
+    public CommentNotFoundException(Long commentId) {
+        super("Comment not found: " + commentId);
+    }
 }
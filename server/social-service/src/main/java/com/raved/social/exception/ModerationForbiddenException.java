@@ -0,0 +1,15 @@
+package com.raved.social.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a caller may not take a moderation decision on a comment
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class ModerationForbiddenException extends RuntimeException {
+
+    public ModerationForbiddenException(String message) {
+        super(message);
+    }
+}
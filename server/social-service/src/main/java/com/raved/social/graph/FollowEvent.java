@@ -0,0 +1,42 @@
+package com.raved.social.graph;
+
+/**
+ * Application event published after a follow relationship is created or removed
+ */
+public class FollowEvent {
+
+    public enum Type {
+        FOLLOW, UNFOLLOW
+    }
+
+    private final Type type;
+    private final long followerId;
+    private final long followingId;
+
+    public FollowEvent(Type type, long followerId, long followingId) {
+        this.type = type;
+        this.followerId = followerId;
+        this.followingId = followingId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getFollowerId() {
+        return followerId;
+    }
+
+    public long getFollowingId() {
+        return followingId;
+    }
+
+    @Override
+    public String toString() {
+        return "FollowEvent{" +
+                "type=" + type +
+                ", followerId=" + followerId +
+                ", followingId=" + followingId +
+                '}';
+    }
+}
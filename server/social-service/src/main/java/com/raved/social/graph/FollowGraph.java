@@ -0,0 +1,225 @@
+package com.raved.social.graph;
+
+import com.raved.social.config.SocialServiceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory follow graph for social-service.
+ *
+ * Each user maps to two sorted, immutable long[] adjacency lists (who they follow and who
+ * follows them). Readers never lock; writers replace a user's array atomically through
+ * ConcurrentHashMap.compute. The graph is streamed from the follows table at startup and then
+ * kept current by FollowEvents published after each committed follow/unfollow.
+ */
+@Component
+public class FollowGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowGraph.class);
+
+    private static final String STREAM_FOLLOWS_SQL =
+            "SELECT follower_id, following_id FROM follows ORDER BY follower_id";
+
+    private final ConcurrentHashMap<Long, long[]> following = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, long[]> followers = new ConcurrentHashMap<>();
+    private final Queue<FollowEvent> eventsDuringLoad = new ConcurrentLinkedQueue<>();
+    // Guards the hand-over from queueing events to applying them, so each is applied exactly once
+    private final Object loadLock = new Object();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    /**
+     * Stream the follows table into adjacency arrays
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!config.getFollowGraph().isEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Map<Long, long[]> outgoing = new HashMap<>();
+        Map<Long, LongBuffer> incoming = new HashMap<>();
+        long[] edges = new long[1];
+
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(config.getFollowGraph().getLoadFetchSize());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            LongBuffer current = new LongBuffer();
+            long[] currentFollower = { Long.MIN_VALUE };
+            streaming.query(STREAM_FOLLOWS_SQL, (RowCallbackHandler) rs -> {
+                long followerId = rs.getLong(1);
+                long followingId = rs.getLong(2);
+                if (followerId != currentFollower[0]) {
+                    if (current.size > 0) {
+                        outgoing.put(currentFollower[0], current.toSortedArray());
+                    }
+                    current.size = 0;
+                    currentFollower[0] = followerId;
+                }
+                current.add(followingId);
+                incoming.computeIfAbsent(followingId, id -> new LongBuffer()).add(followerId);
+                edges[0]++;
+            });
+            if (current.size > 0) {
+                outgoing.put(currentFollower[0], current.toSortedArray());
+            }
+        });
+
+        following.putAll(outgoing);
+        incoming.forEach((userId, buffer) -> followers.put(userId, buffer.toSortedArray()));
+
+        // Replay, in commit order, the events that arrived while the snapshot was streaming. Each is
+        // an idempotent set operation, so the last event per edge wins whether or not the snapshot
+        // already saw it.
+        synchronized (loadLock) {
+            FollowEvent event;
+            while ((event = eventsDuringLoad.poll()) != null) {
+                apply(event);
+            }
+            loaded = true;
+        }
+        log.info("Follow graph loaded: {} edges, {} users in {} ms",
+                edges[0], following.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Apply a committed follow/unfollow
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        if (!config.getFollowGraph().isEnabled()) {
+            // Never loaded, so nothing would ever drain the events queued for the load
+            return;
+        }
+        if (!loaded) {
+            synchronized (loadLock) {
+                if (!loaded) {
+                    eventsDuringLoad.add(event);
+                    return;
+                }
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(FollowEvent event) {
+        long followerId = event.getFollowerId();
+        long followingId = event.getFollowingId();
+        if (event.getType() == FollowEvent.Type.FOLLOW) {
+            following.compute(followerId, (id, list) -> SortedLongArrays.insert(list, followingId));
+            followers.compute(followingId, (id, list) -> SortedLongArrays.insert(list, followerId));
+        } else {
+            following.computeIfPresent(followerId, (id, list) -> SortedLongArrays.remove(list, followingId));
+            followers.computeIfPresent(followingId, (id, list) -> SortedLongArrays.remove(list, followerId));
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isFollowing(long followerId, long followingId) {
+        return SortedLongArrays.contains(following.get(followerId), followingId);
+    }
+
+    public int getFollowerCount(long userId) {
+        long[] list = followers.get(userId);
+        return list != null ? list.length : 0;
+    }
+
+    public int getFollowingCount(long userId) {
+        long[] list = following.get(userId);
+        return list != null ? list.length : 0;
+    }
+
+    /**
+     * Sorted ids the user follows; the returned array is shared and must not be modified
+     */
+    public long[] getFollowing(long userId) {
+        long[] list = following.get(userId);
+        return list != null ? list : SortedLongArrays.EMPTY;
+    }
+
+    /**
+     * Sorted ids following the user; the returned array is shared and must not be modified
+     */
+    public long[] getFollowers(long userId) {
+        long[] list = followers.get(userId);
+        return list != null ? list : SortedLongArrays.EMPTY;
+    }
+
+    /**
+     * Visit every user's following list; the arrays are shared and must not be modified
+     */
+    public void forEachFollowing(BiConsumer<Long, long[]> action) {
+        following.forEach(action);
+    }
+
+    /**
+     * Users who follow userId and are followed back by them
+     */
+    public long[] getMutualFollows(long userId) {
+        return SortedLongArrays.intersect(following.get(userId), followers.get(userId));
+    }
+
+    /**
+     * How many of the accounts the viewer follows also follow userId
+     */
+    public int countFollowersKnownTo(long viewerId, long userId) {
+        return SortedLongArrays.intersectionSize(following.get(viewerId), followers.get(userId));
+    }
+
+    /**
+     * Accounts both users follow
+     */
+    public long[] getCommonFollowing(long userA, long userB) {
+        return SortedLongArrays.intersect(following.get(userA), following.get(userB));
+    }
+
+    /**
+     * Growable primitive buffer used only while loading
+     */
+    private static final class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            return SortedLongArrays.compact(Arrays.copyOf(values, size), size);
+        }
+    }
+}
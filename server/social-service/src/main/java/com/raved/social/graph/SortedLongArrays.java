@@ -0,0 +1,142 @@
+package com.raved.social.graph;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write helpers for sorted, duplicate-free long arrays used as adjacency lists
+ */
+public final class SortedLongArrays {
+
+    public static final long[] EMPTY = new long[0];
+
+    private SortedLongArrays() {
+        // Utility class
+    }
+
+    public static boolean contains(long[] sorted, long value) {
+        return sorted != null && Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    /**
+     * Return a new array with value inserted, or the same array if already present
+     */
+    public static long[] insert(long[] sorted, long value) {
+        if (sorted == null || sorted.length == 0) {
+            return new long[] { value };
+        }
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    /**
+     * Return a new array without value, the same array if absent, or null if it becomes empty
+     */
+    public static long[] remove(long[] sorted, long value) {
+        if (sorted == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return null;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+
+    /**
+     * Sort and de-duplicate the first length entries of a scratch buffer into an exact-size array
+     */
+    public static long[] compact(long[] buffer, int length) {
+        Arrays.sort(buffer, 0, length);
+        int unique = 0;
+        for (int i = 0; i < length; i++) {
+            if (unique == 0 || buffer[unique - 1] != buffer[i]) {
+                buffer[unique++] = buffer[i];
+            }
+        }
+        return Arrays.copyOf(buffer, unique);
+    }
+
+    /**
+     * Number of values present in both arrays
+     */
+    public static int intersectionSize(long[] a, long[] b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+        int count = 0;
+        if (small.length * 16 < large.length) {
+            // Skewed sizes: probe the large side instead of walking it
+            for (long value : small) {
+                if (Arrays.binarySearch(large, value) >= 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < small.length && j < large.length) {
+            if (small[i] == large[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (small[i] < large[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Values present in both arrays, in ascending order
+     */
+    public static long[] intersect(long[] a, long[] b) {
+        if (a == null || b == null) {
+            return EMPTY;
+        }
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+        long[] result = new long[small.length];
+        int count = 0;
+        if (small.length * 16 < large.length) {
+            for (long value : small) {
+                if (Arrays.binarySearch(large, value) >= 0) {
+                    result[count++] = value;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] == large[j]) {
+                    result[count++] = small[i];
+                    i++;
+                    j++;
+                } else if (small[i] < large[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
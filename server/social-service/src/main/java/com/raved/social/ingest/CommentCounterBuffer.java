@@ -0,0 +1,84 @@
+package com.raved.social.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers replies_count changes and applies them as one batched UPDATE per flush.
+ *
+ * A busy thread would otherwise serialize every reply on its parent's row lock. Reads add
+ * getPendingDelta so counts stay exact between flushes.
+ */
+@Component
+public class CommentCounterBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentCounterBuffer.class);
+
+    private static final String APPLY_REPLIES_DELTA_SQL =
+            "UPDATE comments SET replies_count = GREATEST(replies_count + ?, 0) WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, Integer> pendingReplies = new ConcurrentHashMap<>();
+    private volatile Map<Long, Integer> inFlight = Map.of();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public void addReplies(long commentId, int delta) {
+        pendingReplies.merge(commentId, delta, Integer::sum);
+    }
+
+    public int getPendingDelta(long commentId) {
+        return pendingReplies.getOrDefault(commentId, 0) + inFlight.getOrDefault(commentId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${social.comments.counter-flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (pendingReplies.isEmpty()) {
+            return;
+        }
+        // Drained deltas stay visible to readers through inFlight until the update commits;
+        // id order keeps concurrent flushes from deadlocking on row locks
+        Map<Long, Integer> drained = new TreeMap<>();
+        for (Long commentId : pendingReplies.keySet()) {
+            Integer delta = pendingReplies.remove(commentId);
+            if (delta != null && delta != 0) {
+                drained.merge(commentId, delta, Integer::sum);
+            }
+        }
+        inFlight = drained;
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((commentId, delta) -> batch.add(new Object[] { delta, commentId }));
+        try {
+            // All or nothing, so a failed batch is requeued exactly as it was rolled back
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(APPLY_REPLIES_DELTA_SQL, batch));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to apply {} reply count deltas, retrying next flush: {}", batch.size(), e.getMessage());
+            drained.forEach(this::addReplies);
+        } finally {
+            inFlight = Map.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,243 @@
+package com.raved.social.ingest;
+
+import com.raved.social.cache.RecentLikesCache;
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.counter.CounterCache;
+import com.raved.social.outbox.OutboxWriter;
+import com.raved.social.service.EngagementAnalyticsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coalescing write path for post likes.
+ *
+ * Toggles are recorded in memory keyed by (user, post), so repeated taps inside one flush window
+ * collapse to the final state. Each flush writes the net result with one multi-row
+ * INSERT ... ON CONFLICT DO NOTHING and one multi-row DELETE per chunk; RETURNING tells us which
+ * rows actually changed, so double taps and replays never skew counts. The resulting per-post
+ * deltas are recorded in the outbox in the same transaction as the chunk, for OutboxRelay to
+ * carry to content-service, and applied to the Redis counter cache after commit. Engagement
+ * analytics are charged to the hour each like was made, so an unlike takes it back from that hour.
+ */
+@Component
+public class LikeIngestPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeIngestPipeline.class);
+
+    private static final String INSERT_LIKES_SQL =
+            "INSERT INTO likes (user_id, post_id, created_at) " +
+            "SELECT t.user_id, t.post_id, CURRENT_TIMESTAMP FROM unnest(?::bigint[], ?::bigint[]) AS t(user_id, post_id) " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING RETURNING user_id, post_id, created_at";
+
+    private static final String DELETE_LIKES_SQL =
+            "DELETE FROM likes l USING unnest(?::bigint[], ?::bigint[]) AS t(user_id, post_id) " +
+            "WHERE l.user_id = t.user_id AND l.post_id = t.post_id " +
+            "RETURNING l.user_id, l.post_id, l.created_at";
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+    private volatile Map<LikeKey, Boolean> pending = new ConcurrentHashMap<>();
+    private volatile Map<LikeKey, Boolean> inFlight = Collections.emptyMap();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecentLikesCache recentLikesCache;
+    private final OutboxWriter outboxWriter;
+    private final SocialServiceConfig config;
+    private final EngagementAnalyticsService engagementAnalyticsService;
+    private final CounterCache counterCache;
+
+    private final Counter likesSubmitted;
+    private final Counter unlikesSubmitted;
+    private final Counter togglesCoalesced;
+    private final Counter rowsInserted;
+    private final Counter rowsDeleted;
+    private final Timer flushTimer;
+
+    public LikeIngestPipeline(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              RecentLikesCache recentLikesCache, OutboxWriter outboxWriter, SocialServiceConfig config,
+                              EngagementAnalyticsService engagementAnalyticsService, CounterCache counterCache,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recentLikesCache = recentLikesCache;
+        this.outboxWriter = outboxWriter;
+        this.config = config;
+        this.engagementAnalyticsService = engagementAnalyticsService;
+        this.counterCache = counterCache;
+        this.likesSubmitted = meterRegistry.counter("social.likes.submitted", "action", "like");
+        this.unlikesSubmitted = meterRegistry.counter("social.likes.submitted", "action", "unlike");
+        this.togglesCoalesced = meterRegistry.counter("social.likes.coalesced");
+        this.rowsInserted = meterRegistry.counter("social.likes.rows", "op", "insert");
+        this.rowsDeleted = meterRegistry.counter("social.likes.rows", "op", "delete");
+        this.flushTimer = meterRegistry.timer("social.likes.flush");
+    }
+
+    /**
+     * Record the desired like state for a (user, post); the latest call inside a window wins
+     */
+    public void submit(long userId, long postId, boolean liked) {
+        int size;
+        swapLock.readLock().lock();
+        try {
+            if (pending.put(new LikeKey(userId, postId), liked) != null) {
+                togglesCoalesced.increment();
+            }
+            size = pending.size();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (liked) {
+            likesSubmitted.increment();
+            recentLikesCache.recordLike(userId, postId);
+        } else {
+            unlikesSubmitted.increment();
+            recentLikesCache.recordUnlike(userId, postId);
+        }
+        // Back-pressure: a caller that finds the buffer full pays for the flush itself
+        if (size >= config.getLikeIngest().getMaxPending()) {
+            flush();
+        }
+    }
+
+    /**
+     * Like state accepted but not yet written, or null if nothing is pending for the pair
+     */
+    public Boolean getPendingState(long userId, long postId) {
+        LikeKey key = new LikeKey(userId, postId);
+        Boolean state = pending.get(key);
+        return state != null ? state : inFlight.get(key);
+    }
+
+    /**
+     * Write pending toggles
+     */
+    @Scheduled(fixedDelayString = "${social.like-ingest.flush-interval-ms:100}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<LikeKey, Boolean> batch = null;
+            swapLock.writeLock().lock();
+            try {
+                if (!pending.isEmpty()) {
+                    batch = pending;
+                    inFlight = batch;
+                    pending = new ConcurrentHashMap<>();
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            if (batch != null) {
+                Map<LikeKey, Boolean> toWrite = batch;
+                try {
+                    flushTimer.record(() -> write(toWrite));
+                } finally {
+                    inFlight = Collections.emptyMap();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void write(Map<LikeKey, Boolean> batch) {
+        List<LikeKey> likes = new ArrayList<>();
+        List<LikeKey> unlikes = new ArrayList<>();
+        batch.forEach((key, liked) -> (liked ? likes : unlikes).add(key));
+
+        int chunkSize = config.getLikeIngest().getWriteBatchSize();
+        for (int from = 0; from < likes.size(); from += chunkSize) {
+            List<LikeKey> chunk = likes.subList(from, Math.min(from + chunkSize, likes.size()));
+            writeChunk(INSERT_LIKES_SQL, chunk, true);
+        }
+        for (int from = 0; from < unlikes.size(); from += chunkSize) {
+            List<LikeKey> chunk = unlikes.subList(from, Math.min(from + chunkSize, unlikes.size()));
+            writeChunk(DELETE_LIKES_SQL, chunk, false);
+        }
+    }
+
+    private void writeChunk(String sql, List<LikeKey> chunk, boolean liked) {
+        Long[] userIds = new Long[chunk.size()];
+        Long[] postIds = new Long[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            userIds[i] = chunk.get(i).userId;
+            postIds[i] = chunk.get(i).postId;
+        }
+        int delta = liked ? 1 : -1;
+        // Changed pairs and when each like was made
+        Map<LikeKey, LocalDateTime> changed;
+        try {
+            changed = transactionTemplate.execute(status -> {
+                Map<LikeKey, LocalDateTime> rows = new LinkedHashMap<>();
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("bigint", userIds));
+                    ps.setArray(2, con.createArrayOf("bigint", postIds));
+                    return ps;
+                }, rs -> {
+                    rows.put(new LikeKey(rs.getLong(1), rs.getLong(2)), rs.getTimestamp(3).toLocalDateTime());
+                });
+                Map<Long, Integer> postDeltas = new HashMap<>();
+                for (LikeKey key : rows.keySet()) {
+                    postDeltas.merge(key.postId, delta, Integer::sum);
+                }
+                outboxWriter.appendPostDeltas(OutboxWriter.POST_LIKES_CHANGED, postDeltas);
+                return rows;
+            });
+        } catch (RuntimeException e) {
+            // Data access and transaction failures alike: nothing of the chunk committed
+            log.warn("Failed to write {} like toggles, retrying next flush: {}", chunk.size(), e.getMessage());
+            requeue(chunk, liked);
+            return;
+        }
+        (liked ? rowsInserted : rowsDeleted).increment(changed.size());
+        try {
+            CounterCache.Deltas counterDeltas = new CounterCache.Deltas();
+            for (Map.Entry<LikeKey, LocalDateTime> row : changed.entrySet()) {
+                LikeKey key = row.getKey();
+                engagementAnalyticsService.recordLikes(key.postId, delta, row.getValue());
+                counterDeltas.post(key.postId, CounterCache.POST_LIKES, delta)
+                        .user(key.userId, CounterCache.USER_LIKES, delta);
+            }
+            counterCache.apply(counterDeltas);
+        } catch (RuntimeException e) {
+            // The chunk is committed, so it must not be retried; the reconciler repairs the counters
+            log.warn("Failed to apply {} committed like changes to counters: {}", changed.size(), e.getMessage());
+        }
+    }
+
+    private void requeue(List<LikeKey> chunk, boolean liked) {
+        swapLock.readLock().lock();
+        try {
+            // A newer toggle for the same pair supersedes the failed one
+            for (LikeKey key : chunk) {
+                pending.putIfAbsent(key, liked);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.raved.social.ingest;
+
+/**
+ * (user, post) pair identifying a pending like toggle
+ */
+final class LikeKey {
+
+    final long userId;
+    final long postId;
+
+    LikeKey(long userId, long postId) {
+        this.userId = userId;
+        this.postId = postId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LikeKey)) {
+            return false;
+        }
+        LikeKey other = (LikeKey) o;
+        return userId == other.userId && postId == other.postId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(userId * 31 + postId);
+    }
+}
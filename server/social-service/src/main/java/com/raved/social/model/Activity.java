@@ -1,8 +1,175 @@
 package com.raved.social.model;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Activity for TheRavedApp
+ *
+ * One item in a user's notification timeline. Activities sharing a group key inside the
+ * aggregation window collapse into a single item ("12 people liked your post"), so the row
+ * keeps a count and the most recent actors rather than one row per actor.
+ *
+ * Stored in the monthly-partitioned activities table and mapped by ActivityRepository.
  */
 public class Activity {
-    // Implementation
+
+    // Enums
+    public enum ActivityType {
+        LIKE(true), COMMENT(true), REPLY(true), FOLLOW(true), MENTION(false);
+
+        private final boolean aggregated;
+
+        ActivityType(boolean aggregated) {
+            this.aggregated = aggregated;
+        }
+
+        public boolean isAggregated() {
+            return aggregated;
+        }
+    }
+
+    private Long id;
+    private Long targetUserId; // Recipient
+    private Long userId; // Most recent actor
+    private ActivityType activityType;
+    private Long postId;
+    private Long commentId;
+    private String groupKey;
+    private Integer actorCount = 1;
+    private List<Long> recentActorIds;
+    private Boolean isRead = false;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Activity() {
+    }
+
+    /**
+     * Aggregation key: same recipient, type and subject. Non-aggregated types also key on the actor
+     * and subject so each occurrence stays its own item.
+     */
+    public static String groupKey(ActivityType type, Long postId, Long commentId, Long actorId) {
+        StringBuilder key = new StringBuilder(type.name());
+        if (postId != null) {
+            key.append(":p").append(postId);
+        }
+        if (commentId != null) {
+            key.append(":c").append(commentId);
+        }
+        if (!type.isAggregated()) {
+            key.append(":u").append(actorId);
+        }
+        return key.toString();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTargetUserId() {
+        return targetUserId;
+    }
+
+    public void setTargetUserId(Long targetUserId) {
+        this.targetUserId = targetUserId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public ActivityType getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(ActivityType activityType) {
+        this.activityType = activityType;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public Integer getActorCount() {
+        return actorCount;
+    }
+
+    public void setActorCount(Integer actorCount) {
+        this.actorCount = actorCount;
+    }
+
+    public List<Long> getRecentActorIds() {
+        return recentActorIds;
+    }
+
+    public void setRecentActorIds(List<Long> recentActorIds) {
+        this.recentActorIds = recentActorIds;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public void setIsRead(Boolean isRead) {
+        this.isRead = isRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Activity{" +
+                "id=" + id +
+                ", targetUserId=" + targetUserId +
+                ", activityType=" + activityType +
+                ", groupKey='" + groupKey + '\'' +
+                ", actorCount=" + actorCount +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
 }
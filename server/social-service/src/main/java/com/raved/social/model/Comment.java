@@ -18,10 +18,18 @@ import java.util.List;
         @Index(name = "idx_comments_user", columnList = "user_id"),
         @Index(name = "idx_comments_parent", columnList = "parent_comment_id"),
         @Index(name = "idx_comments_created", columnList = "created_at"),
-        @Index(name = "idx_comments_thread", columnList = "post_id, parent_comment_id, created_at")
+        @Index(name = "idx_comments_thread", columnList = "post_id, parent_comment_id, created_at"),
+        @Index(name = "idx_comments_root_path", columnList = "root_comment_id, path")
 })
 public class Comment {
 
+    /**
+     * Width of one zero-padded id segment in path; fixed width keeps bytewise order equal to
+     * depth-first thread order
+     */
+    public static final int PATH_SEGMENT_WIDTH = 19;
+    public static final char PATH_SEPARATOR = '/';
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,6 +48,16 @@ public class Comment {
     @Column(name = "parent_comment_id")
     private Long parentCommentId; // For nested comments/replies
 
+    // Materialized path (see PATH_SEGMENT_WIDTH); set right after insert, once the id is known
+    @Column(name = "root_comment_id")
+    private Long rootCommentId;
+
+    @Column(name = "depth")
+    private Integer depth;
+
+    @Column(name = "path", columnDefinition = "TEXT COLLATE \"C\"")
+    private String path;
+
     // Engagement Metrics (denormalized for performance)
     @Column(name = "likes_count", nullable = false)
     private Integer likesCount = 0;
@@ -136,6 +154,30 @@ public class Comment {
         this.parentCommentId = parentCommentId;
     }
 
+    public Long getRootCommentId() {
+        return rootCommentId;
+    }
+
+    public void setRootCommentId(Long rootCommentId) {
+        this.rootCommentId = rootCommentId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
     public Integer getLikesCount() {
         return likesCount;
     }
@@ -240,6 +282,22 @@ public class Comment {
         }
     }
 
+    /**
+     * Place this (already persisted) comment in the thread below parent, or as a root when parent is null
+     */
+    public void assignPath(Comment parent) {
+        String segment = String.format("%0" + PATH_SEGMENT_WIDTH + "d", id);
+        if (parent == null) {
+            this.rootCommentId = id;
+            this.depth = 0;
+            this.path = segment;
+        } else {
+            this.rootCommentId = parent.getRootCommentId();
+            this.depth = parent.getDepth() + 1;
+            this.path = parent.getPath() + PATH_SEPARATOR + segment;
+        }
+    }
+
     public boolean isReply() {
         return parentCommentId != null;
     }
@@ -1,8 +1,93 @@
 package com.raved.social.model;
 
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
 /**
- * Follow for TheRavedApp
+ * Follow Entity for TheRavedApp
+ *
+ * Represents a directed follow relationship between two users.
+ * Based on the follows table schema.
  */
+@Entity
+@Table(name = "follows", indexes = {
+        @Index(name = "idx_follows_follower_id", columnList = "follower_id"),
+        @Index(name = "idx_follows_following_id", columnList = "following_id"),
+        @Index(name = "idx_follows_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_follow_follower_following", columnNames = { "follower_id", "following_id" })
+})
 public class Follow {
-    // Implementation
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "follower_id", nullable = false)
+    private Long followerId; // Reference to user service
+
+    @Column(name = "following_id", nullable = false)
+    private Long followingId; // Reference to user service
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Follow() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Follow(Long followerId, Long followingId) {
+        this();
+        this.followerId = followerId;
+        this.followingId = followingId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFollowerId() {
+        return followerId;
+    }
+
+    public void setFollowerId(Long followerId) {
+        this.followerId = followerId;
+    }
+
+    public Long getFollowingId() {
+        return followingId;
+    }
+
+    public void setFollowingId(Long followingId) {
+        this.followingId = followingId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "Follow{" +
+                "id=" + id +
+                ", followerId=" + followerId +
+                ", followingId=" + followingId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
 }
@@ -0,0 +1,89 @@
+package com.raved.social.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * UserAffiliation Entity for TheRavedApp
+ *
+ * Local copy of a user's university and faculty, maintained by user-service,
+ * so social features can weight by affiliation without a cross-service call.
+ */
+@Entity
+@Table(name = "user_affiliations", indexes = {
+        @Index(name = "idx_user_affiliations_faculty", columnList = "faculty_id")
+})
+public class UserAffiliation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId; // Reference to user service
+
+    @Column(name = "university_id")
+    private Long universityId;
+
+    @Column(name = "faculty_id")
+    private Long facultyId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UserAffiliation() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public UserAffiliation(Long userId, Long universityId, Long facultyId) {
+        this();
+        this.userId = userId;
+        this.universityId = universityId;
+        this.facultyId = facultyId;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUniversityId() {
+        return universityId;
+    }
+
+    public void setUniversityId(Long universityId) {
+        this.universityId = universityId;
+    }
+
+    public Long getFacultyId() {
+        return facultyId;
+    }
+
+    public void setFacultyId(Long facultyId) {
+        this.facultyId = facultyId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "UserAffiliation{" +
+                "userId=" + userId +
+                ", universityId=" + universityId +
+                ", facultyId=" + facultyId +
+                '}';
+    }
+}
@@ -0,0 +1,168 @@
+package com.raved.social.moderation;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.util.CountMinSketch;
+import com.raved.social.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Real-time comment burst detector.
+ *
+ * Every comment bumps a sliding-window counter for its author and for its post, and adds a
+ * fingerprint of its normalized text, once combined with the author and once with the post, to a
+ * count-min sketch covering the current and previous window. A comment is suspicious when its
+ * author posts too fast, when the author keeps repeating the same text, or when a post is flooded
+ * with the same text. Popular phrases typed independently by many people on many posts are not
+ * duplicates of each other. Clean traffic costs a few atomic increments and never takes a lock.
+ */
+@Component
+public class CommentBurstDetector {
+
+    /**
+     * Outcome of inspecting one comment
+     */
+    public static final class Verdict {
+        public static final Verdict CLEAN = new Verdict(false, null);
+
+        private final boolean suspicious;
+        private final String reason;
+
+        private Verdict(boolean suspicious, String reason) {
+            this.suspicious = suspicious;
+            this.reason = reason;
+        }
+
+        public boolean isSuspicious() {
+            return suspicious;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    // Distinguish a text's per-author key from its per-post key when the ids are equal
+    private static final long USER_SCOPE = 0x9e3779b97f4a7c15L;
+    private static final long POST_SCOPE = 0xc2b2ae3d27d4eb4fL;
+
+    private final Map<Long, SlidingWindowCounter> userWindows = new ConcurrentHashMap<>();
+    private final Map<Long, SlidingWindowCounter> postWindows = new ConcurrentHashMap<>();
+    private volatile CountMinSketch currentContent;
+    private volatile CountMinSketch previousContent;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final SocialServiceConfig config;
+
+    public CommentBurstDetector(SocialServiceConfig config) {
+        this.config = config;
+        SocialServiceConfig.Moderation settings = config.getModeration();
+        this.currentContent = new CountMinSketch(settings.getSketchWidth(), settings.getSketchDepth());
+        this.previousContent = new CountMinSketch(settings.getSketchWidth(), settings.getSketchDepth());
+    }
+
+    public Verdict inspect(long userId, long postId, String content) {
+        SocialServiceConfig.Moderation settings = config.getModeration();
+        if (!settings.isEnabled()) {
+            return Verdict.CLEAN;
+        }
+        long now = System.currentTimeMillis();
+        int userCount = window(userWindows, userId).incrementAndSum(now);
+        int postCount = window(postWindows, postId).incrementAndSum(now);
+        int userDuplicates = 0;
+        int postDuplicates = 0;
+        long fingerprint = fingerprint(content, settings.getMinFingerprintLength());
+        if (fingerprint != 0) {
+            userDuplicates = countContent(scoped(fingerprint, userId, USER_SCOPE));
+            postDuplicates = countContent(scoped(fingerprint, postId, POST_SCOPE));
+        }
+
+        if (userCount > settings.getMaxCommentsPerUser()) {
+            return flag("Author posted " + userCount + " comments within the window", "user-rate");
+        }
+        if (userDuplicates > settings.getMaxDuplicatesPerUser()) {
+            return flag("Author posted the same text " + userDuplicates + " times within the window",
+                    "duplicate-content");
+        }
+        if (postDuplicates > settings.getMaxDuplicatesPerPost()) {
+            return flag("Post received the same text " + postDuplicates + " times within the window",
+                    "duplicate-content");
+        }
+        if (postCount > settings.getMaxCommentsPerPost() && postDuplicates > 1) {
+            return flag("Post received " + postCount + " comments within the window, with repeated text",
+                    "post-burst");
+        }
+        return Verdict.CLEAN;
+    }
+
+    /**
+     * Age the content sketch by one window and forget idle counters
+     */
+    @Scheduled(fixedDelayString = "${social.moderation.window-ms:60000}")
+    public void rotate() {
+        CountMinSketch recycled = previousContent;
+        recycled.clear();
+        previousContent = currentContent;
+        currentContent = recycled;
+
+        long now = System.currentTimeMillis();
+        userWindows.values().removeIf(counter -> counter.isIdle(now));
+        postWindows.values().removeIf(counter -> counter.isIdle(now));
+    }
+
+    private SlidingWindowCounter window(Map<Long, SlidingWindowCounter> windows, long key) {
+        SlidingWindowCounter counter = windows.get(key);
+        if (counter == null) {
+            SocialServiceConfig.Moderation settings = config.getModeration();
+            counter = windows.computeIfAbsent(key,
+                    k -> new SlidingWindowCounter(settings.getWindowMs(), settings.getWindowBuckets()));
+        }
+        return counter;
+    }
+
+    private int countContent(long key) {
+        return currentContent.add(key) + previousContent.estimate(key);
+    }
+
+    private Verdict flag(String reason, String type) {
+        meterRegistry.counter("social.comments.flagged", "reason", type).increment();
+        return new Verdict(true, reason);
+    }
+
+    /**
+     * 64-bit FNV-1a over the letters of the text, lower-cased, so spacing, punctuation, digits
+     * and emoji padding do not defeat matching; 0 when too short to be meaningful
+     */
+    static long fingerprint(String content, int minLength) {
+        long hash = 0xcbf29ce484222325L;
+        int letters = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (Character.isLetter(c)) {
+                hash ^= Character.toLowerCase(c);
+                hash *= 0x100000001b3L;
+                letters++;
+            }
+        }
+        return letters < minLength || hash == 0 ? 0 : hash;
+    }
+
+    /**
+     * Sketch key for a fingerprint within one author or post (a murmur3 finalizer over both)
+     */
+    static long scoped(long fingerprint, long id, long scope) {
+        long h = fingerprint ^ (id * scope);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,143 @@
+package com.raved.social.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raved.social.config.SocialServiceConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes outbox events to RabbitMQ in batches.
+ *
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED, so several nodes can relay concurrently
+ * without publishing the same rows, sent as one message, and deleted only after the broker
+ * confirms it. Messages are published mandatory: one the broker cannot route to any queue (say,
+ * before content-service has bound its queue) is returned, and its rows are kept. A crash between the confirm and the commit republishes the batch; consumers
+ * deduplicate on (source, event id), so delivery is effectively once. Events are counter deltas
+ * and therefore need no ordering across batches.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SOURCE = "social-service";
+
+    private static final String CLAIM_SQL =
+            "SELECT id, event_type, aggregate_type, aggregate_id, payload::text FROM outbox_events " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ANY(?)";
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final SocialServiceConfig config;
+
+    private final Counter eventsPublished;
+    private final Counter batchesPublished;
+    private final Counter batchesReturned;
+    // Message ids of batches the broker returned as unroutable, recorded by the returns callback
+    private final Set<String> returned = ConcurrentHashMap.newKeySet();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       RabbitTemplate rabbitTemplate, ObjectMapper objectMapper, SocialServiceConfig config,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.eventsPublished = meterRegistry.counter("social.outbox.published", "unit", "event");
+        this.batchesPublished = meterRegistry.counter("social.outbox.published", "unit", "batch");
+        this.batchesReturned = meterRegistry.counter("social.outbox.returned");
+        // The broker sends a return before the confirm, so it is recorded by the time the confirm is awaited
+        rabbitTemplate.setMandatory(true);
+        rabbitTemplate.setReturnsCallback(message ->
+                returned.add(message.getMessage().getMessageProperties().getMessageId()));
+    }
+
+    /**
+     * Drain the outbox, up to a bounded number of batches per run
+     */
+    @Scheduled(fixedDelayString = "${social.outbox.relay-interval-ms:200}")
+    public void relay() {
+        SocialServiceConfig.Outbox settings = config.getOutbox();
+        try {
+            for (int run = 0; run < settings.getMaxBatchesPerRun(); run++) {
+                Integer published = transactionTemplate.execute(status -> publishBatch(settings));
+                if (published == null || published < settings.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (AmqpException | DataAccessException e) {
+            // The claimed rows were rolled back and will be picked up again
+            log.warn("Outbox relay failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    private int publishBatch(SocialServiceConfig.Outbox settings) {
+        List<SocialEvent> events = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new SocialEvent(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4), parsePayload(rs.getString(5))),
+                settings.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        SocialEventBatch batch = new SocialEventBatch(SOURCE, events);
+        String messageId = UUID.randomUUID().toString();
+        rabbitTemplate.invoke(operations -> {
+            operations.convertAndSend(settings.getExchange(), settings.getRoutingKey(), batch, message -> {
+                message.getMessageProperties().setMessageId(messageId);
+                return message;
+            });
+            operations.waitForConfirmsOrDie(settings.getConfirmTimeoutMs());
+            return null;
+        });
+        if (returned.remove(messageId)) {
+            batchesReturned.increment();
+            throw new AmqpException("No queue bound to " + settings.getExchange() + " for "
+                    + settings.getRoutingKey() + "; " + events.size() + " events kept");
+        }
+
+        Long[] ids = events.stream().map(SocialEvent::getId).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        });
+        eventsPublished.increment(events.size());
+        batchesPublished.increment();
+        return events.size();
+    }
+
+    private Map<String, Object> parsePayload(String json) {
+        try {
+            return objectMapper.readValue(json, PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload: " + json, e);
+        }
+    }
+}
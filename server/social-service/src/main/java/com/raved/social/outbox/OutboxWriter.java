@@ -0,0 +1,57 @@
+package com.raved.social.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+
+/**
+ * Appends events to the outbox inside the caller's transaction.
+ *
+ * MANDATORY propagation makes it impossible to record an event outside the transaction of the
+ * write it describes: either both commit or neither does.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String POST_AGGREGATE = "Post";
+    public static final String POST_LIKES_CHANGED = "PostLikesChanged";
+    public static final String POST_COMMENTS_CHANGED = "PostCommentsChanged";
+
+    private static final String INSERT_DELTAS_SQL =
+            "INSERT INTO outbox_events (event_type, aggregate_type, aggregate_id, payload) " +
+            "SELECT ?, ?, t.id, jsonb_build_object('delta', t.delta) " +
+            "FROM unnest(?::bigint[], ?::int[]) AS t(id, delta)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Append one {"delta": n} event per post in a single statement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendPostDeltas(String eventType, Map<Long, Integer> deltas) {
+        Long[] postIds = new Long[deltas.size()];
+        Integer[] values = new Integer[deltas.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+            postIds[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        if (i == 0) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_DELTAS_SQL);
+            ps.setString(1, eventType);
+            ps.setString(2, POST_AGGREGATE);
+            ps.setArray(3, con.createArrayOf("bigint", postIds));
+            ps.setArray(4, con.createArrayOf("integer", values));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.raved.social.recommend;
+
+import com.raved.social.graph.FollowGraph;
+import com.raved.social.util.LongHashSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compressed sparse row snapshot of the follow graph.
+ *
+ * Users are renumbered to dense int indices (position in the sorted userIds array), and every
+ * following list is packed back to back into one int[] addressed through offsets. Two-hop walks
+ * then touch only primitive arrays, and per-candidate state fits in flat int[] scratch space.
+ */
+final class CsrSnapshot {
+
+    final long[] userIds;
+    final int[] offsets;
+    final int[] targets;
+    final long[] universityIds; // 0 when unknown
+    final long[] facultyIds; // 0 when unknown
+    final Map<Long, int[]> facultyMembers;
+
+    private CsrSnapshot(long[] userIds, int[] offsets, int[] targets, long[] universityIds, long[] facultyIds,
+                        Map<Long, int[]> facultyMembers) {
+        this.userIds = userIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.universityIds = universityIds;
+        this.facultyIds = facultyIds;
+        this.facultyMembers = facultyMembers;
+    }
+
+    int size() {
+        return userIds.length;
+    }
+
+    int indexOf(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        return index >= 0 ? index : -1;
+    }
+
+    int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Map sorted user ids to sorted dense indices, dropping ids unknown to the snapshot
+     */
+    int[] toIndices(long[] ids) {
+        int[] result = new int[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            int index = indexOf(id);
+            if (index >= 0) {
+                result[count++] = index;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * @param affiliations userId -> { universityId, facultyId }
+     */
+    static CsrSnapshot build(FollowGraph graph, Map<Long, long[]> affiliations) {
+        LongHashSet ids = new LongHashSet();
+        Map<Long, long[]> adjacency = new HashMap<>();
+        // Arrays in the graph are immutable, so holding references gives a consistent view per user
+        graph.forEachFollowing((userId, following) -> {
+            adjacency.put(userId, following);
+            ids.add(userId);
+            for (long target : following) {
+                ids.add(target);
+            }
+        });
+        affiliations.keySet().forEach(ids::add);
+
+        long[] userIds = ids.toArray();
+        Arrays.sort(userIds);
+        int n = userIds.length;
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            long[] following = adjacency.get(userIds[i]);
+            offsets[i + 1] = offsets[i] + (following != null ? following.length : 0);
+        }
+        int[] targets = new int[offsets[n]];
+        long[] universityIds = new long[n];
+        long[] facultyIds = new long[n];
+        Map<Long, Integer> facultySizes = new HashMap<>();
+        CsrSnapshot snapshot = new CsrSnapshot(userIds, offsets, targets, universityIds, facultyIds, new HashMap<>());
+
+        for (int i = 0; i < n; i++) {
+            long[] following = adjacency.get(userIds[i]);
+            if (following != null) {
+                // Sorted ids map to ascending indices, so each packed list stays sorted
+                for (int j = 0; j < following.length; j++) {
+                    targets[offsets[i] + j] = snapshot.indexOf(following[j]);
+                }
+            }
+            long[] affiliation = affiliations.get(userIds[i]);
+            if (affiliation != null) {
+                universityIds[i] = affiliation[0];
+                facultyIds[i] = affiliation[1];
+                if (affiliation[1] != 0) {
+                    facultySizes.merge(affiliation[1], 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<Long, int[]> members = snapshot.facultyMembers;
+        Map<Long, Integer> filled = new HashMap<>();
+        facultySizes.forEach((facultyId, size) -> members.put(facultyId, new int[size]));
+        for (int i = 0; i < n; i++) {
+            if (facultyIds[i] != 0) {
+                int slot = filled.merge(facultyIds[i], 1, Integer::sum) - 1;
+                members.get(facultyIds[i])[slot] = i;
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,447 @@
+package com.raved.social.recommend;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.graph.FollowEvent;
+import com.raved.social.graph.FollowGraph;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * "People you may know" engine.
+ *
+ * A periodic job snapshots FollowGraph into a CsrSnapshot and scores every user in parallel on
+ * a ForkJoinPool. A user's candidates are the accounts followed by the accounts they follow
+ * (weighted by how many paths lead there), their followers they have not followed back, and a
+ * sample of faculty peers; shared university and faculty add to the score. The top N per user
+ * are cached. Follow changes mark both the follower and the followed user dirty, since the
+ * latter gained or lost a follower to suggest back, and a short-interval refresh rescores just
+ * those users against the current snapshot, using their live follow lists.
+ *
+ * The rebuild runs on its own thread rather than the shared scheduler. Scoring outside it takes
+ * no lock: the snapshot is immutable, and each call borrows scratch space from a small pool.
+ */
+@Component
+public class PeopleYouMayKnowEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PeopleYouMayKnowEngine.class);
+
+    private static final String LOAD_AFFILIATIONS_SQL =
+            "SELECT user_id, university_id, faculty_id FROM user_affiliations";
+
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final Map<Long, Suggestions> cache = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Workspace> workspaces = new ThreadLocal<>(); // fork-join workers only
+    // Graph-sized scratch arrays for scoring outside the batch job, kept for reuse up to a bound
+    private final BlockingQueue<Workspace> liveWorkspaces =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pymk-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CsrSnapshot snapshot;
+    private ForkJoinPool pool;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    /**
+     * Start a rebuild on the rebuild thread unless one is still running
+     */
+    @Scheduled(initialDelayString = "${social.recommendations.initial-delay-ms:60000}",
+            fixedDelayString = "${social.recommendations.rebuild-interval-ms:21600000}")
+    public void scheduleRebuild() {
+        if (!config.getRecommendations().isEnabled() || !followGraph.isLoaded()
+                || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("People-you-may-know rebuild failed", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    /**
+     * Rebuild the snapshot and rescore every user
+     */
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        CsrSnapshot next = CsrSnapshot.build(followGraph, loadAffiliations());
+        Map<Long, Suggestions> results = new ConcurrentHashMap<>();
+        getPool().invoke(new ScoreRange(next, 0, next.size(), results));
+
+        snapshot = next;
+        // Users followed/unfollowed during the rebuild keep their fresher incremental result
+        results.keySet().removeAll(dirty);
+        cache.putAll(results);
+        cache.keySet().removeIf(userId -> !results.containsKey(userId) && !dirty.contains(userId));
+        log.info("People-you-may-know rebuilt for {} users ({} edges) in {} ms",
+                next.size(), next.targets.length, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Rescore users whose follows changed since the last pass
+     */
+    @Scheduled(fixedDelayString = "${social.recommendations.refresh-interval-ms:5000}")
+    public void refreshDirty() {
+        CsrSnapshot current = snapshot;
+        if (current == null || dirty.isEmpty()) {
+            return;
+        }
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext()) {
+            Long userId = it.next();
+            it.remove();
+            Suggestions suggestions = scoreLive(current, userId);
+            if (suggestions != null) {
+                cache.put(userId, suggestions);
+            } else {
+                cache.remove(userId);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        dirty.add(event.getFollowerId());
+        dirty.add(event.getFollowingId());
+    }
+
+    /**
+     * Current suggestions for a user, best first, skipping anyone they already follow
+     */
+    public List<Suggestion> getSuggestions(long userId, int limit) {
+        Suggestions suggestions = cache.get(userId);
+        if (suggestions == null) {
+            CsrSnapshot current = snapshot;
+            if (current == null) {
+                return List.of();
+            }
+            // Not scored yet (e.g. joined after the last rebuild): score now and keep the result
+            suggestions = scoreLive(current, userId);
+            if (suggestions == null) {
+                return List.of();
+            }
+            cache.put(userId, suggestions);
+        }
+
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, suggestions.size()));
+        for (int i = 0; i < suggestions.size() && result.size() < limit; i++) {
+            long candidate = suggestions.userIds[i];
+            if (!followGraph.isFollowing(userId, candidate)) {
+                result.add(new Suggestion(candidate, suggestions.scores[i], suggestions.mutualCounts[i],
+                        suggestions.flags[i]));
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            int parallelism = config.getRecommendations().getParallelism();
+            pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+
+    private Map<Long, long[]> loadAffiliations() {
+        Map<Long, long[]> affiliations = new HashMap<>();
+        jdbcTemplate.query(LOAD_AFFILIATIONS_SQL, (RowCallbackHandler) rs ->
+                affiliations.put(rs.getLong(1), new long[] { rs.getLong(2), rs.getLong(3) }));
+        return affiliations;
+    }
+
+    /**
+     * Score one user outside the batch job. Concurrent callers each borrow a pooled workspace;
+     * one finding the pool empty allocates its own, which is kept afterwards if there is room.
+     */
+    private Suggestions scoreLive(CsrSnapshot current, long userId) {
+        int source = current.indexOf(userId);
+        if (source < 0) {
+            return null;
+        }
+        Workspace ws = liveWorkspaces.poll();
+        if (ws == null || ws.mutual.length < current.size()) {
+            // A workspace sized for an older, smaller snapshot is simply dropped
+            ws = new Workspace(current.size());
+        }
+        try {
+            int[] following = current.toIndices(followGraph.getFollowing(userId));
+            return score(current, source, following, ws);
+        } finally {
+            liveWorkspaces.offer(ws);
+        }
+    }
+
+    private Workspace workspace(CsrSnapshot current) {
+        Workspace workspace = workspaces.get();
+        if (workspace == null || workspace.mutual.length < current.size()) {
+            workspace = new Workspace(current.size());
+            workspaces.set(workspace);
+        }
+        return workspace;
+    }
+
+    /**
+     * Score all candidates of one user. Scratch arrays are indexed by dense user index and
+     * "cleared" by bumping a stamp, so each call costs only the candidates it touches.
+     */
+    private Suggestions score(CsrSnapshot g, int source, int[] following, Workspace ws) {
+        SocialServiceConfig.Recommendations settings = config.getRecommendations();
+        int stamp = ws.nextStamp();
+        ws.touchedCount = 0;
+
+        for (int followed : following) {
+            ws.followedStamp[followed] = stamp;
+        }
+        ws.followedStamp[source] = stamp;
+
+        // Two-hop walk; hubs that follow thousands of accounts carry little signal and dominate cost
+        for (int followed : following) {
+            if (g.degree(followed) > settings.getMaxIntermediateDegree()) {
+                continue;
+            }
+            for (int k = g.offsets[followed]; k < g.offsets[followed + 1]; k++) {
+                ws.touch(g.targets[k], stamp).mutual[g.targets[k]]++;
+            }
+        }
+        for (int follower : g.toIndices(followGraph.getFollowers(g.userIds[source]))) {
+            ws.touch(follower, stamp).followsYouStamp[follower] = stamp;
+        }
+        long facultyId = g.facultyIds[source];
+        if (facultyId != 0) {
+            int[] peers = g.facultyMembers.get(facultyId);
+            int sample = Math.min(peers.length, settings.getFacultySampleSize());
+            // Rotate the sample window per user so large faculties do not always surface the same peers
+            int start = peers.length > sample ? (int) Math.floorMod(g.userIds[source], (long) peers.length) : 0;
+            for (int i = 0; i < sample; i++) {
+                ws.touch(peers[(start + i) % peers.length], stamp);
+            }
+        }
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(settings.getTopN() + 1);
+        for (int i = 0; i < ws.touchedCount; i++) {
+            int candidate = ws.touched[i];
+            if (ws.followedStamp[candidate] == stamp) {
+                continue;
+            }
+            byte flags = 0;
+            double score = ws.mutual[candidate] * settings.getMutualWeight();
+            if (ws.followsYouStamp[candidate] == stamp) {
+                flags |= Suggestions.FOLLOWS_YOU;
+                score += settings.getFollowsYouWeight();
+            }
+            if (g.universityIds[source] != 0 && g.universityIds[source] == g.universityIds[candidate]) {
+                flags |= Suggestions.SAME_UNIVERSITY;
+                score += settings.getSameUniversityWeight();
+            }
+            if (facultyId != 0 && facultyId == g.facultyIds[candidate]) {
+                flags |= Suggestions.SAME_FACULTY;
+                score += settings.getSameFacultyWeight();
+            }
+            if (score <= 0) {
+                continue;
+            }
+            if (top.size() < settings.getTopN()) {
+                top.add(new Candidate(candidate, score, ws.mutual[candidate], flags));
+            } else if (score > top.peek().score) {
+                top.poll();
+                top.add(new Candidate(candidate, score, ws.mutual[candidate], flags));
+            }
+        }
+        if (top.isEmpty()) {
+            return null;
+        }
+
+        Suggestions result = new Suggestions(top.size());
+        for (int i = top.size() - 1; i >= 0; i--) {
+            Candidate c = top.poll();
+            result.userIds[i] = g.userIds[c.index];
+            result.scores[i] = (float) c.score;
+            result.mutualCounts[i] = c.mutual;
+            result.flags[i] = c.flags;
+        }
+        return result;
+    }
+
+    /**
+     * Public view of one suggestion
+     */
+    public static final class Suggestion {
+        private final long userId;
+        private final double score;
+        private final int mutualCount;
+        private final byte flags;
+
+        Suggestion(long userId, double score, int mutualCount, byte flags) {
+            this.userId = userId;
+            this.score = score;
+            this.mutualCount = mutualCount;
+            this.flags = flags;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public int getMutualCount() {
+            return mutualCount;
+        }
+
+        public boolean isFollowsYou() {
+            return (flags & Suggestions.FOLLOWS_YOU) != 0;
+        }
+
+        public boolean isSameUniversity() {
+            return (flags & Suggestions.SAME_UNIVERSITY) != 0;
+        }
+
+        public boolean isSameFaculty() {
+            return (flags & Suggestions.SAME_FACULTY) != 0;
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        final int index;
+        final double score;
+        final int mutual;
+        final byte flags;
+
+        Candidate(int index, double score, int mutual, byte flags) {
+            this.index = index;
+            this.score = score;
+            this.mutual = mutual;
+            this.flags = flags;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Double.compare(score, other.score);
+        }
+    }
+
+    /**
+     * Per-thread scratch space sized to the snapshot
+     */
+    private static final class Workspace {
+        final int[] mutual;
+        final int[] seenStamp;
+        final int[] followedStamp;
+        final int[] followsYouStamp;
+        final int[] touched;
+        int touchedCount;
+        int stamp;
+
+        Workspace(int size) {
+            mutual = new int[size];
+            seenStamp = new int[size];
+            followedStamp = new int[size];
+            followsYouStamp = new int[size];
+            touched = new int[size];
+        }
+
+        int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(seenStamp, 0);
+                Arrays.fill(followedStamp, 0);
+                Arrays.fill(followsYouStamp, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+
+        Workspace touch(int candidate, int stamp) {
+            if (seenStamp[candidate] != stamp) {
+                seenStamp[candidate] = stamp;
+                mutual[candidate] = 0;
+                touched[touchedCount++] = candidate;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Fork-join task scoring a contiguous range of dense user indices
+     */
+    private final class ScoreRange extends RecursiveAction {
+        private final CsrSnapshot g;
+        private final int from;
+        private final int to;
+        private final Map<Long, Suggestions> results;
+
+        ScoreRange(CsrSnapshot g, int from, int to, Map<Long, Suggestions> results) {
+            this.g = g;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScoreRange(g, from, mid, results), new ScoreRange(g, mid, to, results));
+                return;
+            }
+            Workspace ws = workspace(g);
+            for (int source = from; source < to; source++) {
+                int[] following = Arrays.copyOfRange(g.targets, g.offsets[source], g.offsets[source + 1]);
+                Suggestions suggestions = score(g, source, following, ws);
+                if (suggestions != null) {
+                    results.put(g.userIds[source], suggestions);
+                }
+            }
+        }
+    }
+}
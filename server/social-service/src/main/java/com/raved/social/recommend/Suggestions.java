@@ -0,0 +1,27 @@
+package com.raved.social.recommend;
+
+/**
+ * Cached top-N suggestions for one user, best first, stored as parallel primitive arrays
+ */
+final class Suggestions {
+
+    static final byte FOLLOWS_YOU = 1;
+    static final byte SAME_UNIVERSITY = 2;
+    static final byte SAME_FACULTY = 4;
+
+    final long[] userIds;
+    final float[] scores;
+    final int[] mutualCounts;
+    final byte[] flags;
+
+    Suggestions(int size) {
+        this.userIds = new long[size];
+        this.scores = new float[size];
+        this.mutualCounts = new int[size];
+        this.flags = new byte[size];
+    }
+
+    int size() {
+        return userIds.length;
+    }
+}
@@ -1,8 +1,122 @@
 package com.raved.social.repository;
 
+import com.raved.social.model.Activity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * ActivityRepository for TheRavedApp
+ *
+ * JDBC-backed because activities is a partitioned table keyed by (id, updated_at) with an array
+ * column. Every query bounds updated_at with a literal timestamp so the planner prunes to the
+ * recent partitions.
  */
-public interface ActivityRepository {
-    // Implementation
+@Repository
+public class ActivityRepository {
+
+    private static final String LOCK_GROUP_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String MERGE_INTO_GROUP_SQL =
+            "UPDATE activities SET user_id = ?, " +
+            "actor_count = actor_count + CASE WHEN ? = ANY(recent_actor_ids) THEN 0 ELSE 1 END, " +
+            "recent_actor_ids = (ARRAY[?::bigint] || array_remove(recent_actor_ids, ?::bigint))[1:?], " +
+            "is_read = FALSE, updated_at = ? " +
+            "WHERE target_user_id = ? AND group_key = ? AND updated_at >= ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO activities (target_user_id, user_id, activity_type, post_id, comment_id, group_key, " +
+            "actor_count, recent_actor_ids, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 1, ARRAY[?::bigint], ?, ?)";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, target_user_id, user_id, activity_type, post_id, comment_id, group_key, actor_count, " +
+            "recent_actor_ids, is_read, created_at, updated_at FROM activities ";
+
+    private static final String TIMELINE_SQL = SELECT_COLUMNS +
+            "WHERE target_user_id = ? AND updated_at >= ? ORDER BY updated_at DESC, id DESC LIMIT ?";
+
+    private static final String TIMELINE_AFTER_SQL = SELECT_COLUMNS +
+            "WHERE target_user_id = ? AND updated_at >= ? AND (updated_at, id) < (?, ?) " +
+            "ORDER BY updated_at DESC, id DESC LIMIT ?";
+
+    private static final String COUNT_UNREAD_SQL =
+            "SELECT COUNT(*) FROM activities WHERE target_user_id = ? AND updated_at >= ? AND is_read = FALSE";
+
+    private static final String MARK_ALL_READ_SQL =
+            "UPDATE activities SET is_read = TRUE WHERE target_user_id = ? AND updated_at >= ? AND is_read = FALSE";
+
+    private static final RowMapper<Activity> ROW_MAPPER = (rs, rowNum) -> {
+        Activity activity = new Activity();
+        activity.setId(rs.getLong("id"));
+        activity.setTargetUserId(rs.getLong("target_user_id"));
+        activity.setUserId(rs.getLong("user_id"));
+        activity.setActivityType(Activity.ActivityType.valueOf(rs.getString("activity_type")));
+        activity.setPostId(rs.getObject("post_id", Long.class));
+        activity.setCommentId(rs.getObject("comment_id", Long.class));
+        activity.setGroupKey(rs.getString("group_key"));
+        activity.setActorCount(rs.getInt("actor_count"));
+        Array actors = rs.getArray("recent_actor_ids");
+        activity.setRecentActorIds(actors != null
+                ? new ArrayList<>(Arrays.asList((Long[]) actors.getArray())) : new ArrayList<>());
+        activity.setIsRead(rs.getBoolean("is_read"));
+        activity.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        activity.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return activity;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serialize writers of one (recipient, group) for the rest of the current transaction
+     */
+    public void lockGroup(Long targetUserId, String groupKey) {
+        long key = targetUserId * 31 + groupKey.hashCode();
+        jdbcTemplate.query(LOCK_GROUP_SQL, rs -> null, key);
+    }
+
+    /**
+     * Fold an actor into the group's open item (updated since windowStart); returns false if there is none
+     */
+    public boolean mergeIntoOpenGroup(Long targetUserId, String groupKey, Long actorId, int maxRecentActors,
+                                      LocalDateTime windowStart, LocalDateTime now) {
+        return jdbcTemplate.update(MERGE_INTO_GROUP_SQL, actorId, actorId, actorId, actorId, maxRecentActors,
+                Timestamp.valueOf(now), targetUserId, groupKey, Timestamp.valueOf(windowStart)) > 0;
+    }
+
+    public void insert(Activity activity, LocalDateTime now) {
+        jdbcTemplate.update(INSERT_SQL, activity.getTargetUserId(), activity.getUserId(),
+                activity.getActivityType().name(), activity.getPostId(), activity.getCommentId(),
+                activity.getGroupKey(), activity.getUserId(), Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+
+    /**
+     * Newest items first, optionally strictly after the (updatedAt, id) cursor
+     */
+    public List<Activity> findTimeline(Long targetUserId, LocalDateTime windowStart,
+                                       LocalDateTime afterUpdatedAt, Long afterId, int limit) {
+        if (afterUpdatedAt == null) {
+            return jdbcTemplate.query(TIMELINE_SQL, ROW_MAPPER, targetUserId, Timestamp.valueOf(windowStart), limit);
+        }
+        return jdbcTemplate.query(TIMELINE_AFTER_SQL, ROW_MAPPER, targetUserId, Timestamp.valueOf(windowStart),
+                Timestamp.valueOf(afterUpdatedAt), afterId, limit);
+    }
+
+    public long countUnread(Long targetUserId, LocalDateTime windowStart) {
+        Long count = jdbcTemplate.queryForObject(COUNT_UNREAD_SQL, Long.class, targetUserId,
+                Timestamp.valueOf(windowStart));
+        return count != null ? count : 0;
+    }
+
+    public int markAllRead(Long targetUserId, LocalDateTime windowStart) {
+        return jdbcTemplate.update(MARK_ALL_READ_SQL, targetUserId, Timestamp.valueOf(windowStart));
+    }
 }
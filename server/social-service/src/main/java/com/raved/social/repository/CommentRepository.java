@@ -1,8 +1,65 @@
 package com.raved.social.repository;
 
+import com.raved.social.model.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
 /**
  * CommentRepository for TheRavedApp
  */
-public interface CommentRepository {
-    // Implementation
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * Newest root comments of a post; deleted roots stay visible while they still have replies
+     */
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.parentCommentId IS NULL " +
+            "AND c.moderationStatus = :status AND (c.isDeleted = false OR c.repliesCount > 0) ORDER BY c.id DESC")
+    List<Comment> findRoots(@Param("postId") Long postId, @Param("status") Comment.ModerationStatus status,
+                            Pageable pageable);
+
+    /**
+     * Next page of root comments older than the cursor id
+     */
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.parentCommentId IS NULL AND c.id < :beforeId " +
+            "AND c.moderationStatus = :status AND (c.isDeleted = false OR c.repliesCount > 0) ORDER BY c.id DESC")
+    List<Comment> findRootsBefore(@Param("postId") Long postId, @Param("beforeId") Long beforeId,
+                                  @Param("status") Comment.ModerationStatus status, Pageable pageable);
+
+    /**
+     * First replies (depth-first order) of every given thread in one round trip; each LATERAL
+     * branch is a bounded range scan on idx_comments_root_path
+     */
+    @Query(value = "SELECT r.* FROM comments root CROSS JOIN LATERAL (" +
+            "SELECT c.* FROM comments c WHERE c.root_comment_id = root.id AND c.depth > 0 " +
+            "AND c.moderation_status = 'APPROVED' " +
+            "ORDER BY c.path LIMIT :limit) r " +
+            "WHERE root.id IN (:rootIds) ORDER BY r.root_comment_id, r.path", nativeQuery = true)
+    List<Comment> findFirstRepliesOfThreads(@Param("rootIds") Collection<Long> rootIds, @Param("limit") int limit);
+
+    /**
+     * Page of a subtree in depth-first order: paths strictly between the cursor and the subtree's upper bound
+     */
+    @Query("SELECT c FROM Comment c WHERE c.rootCommentId = :rootId AND c.path > :afterPath AND c.path < :upperPath " +
+            "AND c.moderationStatus = :status ORDER BY c.path")
+    List<Comment> findSubtreePage(@Param("rootId") Long rootId, @Param("afterPath") String afterPath,
+                                  @Param("upperPath") String upperPath, @Param("status") Comment.ModerationStatus status,
+                                  Pageable pageable);
+
+    /**
+     * Move a comment from one moderation status to another and clear its flag; 0 if it was no
+     * longer in the expected status, so concurrent decisions take effect once
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.moderationStatus = :to, c.isFlagged = false " +
+            "WHERE c.id = :id AND c.moderationStatus = :from")
+    int updateModerationStatus(@Param("id") Long id, @Param("from") Comment.ModerationStatus from,
+                               @Param("to") Comment.ModerationStatus to);
 }
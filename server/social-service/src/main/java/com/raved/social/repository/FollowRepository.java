@@ -1,8 +1,58 @@
 package com.raved.social.repository;
 
+import com.raved.social.model.Follow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
 /**
  * FollowRepository for TheRavedApp
  */
-public interface FollowRepository {
-    // Implementation
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+
+    /**
+     * Check if a follow relationship exists
+     */
+    boolean existsByFollowerIdAndFollowingId(Long followerId, Long followingId);
+
+    /**
+     * Ids following a user in id order, the same order FollowGraph returns them in
+     */
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followingId = :userId ORDER BY f.followerId")
+    List<Long> findFollowerIds(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Ids a user follows in id order, the same order FollowGraph returns them in
+     */
+    @Query("SELECT f.followingId FROM Follow f WHERE f.followerId = :userId ORDER BY f.followingId")
+    List<Long> findFollowingIds(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Ids a user follows that follow them back, in id order
+     */
+    @Query(value = "SELECT a.following_id FROM follows a JOIN follows b " +
+            "ON b.follower_id = a.following_id AND b.following_id = a.follower_id " +
+            "WHERE a.follower_id = :userId ORDER BY a.following_id", nativeQuery = true)
+    List<Long> findMutualFollowIds(@Param("userId") Long userId);
+
+    /**
+     * Insert a follow relationship unless it already exists, returning the number of rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO follows (follower_id, following_id, created_at) " +
+            "VALUES (:followerId, :followingId, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") Long followerId, @Param("followingId") Long followingId);
+
+    /**
+     * Delete a follow relationship, returning the number of rows removed
+     */
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.followerId = :followerId AND f.followingId = :followingId")
+    int deleteByFollowerIdAndFollowingId(@Param("followerId") Long followerId, @Param("followingId") Long followingId);
 }
@@ -1,8 +1,30 @@
 package com.raved.social.repository;
 
+import com.raved.social.model.Like;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
 /**
  * LikeRepository for TheRavedApp
  */
-public interface LikeRepository {
-    // Implementation
+@Repository
+public interface LikeRepository extends JpaRepository<Like, Long> {
+
+    /**
+     * Find which of the given posts a user has liked (single IN query on uk_like_user_post)
+     */
+    @Query("SELECT l.postId FROM Like l WHERE l.userId = :userId AND l.postId IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Find a user's liked post ids, newest first
+     */
+    @Query("SELECT l.postId FROM Like l WHERE l.userId = :userId AND l.postId IS NOT NULL ORDER BY l.createdAt DESC")
+    List<Long> findRecentLikedPostIds(@Param("userId") Long userId, Pageable pageable);
 }
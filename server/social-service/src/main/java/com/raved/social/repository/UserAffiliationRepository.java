@@ -0,0 +1,12 @@
+package com.raved.social.repository;
+
+import com.raved.social.model.UserAffiliation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * UserAffiliationRepository for TheRavedApp
+ */
+@Repository
+public interface UserAffiliationRepository extends JpaRepository<UserAffiliation, Long> {
+}
@@ -0,0 +1,125 @@
+package com.raved.social.scheduler;
+
+import com.raved.social.config.SocialServiceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of the activities table.
+ *
+ * Partitions are created a few months ahead so inserts never land in the default partition,
+ * and whole months older than the retention period are detached and dropped, which is far
+ * cheaper than deleting rows. Should the default partition hold rows for a month anyway (a
+ * clock jump, or maintenance that did not run for months), the partition is built as a plain
+ * table, the rows are moved into it and it is attached, all in one transaction; creating it
+ * directly would fail on those rows.
+ */
+@Component
+public class ActivityPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityPartitionManager.class);
+
+    private static final String PARTITION_PREFIX = "activities_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'activities'";
+
+    private static final String EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${social.activities.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        SocialServiceConfig.Activities settings = config.getActivities();
+        YearMonth current = YearMonth.now();
+        for (int ahead = 0; ahead <= settings.getPartitionsAhead(); ahead++) {
+            createPartition(current.plusMonths(ahead));
+        }
+        dropExpiredPartitions(current.minusMonths(settings.getRetentionMonths()));
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+        String inMonth = "updated_at >= " + from + " AND updated_at < " + to;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, name))) {
+                return;
+            }
+            // Hold off inserts into the default partition until the month has its own
+            jdbcTemplate.execute("LOCK TABLE activities_default IN SHARE ROW EXCLUSIVE MODE");
+            Boolean stranded = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM activities_default WHERE " + inMonth + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(stranded)) {
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF activities " +
+                        "FOR VALUES FROM (" + from + ") TO (" + to + ")");
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + name +
+                    " (LIKE activities INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM activities_default WHERE " + inMonth +
+                    " RETURNING *) INSERT INTO " + name + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE activities ATTACH PARTITION " + name +
+                    " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            log.warn("Moved {} activities of {} out of the default partition; "
+                    + "partitions should be created further ahead", moved, month);
+        });
+    }
+
+    /**
+     * Drop every monthly partition that ends at or before the start of the cutoff month
+     */
+    private void dropExpiredPartitions(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+        for (String name : partitions) {
+            YearMonth month = parseMonth(name);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE activities DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+            log.info("Dropped expired activity partition {}", name);
+        }
+    }
+
+    private static YearMonth parseMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null; // activities_default and anything not created by us
+        }
+    }
+}
@@ -1,8 +1,30 @@
 package com.raved.social.service;
 
+import com.raved.social.dto.response.ActivityPageResponse;
+import com.raved.social.model.Activity;
+
 /**
- * ActivityService for TheRavedApp
+ * Service interface for Activity operations
  */
 public interface ActivityService {
-    // Implementation
+
+    /**
+     * Record an activity for the target user, folding it into a matching recent item when possible
+     */
+    void recordActivity(Long actorId, Long targetUserId, Activity.ActivityType type, Long postId, Long commentId);
+
+    /**
+     * Get a page of the user's timeline, newest first
+     */
+    ActivityPageResponse getTimeline(Long userId, String cursor, int size);
+
+    /**
+     * Count unread timeline items
+     */
+    long getUnreadCount(Long userId);
+
+    /**
+     * Mark every timeline item as read; returns items updated
+     */
+    int markAllRead(Long userId);
 }
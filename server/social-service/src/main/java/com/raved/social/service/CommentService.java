@@ -1,8 +1,37 @@
 package com.raved.social.service;
 
+import com.raved.social.dto.request.CommentRequest;
+import com.raved.social.dto.response.CommentPageResponse;
+import com.raved.social.dto.response.CommentResponse;
+
 /**
- * CommentService for TheRavedApp
+ * Service interface for Comment operations
  */
 public interface CommentService {
-    // Implementation
+
+    /**
+     * Create a root comment or a reply
+     */
+    CommentResponse createComment(Long userId, CommentRequest request);
+
+    /**
+     * Publish a comment held for moderation and count it as if it had just been posted. The caller
+     * must be a moderator or admin (roles as forwarded by the gateway) and not the comment's author.
+     */
+    CommentResponse approveComment(Long userId, String roles, Long commentId);
+
+    /**
+     * Soft-delete a comment; its replies stay reachable
+     */
+    void deleteComment(Long userId, Long commentId);
+
+    /**
+     * Get a page of root comments for a post, each with its first replies attached
+     */
+    CommentPageResponse getThreads(Long postId, String cursor, int size, int replies);
+
+    /**
+     * Get the next page of a comment's replies (all depths, display order)
+     */
+    CommentPageResponse getReplies(Long commentId, String cursor, int size);
 }
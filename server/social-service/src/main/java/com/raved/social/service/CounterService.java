@@ -0,0 +1,23 @@
+package com.raved.social.service;
+
+import com.raved.social.dto.response.PostCountersResponse;
+import com.raved.social.dto.response.UserCountersResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for cached profile and post counters
+ */
+public interface CounterService {
+
+    /**
+     * Get a user's follower, following and likes-given counts
+     */
+    UserCountersResponse getUserCounters(Long userId);
+
+    /**
+     * Get like and comment counts for a batch of posts, in request order
+     */
+    List<PostCountersResponse> getPostCounters(Collection<Long> postIds);
+}
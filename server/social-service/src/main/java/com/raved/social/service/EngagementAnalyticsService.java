@@ -1,8 +1,27 @@
 package com.raved.social.service;
 
+import com.raved.social.dto.response.EngagementCurveResponse;
+
+import java.time.LocalDateTime;
+
 /**
- * EngagementAnalyticsService for TheRavedApp
+ * Service interface for per-post engagement analytics
  */
 public interface EngagementAnalyticsService {
-    // Implementation
+
+    /**
+     * Record a net change in a post's likes in the hour the likes were made; an unlike passes the
+     * removed like's created_at, so it comes off the hour that counted it
+     */
+    void recordLikes(Long postId, int delta, LocalDateTime occurredAt);
+
+    /**
+     * Record a change in a post's comments in the hour the comments were written
+     */
+    void recordComments(Long postId, int delta, LocalDateTime occurredAt);
+
+    /**
+     * Get hourly likes/comments for a post starting at from (default: its first active hour)
+     */
+    EngagementCurveResponse getEngagementCurve(Long postId, LocalDateTime from, int hours);
 }
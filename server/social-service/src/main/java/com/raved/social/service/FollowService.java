@@ -1,8 +1,46 @@
 package com.raved.social.service;
 
+import com.raved.social.dto.response.FollowStatsResponse;
+
+import java.util.List;
+
 /**
- * FollowService for TheRavedApp
+ * Service interface for Follow operations
  */
 public interface FollowService {
-    // Implementation
+
+    /**
+     * Follow a user; returns false if the relationship already existed
+     */
+    boolean follow(Long followerId, Long followingId);
+
+    /**
+     * Unfollow a user; returns false if there was nothing to remove
+     */
+    boolean unfollow(Long followerId, Long followingId);
+
+    /**
+     * Check if a user follows another user
+     */
+    boolean isFollowing(Long followerId, Long followingId);
+
+    /**
+     * Get follower/following counts, plus relationship flags when a viewer is given
+     */
+    FollowStatsResponse getStats(Long userId, Long viewerId);
+
+    /**
+     * Get a page of follower ids
+     */
+    List<Long> getFollowers(Long userId, int page, int size);
+
+    /**
+     * Get a page of followed user ids
+     */
+    List<Long> getFollowing(Long userId, int page, int size);
+
+    /**
+     * Get users who follow each other with the given user
+     */
+    List<Long> getMutualFollows(Long userId);
 }
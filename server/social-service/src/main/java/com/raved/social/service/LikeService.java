@@ -1,8 +1,25 @@
 package com.raved.social.service;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
- * LikeService for TheRavedApp
+ * Service interface for Like operations
  */
 public interface LikeService {
-    // Implementation
+
+    /**
+     * Accept a like; written asynchronously and idempotent for repeated taps
+     */
+    void like(Long userId, Long postId);
+
+    /**
+     * Accept an unlike; written asynchronously and idempotent for repeated taps
+     */
+    void unlike(Long userId, Long postId);
+
+    /**
+     * Get whether a user has liked each of the given posts, in one call
+     */
+    Map<Long, Boolean> getLikedState(Long userId, Collection<Long> postIds);
 }
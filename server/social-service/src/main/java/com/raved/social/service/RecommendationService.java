@@ -0,0 +1,22 @@
+package com.raved.social.service;
+
+import com.raved.social.dto.request.AffiliationRequest;
+import com.raved.social.dto.response.SuggestionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for follow recommendations
+ */
+public interface RecommendationService {
+
+    /**
+     * Get "people you may know" suggestions for a user, best first
+     */
+    List<SuggestionResponse> getPeopleYouMayKnow(Long userId, int limit);
+
+    /**
+     * Record a user's university/faculty; picked up by the next recommendation rebuild
+     */
+    void updateAffiliation(Long userId, AffiliationRequest request);
+}
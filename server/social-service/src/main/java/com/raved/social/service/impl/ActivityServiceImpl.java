@@ -0,0 +1,148 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.dto.response.ActivityPageResponse;
+import com.raved.social.dto.response.ActivityResponse;
+import com.raved.social.graph.FollowEvent;
+import com.raved.social.model.Activity;
+import com.raved.social.repository.ActivityRepository;
+import com.raved.social.service.ActivityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of ActivityService.
+ *
+ * Writes take a transaction-scoped advisory lock on (recipient, group key) and then either
+ * fold the actor into the group's item from inside the aggregation window or insert a new
+ * item. Reads are bounded to the timeline window, so they only touch the newest partitions.
+ */
+@Service
+public class ActivityServiceImpl implements ActivityService {
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void recordActivity(Long actorId, Long targetUserId, Activity.ActivityType type, Long postId, Long commentId) {
+        if (actorId.equals(targetUserId)) {
+            return;
+        }
+        // Own transaction: callers are often after-commit hooks, and the advisory lock must span both statements
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> record(actorId, targetUserId, type, postId, commentId));
+    }
+
+    private void record(Long actorId, Long targetUserId, Activity.ActivityType type, Long postId, Long commentId) {
+        SocialServiceConfig.Activities settings = config.getActivities();
+        String groupKey = Activity.groupKey(type, postId, commentId, actorId);
+        LocalDateTime now = LocalDateTime.now();
+
+        activityRepository.lockGroup(targetUserId, groupKey);
+        if (type.isAggregated() && activityRepository.mergeIntoOpenGroup(targetUserId, groupKey, actorId,
+                settings.getMaxRecentActors(), now.minusHours(settings.getAggregationWindowHours()), now)) {
+            return;
+        }
+
+        Activity activity = new Activity();
+        activity.setTargetUserId(targetUserId);
+        activity.setUserId(actorId);
+        activity.setActivityType(type);
+        activity.setPostId(postId);
+        activity.setCommentId(commentId);
+        activity.setGroupKey(groupKey);
+        activityRepository.insert(activity, now);
+    }
+
+    /**
+     * New followers become FOLLOW activities once the follow has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowEvent(FollowEvent event) {
+        if (event.getType() == FollowEvent.Type.FOLLOW) {
+            recordActivity(event.getFollowerId(), event.getFollowingId(), Activity.ActivityType.FOLLOW, null, null);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityPageResponse getTimeline(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, config.getActivities().getMaxPageSize()));
+        LocalDateTime afterUpdatedAt = null;
+        Long afterId = null;
+        if (cursor != null) {
+            int split = cursor.lastIndexOf('_');
+            try {
+                afterUpdatedAt = LocalDateTime.parse(cursor.substring(0, split));
+                afterId = Long.parseLong(cursor.substring(split + 1));
+            } catch (DateTimeParseException | NumberFormatException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        List<Activity> page = activityRepository.findTimeline(userId, timelineStart(), afterUpdatedAt, afterId,
+                pageSize + 1);
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+
+        List<ActivityResponse> activities = new ArrayList<>(page.size());
+        for (Activity activity : page) {
+            activities.add(toResponse(activity));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Activity last = page.get(page.size() - 1);
+            nextCursor = last.getUpdatedAt() + "_" + last.getId();
+        }
+        return new ActivityPageResponse(activities, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return activityRepository.countUnread(userId, timelineStart());
+    }
+
+    @Override
+    @Transactional
+    public int markAllRead(Long userId) {
+        return activityRepository.markAllRead(userId, timelineStart());
+    }
+
+    private LocalDateTime timelineStart() {
+        return LocalDateTime.now().minusDays(config.getActivities().getTimelineDays());
+    }
+
+    private static ActivityResponse toResponse(Activity activity) {
+        ActivityResponse response = new ActivityResponse();
+        response.setId(activity.getId());
+        response.setActivityType(activity.getActivityType().name());
+        response.setPostId(activity.getPostId());
+        response.setCommentId(activity.getCommentId());
+        response.setActorCount(activity.getActorCount());
+        response.setRecentActorIds(activity.getRecentActorIds());
+        response.setIsRead(activity.getIsRead());
+        response.setCreatedAt(activity.getCreatedAt());
+        response.setUpdatedAt(activity.getUpdatedAt());
+        return response;
+    }
+}
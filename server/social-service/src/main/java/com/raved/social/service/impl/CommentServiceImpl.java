@@ -0,0 +1,332 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.counter.CounterCache;
+import com.raved.social.dto.request.CommentRequest;
+import com.raved.social.dto.response.CommentPageResponse;
+import com.raved.social.dto.response.CommentResponse;
+import com.raved.social.exception.CommentNotFoundException;
+import com.raved.social.exception.ModerationForbiddenException;
+import com.raved.social.ingest.CommentCounterBuffer;
+import com.raved.social.model.Activity;
+import com.raved.social.model.Comment;
+import com.raved.social.moderation.CommentBurstDetector;
+import com.raved.social.outbox.OutboxWriter;
+import com.raved.social.repository.CommentRepository;
+import com.raved.social.service.ActivityService;
+import com.raved.social.service.CommentService;
+import com.raved.social.service.EngagementAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of CommentService.
+ *
+ * Threads are stored with a materialized path, so a page of roots plus the first replies of
+ * every root costs exactly two queries regardless of nesting, and deeper replies are keyset
+ * paged by path. replies_count changes go through CommentCounterBuffer after commit, and
+ * post comment counts travel to content-service through the outbox.
+ */
+@Service
+public class CommentServiceImpl implements CommentService {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Set<String> MODERATOR_ROLES = Set.of("MODERATOR", "ADMIN");
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentCounterBuffer commentCounterBuffer;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private EngagementAnalyticsService engagementAnalyticsService;
+
+    @Autowired
+    private CommentBurstDetector commentBurstDetector;
+
+    @Autowired
+    private CounterCache counterCache;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Override
+    @Transactional
+    public CommentResponse createComment(Long userId, CommentRequest request) {
+        Comment parent = null;
+        if (request.getParentCommentId() != null) {
+            parent = findComment(request.getParentCommentId());
+            if (!parent.getPostId().equals(request.getPostId())) {
+                throw new IllegalArgumentException("Parent comment belongs to a different post");
+            }
+            if (Boolean.TRUE.equals(parent.getIsDeleted())) {
+                throw new IllegalArgumentException("Cannot reply to a deleted comment");
+            }
+            // Keep threads readable: beyond the maximum depth, reply alongside the parent instead
+            if (parent.getDepth() >= config.getComments().getMaxDepth()) {
+                parent = findComment(parent.getParentCommentId());
+            }
+        }
+
+        Comment comment = new Comment(request.getPostId(), userId, request.getContent(),
+                parent != null ? parent.getId() : null);
+        CommentBurstDetector.Verdict verdict = commentBurstDetector.inspect(userId, request.getPostId(),
+                request.getContent());
+        if (verdict.isSuspicious()) {
+            // Held for moderation: hidden from threads and not counted until approved
+            comment.setModerationStatus(Comment.ModerationStatus.PENDING);
+            comment.setIsFlagged(true);
+            comment.setFlaggedReason(verdict.getReason());
+        }
+        comment = commentRepository.save(comment);
+        comment.assignPath(parent);
+        if (!verdict.isSuspicious()) {
+            countPublished(comment, parent);
+        }
+        return toResponse(comment);
+    }
+
+    @Override
+    @Transactional
+    public CommentResponse approveComment(Long userId, String roles, Long commentId) {
+        if (!isModerator(roles)) {
+            throw new ModerationForbiddenException("Only moderators can approve comments");
+        }
+        Comment comment = findComment(commentId);
+        if (comment.getUserId().equals(userId)) {
+            throw new ModerationForbiddenException("Authors cannot approve their own comments");
+        }
+        if (comment.getModerationStatus() == Comment.ModerationStatus.REJECTED) {
+            throw new IllegalArgumentException("Cannot approve a rejected comment");
+        }
+        if (commentRepository.updateModerationStatus(commentId, Comment.ModerationStatus.PENDING,
+                Comment.ModerationStatus.APPROVED) == 0) {
+            // Already approved, possibly by a concurrent call that did the counting
+            return toResponse(findComment(commentId));
+        }
+        comment = findComment(commentId);
+        // A held comment its author already deleted was never counted and stays uncounted
+        if (!Boolean.TRUE.equals(comment.getIsDeleted())) {
+            countPublished(comment, comment.getParentCommentId() != null
+                    ? findComment(comment.getParentCommentId()) : null);
+        }
+        return toResponse(comment);
+    }
+
+    @Override
+    @Transactional
+    public void deleteComment(Long userId, Long commentId) {
+        Comment comment = findComment(commentId);
+        if (!comment.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Only the author can delete this comment");
+        }
+        if (Boolean.TRUE.equals(comment.getIsDeleted())) {
+            return;
+        }
+        comment.setIsDeleted(true);
+        if (comment.getModerationStatus() != Comment.ModerationStatus.APPROVED) {
+            return;
+        }
+        Long postId = comment.getPostId();
+        // Taken off the hour the comment was counted in, not the hour it was deleted
+        LocalDateTime createdAt = comment.getCreatedAt();
+        outboxWriter.appendPostDeltas(OutboxWriter.POST_COMMENTS_CHANGED, Map.of(postId, -1));
+        afterCommit(() -> {
+            engagementAnalyticsService.recordComments(postId, -1, createdAt);
+            counterCache.incrementPost(postId, CounterCache.POST_COMMENTS, -1);
+        });
+        if (comment.getParentCommentId() != null) {
+            long parentId = comment.getParentCommentId();
+            afterCommit(() -> commentCounterBuffer.addReplies(parentId, -1));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageResponse getThreads(Long postId, String cursor, int size, int replies) {
+        int pageSize = clamp(size, 1, config.getComments().getMaxPageSize());
+        int replyLimit = clamp(replies, 0, config.getComments().getMaxInlineReplies());
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<Comment> roots = cursor == null
+                ? commentRepository.findRoots(postId, Comment.ModerationStatus.APPROVED, page)
+                : commentRepository.findRootsBefore(postId, parseRootCursor(cursor), Comment.ModerationStatus.APPROVED,
+                        page);
+        boolean hasMore = roots.size() > pageSize;
+        if (hasMore) {
+            roots = roots.subList(0, pageSize);
+        }
+
+        List<CommentResponse> result = new ArrayList<>(roots.size());
+        Map<Long, CommentResponse> byId = new HashMap<>();
+        for (Comment root : roots) {
+            CommentResponse response = toResponse(root);
+            result.add(response);
+            byId.put(root.getId(), response);
+        }
+        if (replyLimit > 0 && !roots.isEmpty()) {
+            // Depth-first order guarantees a reply's parent is attached before the reply itself;
+            // replies under a held comment fall back to the root
+            for (Comment reply : commentRepository.findFirstRepliesOfThreads(byId.keySet(), replyLimit)) {
+                CommentResponse response = toResponse(reply);
+                CommentResponse parent = byId.get(reply.getParentCommentId());
+                if (parent == null) {
+                    parent = byId.get(reply.getRootCommentId());
+                }
+                parent.getReplies().add(response);
+                byId.put(reply.getId(), response);
+            }
+        }
+
+        String nextCursor = hasMore ? String.valueOf(roots.get(roots.size() - 1).getId()) : null;
+        return new CommentPageResponse(result, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageResponse getReplies(Long commentId, String cursor, int size) {
+        Comment parent = findComment(commentId);
+        int pageSize = clamp(size, 1, config.getComments().getMaxPageSize());
+
+        // Descendants are exactly the paths in (path + '/', path + '0'): '0' is the byte after '/'
+        String lower = parent.getPath() + Comment.PATH_SEPARATOR;
+        String upper = parent.getPath() + (char) (Comment.PATH_SEPARATOR + 1);
+        if (cursor != null && !cursor.startsWith(lower)) {
+            throw new IllegalArgumentException("Invalid cursor for comment " + commentId);
+        }
+        List<Comment> page = commentRepository.findSubtreePage(parent.getRootCommentId(),
+                cursor != null ? cursor : lower, upper, Comment.ModerationStatus.APPROVED, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+
+        // Nest replies whose parent is on the same page; the rest are top-level entries
+        List<CommentResponse> result = new ArrayList<>();
+        Map<Long, CommentResponse> byId = new HashMap<>();
+        for (Comment reply : page) {
+            CommentResponse response = toResponse(reply);
+            CommentResponse pageParent = byId.get(reply.getParentCommentId());
+            if (pageParent != null) {
+                pageParent.getReplies().add(response);
+            } else {
+                result.add(response);
+            }
+            byId.put(reply.getId(), response);
+        }
+
+        String nextCursor = hasMore ? page.get(page.size() - 1).getPath() : null;
+        return new CommentPageResponse(result, nextCursor);
+    }
+
+    /**
+     * Count a comment that has just become visible: the post's comment count through the outbox,
+     * and after commit the counter cache, engagement analytics and, for a reply, the parent's
+     * replies_count and the parent author's activity
+     */
+    private void countPublished(Comment comment, Comment parent) {
+        Long postId = comment.getPostId();
+        Long userId = comment.getUserId();
+        LocalDateTime createdAt = comment.getCreatedAt();
+        outboxWriter.appendPostDeltas(OutboxWriter.POST_COMMENTS_CHANGED, Map.of(postId, 1));
+        afterCommit(() -> {
+            engagementAnalyticsService.recordComments(postId, 1, createdAt);
+            counterCache.incrementPost(postId, CounterCache.POST_COMMENTS, 1);
+        });
+        if (parent != null) {
+            long parentId = parent.getId();
+            Long parentAuthorId = parent.getUserId();
+            afterCommit(() -> {
+                commentCounterBuffer.addReplies(parentId, 1);
+                activityService.recordActivity(userId, parentAuthorId, Activity.ActivityType.REPLY,
+                        postId, parentId);
+            });
+        }
+    }
+
+    private Comment findComment(Long commentId) {
+        return commentRepository.findById(commentId)
+                .orElseThrow(() -> new CommentNotFoundException(commentId));
+    }
+
+    private CommentResponse toResponse(Comment comment) {
+        boolean deleted = Boolean.TRUE.equals(comment.getIsDeleted());
+        CommentResponse response = new CommentResponse();
+        response.setId(comment.getId());
+        response.setPostId(comment.getPostId());
+        response.setAuthorId(deleted ? null : comment.getUserId());
+        response.setContent(deleted ? null : comment.getContent());
+        response.setParentCommentId(comment.getParentCommentId());
+        response.setIsDeleted(deleted);
+        response.setLikesCount(comment.getLikesCount());
+        response.setRepliesCount(Math.max(0,
+                comment.getRepliesCount() + commentCounterBuffer.getPendingDelta(comment.getId())));
+        response.setReplies(new ArrayList<>());
+        response.setCreatedAt(comment.getCreatedAt());
+        response.setUpdatedAt(comment.getUpdatedAt());
+        return response;
+    }
+
+    /**
+     * Whether a comma-separated role list holds MODERATOR or ADMIN, with or without the ROLE_ prefix
+     */
+    private static boolean isModerator(String roles) {
+        if (roles == null) {
+            return false;
+        }
+        for (String role : roles.split(",")) {
+            String name = role.trim().toUpperCase(Locale.ROOT);
+            if (name.startsWith(ROLE_PREFIX)) {
+                name = name.substring(ROLE_PREFIX.length());
+            }
+            if (MODERATOR_ROLES.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long parseRootCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.counter.CounterCache;
+import com.raved.social.dto.response.PostCountersResponse;
+import com.raved.social.dto.response.UserCountersResponse;
+import com.raved.social.graph.FollowGraph;
+import com.raved.social.service.CounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of CounterService.
+ *
+ * Every count is one Redis hash read; nothing on this path runs a COUNT(*). A cache miss is
+ * seeded in the background, and follow counts are filled from the in-memory graph meanwhile.
+ */
+@Service
+public class CounterServiceImpl implements CounterService {
+
+    @Autowired
+    private CounterCache counterCache;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Override
+    public UserCountersResponse getUserCounters(Long userId) {
+        Map<String, Long> counters = counterCache.getUserCounters(userId);
+        if (counters != null) {
+            return new UserCountersResponse(userId, counters.get(CounterCache.USER_FOLLOWERS),
+                    counters.get(CounterCache.USER_FOLLOWING), counters.get(CounterCache.USER_LIKES));
+        }
+        UserCountersResponse response = new UserCountersResponse();
+        response.setUserId(userId);
+        if (followGraph.isLoaded()) {
+            response.setFollowersCount((long) followGraph.getFollowerCount(userId));
+            response.setFollowingCount((long) followGraph.getFollowingCount(userId));
+        }
+        return response;
+    }
+
+    @Override
+    public List<PostCountersResponse> getPostCounters(Collection<Long> postIds) {
+        Set<Long> requested = new LinkedHashSet<>(postIds);
+        if (requested.size() > config.getCounters().getMaxBatchSize()) {
+            throw new IllegalArgumentException("At most " + config.getCounters().getMaxBatchSize()
+                    + " post ids can be read per request");
+        }
+        Map<Long, Map<String, Long>> cached = counterCache.getPostCounters(requested);
+        List<PostCountersResponse> result = new ArrayList<>(requested.size());
+        for (Long postId : requested) {
+            Map<String, Long> counters = cached.get(postId);
+            result.add(counters != null
+                    ? new PostCountersResponse(postId, counters.get(CounterCache.POST_LIKES),
+                            counters.get(CounterCache.POST_COMMENTS))
+                    : new PostCountersResponse(postId, null, null));
+        }
+        return result;
+    }
+}
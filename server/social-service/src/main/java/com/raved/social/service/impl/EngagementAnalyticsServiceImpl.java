@@ -0,0 +1,101 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.analytics.EngagementRollupBuffer;
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.dto.response.EngagementCurveResponse;
+import com.raved.social.service.EngagementAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Implementation of EngagementAnalyticsService.
+ *
+ * Curves are read from the post_engagement_hourly rollups by primary key range, plus any
+ * buckets this node has not flushed yet; likes and comments are never re-aggregated.
+ */
+@Service
+public class EngagementAnalyticsServiceImpl implements EngagementAnalyticsService {
+
+    private static final String FIRST_BUCKET_SQL =
+            "SELECT MIN(bucket_start) FROM post_engagement_hourly WHERE post_id = ?";
+
+    private static final String CURVE_SQL =
+            "SELECT bucket_start, likes, comments FROM post_engagement_hourly " +
+            "WHERE post_id = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    @Autowired
+    private EngagementRollupBuffer engagementRollupBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Override
+    public void recordLikes(Long postId, int delta, LocalDateTime occurredAt) {
+        if (delta != 0) {
+            engagementRollupBuffer.recordLikes(postId, delta, occurredAt);
+        }
+    }
+
+    @Override
+    public void recordComments(Long postId, int delta, LocalDateTime occurredAt) {
+        if (delta != 0) {
+            engagementRollupBuffer.recordComments(postId, delta, occurredAt);
+        }
+    }
+
+    @Override
+    public EngagementCurveResponse getEngagementCurve(Long postId, LocalDateTime from, int hours) {
+        int span = Math.max(1, Math.min(hours, config.getAnalytics().getMaxCurveHours()));
+        long firstHour;
+        if (from != null) {
+            firstHour = EngagementRollupBuffer.toHour(from);
+        } else {
+            Timestamp first = jdbcTemplate.queryForObject(FIRST_BUCKET_SQL, Timestamp.class, postId);
+            firstHour = first != null ? EngagementRollupBuffer.toHour(first.toLocalDateTime())
+                    : EngagementRollupBuffer.currentHour();
+        }
+        // Unflushed buckets may predate the first stored one
+        Map<Long, int[]> pending = engagementRollupBuffer.getPending(postId);
+        for (Long hour : pending.keySet()) {
+            if (from == null && hour < firstHour) {
+                firstHour = hour;
+            }
+        }
+
+        long start = firstHour;
+        EngagementCurveResponse curve = new EngagementCurveResponse(postId,
+                EngagementRollupBuffer.hourStart(start), span);
+        jdbcTemplate.query(CURVE_SQL, (RowCallbackHandler) rs -> {
+            int index = (int) (EngagementRollupBuffer.toHour(rs.getTimestamp(1).toLocalDateTime()) - start);
+            curve.getLikes()[index] += rs.getInt(2);
+            curve.getComments()[index] += rs.getInt(3);
+        }, postId, Timestamp.valueOf(EngagementRollupBuffer.hourStart(start)),
+                Timestamp.valueOf(EngagementRollupBuffer.hourStart(start + span)));
+        pending.forEach((hour, counts) -> {
+            long index = hour - start;
+            if (index >= 0 && index < span) {
+                curve.getLikes()[(int) index] += counts[0];
+                curve.getComments()[(int) index] += counts[1];
+            }
+        });
+
+        long totalLikes = 0;
+        long totalComments = 0;
+        for (int i = 0; i < span; i++) {
+            totalLikes += curve.getLikes()[i];
+            totalComments += curve.getComments()[i];
+        }
+        curve.setTotalLikes(totalLikes);
+        curve.setTotalComments(totalComments);
+        return curve;
+    }
+}
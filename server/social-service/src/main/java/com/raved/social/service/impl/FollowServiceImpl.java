@@ -0,0 +1,138 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.counter.CounterCache;
+import com.raved.social.dto.response.FollowStatsResponse;
+import com.raved.social.graph.FollowEvent;
+import com.raved.social.graph.FollowGraph;
+import com.raved.social.repository.FollowRepository;
+import com.raved.social.service.FollowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of FollowService.
+ *
+ * Writes go to the follows table; every read is answered by the in-memory FollowGraph.
+ * While the graph is still loading, counts come from the Redis counter cache and relationship
+ * checks and lists fall back to indexed queries.
+ */
+@Service
+public class FollowServiceImpl implements FollowService {
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private CounterCache counterCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public boolean follow(Long followerId, Long followingId) {
+        if (followerId.equals(followingId)) {
+            throw new IllegalArgumentException("Users cannot follow themselves");
+        }
+        if (isFollowing(followerId, followingId)) {
+            return false;
+        }
+        // ON CONFLICT keeps a concurrent double-follow from aborting the transaction
+        if (followRepository.insertIfAbsent(followerId, followingId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new FollowEvent(FollowEvent.Type.FOLLOW, followerId, followingId));
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean unfollow(Long followerId, Long followingId) {
+        int removed = followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId);
+        if (removed == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new FollowEvent(FollowEvent.Type.UNFOLLOW, followerId, followingId));
+        return true;
+    }
+
+    @Override
+    public boolean isFollowing(Long followerId, Long followingId) {
+        if (!followGraph.isLoaded()) {
+            return followRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        }
+        return followGraph.isFollowing(followerId, followingId);
+    }
+
+    @Override
+    public FollowStatsResponse getStats(Long userId, Long viewerId) {
+        if (!followGraph.isLoaded()) {
+            // Counts stay null for the moment it takes to seed an uncached user
+            FollowStatsResponse response = new FollowStatsResponse();
+            response.setUserId(userId);
+            Map<String, Long> counters = counterCache.getUserCounters(userId);
+            if (counters != null) {
+                response.setFollowersCount(counters.get(CounterCache.USER_FOLLOWERS).intValue());
+                response.setFollowingCount(counters.get(CounterCache.USER_FOLLOWING).intValue());
+            }
+            if (viewerId != null) {
+                response.setIsFollowing(followRepository.existsByFollowerIdAndFollowingId(viewerId, userId));
+                response.setIsFollowedBy(followRepository.existsByFollowerIdAndFollowingId(userId, viewerId));
+            }
+            return response;
+        }
+
+        FollowStatsResponse response = new FollowStatsResponse(userId,
+                followGraph.getFollowerCount(userId), followGraph.getFollowingCount(userId));
+        if (viewerId != null && !viewerId.equals(userId)) {
+            response.setIsFollowing(followGraph.isFollowing(viewerId, userId));
+            response.setIsFollowedBy(followGraph.isFollowing(userId, viewerId));
+            response.setMutualFollowersCount(followGraph.countFollowersKnownTo(viewerId, userId));
+        }
+        return response;
+    }
+
+    @Override
+    public List<Long> getFollowers(Long userId, int page, int size) {
+        if (!followGraph.isLoaded()) {
+            return size > 0 ? followRepository.findFollowerIds(userId, PageRequest.of(Math.max(page, 0), size)) : List.of();
+        }
+        return slice(followGraph.getFollowers(userId), page, size);
+    }
+
+    @Override
+    public List<Long> getFollowing(Long userId, int page, int size) {
+        if (!followGraph.isLoaded()) {
+            return size > 0 ? followRepository.findFollowingIds(userId, PageRequest.of(Math.max(page, 0), size)) : List.of();
+        }
+        return slice(followGraph.getFollowing(userId), page, size);
+    }
+
+    @Override
+    public List<Long> getMutualFollows(Long userId) {
+        if (!followGraph.isLoaded()) {
+            return followRepository.findMutualFollowIds(userId);
+        }
+        return slice(followGraph.getMutualFollows(userId), 0, Integer.MAX_VALUE);
+    }
+
+    private static List<Long> slice(long[] ids, int page, int size) {
+        long from = (long) Math.max(page, 0) * size;
+        int to = (int) Math.min(ids.length, from + size);
+        List<Long> result = new ArrayList<>(Math.max(to - (int) Math.min(from, to), 0));
+        for (int i = (int) Math.min(from, to); i < to; i++) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.cache.RecentLikesCache;
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.ingest.LikeIngestPipeline;
+import com.raved.social.repository.LikeRepository;
+import com.raved.social.service.LikeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of LikeService.
+ *
+ * Liked state is answered from RecentLikesCache; a cold user costs one warm-up query and
+ * any remaining cache misses in a batch are resolved together with one IN query. Writes go
+ * through LikeIngestPipeline, whose not-yet-flushed toggles take precedence over stored state.
+ */
+@Service
+public class LikeServiceImpl implements LikeService {
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private RecentLikesCache recentLikesCache;
+
+    @Autowired
+    private LikeIngestPipeline likeIngestPipeline;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Override
+    public void like(Long userId, Long postId) {
+        likeIngestPipeline.submit(userId, postId, true);
+    }
+
+    @Override
+    public void unlike(Long userId, Long postId) {
+        likeIngestPipeline.submit(userId, postId, false);
+    }
+
+    @Override
+    public Map<Long, Boolean> getLikedState(Long userId, Collection<Long> postIds) {
+        Set<Long> requested = new LinkedHashSet<>(postIds);
+        if (requested.size() > config.getLikeCache().getMaxBatchSize()) {
+            throw new IllegalArgumentException("At most " + config.getLikeCache().getMaxBatchSize()
+                    + " post ids can be checked per request");
+        }
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        if (requested.isEmpty()) {
+            return result;
+        }
+
+        RecentLikesCache.UserLikes entry = recentLikesCache.get(userId);
+        if (entry == null) {
+            entry = warm(userId);
+        }
+
+        List<Long> misses = new ArrayList<>();
+        for (Long postId : requested) {
+            Boolean pending = likeIngestPipeline.getPendingState(userId, postId);
+            if (pending != null) {
+                result.put(postId, pending);
+                continue;
+            }
+            switch (entry.probe(postId)) {
+                case LIKED -> result.put(postId, true);
+                case NOT_LIKED -> result.put(postId, false);
+                default -> {
+                    result.put(postId, false);
+                    misses.add(postId);
+                }
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Set<Long> liked = new HashSet<>(likeRepository.findLikedPostIds(userId, misses));
+            for (Long postId : misses) {
+                boolean isLiked = liked.contains(postId);
+                result.put(postId, isLiked);
+                if (isLiked) {
+                    entry.markLiked(postId);
+                } else {
+                    entry.markNotLiked(postId);
+                }
+            }
+        }
+        return result;
+    }
+
+    private RecentLikesCache.UserLikes warm(Long userId) {
+        int limit = config.getLikeCache().getWarmLimit();
+        // Fetch one extra row to learn whether the filter covers every like
+        List<Long> liked = likeRepository.findRecentLikedPostIds(userId, PageRequest.of(0, limit + 1));
+        boolean complete = liked.size() <= limit;
+        return recentLikesCache.warm(userId, complete ? liked : liked.subList(0, limit), complete);
+    }
+}
@@ -0,0 +1,58 @@
+package com.raved.social.service.impl;
+
+import com.raved.social.config.SocialServiceConfig;
+import com.raved.social.dto.request.AffiliationRequest;
+import com.raved.social.dto.response.SuggestionResponse;
+import com.raved.social.model.UserAffiliation;
+import com.raved.social.recommend.PeopleYouMayKnowEngine;
+import com.raved.social.repository.UserAffiliationRepository;
+import com.raved.social.service.RecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of RecommendationService
+ */
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+
+    @Autowired
+    private PeopleYouMayKnowEngine peopleYouMayKnowEngine;
+
+    @Autowired
+    private UserAffiliationRepository userAffiliationRepository;
+
+    @Autowired
+    private SocialServiceConfig config;
+
+    @Override
+    public List<SuggestionResponse> getPeopleYouMayKnow(Long userId, int limit) {
+        int capped = Math.max(1, Math.min(limit, config.getRecommendations().getTopN()));
+        List<SuggestionResponse> result = new ArrayList<>();
+        for (PeopleYouMayKnowEngine.Suggestion suggestion : peopleYouMayKnowEngine.getSuggestions(userId, capped)) {
+            SuggestionResponse response = new SuggestionResponse();
+            response.setUserId(suggestion.getUserId());
+            response.setScore(suggestion.getScore());
+            response.setMutualFollowsCount(suggestion.getMutualCount());
+            response.setFollowsYou(suggestion.isFollowsYou());
+            response.setSameUniversity(suggestion.isSameUniversity());
+            response.setSameFaculty(suggestion.isSameFaculty());
+            result.add(response);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void updateAffiliation(Long userId, AffiliationRequest request) {
+        UserAffiliation affiliation = userAffiliationRepository.findById(userId)
+                .orElseGet(() -> new UserAffiliation(userId, null, null));
+        affiliation.setUniversityId(request.getUniversityId());
+        affiliation.setFacultyId(request.getFacultyId());
+        userAffiliationRepository.save(affiliation);
+    }
+}
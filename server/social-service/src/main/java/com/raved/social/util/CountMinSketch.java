@@ -0,0 +1,57 @@
+package com.raved.social.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch over primitive long keys.
+ *
+ * Estimates never undercount; they overcount by at most ~e/width of the total with probability
+ * 1 - e^-depth. Increments are lock-free (one atomic add per row).
+ */
+public class CountMinSketch {
+
+    private final AtomicIntegerArray counters;
+    private final int width;
+    private final int depth;
+    private final int mask;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.depth = depth;
+        this.mask = this.width - 1;
+        this.counters = new AtomicIntegerArray(this.width * depth);
+    }
+
+    /**
+     * Add one occurrence and return the new estimate
+     */
+    public int add(long key) {
+        long h1 = LongBloomFilter.mix(key);
+        long h2 = LongBloomFilter.mix(h1) | 1L;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int slot = row * width + (int) ((h1 + row * h2) & mask);
+            estimate = Math.min(estimate, counters.incrementAndGet(slot));
+        }
+        return estimate;
+    }
+
+    public int estimate(long key) {
+        long h1 = LongBloomFilter.mix(key);
+        long h2 = LongBloomFilter.mix(h1) | 1L;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + (int) ((h1 + row * h2) & mask)));
+        }
+        return estimate;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+}
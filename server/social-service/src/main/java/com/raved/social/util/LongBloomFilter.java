@@ -0,0 +1,53 @@
+package com.raved.social.util;
+
+/**
+ * Fixed-size Bloom filter over primitive long keys.
+ *
+ * A negative answer is definite; a positive answer may be a false positive. Not thread-safe.
+ */
+public class LongBloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * Size the filter for the expected number of entries at the given bits per entry
+     */
+    public LongBloomFilter(int expectedEntries, int bitsPerEntry) {
+        long requested = Math.max(64L, (long) Math.max(expectedEntries, 1) * bitsPerEntry);
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, (requested + 63) & ~63L);
+        this.bits = new long[bitCount >>> 6];
+        // Optimal k = (m/n) ln 2
+        this.hashCount = Math.max(1, (int) Math.round(bitsPerEntry * 0.693));
+    }
+
+    public void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long mix(long key) {
+        // SplitMix64 finaliser
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,64 @@
+package com.raved.social.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate sliding-window event counter.
+ *
+ * The window is split into a ring of sub-buckets, each tagged with the epoch (time / bucket
+ * length) it currently counts. Counting is lock-free; a stale bucket is reset by whichever
+ * thread first CASes its epoch forward, so a racing increment may occasionally be dropped.
+ */
+public class SlidingWindowCounter {
+
+    private final AtomicLongArray epochs;
+    private final AtomicIntegerArray counts;
+    private final long bucketMillis;
+
+    public SlidingWindowCounter(long windowMillis, int buckets) {
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new AtomicIntegerArray(buckets);
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+    }
+
+    /**
+     * Count one event now and return the total over the window
+     */
+    public int incrementAndSum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % counts.length());
+        long seen = epochs.get(slot);
+        if (seen != epoch && epochs.compareAndSet(slot, seen, epoch)) {
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+        return sum(nowMillis);
+    }
+
+    public int sum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - counts.length() + 1;
+        int total = 0;
+        for (int slot = 0; slot < counts.length(); slot++) {
+            long bucketEpoch = epochs.get(slot);
+            if (bucketEpoch >= oldest && bucketEpoch <= epoch) {
+                total += counts.get(slot);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * True when no bucket falls inside the window any more
+     */
+    public boolean isIdle(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - counts.length() + 1;
+        for (int slot = 0; slot < counts.length(); slot++) {
+            if (epochs.get(slot) >= oldest) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+-- Align comments with the Comment entity
+UPDATE comments SET like_count = COALESCE(like_count, 0), reply_count = COALESCE(reply_count, 0);
+ALTER TABLE comments RENAME COLUMN like_count TO likes_count;
+ALTER TABLE comments RENAME COLUMN reply_count TO replies_count;
+ALTER TABLE comments ALTER COLUMN likes_count TYPE INTEGER, ALTER COLUMN likes_count SET NOT NULL;
+ALTER TABLE comments ALTER COLUMN replies_count TYPE INTEGER, ALTER COLUMN replies_count SET NOT NULL;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS is_flagged BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED';
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS flagged_reason TEXT;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS is_deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Materialized path: zero-padded ids from the root down, compared bytewise so ORDER BY path is depth-first
+ALTER TABLE comments ADD COLUMN root_comment_id BIGINT;
+ALTER TABLE comments ADD COLUMN depth INTEGER;
+ALTER TABLE comments ADD COLUMN path TEXT COLLATE "C";
+
+WITH RECURSIVE tree AS (
+    SELECT id, id AS root_id, 0 AS depth, lpad(id::text, 19, '0') AS path
+    FROM comments
+    WHERE parent_comment_id IS NULL
+    UNION ALL
+    SELECT c.id, t.root_id, t.depth + 1, t.path || '/' || lpad(c.id::text, 19, '0')
+    FROM comments c
+    JOIN tree t ON c.parent_comment_id = t.id
+)
+UPDATE comments c
+SET root_comment_id = t.root_id, depth = t.depth, path = t.path
+FROM tree t
+WHERE c.id = t.id;
+
+UPDATE comments c
+SET replies_count = (SELECT COUNT(*) FROM comments r WHERE r.parent_comment_id = c.id AND NOT r.is_deleted);
+
+-- Root comments of a post, newest first
+CREATE INDEX idx_comments_post_roots ON comments(post_id, id) WHERE parent_comment_id IS NULL;
+-- Replies of a thread in display order
+CREATE INDEX idx_comments_root_path ON comments(root_comment_id, path);
@@ -0,0 +1,59 @@
+-- Replace the single activities table with a monthly range-partitioned one.
+-- Rows are partitioned by updated_at: an aggregated item moves to the current month when it
+-- receives a new actor, so timelines only ever read the most recent partitions.
+ALTER TABLE activities RENAME TO activities_legacy;
+ALTER INDEX idx_activities_user_id RENAME TO idx_activities_legacy_user_id;
+ALTER INDEX idx_activities_target_user_id RENAME TO idx_activities_legacy_target_user_id;
+ALTER INDEX idx_activities_post_id RENAME TO idx_activities_legacy_post_id;
+ALTER INDEX idx_activities_activity_type RENAME TO idx_activities_legacy_activity_type;
+ALTER INDEX idx_activities_created_at RENAME TO idx_activities_legacy_created_at;
+
+CREATE SEQUENCE IF NOT EXISTS activities_id_seq;
+
+CREATE TABLE activities (
+    id BIGINT NOT NULL DEFAULT nextval('activities_id_seq'),
+    target_user_id BIGINT NOT NULL,           -- recipient of the notification
+    user_id BIGINT NOT NULL,                  -- most recent actor
+    activity_type VARCHAR(50) NOT NULL,
+    post_id BIGINT,
+    comment_id BIGINT,
+    group_key VARCHAR(120) NOT NULL,          -- activities with the same key aggregate into one item
+    actor_count INTEGER NOT NULL DEFAULT 1,
+    recent_actor_ids BIGINT[] NOT NULL DEFAULT '{}',
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, updated_at)
+) PARTITION BY RANGE (updated_at);
+
+ALTER SEQUENCE activities_id_seq OWNED BY activities.id;
+
+-- Catches rows outside every monthly partition so inserts never fail
+CREATE TABLE activities_default PARTITION OF activities DEFAULT;
+
+-- Timeline keyset scans
+CREATE INDEX idx_activities_timeline ON activities(target_user_id, updated_at DESC, id DESC);
+-- Open aggregation group lookup
+CREATE INDEX idx_activities_group ON activities(target_user_id, group_key, updated_at);
+
+-- Monthly partitions covering legacy data through two months ahead (ActivityPartitionManager keeps this going)
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM activities_legacy), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '2 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF activities FOR VALUES FROM (%L) TO (%L)',
+                'activities_' || to_char(month_start, 'YYYY_MM'), month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO activities (target_user_id, user_id, activity_type, post_id, comment_id, group_key,
+                        recent_actor_ids, created_at, updated_at)
+SELECT target_user_id, user_id, activity_type, post_id, comment_id, 'legacy:' || id,
+       ARRAY[user_id], created_at, created_at
+FROM activities_legacy
+WHERE target_user_id IS NOT NULL;
+
+DROP TABLE activities_legacy;
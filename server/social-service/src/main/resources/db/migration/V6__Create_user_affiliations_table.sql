@@ -0,0 +1,9 @@
+-- University/faculty of each user, pushed by user-service; used to weight follow suggestions
+CREATE TABLE IF NOT EXISTS user_affiliations (
+    user_id BIGINT PRIMARY KEY,
+    university_id BIGINT,
+    faculty_id BIGINT,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_user_affiliations_faculty ON user_affiliations(faculty_id);
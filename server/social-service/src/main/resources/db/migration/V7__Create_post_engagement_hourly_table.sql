@@ -0,0 +1,24 @@
+-- Hourly engagement rollups per post, written incrementally by EngagementRollupBuffer
+CREATE TABLE IF NOT EXISTS post_engagement_hourly (
+    post_id BIGINT NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    likes INTEGER NOT NULL DEFAULT 0,
+    comments INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (post_id, bucket_start)
+);
+
+-- One-time backfill from existing rows; afterwards the raw tables are never aggregated for this
+INSERT INTO post_engagement_hourly (post_id, bucket_start, likes, comments)
+SELECT post_id, bucket_start, SUM(likes), SUM(comments)
+FROM (
+    SELECT post_id, date_trunc('hour', created_at) AS bucket_start, COUNT(*) AS likes, 0 AS comments
+    FROM likes
+    WHERE post_id IS NOT NULL
+    GROUP BY post_id, date_trunc('hour', created_at)
+    UNION ALL
+    SELECT post_id, date_trunc('hour', created_at), 0, COUNT(*)
+    FROM comments
+    WHERE NOT is_deleted AND moderation_status = 'APPROVED'
+    GROUP BY post_id, date_trunc('hour', created_at)
+) hourly
+GROUP BY post_id, bucket_start;
@@ -0,0 +1,211 @@
+package com.raved.social.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Like ingest throughput, in likes per second accepted and written, for the old per-row path
+ * against the coalesced batches LikeIngestPipeline writes.
+ *
+ * Both modes replay the same toggle stream, skewed towards a few hot posts and with a share of
+ * double taps, into a temporary copy of the likes table. Per-row writes each toggle in its own
+ * transaction the way the repository did. Batched cuts the stream into flush windows of a fixed
+ * number of toggles (the arrival rate times the flush interval), collapses each window to one
+ * state per (user, post), and writes it with the pipeline's unnest() INSERT/DELETE ... RETURNING
+ * statements plus the per-post outbox insert, one transaction per chunk. Only repeats inside a
+ * window are saved, as in production.
+ *
+ * Run with: mvn -q -pl social-service test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.raved.social.benchmark.LikeIngestBenchmark
+ *     -Dexec.args="jdbc:postgresql://localhost:5432/raved_social user password [toggles] [batch size]
+ *     [window toggles]"
+ */
+public class LikeIngestBenchmark {
+
+    private static final String CREATE_SQL =
+            "CREATE TEMPORARY TABLE bench_likes (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL, " +
+            "post_id BIGINT NOT NULL, created_at TIMESTAMP NOT NULL, UNIQUE (user_id, post_id))";
+
+    private static final String CREATE_OUTBOX_SQL =
+            "CREATE TEMPORARY TABLE bench_outbox (id BIGSERIAL PRIMARY KEY, event_type VARCHAR(100) NOT NULL, " +
+            "aggregate_type VARCHAR(50) NOT NULL, aggregate_id BIGINT NOT NULL, payload JSONB NOT NULL, " +
+            "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+
+    // Same statement as OutboxWriter.appendPostDeltas
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO bench_outbox (event_type, aggregate_type, aggregate_id, payload) " +
+            "SELECT ?, 'Post', t.id, jsonb_build_object('delta', t.delta) " +
+            "FROM unnest(?::bigint[], ?::int[]) AS t(id, delta)";
+
+    private static final String INSERT_ROW_SQL =
+            "INSERT INTO bench_likes (user_id, post_id, created_at) VALUES (?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING";
+
+    private static final String DELETE_ROW_SQL =
+            "DELETE FROM bench_likes WHERE user_id = ? AND post_id = ?";
+
+    private static final String INSERT_BATCH_SQL =
+            "INSERT INTO bench_likes (user_id, post_id, created_at) " +
+            "SELECT t.user_id, t.post_id, CURRENT_TIMESTAMP FROM unnest(?::bigint[], ?::bigint[]) AS t(user_id, post_id) " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING RETURNING user_id, post_id";
+
+    private static final String DELETE_BATCH_SQL =
+            "DELETE FROM bench_likes l USING unnest(?::bigint[], ?::bigint[]) AS t(user_id, post_id) " +
+            "WHERE l.user_id = t.user_id AND l.post_id = t.post_id RETURNING l.user_id, l.post_id";
+
+    private static final int USERS = 50_000;
+    private static final int POSTS = 2_000;
+    private static final double UNLIKE_SHARE = 0.1;
+    private static final double DOUBLE_TAP_SHARE = 0.05;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: LikeIngestBenchmark <jdbc url> <user> <password> [toggles] [batch size] " +
+                    "[window toggles]");
+            System.exit(1);
+        }
+        int toggles = args.length > 3 ? Integer.parseInt(args[3]) : 50_000;
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : 1000;
+        // 5,000 toggles/s arriving during the default 100 ms flush interval
+        int window = args.length > 5 ? Integer.parseInt(args[5]) : 500;
+        List<long[]> stream = toggleStream(toggles, new SplittableRandom(42));
+
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_SQL);
+                statement.execute(CREATE_OUTBOX_SQL);
+            }
+            // Warm up both paths on a slice of the stream, then measure from an empty table
+            perRow(connection, stream.subList(0, Math.min(2000, stream.size())));
+            batched(connection, stream.subList(0, Math.min(2000, stream.size())), batchSize, window);
+
+            truncate(connection);
+            long started = System.nanoTime();
+            long perRowRows = perRow(connection, stream);
+            double perRowRate = rate(toggles, started);
+
+            truncate(connection);
+            started = System.nanoTime();
+            long[] batchedTotals = batched(connection, stream, batchSize, window);
+            double batchedRate = rate(toggles, started);
+
+            System.out.printf("%10s %14s %14s %12s%n", "mode", "likes/s", "rows changed", "commits");
+            System.out.printf("%10s %14.0f %14d %12d%n", "per-row", perRowRate, perRowRows, toggles);
+            System.out.printf("%10s %14.0f %14d %12d%n", "batched", batchedRate, batchedTotals[0], batchedTotals[1]);
+            System.out.printf("speedup: %.1fx%n", batchedRate / perRowRate);
+        }
+    }
+
+    /**
+     * (user, post, liked) toggles; post ids follow a rough power law so hot posts see contention
+     */
+    private static List<long[]> toggleStream(int toggles, SplittableRandom random) {
+        List<long[]> stream = new ArrayList<>(toggles);
+        while (stream.size() < toggles) {
+            long userId = 1 + random.nextInt(USERS);
+            long postId = 1 + (long) (POSTS * Math.pow(random.nextDouble(), 3));
+            boolean liked = random.nextDouble() >= UNLIKE_SHARE;
+            stream.add(new long[] { userId, postId, liked ? 1 : 0 });
+            if (random.nextDouble() < DOUBLE_TAP_SHARE && stream.size() < toggles) {
+                stream.add(new long[] { userId, postId, liked ? 1 : 0 });
+            }
+        }
+        return stream;
+    }
+
+    private static long perRow(Connection connection, List<long[]> stream) throws SQLException {
+        connection.setAutoCommit(true);
+        long changed = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_ROW_SQL);
+             PreparedStatement delete = connection.prepareStatement(DELETE_ROW_SQL)) {
+            for (long[] toggle : stream) {
+                PreparedStatement statement = toggle[2] == 1 ? insert : delete;
+                statement.setLong(1, toggle[0]);
+                statement.setLong(2, toggle[1]);
+                changed += statement.executeUpdate();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns (rows changed, commits)
+     */
+    private static long[] batched(Connection connection, List<long[]> stream, int batchSize, int window)
+            throws SQLException {
+        connection.setAutoCommit(false);
+        long[] totals = new long[2];
+        try {
+            for (int start = 0; start < stream.size(); start += window) {
+                // Each flush sees only its own window; the last toggle for a pair within it wins
+                Map<Long, Map<Long, Boolean>> pending = new LinkedHashMap<>();
+                for (long[] toggle : stream.subList(start, Math.min(start + window, stream.size()))) {
+                    pending.computeIfAbsent(toggle[0], id -> new LinkedHashMap<>()).put(toggle[1], toggle[2] == 1);
+                }
+                List<long[]> likes = new ArrayList<>();
+                List<long[]> unlikes = new ArrayList<>();
+                pending.forEach((userId, posts) -> posts.forEach((postId, liked) ->
+                        (liked ? likes : unlikes).add(new long[] { userId, postId })));
+                writeChunks(connection, INSERT_BATCH_SQL, likes, batchSize, 1, totals);
+                writeChunks(connection, DELETE_BATCH_SQL, unlikes, batchSize, -1, totals);
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return totals;
+    }
+
+    private static void writeChunks(Connection connection, String sql, List<long[]> pairs, int batchSize, int delta,
+                                    long[] totals) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             PreparedStatement outbox = connection.prepareStatement(INSERT_OUTBOX_SQL)) {
+            for (int from = 0; from < pairs.size(); from += batchSize) {
+                List<long[]> chunk = pairs.subList(from, Math.min(from + batchSize, pairs.size()));
+                Long[] userIds = new Long[chunk.size()];
+                Long[] postIds = new Long[chunk.size()];
+                for (int i = 0; i < chunk.size(); i++) {
+                    userIds[i] = chunk.get(i)[0];
+                    postIds[i] = chunk.get(i)[1];
+                }
+                statement.setArray(1, connection.createArrayOf("bigint", userIds));
+                statement.setArray(2, connection.createArrayOf("bigint", postIds));
+                Map<Long, Integer> postDeltas = new LinkedHashMap<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        postDeltas.merge(rs.getLong(2), delta, Integer::sum);
+                        totals[0]++;
+                    }
+                }
+                if (!postDeltas.isEmpty()) {
+                    outbox.setString(1, "PostLikesChanged");
+                    outbox.setArray(2, connection.createArrayOf("bigint", postDeltas.keySet().toArray(new Long[0])));
+                    outbox.setArray(3, connection.createArrayOf("integer",
+                            postDeltas.values().toArray(new Integer[0])));
+                    outbox.executeUpdate();
+                }
+                // One transaction per chunk, as the pipeline commits each chunk with its outbox rows
+                connection.commit();
+                totals[1]++;
+            }
+        }
+    }
+
+    private static void truncate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_likes, bench_outbox");
+        }
+    }
+
+    private static double rate(int toggles, long startedNanos) {
+        return toggles / ((System.nanoTime() - startedNanos) / 1e9);
+    }
+}